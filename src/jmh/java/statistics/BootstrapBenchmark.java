@@ -0,0 +1,69 @@
+package statistics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks a percentile interval of the median computed with
+ * {@link Bootstrap} against a sequential loop which allocates a resample
+ * for every replicate and computes its median with
+ * {@link Statistics#median(double[])}.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BootstrapBenchmark {
+    private static final int NUMBER_OF_RESAMPLES = 1_000;
+
+    @Param({"1000", "100000"})
+    private int length;
+
+    private double[] data;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(length);
+    }
+
+    @Benchmark
+    public double bootstrap() throws NotEnoughDataException {
+        return Bootstrap.of(data,
+                            SampleStatistic.median(),
+                            NUMBER_OF_RESAMPLES,
+                            19).percentileInterval(0.95).lower();
+    }
+
+    @Benchmark
+    public double naive() throws NotEnoughDataException {
+        final SplittableRandom random = new SplittableRandom(19);
+        final double[] replicates = new double[NUMBER_OF_RESAMPLES];
+
+        for (int resample = 0; resample < NUMBER_OF_RESAMPLES; ++resample) {
+            final double[] sample = new double[length];
+
+            for (int index = 0; index < length; ++index) {
+                sample[index] = data[random.nextInt(length)];
+            }
+
+            replicates[resample] = Statistics.median(sample);
+        }
+
+        return Statistics.quantile(replicates, 0.025);
+    }
+}
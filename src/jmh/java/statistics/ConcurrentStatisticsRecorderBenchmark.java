@@ -0,0 +1,47 @@
+package statistics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks recording into a shared
+ * {@link ConcurrentStatisticsRecorder} by several threads while another
+ * thread keeps taking snapshots of intervals.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStatisticsRecorderBenchmark {
+    private final ConcurrentStatisticsRecorder recorder =
+            new ConcurrentStatisticsRecorder();
+
+    @Benchmark
+    @Group("recording")
+    @GroupThreads(4)
+    public void record() {
+        recorder.accept(ThreadLocalRandom.current().nextDouble());
+    }
+
+    @Benchmark
+    @Group("recording")
+    @GroupThreads(1)
+    public RunningStatistics snapshotAndReset() {
+        return recorder.snapshotAndReset();
+    }
+}
@@ -0,0 +1,78 @@
+package statistics;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks reading the second column of a CSV file with
+ * {@link CsvReader} against splitting lines of a {@link BufferedReader} and
+ * parsing them with {@link Double#parseDouble(String)}.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvReaderBenchmark {
+    private Path path;
+
+    @Setup
+    public void setUp() throws IOException {
+        final double[] data = Distribution.UNIFORM.generate(1_000_000);
+        final StringBuilder text = new StringBuilder();
+
+        for (int index = 0; index < data.length; ++index) {
+            text.append(index)
+                .append(',')
+                .append(Math.round(data[index] * 1e4) / 1e4)
+                .append('\n');
+        }
+
+        path = Files.createTempFile("benchmark", ".csv");
+
+        Files.write(path, text.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(path);
+    }
+
+    @Benchmark
+    public double[] csvReader() throws IOException {
+        return CsvReader.readColumn(path, 1);
+    }
+
+    @Benchmark
+    public double[] bufferedReader() throws IOException {
+        final DoubleArrayBuilder builder = new DoubleArrayBuilder();
+
+        try (BufferedReader reader = Files.newBufferedReader(path)) {
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                builder.accept(Double.parseDouble(line.split(",")[1]));
+            }
+        }
+
+        return builder.toArray();
+    }
+}
@@ -0,0 +1,119 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This enum represents shapes of benchmark input data.
+ * Every shape is generated from a fixed seed, so all runs measure
+ * the same values.
+ *
+ * @author svalyavakilia
+ */
+public enum Distribution {
+    /**
+     * Uniformly distributed values in [0, 1000).
+     */
+    UNIFORM {
+        @Override
+        void fill(final double[] data, final SplittableRandom random) {
+            for (int index = 0; index < data.length; ++index) {
+                data[index] = random.nextDouble(1000);
+            }
+        }
+    },
+
+    /**
+     * Uniformly distributed values sorted in ascending order.
+     */
+    SORTED {
+        @Override
+        void fill(final double[] data, final SplittableRandom random) {
+            UNIFORM.fill(data, random);
+
+            Arrays.sort(data);
+        }
+    },
+
+    /**
+     * Uniformly distributed values sorted in descending order.
+     */
+    REVERSED {
+        @Override
+        void fill(final double[] data, final SplittableRandom random) {
+            SORTED.fill(data, random);
+
+            for (int index = 0; index < data.length / 2; ++index) {
+                final double value = data[index];
+
+                data[index] = data[data.length - index - 1];
+                data[data.length - index - 1] = value;
+            }
+        }
+    },
+
+    /**
+     * Integral values with only 16 distinct ones.
+     */
+    HEAVY_DUPLICATES {
+        @Override
+        void fill(final double[] data, final SplittableRandom random) {
+            for (int index = 0; index < data.length; ++index) {
+                data[index] = random.nextInt(16);
+            }
+        }
+    },
+
+    /**
+     * Integral values in [0, 2000) which look like latencies in
+     * milliseconds: most of them are small and a few are large.
+     */
+    LATENCIES {
+        @Override
+        void fill(final double[] data, final SplittableRandom random) {
+            for (int index = 0; index < data.length; ++index) {
+                data[index] = Math.min(1999,
+                                       (int) (-100 * Math.log(
+                                               1 - random.nextDouble())));
+            }
+        }
+    },
+
+    /**
+     * Uniformly distributed values with every hundredth one being NaN.
+     */
+    NAN_LACED {
+        @Override
+        void fill(final double[] data, final SplittableRandom random) {
+            UNIFORM.fill(data, random);
+
+            for (int index = 0; index < data.length; index += 100) {
+                data[index] = Double.NaN;
+            }
+        }
+    };
+
+    /**
+     * Seed of the generated data.
+     */
+    private static final long SEED = 20201016L;
+
+    /**
+     * This method generates an array of a given length.
+     *
+     * @param length length of the array.
+     * @return new array with values of this shape.
+     */
+    double[] generate(final int length) {
+        final double[] data = new double[length];
+
+        fill(data, new SplittableRandom(SEED));
+
+        return data;
+    }
+
+    /**
+     * This method fills an array with values of this shape.
+     */
+    abstract void fill(double[] data, SplittableRandom random);
+}
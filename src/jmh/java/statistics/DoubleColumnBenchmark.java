@@ -0,0 +1,56 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks statistics of an off-heap {@link DoubleColumn}
+ * against the same statistics of a heap array.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoubleColumnBenchmark {
+    private double[] data;
+    private DoubleColumn column;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(10_000_000);
+        column = DoubleColumn.of(data);
+    }
+
+    @Benchmark
+    public double columnVariance() throws NotEnoughDataException {
+        return column.variance();
+    }
+
+    @Benchmark
+    public double arrayVariance() throws NotEnoughDataException {
+        return Statistics.variance(data);
+    }
+
+    @Benchmark
+    public double columnMedian() throws NotEnoughDataException {
+        return column.median();
+    }
+
+    @Benchmark
+    public double arrayMedian() throws NotEnoughDataException {
+        return Statistics.median(data);
+    }
+}
@@ -0,0 +1,64 @@
+package statistics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks replacing a value of a dataset and reading its
+ * median with {@link DynamicDataset} against recomputing the median of
+ * the whole array.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicDatasetBenchmark {
+    @Param({"10000", "1000000"})
+    private int length;
+
+    private double[] data;
+    private DynamicDataset dataset;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(length);
+        dataset = DynamicDataset.of(data);
+        random = new Random(18);
+    }
+
+    @Benchmark
+    public double dynamicDataset() throws NotEnoughDataException {
+        final int index = random.nextInt(length);
+        final double value = random.nextDouble() * 1000;
+
+        dataset.replace(data[index], value);
+        data[index] = value;
+
+        return dataset.median();
+    }
+
+    @Benchmark
+    public double recomputation() throws NotEnoughDataException {
+        final int index = random.nextInt(length);
+
+        data[index] = random.nextDouble() * 1000;
+
+        return Statistics.median(data);
+    }
+}
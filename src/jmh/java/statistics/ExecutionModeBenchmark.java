@@ -0,0 +1,79 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the methods of {@link Statistics} which take
+ * an {@link ExecutionMode}, comparing sequential and parallel execution.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ExecutionModeBenchmark {
+    @Param({"1000000", "10000000", "100000000"})
+    private int size;
+
+    @Param({"UNIFORM", "HEAVY_DUPLICATES"})
+    private Distribution distribution;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    private ExecutionMode mode;
+
+    private double[] data;
+
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size);
+    }
+
+    @Benchmark
+    public double min() throws NotEnoughDataException {
+        return Statistics.min(data, mode);
+    }
+
+    @Benchmark
+    public double max() throws NotEnoughDataException {
+        return Statistics.max(data, mode);
+    }
+
+    @Benchmark
+    public double averageArithmetic() throws NotEnoughDataException {
+        return Statistics.averageArithmetic(data, mode);
+    }
+
+    @Benchmark
+    public double variance() throws NotEnoughDataException {
+        return Statistics.variance(data, mode);
+    }
+
+    @Benchmark
+    public double median() throws NotEnoughDataException {
+        return Statistics.median(data, mode);
+    }
+
+    @Benchmark
+    public double iqr() throws NotEnoughDataException {
+        return Statistics.iqr(data, mode);
+    }
+
+    @Benchmark
+    public Summary summary() throws NotEnoughDataException {
+        return Statistics.summary(data, mode);
+    }
+}
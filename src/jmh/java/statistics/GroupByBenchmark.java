@@ -0,0 +1,63 @@
+package statistics;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks {@link Statistics#groupBy(int[], double[],
+ * ExecutionMode, boolean)} over columns with different numbers of keys.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class GroupByBenchmark {
+    @Param({"1000000", "10000000"})
+    private int size;
+
+    @Param({"10", "10000", "1000000"})
+    private int numberOfKeys;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    private ExecutionMode mode;
+
+    private int[] keys;
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(20201016L);
+
+        keys = new int[size];
+        values = Distribution.UNIFORM.generate(size);
+
+        for (int index = 0; index < size; ++index) {
+            keys[index] = random.nextInt(numberOfKeys);
+        }
+    }
+
+    @Benchmark
+    public GroupedStatistics groupBy() {
+        return Statistics.groupBy(keys, values, mode, false);
+    }
+
+    @Benchmark
+    public GroupedStatistics groupByWithOrderStatistics() {
+        return Statistics.groupBy(keys, values, mode, true);
+    }
+}
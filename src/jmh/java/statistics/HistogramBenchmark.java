@@ -0,0 +1,60 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks recording into a {@link Histogram} and reading
+ * a quantile out of it for every layout of bins.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistogramBenchmark {
+    @Param({"LINEAR", "LOGARITHMIC", "HDR"})
+    private String layout;
+
+    private double[] data;
+    private Histogram histogram;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(100_000);
+
+        switch (layout) {
+            case "LINEAR":
+                histogram = Histogram.linear(0, 1000, 10_000);
+                break;
+            case "LOGARITHMIC":
+                histogram = Histogram.logarithmic(1e-3, 1000, 10_000);
+                break;
+            default:
+                histogram = Histogram.hdr(1e-3, 1000, 3);
+        }
+    }
+
+    @Benchmark
+    public Histogram record() {
+        return Statistics.histogram(data, histogram);
+    }
+
+    @Benchmark
+    public double quantile() throws NotEnoughDataException {
+        return histogram.quantile(0.99);
+    }
+}
@@ -0,0 +1,63 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the overhead of {@link Instrumentation} on cheap
+ * calls of {@link Statistics} while it is disabled and enabled.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    @Param({"16", "10000"})
+    private int length;
+
+    private double[] data;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(length);
+
+        if (enabled) {
+            Instrumentation.enable();
+        } else {
+            Instrumentation.disable();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Instrumentation.disable();
+    }
+
+    @Benchmark
+    public double max() throws NotEnoughDataException {
+        return Statistics.max(data);
+    }
+
+    @Benchmark
+    public double median() throws NotEnoughDataException {
+        return Statistics.median(data);
+    }
+}
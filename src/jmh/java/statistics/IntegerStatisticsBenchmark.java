@@ -0,0 +1,68 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks order statistics, modes and frequencies of
+ * integral values, which are counted, against values with fractions,
+ * which are selected, sorted or hashed.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntegerStatisticsBenchmark {
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"LATENCIES", "HEAVY_DUPLICATES", "UNIFORM"})
+    private Distribution distribution;
+
+    private double[] data;
+    private int[] ints;
+
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size);
+        ints = new int[size];
+
+        for (int index = 0; index < size; ++index) {
+            ints[index] = (int) data[index];
+        }
+    }
+
+    @Benchmark
+    public double median() throws NotEnoughDataException {
+        return Statistics.median(data);
+    }
+
+    @Benchmark
+    public double intMedian() throws NotEnoughDataException {
+        return Statistics.median(ints);
+    }
+
+    @Benchmark
+    public Summary summary() throws NotEnoughDataException {
+        return Statistics.summary(data);
+    }
+
+    @Benchmark
+    public FrequencyTable frequencyTable() throws NotEnoughDataException {
+        return Statistics.frequencyTable(data);
+    }
+}
@@ -0,0 +1,60 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the fused accumulation of {@link Moments} against
+ * separate passes for average arithmetic and variance.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MomentsBenchmark {
+    @Param({"1000", "1000000"})
+    private int size;
+
+    private double[] data;
+    private double[] other;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(size);
+        other = Distribution.REVERSED.generate(size);
+    }
+
+    @Benchmark
+    public double separatePasses() throws NotEnoughDataException {
+        return Statistics.averageArithmetic(data) + Statistics.variance(data);
+    }
+
+    @Benchmark
+    public Moments moments() throws NotEnoughDataException {
+        return Statistics.moments(data);
+    }
+
+    @Benchmark
+    public Moments parallelMoments() throws NotEnoughDataException {
+        return Statistics.moments(data, ExecutionMode.PARALLEL);
+    }
+
+    @Benchmark
+    public double correlation() throws NotEnoughDataException {
+        return Statistics.correlation(data, other);
+    }
+}
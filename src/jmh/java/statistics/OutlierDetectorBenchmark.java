@@ -0,0 +1,68 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks finding outliers with a reused
+ * {@link OutlierDetector} and bitset against quartiles followed by
+ * a loop which tests every value.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutlierDetectorBenchmark {
+    @Param({"1000", "1000000"})
+    private int size;
+
+    @Param({"TUKEY", "MEDIAN_ABSOLUTE_DEVIATION", "Z_SCORE"})
+    private OutlierRule rule;
+
+    private double[] data;
+    private OutlierDetector detector;
+    private long[] words;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(size);
+        detector = new OutlierDetector(rule, 1.5);
+        words = new long[OutlierFences.wordsFor(size)];
+    }
+
+    @Benchmark
+    public int quartilesAndLoop() throws NotEnoughDataException {
+        final double threeOverTwoIqr = Statistics.threeOverTwoIqr(data);
+        final double lower = Statistics.firstQuartile(data) - threeOverTwoIqr;
+        final double upper = Statistics.thirdQuartile(data) + threeOverTwoIqr;
+
+        int numberOfOutliers = 0;
+
+        for (final double value: data) {
+            if (value < lower || value > upper) {
+                ++numberOfOutliers;
+            }
+        }
+
+        return numberOfOutliers;
+    }
+
+    @Benchmark
+    public int detector() throws NotEnoughDataException {
+        return detector.fences(data).classify(data, words);
+    }
+}
@@ -0,0 +1,64 @@
+package statistics;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks merging serialised {@link PartialStatistics} of
+ * a thousand shards of 10 000 values each on a coordinator.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PartialStatisticsBenchmark {
+    private static final int NUMBER_OF_SHARDS = 1_000;
+
+    @Param({"false", "true"})
+    private boolean withFrequencies;
+
+    private ByteBuffer shards;
+
+    @Setup
+    public void setUp() {
+        final double[] data = Distribution.HEAVY_DUPLICATES.generate(10_000);
+        final byte[] shard =
+                PartialStatistics.of(data, withFrequencies).toBytes();
+
+        shards = ByteBuffer.allocate(NUMBER_OF_SHARDS * shard.length);
+
+        for (int index = 0; index < NUMBER_OF_SHARDS; ++index) {
+            shards.put(shard);
+        }
+    }
+
+    @Benchmark
+    public PartialStatistics mergeFrom() {
+        final PartialStatistics merged =
+                new PartialStatistics(QuantileSketch.DEFAULT_K,
+                                      withFrequencies);
+
+        shards.clear();
+
+        while (shards.hasRemaining()) {
+            merged.mergeFrom(shards);
+        }
+
+        return merged;
+    }
+}
@@ -0,0 +1,72 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks summarising 100 000 short series with
+ * {@link Statistics#summarizeSeries(double[], int[], ExecutionMode)}
+ * against calling {@link Statistics#summary(double[])} for a copy of every
+ * series.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeriesSummariesBenchmark {
+    private static final int NUMBER_OF_SERIES = 100_000;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    private ExecutionMode mode;
+
+    private double[] values;
+    private int[] offsets;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(21);
+
+        offsets = new int[NUMBER_OF_SERIES + 1];
+
+        for (int series = 0; series < NUMBER_OF_SERIES; ++series) {
+            offsets[series + 1] = offsets[series] + random.nextInt(20, 501);
+        }
+
+        values = Distribution.UNIFORM.generate(offsets[NUMBER_OF_SERIES]);
+    }
+
+    @Benchmark
+    public SeriesSummaries summarizeSeries() {
+        return Statistics.summarizeSeries(values, offsets, mode);
+    }
+
+    @Benchmark
+    public double summaryPerSeries() throws NotEnoughDataException {
+        double sum = 0;
+
+        for (int series = 0; series < NUMBER_OF_SERIES; ++series) {
+            sum += Statistics.summary(Arrays.copyOfRange(values,
+                                                         offsets[series],
+                                                         offsets[series + 1]))
+                             .median();
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,141 @@
+package statistics;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks every public method of {@link Statistics} over
+ * inputs of different sizes and shapes. Methods which sort their argument
+ * in place are given a fresh copy of the input, so the copy is measured too.
+ * Inputs stop at 10^7 values: boxed frequencies of 10^8 distinct values do
+ * not fit into the heap of the fork, and methods which scale to such inputs
+ * are measured by {@link ExecutionModeBenchmark}.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StatisticsBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    @Param
+    private Distribution distribution;
+
+    private double[] data;
+
+    @Setup
+    public void setUp() {
+        data = distribution.generate(size);
+    }
+
+    @Benchmark
+    public double[] sortInAscendingOrder() {
+        return Statistics.sortInAscendingOrder(data.clone());
+    }
+
+    @Benchmark
+    public double[] sortInDescendingOrder() {
+        return Statistics.sortInDescendingOrder(data.clone());
+    }
+
+    @Benchmark
+    public double min() throws NotEnoughDataException {
+        return Statistics.min(data);
+    }
+
+    @Benchmark
+    public double max() throws NotEnoughDataException {
+        return Statistics.max(data);
+    }
+
+    @Benchmark
+    public double averageArithmetic() throws NotEnoughDataException {
+        return Statistics.averageArithmetic(data);
+    }
+
+    @Benchmark
+    public double median() throws NotEnoughDataException {
+        return Statistics.median(data);
+    }
+
+    @Benchmark
+    public double firstQuartile() throws NotEnoughDataException {
+        return Statistics.firstQuartile(data);
+    }
+
+    @Benchmark
+    public double thirdQuartile() throws NotEnoughDataException {
+        return Statistics.thirdQuartile(data);
+    }
+
+    @Benchmark
+    public double iqr() throws NotEnoughDataException {
+        return Statistics.iqr(data);
+    }
+
+    @Benchmark
+    public double threeOverTwoIqr() throws NotEnoughDataException {
+        return Statistics.threeOverTwoIqr(data);
+    }
+
+    @Benchmark
+    public double quantile() throws NotEnoughDataException {
+        return Statistics.quantile(data, 0.99);
+    }
+
+    @Benchmark
+    public double[] quantiles() throws NotEnoughDataException {
+        return Statistics.quantiles(data, 0.5, 0.9, 0.99, 0.999);
+    }
+
+    @Benchmark
+    public double variance() throws NotEnoughDataException {
+        return Statistics.variance(data);
+    }
+
+    @Benchmark
+    public double[] mode() throws NotEnoughDataException {
+        return Statistics.mode(data);
+    }
+
+    @Benchmark
+    public Map<Double, Double> frequencies() throws NotEnoughDataException {
+        return Statistics.frequencies(data);
+    }
+
+    @Benchmark
+    public FrequencyTable frequencyTable() throws NotEnoughDataException {
+        return Statistics.frequencyTable(data);
+    }
+
+    @Benchmark
+    public Summary summary() throws NotEnoughDataException {
+        return Statistics.summary(data);
+    }
+
+    @Benchmark
+    public Summary momentSummary() throws NotEnoughDataException {
+        return Statistics.momentSummary(data);
+    }
+
+    @Benchmark
+    public String overallStatistics() throws NotEnoughDataException {
+        return Statistics.overallStatistics(data);
+    }
+}
@@ -0,0 +1,51 @@
+package statistics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the methods of {@link Statistics} which take
+ * a {@link Summation}, comparing the cost of the ways to add values.
+ *
+ * @author svalyavakilia
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SummationBenchmark {
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    @Param
+    private Summation summation;
+
+    private double[] data;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.UNIFORM.generate(size);
+    }
+
+    @Benchmark
+    public double averageArithmetic() throws NotEnoughDataException {
+        return Statistics.averageArithmetic(data, summation);
+    }
+
+    @Benchmark
+    public double variance() throws NotEnoughDataException {
+        return Statistics.variance(data, summation);
+    }
+}
@@ -0,0 +1,261 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * This class computes a statistic over resamples of the values which are
+ * drawn with replacement, and confidence intervals of the statistic from
+ * the distribution of the resampled statistics (replicates).
+ * <p>
+ * Resamples are computed in parallel in the common fork/join pool in
+ * blocks of a fixed size. Every block reuses a single buffer for its
+ * resamples and draws them from its own {@link SplittableRandom}, which is
+ * split from a random generator with the given seed before the blocks
+ * start, so the replicates are the same for the same seed whatever
+ * the parallelism. A statistic may reorder the buffer, so order statistics
+ * such as {@link SampleStatistic#median()} select in place instead of
+ * copying and sorting every resample.
+ *
+ * @author svalyavakilia
+ */
+public final class Bootstrap {
+    /**
+     * Number of resamples which share a buffer and a random generator.
+     */
+    private static final int RESAMPLES_PER_BLOCK = 32;
+
+    private final double[] data;
+    private final SampleStatistic statistic;
+    private final double estimate;
+    private final SortedView replicates;
+
+    private Jackknife jackknife;
+
+    /**
+     * Constructor for Bootstrap class instance.
+     */
+    private Bootstrap(final double[] data,
+                      final SampleStatistic statistic,
+                      final double estimate,
+                      final SortedView replicates) {
+        this.data = data;
+        this.statistic = statistic;
+        this.estimate = estimate;
+        this.replicates = replicates;
+    }
+
+    /**
+     * This method computes a statistic over a given number of resamples
+     * of a given array.
+     *
+     * @param data array with values, it is not changed.
+     * @param statistic statistic to compute, it is called from several
+     *                  threads at once.
+     * @param numberOfResamples number of resamples, at least two.
+     * @param seed seed of the random generator.
+     * @return bootstrap of the statistic.
+     * @throws NullPointerException if given array or statistic is null.
+     * @throws NotEnoughDataException if given array is empty or
+     *                                the statistic needs more values.
+     * @throws IllegalArgumentException if number of resamples is less than
+     *                                  two.
+     */
+    public static Bootstrap of(final double[] data,
+                               final SampleStatistic statistic,
+                               final int numberOfResamples,
+                               final long seed)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 1);
+        Objects.requireNonNull(statistic);
+
+        if (numberOfResamples < 2) {
+            throw new IllegalArgumentException("Invalid number of " +
+                                               "resamples: " +
+                                               numberOfResamples + ".");
+        }
+
+        final int dataLength = data.length;
+        final double[] values = data.clone();
+        final double estimate = statistic.compute(data.clone(), dataLength);
+        final double[] replicates = new double[numberOfResamples];
+        final int numberOfBlocks =
+                (numberOfResamples + RESAMPLES_PER_BLOCK - 1)
+                / RESAMPLES_PER_BLOCK;
+        final SplittableRandom root = new SplittableRandom(seed);
+        final SplittableRandom[] randoms =
+                new SplittableRandom[numberOfBlocks];
+
+        for (int block = 0; block < numberOfBlocks; ++block) {
+            randoms[block] = root.split();
+        }
+
+        Resampling.forEachBlock(numberOfBlocks, block -> {
+            final SplittableRandom random = randoms[block];
+            final double[] sample = new double[dataLength];
+            final int from = block * RESAMPLES_PER_BLOCK;
+            final int to = Math.min(numberOfResamples,
+                                    from + RESAMPLES_PER_BLOCK);
+
+            for (int resample = from; resample < to; ++resample) {
+                for (int index = 0; index < dataLength; ++index) {
+                    sample[index] = values[random.nextInt(dataLength)];
+                }
+
+                replicates[resample] = statistic.compute(sample, dataLength);
+            }
+        });
+
+        Arrays.sort(replicates);
+
+        return new Bootstrap(values,
+                             statistic,
+                             estimate,
+                             new SortedView(replicates));
+    }
+
+    /**
+     * @return the statistic of all the values.
+     */
+    public double estimate() {
+        return estimate;
+    }
+
+    /**
+     * @return sorted statistics of the resamples.
+     */
+    public SortedView replicates() {
+        return replicates;
+    }
+
+    /**
+     * @return bootstrap estimate of the bias of the statistic: the average
+     *         of the replicates minus the estimate.
+     */
+    public double bias() {
+        return average() - estimate;
+    }
+
+    /**
+     * @return bootstrap estimate of the standard error of the statistic:
+     *         the standard deviation of the replicates.
+     */
+    public double standardError() {
+        final double average = average();
+        final int numberOfReplicates = replicates.size();
+
+        double sumOfSquaredDifferences = 0;
+
+        for (int rank = 0; rank < numberOfReplicates; ++rank) {
+            final double difference = replicates.get(rank) - average;
+
+            sumOfSquaredDifferences += difference * difference;
+        }
+
+        return Math.sqrt(sumOfSquaredDifferences / (numberOfReplicates - 1));
+    }
+
+    /**
+     * This method returns a percentile interval: the quantiles of
+     * the replicates which leave equal shares of them out on both sides.
+     *
+     * @param confidenceLevel confidence level, greater than 0 and less
+     *                        than 1.
+     * @return the confidence interval.
+     * @throws IllegalArgumentException if confidence level is invalid.
+     */
+    public ConfidenceInterval percentileInterval(
+                                        final double confidenceLevel) {
+        checkIfConfidenceLevelIsValid(confidenceLevel);
+
+        final double tail = (1 - confidenceLevel) / 2;
+
+        return new ConfidenceInterval(estimate,
+                                      replicates.quantile(tail),
+                                      replicates.quantile(1 - tail),
+                                      confidenceLevel);
+    }
+
+    /**
+     * This method returns a bias-corrected and accelerated (BCa) interval,
+     * which shifts the quantiles of the percentile interval by the share of
+     * replicates below the estimate and by the acceleration estimated with
+     * the {@link Jackknife}. The jackknife is computed on the first call.
+     *
+     * @param confidenceLevel confidence level, greater than 0 and less
+     *                        than 1.
+     * @return the confidence interval.
+     * @throws NotEnoughDataException if there are less than two values.
+     * @throws IllegalArgumentException if confidence level is invalid.
+     */
+    public ConfidenceInterval bcaInterval(final double confidenceLevel)
+                                            throws NotEnoughDataException {
+        checkIfConfidenceLevelIsValid(confidenceLevel);
+
+        if (jackknife == null) {
+            jackknife = Jackknife.of(data, statistic);
+        }
+
+        final int numberOfReplicates = replicates.size();
+        final double halfOfResample = 0.5 / numberOfReplicates;
+        final int less = replicates.rank(estimate);
+        final int equal = replicates.rank(Math.nextUp(estimate)) - less;
+        final double shareBelow = (less + 0.5 * equal) / numberOfReplicates;
+        final double biasCorrection = NormalDistribution.inverseCdf(
+                Math.min(1 - halfOfResample,
+                         Math.max(halfOfResample, shareBelow)));
+        final double acceleration = jackknife.acceleration();
+        final double tail = (1 - confidenceLevel) / 2;
+
+        return new ConfidenceInterval(
+                estimate,
+                replicates.quantile(adjust(tail,
+                                           biasCorrection,
+                                           acceleration)),
+                replicates.quantile(adjust(1 - tail,
+                                           biasCorrection,
+                                           acceleration)),
+                confidenceLevel);
+    }
+
+    /**
+     * This method moves a probability of a percentile interval by the bias
+     * correction and the acceleration.
+     */
+    private static double adjust(final double probability,
+                                 final double biasCorrection,
+                                 final double acceleration) {
+        final double z = biasCorrection
+                         + NormalDistribution.inverseCdf(probability);
+
+        return NormalDistribution.cdf(biasCorrection
+                                      + z / (1 - acceleration * z));
+    }
+
+    private double average() {
+        final int numberOfReplicates = replicates.size();
+
+        double sum = 0;
+
+        for (int rank = 0; rank < numberOfReplicates; ++rank) {
+            sum += replicates.get(rank);
+        }
+
+        return sum / numberOfReplicates;
+    }
+
+    /**
+     * This method checks if a given confidence level is in (0, 1).
+     *
+     * @throws IllegalArgumentException if it is not.
+     */
+    private static void checkIfConfidenceLevelIsValid(
+                                        final double confidenceLevel) {
+        if (!(confidenceLevel > 0 && confidenceLevel < 1)) {
+            throw new IllegalArgumentException("Confidence level must be " +
+                                               "in (0, 1): " +
+                                               confidenceLevel + ".");
+        }
+    }
+}
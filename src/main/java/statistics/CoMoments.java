@@ -0,0 +1,313 @@
+package statistics;
+
+import java.util.Objects;
+
+/**
+ * This class accumulates count, averages arithmetic, sums of squared
+ * differences and the sum of products of differences (the co-moment) of
+ * a stream of pairs of values in constant memory, so covariance and
+ * Pearson correlation come from a single pass over paired series. Arrays
+ * are read in chunks reduced in a few passes over the cache and combined
+ * with the accumulated values like in {@link Moments}, and two
+ * accumulators can be combined as well.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class CoMoments {
+    private long count;
+    private double averageArithmeticX;
+    private double averageArithmeticY;
+    private double sumOfSquaredDifferencesX;
+    private double sumOfSquaredDifferencesY;
+    private double sumOfProductsOfDifferences;
+
+    /**
+     * Constructor for an empty CoMoments class instance.
+     */
+    public CoMoments() {}
+
+    /**
+     * This method adds a pair of values to the accumulated ones.
+     *
+     * @param x first value of the pair.
+     * @param y second value of the pair.
+     */
+    public void accept(final double x, final double y) {
+        final long newCount = ++count;
+        final double differenceX = x - averageArithmeticX;
+        final double differenceY = y - averageArithmeticY;
+
+        averageArithmeticX += differenceX / newCount;
+        averageArithmeticY += differenceY / newCount;
+        sumOfSquaredDifferencesX += differenceX * (x - averageArithmeticX);
+        sumOfSquaredDifferencesY += differenceY * (y - averageArithmeticY);
+        sumOfProductsOfDifferences += differenceX * (y - averageArithmeticY);
+    }
+
+    /**
+     * This method adds pairs of values under the same indexes of two
+     * arrays to the accumulated ones.
+     *
+     * @param x first values of the pairs.
+     * @param y second values of the pairs.
+     * @throws NullPointerException if given arrays are null.
+     * @throws IllegalArgumentException if the arrays have different
+     *                                  lengths.
+     */
+    public void accept(final double[] x, final double[] y) {
+        checkIfLengthsAreEqual(x, y);
+
+        accept(x, y, 0, x.length);
+    }
+
+    /**
+     * This method adds pairs of values under the same indexes of ranges of
+     * two arrays to the accumulated ones, chunk by chunk.
+     *
+     * @param x first values of the pairs.
+     * @param y second values of the pairs.
+     * @param offset index of the first pair to add.
+     * @param length number of pairs to add.
+     * @throws NullPointerException if given arrays are null.
+     * @throws IndexOutOfBoundsException if the range is out of an array.
+     */
+    public void accept(final double[] x,
+                       final double[] y,
+                       final int offset,
+                       final int length) {
+        Objects.checkFromIndexSize(offset, length, x.length);
+        Objects.checkFromIndexSize(offset, length, y.length);
+
+        final int end = offset + length;
+
+        for (int from = offset; from < end; from += Moments.CHUNK_LENGTH) {
+            final int to = Math.min(end, from + Moments.CHUNK_LENGTH);
+            final int chunkLength = to - from;
+
+            double sumX = 0;
+            double sumY = 0;
+
+            for (int index = from; index < to; ++index) {
+                sumX += x[index];
+                sumY += y[index];
+            }
+
+            final double chunkAverageX =
+                    Moments.refine(x, from, to, sumX / chunkLength);
+            final double chunkAverageY =
+                    Moments.refine(y, from, to, sumY / chunkLength);
+
+            double squaresX = 0;
+            double squaresY = 0;
+            double products = 0;
+
+            for (int index = from; index < to; ++index) {
+                final double differenceX = x[index] - chunkAverageX;
+                final double differenceY = y[index] - chunkAverageY;
+
+                squaresX += differenceX * differenceX;
+                squaresY += differenceY * differenceY;
+                products += differenceX * differenceY;
+            }
+
+            combine(chunkLength,
+                    chunkAverageX,
+                    chunkAverageY,
+                    squaresX,
+                    squaresY,
+                    products);
+        }
+    }
+
+    /**
+     * This method adds pairs accumulated by another instance to the pairs
+     * accumulated by this one. The other instance is left untouched.
+     *
+     * @param other accumulator to combine with.
+     * @return this accumulator.
+     * @throws NullPointerException if other accumulator is null.
+     */
+    public CoMoments combine(final CoMoments other) {
+        combine(other.count,
+                other.averageArithmeticX,
+                other.averageArithmeticY,
+                other.sumOfSquaredDifferencesX,
+                other.sumOfSquaredDifferencesY,
+                other.sumOfProductsOfDifferences);
+
+        return this;
+    }
+
+    /**
+     * This method combines the accumulated values with those of other
+     * pairs.
+     */
+    private void combine(final long otherCount,
+                         final double otherAverageX,
+                         final double otherAverageY,
+                         final double otherSquaresX,
+                         final double otherSquaresY,
+                         final double otherProducts) {
+        if (otherCount == 0) {
+            return;
+        } else if (count == 0) {
+            count = otherCount;
+            averageArithmeticX = otherAverageX;
+            averageArithmeticY = otherAverageY;
+            sumOfSquaredDifferencesX = otherSquaresX;
+            sumOfSquaredDifferencesY = otherSquaresY;
+            sumOfProductsOfDifferences = otherProducts;
+
+            return;
+        }
+
+        final double newCount = (double) count + otherCount;
+        final double differenceX = otherAverageX - averageArithmeticX;
+        final double differenceY = otherAverageY - averageArithmeticY;
+        final double weight = (count / newCount) * otherCount;
+
+        averageArithmeticX += differenceX * (otherCount / newCount);
+        averageArithmeticY += differenceY * (otherCount / newCount);
+        sumOfSquaredDifferencesX += otherSquaresX
+                                    + differenceX * differenceX * weight;
+        sumOfSquaredDifferencesY += otherSquaresY
+                                    + differenceY * differenceY * weight;
+        sumOfProductsOfDifferences += otherProducts
+                                      + differenceX * differenceY * weight;
+        count += otherCount;
+    }
+
+    /**
+     * This method forgets all the accumulated pairs.
+     */
+    public void reset() {
+        count = 0;
+        averageArithmeticX = 0;
+        averageArithmeticY = 0;
+        sumOfSquaredDifferencesX = 0;
+        sumOfSquaredDifferencesY = 0;
+        sumOfProductsOfDifferences = 0;
+    }
+
+    /**
+     * @return number of accumulated pairs.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return average arithmetic of the first values of the pairs.
+     * @throws NotEnoughDataException if no pairs were accumulated.
+     */
+    public double averageArithmeticX() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return averageArithmeticX;
+    }
+
+    /**
+     * @return average arithmetic of the second values of the pairs.
+     * @throws NotEnoughDataException if no pairs were accumulated.
+     */
+    public double averageArithmeticY() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return averageArithmeticY;
+    }
+
+    /**
+     * @return variance of the first values of the pairs.
+     * @throws NotEnoughDataException if less than two pairs were
+     *                                accumulated.
+     */
+    public double varianceX() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return sumOfSquaredDifferencesX / (count - 1);
+    }
+
+    /**
+     * @return variance of the second values of the pairs.
+     * @throws NotEnoughDataException if less than two pairs were
+     *                                accumulated.
+     */
+    public double varianceY() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return sumOfSquaredDifferencesY / (count - 1);
+    }
+
+    /**
+     * This method returns the sample covariance of the pairs.
+     *
+     * @return covariance.
+     * @throws NotEnoughDataException if less than two pairs were
+     *                                accumulated.
+     */
+    public double covariance() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return sumOfProductsOfDifferences / (count - 1);
+    }
+
+    /**
+     * This method returns the Pearson correlation coefficient of the pairs.
+     *
+     * @return correlation from -1 to 1, NaN if all the first or all
+     *         the second values are equal.
+     * @throws NotEnoughDataException if less than two pairs were
+     *                                accumulated.
+     */
+    public double correlation() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        final double correlation =
+                sumOfProductsOfDifferences
+                / Math.sqrt(sumOfSquaredDifferencesX
+                            * sumOfSquaredDifferencesY);
+
+        return Math.max(-1, Math.min(1, correlation));
+    }
+
+    /**
+     * This method checks if two arrays are equally long.
+     *
+     * @throws IllegalArgumentException if they are not.
+     */
+    static void checkIfLengthsAreEqual(final double[] x, final double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("There are " + x.length +
+                                               " first and " + y.length +
+                                               " second values.");
+        }
+    }
+
+    /**
+     * This method checks if enough pairs were accumulated.
+     *
+     * @throws NotEnoughDataException if they were not.
+     */
+    private void checkIfThereIsEnoughData(final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (count < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CoMoments{count=" + count +
+               ", averageArithmeticX=" + averageArithmeticX +
+               ", averageArithmeticY=" + averageArithmeticY +
+               ", sumOfSquaredDifferencesX=" + sumOfSquaredDifferencesX +
+               ", sumOfSquaredDifferencesY=" + sumOfSquaredDifferencesY +
+               ", sumOfProductsOfDifferences=" +
+               sumOfProductsOfDifferences + "}";
+    }
+}
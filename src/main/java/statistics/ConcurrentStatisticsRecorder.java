@@ -0,0 +1,336 @@
+package statistics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class records values coming from many threads at once and reports
+ * their count, average arithmetic, variance, minimum and maximum, for
+ * example latencies of requests served by a thread pool.
+ * Like {@link java.util.concurrent.atomic.LongAdder} it spreads updates over
+ * several cells, so threads which record at the same time rarely touch
+ * the same memory. Each cell occupies its own 128 bytes of a long array and
+ * is updated with atomic operations only, so recording never blocks.
+ * <p>
+ * Values are accumulated as differences from the first value recorded in
+ * the interval, which keeps the variance computed from sums of squares
+ * accurate when values are large compared to their spread, even if their
+ * level changes from one interval to another.
+ * <p>
+ * {@link #snapshotAndReset()} starts a new interval by switching writers to
+ * a second set of cells. Every cell counts the writers which are updating
+ * it: a writer registers in a cell and then checks that the set of cells is
+ * still the current one, while the reader switches sets and then waits for
+ * the registered writers of the old set to finish. Either the writer sees
+ * the switch and moves to the new set, or the reader sees the writer and
+ * waits for its update, so no value is lost or counted twice.
+ *
+ * @author svalyavakilia
+ */
+public final class ConcurrentStatisticsRecorder implements DoubleConsumer {
+    private static final VarHandle CELLS =
+            MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Number of longs of a cell: 128 bytes, two cache lines, so that
+     * the adjacent line prefetcher does not pair two cells either.
+     */
+    private static final int CELL_LENGTH = 16;
+
+    private static final int COUNT = 0;
+    private static final int SUM = 1;
+    private static final int SUM_OF_SQUARES = 2;
+    private static final int MIN = 3;
+    private static final int MAX = 4;
+    private static final int WRITERS = 5;
+
+    /**
+     * Index of the value the differences of a set of cells are taken from,
+     * NaN until the first value of the interval is recorded. It is kept in
+     * the leading padding, which writers only read once it is set.
+     */
+    private static final int SHIFT = 0;
+
+    private static final long NAN_BITS =
+            Double.doubleToRawLongBits(Double.NaN);
+
+    /**
+     * Multiplier of Fibonacci hashing.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final int numberOfCells;
+    private final int shiftOfHash;
+
+    private volatile long[] active;
+    private long[] spare;
+
+    /**
+     * Constructor for ConcurrentStatisticsRecorder class instance with
+     * two cells per available processor, at most 64.
+     */
+    public ConcurrentStatisticsRecorder() {
+        this(Math.min(64, 2 * Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructor for ConcurrentStatisticsRecorder class instance.
+     *
+     * @param expectedNumberOfThreads number of threads which record values
+     *                                at the same time, the number of cells
+     *                                is the next power of two.
+     * @throws IllegalArgumentException if the number is not positive or is
+     *                                  greater than 2^16.
+     */
+    public ConcurrentStatisticsRecorder(final int expectedNumberOfThreads) {
+        if (expectedNumberOfThreads < 1
+                ||
+                expectedNumberOfThreads > 1 << 16) {
+            throw new IllegalArgumentException("Invalid number of threads: " +
+                                               expectedNumberOfThreads + ".");
+        }
+
+        numberOfCells =
+                Integer.highestOneBit(expectedNumberOfThreads * 2 - 1);
+        shiftOfHash = 64 - Integer.numberOfTrailingZeros(numberOfCells);
+        active = newCells();
+        spare = newCells();
+    }
+
+    /**
+     * This method records a value. It may be called by several threads
+     * at once and never blocks.
+     *
+     * @param value value to record.
+     */
+    @Override
+    public void accept(final double value) {
+        final int cell = cellOfCurrentThread();
+
+        long[] cells = active;
+
+        while (true) {
+            CELLS.getAndAdd(cells, cell + WRITERS, 1L);
+
+            final long[] current = active;
+
+            if (current == cells) {
+                break;
+            }
+
+            CELLS.getAndAdd(cells, cell + WRITERS, -1L);
+
+            cells = current;
+        }
+
+        double shift = get(cells, SHIFT);
+
+        if (shift != shift) {
+            final double candidate = Double.isFinite(value) ? value : 0;
+
+            CELLS.compareAndSet(cells,
+                                SHIFT,
+                                NAN_BITS,
+                                Double.doubleToRawLongBits(candidate));
+
+            shift = get(cells, SHIFT);
+        }
+
+        final double difference = value - shift;
+
+        CELLS.getAndAdd(cells, cell + COUNT, 1L);
+        add(cells, cell + SUM, difference);
+        add(cells, cell + SUM_OF_SQUARES, difference * difference);
+
+        long bits = (long) CELLS.getVolatile(cells, cell + MIN);
+
+        while (value < Double.longBitsToDouble(bits)) {
+            final long witness =
+                    (long) CELLS.compareAndExchange(cells,
+                                                    cell + MIN,
+                                                    bits,
+                                                    Double.doubleToRawLongBits(
+                                                            value));
+
+            if (witness == bits) {
+                break;
+            }
+
+            bits = witness;
+        }
+
+        bits = (long) CELLS.getVolatile(cells, cell + MAX);
+
+        while (value > Double.longBitsToDouble(bits)) {
+            final long witness =
+                    (long) CELLS.compareAndExchange(cells,
+                                                    cell + MAX,
+                                                    bits,
+                                                    Double.doubleToRawLongBits(
+                                                            value));
+
+            if (witness == bits) {
+                break;
+            }
+
+            bits = witness;
+        }
+
+        CELLS.getAndAdd(cells, cell + WRITERS, -1L);
+    }
+
+    /**
+     * This method returns statistics of the values recorded in the current
+     * interval. Values which are being recorded at the same time may be
+     * partially included.
+     *
+     * @return new accumulator with the statistics.
+     */
+    public RunningStatistics snapshot() {
+        return collect(active);
+    }
+
+    /**
+     * This method returns statistics of the values recorded in the current
+     * interval and starts a new one. Writers are not blocked: the method
+     * only waits for the updates which are in progress in the old interval.
+     * Concurrent calls of this method are serialised.
+     *
+     * @return new accumulator with the statistics of the finished interval.
+     */
+    public synchronized RunningStatistics snapshotAndReset() {
+        final long[] finished = active;
+
+        active = spare;
+
+        for (int cell = CELL_LENGTH;
+             cell < finished.length - CELL_LENGTH;
+             cell += CELL_LENGTH) {
+            while ((long) CELLS.getVolatile(finished, cell + WRITERS) != 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        final RunningStatistics statistics = collect(finished);
+
+        clear(finished);
+
+        spare = finished;
+
+        return statistics;
+    }
+
+    /**
+     * This method adds the cells of a set up.
+     */
+    private RunningStatistics collect(final long[] cells) {
+        long count = 0;
+        double sum = 0;
+        double sumOfSquares = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+
+        for (int cell = CELL_LENGTH;
+             cell < cells.length - CELL_LENGTH;
+             cell += CELL_LENGTH) {
+            count += (long) CELLS.getVolatile(cells, cell + COUNT);
+            sum += get(cells, cell + SUM);
+            sumOfSquares += get(cells, cell + SUM_OF_SQUARES);
+            min = Math.min(min, get(cells, cell + MIN));
+            max = Math.max(max, get(cells, cell + MAX));
+        }
+
+        if (count == 0) {
+            return new RunningStatistics();
+        }
+
+        final double averageDifference = sum / count;
+        final double sumOfSquaredDifferences =
+                Math.max(0, sumOfSquares - sum * averageDifference);
+
+        return RunningStatistics.of(count,
+                                    get(cells, SHIFT) + averageDifference,
+                                    sumOfSquaredDifferences,
+                                    min,
+                                    max);
+    }
+
+    /**
+     * This method creates a set of empty cells with a cell of padding
+     * at each end.
+     */
+    private long[] newCells() {
+        final long[] cells = new long[(numberOfCells + 2) * CELL_LENGTH];
+
+        clear(cells);
+
+        return cells;
+    }
+
+    /**
+     * This method empties the cells of a set and forgets its shift without
+     * touching the numbers of writers, which late writers of an old
+     * interval may still change. Late writers leave the set before they
+     * read the shift.
+     */
+    private static void clear(final long[] cells) {
+        final long positiveInfinity =
+                Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        final long negativeInfinity =
+                Double.doubleToRawLongBits(Double.NEGATIVE_INFINITY);
+
+        for (int cell = CELL_LENGTH;
+             cell < cells.length - CELL_LENGTH;
+             cell += CELL_LENGTH) {
+            CELLS.setVolatile(cells, cell + COUNT, 0L);
+            CELLS.setVolatile(cells, cell + SUM, 0L);
+            CELLS.setVolatile(cells, cell + SUM_OF_SQUARES, 0L);
+            CELLS.setVolatile(cells, cell + MIN, positiveInfinity);
+            CELLS.setVolatile(cells, cell + MAX, negativeInfinity);
+        }
+
+        CELLS.setVolatile(cells, SHIFT, NAN_BITS);
+    }
+
+    /**
+     * This method returns the index of the cell of the current thread.
+     */
+    private int cellOfCurrentThread() {
+        final long id = Thread.currentThread().getId();
+        final int index = numberOfCells == 1
+                          ? 0
+                          : (int) ((id * GOLDEN_RATIO) >>> shiftOfHash);
+
+        return (index + 1) * CELL_LENGTH;
+    }
+
+    private static double get(final long[] cells, final int index) {
+        return Double.longBitsToDouble((long) CELLS.getVolatile(cells, index));
+    }
+
+    /**
+     * This method atomically adds a value to a double stored as bits.
+     */
+    private static void add(final long[] cells,
+                            final int index,
+                            final double value) {
+        long bits = (long) CELLS.getVolatile(cells, index);
+
+        while (true) {
+            final long newBits = Double.doubleToRawLongBits(
+                    Double.longBitsToDouble(bits) + value);
+            final long witness =
+                    (long) CELLS.compareAndExchange(cells,
+                                                    index,
+                                                    bits,
+                                                    newBits);
+
+            if (witness == bits) {
+                return;
+            }
+
+            bits = witness;
+        }
+    }
+}
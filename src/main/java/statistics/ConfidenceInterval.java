@@ -0,0 +1,84 @@
+package statistics;
+
+/**
+ * This class represents an immutable confidence interval of a statistic:
+ * its point estimate and the bounds which contain the true value with
+ * a given confidence level.
+ *
+ * @author svalyavakilia
+ */
+public final class ConfidenceInterval {
+    private final double estimate;
+    private final double lower;
+    private final double upper;
+    private final double confidenceLevel;
+
+    /**
+     * Constructor for ConfidenceInterval class instance.
+     *
+     * @param estimate point estimate of the statistic.
+     * @param lower lower bound.
+     * @param upper upper bound.
+     * @param confidenceLevel confidence level, from 0 to 1.
+     */
+    ConfidenceInterval(final double estimate,
+                       final double lower,
+                       final double upper,
+                       final double confidenceLevel) {
+        this.estimate = estimate;
+        this.lower = lower;
+        this.upper = upper;
+        this.confidenceLevel = confidenceLevel;
+    }
+
+    /**
+     * @return point estimate of the statistic.
+     */
+    public double estimate() {
+        return estimate;
+    }
+
+    /**
+     * @return lower bound.
+     */
+    public double lower() {
+        return lower;
+    }
+
+    /**
+     * @return upper bound.
+     */
+    public double upper() {
+        return upper;
+    }
+
+    /**
+     * @return confidence level, from 0 to 1.
+     */
+    public double confidenceLevel() {
+        return confidenceLevel;
+    }
+
+    /**
+     * @return difference between the bounds.
+     */
+    public double width() {
+        return upper - lower;
+    }
+
+    /**
+     * @param value a value.
+     * @return true if the value is between the bounds, inclusive.
+     */
+    public boolean contains(final double value) {
+        return value >= lower && value <= upper;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfidenceInterval{estimate=" + estimate +
+               ", lower=" + lower +
+               ", upper=" + upper +
+               ", confidenceLevel=" + confidenceLevel + '}';
+    }
+}
@@ -0,0 +1,449 @@
+package statistics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class reads numeric columns of CSV files, or of files with a number
+ * per line, without creating a string per line or per field. A file is read
+ * through a {@link FileChannel} into a reusable buffer and numbers are
+ * parsed right from its bytes. A number with at most 19 significant digits
+ * and a decimal exponent from -22 to 22 is computed exactly from its
+ * digits (Clinger's fast path), any other field is parsed by
+ * {@link Double#parseDouble(String)}, so the result is always the same as
+ * Double.parseDouble would give.
+ * <p>
+ * Lines end with LF or CRLF and empty lines are skipped. Spaces, tabs and
+ * a pair of double quotes around a field are ignored, quoted fields must not
+ * contain the delimiter.
+ *
+ * @author svalyavakilia
+ */
+public final class CsvReader {
+    /**
+     * Default delimiter of fields.
+     */
+    public static final byte DEFAULT_DELIMITER = ',';
+
+    /**
+     * Initial size of the buffer in bytes, it grows for longer lines.
+     */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Powers of ten which are exact doubles.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Largest integer which every smaller non-negative integer can be
+     * represented exactly as a double up to.
+     */
+    private static final long MAXIMUM_EXACT_INTEGER = 1L << 53;
+
+    private final byte delimiter;
+    private final int[] consumerOfColumn;
+    private final DoubleConsumer[] consumers;
+
+    private long lineNumber;
+
+    /**
+     * Constructor for CsvReader class instance.
+     */
+    private CsvReader(final byte delimiter,
+                      final int[] consumerOfColumn,
+                      final DoubleConsumer[] consumers) {
+        this.delimiter = delimiter;
+        this.consumerOfColumn = consumerOfColumn;
+        this.consumers = consumers;
+    }
+
+    /**
+     * This method reads a column of a comma separated file without
+     * a header.
+     *
+     * @param path path to the file.
+     * @param column index of the column, from 0.
+     * @return values of the column.
+     * @throws IOException if the file cannot be read.
+     * @throws NumberFormatException if a field of the column is not
+     *                               a number or a line has no such column.
+     * @throws IllegalArgumentException if column is negative.
+     */
+    public static double[] readColumn(final Path path, final int column)
+                                                        throws IOException {
+        return readColumns(path, DEFAULT_DELIMITER, 0, column)[0];
+    }
+
+    /**
+     * This method reads several columns of a delimited file.
+     *
+     * @param path path to the file.
+     * @param delimiter delimiter of fields.
+     * @param linesToSkip number of header lines to skip.
+     * @param columns indexes of the columns, from 0.
+     * @return values of every column in the order of the indexes.
+     * @throws IOException if the file cannot be read.
+     * @throws NumberFormatException if a field of the columns is not
+     *                               a number or a line has not enough
+     *                               columns.
+     * @throws IllegalArgumentException if a column is negative or repeated,
+     *                                  there are no columns, the number of
+     *                                  lines to skip is negative or
+     *                                  the delimiter ends lines.
+     */
+    public static double[][] readColumns(final Path path,
+                                         final byte delimiter,
+                                         final int linesToSkip,
+                                         final int... columns)
+                                                        throws IOException {
+        final DoubleArrayBuilder[] builders =
+                new DoubleArrayBuilder[columns.length];
+
+        for (int index = 0; index < builders.length; ++index) {
+            builders[index] = new DoubleArrayBuilder();
+        }
+
+        read(path, delimiter, linesToSkip, columns, builders);
+
+        final double[][] values = new double[builders.length][];
+
+        for (int index = 0; index < builders.length; ++index) {
+            values[index] = builders[index].toArray();
+        }
+
+        return values;
+    }
+
+    /**
+     * This method reads several columns of a delimited file passing every
+     * value to the consumer of its column, for example to a
+     * {@link DoubleArrayBuilder}, a {@link RunningStatistics} or
+     * a {@link QuantileSketch}. Values are passed line by line.
+     *
+     * @param path path to the file.
+     * @param delimiter delimiter of fields.
+     * @param linesToSkip number of header lines to skip.
+     * @param columns indexes of the columns, from 0.
+     * @param consumers consumer of every column.
+     * @throws IOException if the file cannot be read.
+     * @throws NumberFormatException if a field of the columns is not
+     *                               a number or a line has not enough
+     *                               columns.
+     * @throws IllegalArgumentException if a column is negative or repeated,
+     *                                  there are no columns or not as many
+     *                                  consumers as columns, the number of
+     *                                  lines to skip is negative or
+     *                                  the delimiter ends lines.
+     */
+    public static void read(final Path path,
+                            final byte delimiter,
+                            final int linesToSkip,
+                            final int[] columns,
+                            final DoubleConsumer[] consumers)
+                                                        throws IOException {
+        Objects.requireNonNull(path);
+
+        if (columns.length == 0 || columns.length != consumers.length) {
+            throw new IllegalArgumentException("There are " + columns.length +
+                                               " columns and " +
+                                               consumers.length +
+                                               " consumers.");
+        } else if (linesToSkip < 0) {
+            throw new IllegalArgumentException("Negative number of lines " +
+                                               "to skip: " + linesToSkip +
+                                               ".");
+        } else if (delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Invalid delimiter: " +
+                                               delimiter + ".");
+        }
+
+        int maximumColumn = -1;
+
+        for (final int column: columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("Negative column: " +
+                                                   column + ".");
+            }
+
+            maximumColumn = Math.max(maximumColumn, column);
+        }
+
+        final int[] consumerOfColumn = new int[maximumColumn + 1];
+
+        Arrays.fill(consumerOfColumn, -1);
+
+        for (int index = 0; index < columns.length; ++index) {
+            if (consumerOfColumn[columns[index]] != -1) {
+                throw new IllegalArgumentException("Repeated column: " +
+                                                   columns[index] + ".");
+            }
+
+            consumerOfColumn[columns[index]] = index;
+        }
+
+        for (final DoubleConsumer consumer: consumers) {
+            Objects.requireNonNull(consumer);
+        }
+
+        new CsvReader(delimiter, consumerOfColumn, consumers.clone())
+                .read(path, linesToSkip);
+    }
+
+    /**
+     * This method reads a file line by line. Lines which are split between
+     * two reads are moved to the beginning of the buffer first.
+     */
+    private void read(final Path path, final int linesToSkip)
+                                                        throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                                                    StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            boolean endOfFile = false;
+
+            while (!endOfFile) {
+                if (!buffer.hasRemaining()) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2)
+                                       .put(buffer.flip());
+                }
+
+                endOfFile = channel.read(buffer) < 0;
+
+                final byte[] bytes = buffer.array();
+                final int limit = buffer.position();
+
+                int lineStart = 0;
+
+                while (lineStart < limit) {
+                    int lineEnd = lineStart;
+
+                    while (lineEnd < limit && bytes[lineEnd] != '\n') {
+                        ++lineEnd;
+                    }
+
+                    if (lineEnd == limit && !endOfFile) {
+                        break;
+                    }
+
+                    if (++lineNumber > linesToSkip) {
+                        parseLine(bytes, lineStart, lineEnd);
+                    }
+
+                    lineStart = lineEnd + 1;
+                }
+
+                lineStart = Math.min(lineStart, limit);
+
+                System.arraycopy(bytes, lineStart, bytes, 0, limit - lineStart);
+
+                buffer.position(limit - lineStart);
+            }
+        }
+    }
+
+    /**
+     * This method passes the selected fields of a line to their consumers.
+     */
+    private void parseLine(final byte[] bytes, final int from, int to) {
+        if (to > from && bytes[to - 1] == '\r') {
+            --to;
+        }
+
+        if (to == from) {
+            return;
+        }
+
+        final int maximumColumn = consumerOfColumn.length - 1;
+
+        int fieldStart = from;
+        int column = 0;
+
+        while (true) {
+            int fieldEnd = fieldStart;
+
+            while (fieldEnd < to && bytes[fieldEnd] != delimiter) {
+                ++fieldEnd;
+            }
+
+            final int consumer = consumerOfColumn[column];
+
+            if (consumer != -1) {
+                consumers[consumer].accept(
+                        parseField(bytes, fieldStart, fieldEnd, column));
+            }
+
+            if (column == maximumColumn) {
+                return;
+            } else if (fieldEnd == to) {
+                throw new NumberFormatException("Line " + lineNumber +
+                                                " has only " + (column + 1) +
+                                                " columns.");
+            }
+
+            fieldStart = fieldEnd + 1;
+            ++column;
+        }
+    }
+
+    /**
+     * This method parses a field trimming spaces, tabs and double quotes.
+     */
+    private double parseField(final byte[] bytes,
+                              int from,
+                              int to,
+                              final int column) {
+        while (from < to && (bytes[from] == ' ' || bytes[from] == '\t')) {
+            ++from;
+        }
+
+        while (to > from && (bytes[to - 1] == ' ' || bytes[to - 1] == '\t')) {
+            --to;
+        }
+
+        if (to - from >= 2 && bytes[from] == '"' && bytes[to - 1] == '"') {
+            ++from;
+            --to;
+        }
+
+        try {
+            return parseDouble(bytes, from, to);
+        } catch (final NumberFormatException exception) {
+            throw new NumberFormatException("Line " + lineNumber +
+                                            ", column " + column + ": " +
+                                            exception.getMessage());
+        }
+    }
+
+    /**
+     * This method parses a number from a range of bytes the way
+     * {@link Double#parseDouble(String)} parses it.
+     *
+     * @param bytes bytes of text in ASCII.
+     * @param from index of the first byte, inclusive.
+     * @param to index of the last byte, exclusive.
+     * @return the number.
+     * @throws NumberFormatException if the bytes are not a number.
+     */
+    static double parseDouble(final byte[] bytes,
+                              final int from,
+                              final int to) {
+        int index = from;
+        boolean negative = false;
+
+        if (index < to && (bytes[index] == '-' || bytes[index] == '+')) {
+            negative = bytes[index] == '-';
+            ++index;
+        }
+
+        long mantissa = 0;
+        int significantDigits = 0;
+        int exponent = 0;
+        boolean hasDigits = false;
+
+        while (index < to && isDigit(bytes[index])) {
+            if (significantDigits == 19) {
+                return parseDoubleSlowly(bytes, from, to);
+            }
+
+            mantissa = mantissa * 10 + (bytes[index++] - '0');
+            significantDigits += mantissa == 0 ? 0 : 1;
+            hasDigits = true;
+        }
+
+        if (index < to && bytes[index] == '.') {
+            ++index;
+
+            while (index < to && isDigit(bytes[index])) {
+                if (significantDigits == 19) {
+                    return parseDoubleSlowly(bytes, from, to);
+                }
+
+                mantissa = mantissa * 10 + (bytes[index++] - '0');
+                significantDigits += mantissa == 0 ? 0 : 1;
+                --exponent;
+                hasDigits = true;
+            }
+        }
+
+        if (!hasDigits) {
+            return parseDoubleSlowly(bytes, from, to);
+        }
+
+        if (index < to && (bytes[index] == 'e' || bytes[index] == 'E')) {
+            ++index;
+
+            boolean negativeExponent = false;
+
+            if (index < to && (bytes[index] == '-' || bytes[index] == '+')) {
+                negativeExponent = bytes[index] == '-';
+                ++index;
+            }
+
+            if (index == to) {
+                return parseDoubleSlowly(bytes, from, to);
+            }
+
+            int explicitExponent = 0;
+
+            while (index < to && isDigit(bytes[index])) {
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10
+                                       + (bytes[index] - '0');
+                }
+
+                ++index;
+            }
+
+            exponent += negativeExponent ? -explicitExponent
+                                         : explicitExponent;
+        }
+
+        if (index != to) {
+            return parseDoubleSlowly(bytes, from, to);
+        }
+
+        final double value;
+
+        if (mantissa == 0) {
+            value = 0;
+        } else if (mantissa <= MAXIMUM_EXACT_INTEGER
+                   && exponent >= -22
+                   && exponent <= 22) {
+            /*
+             * Both the mantissa and the power of ten are exact doubles, so
+             * the single rounding of the product or quotient is the correct
+             * rounding of the number.
+             */
+            value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent]
+                                 : mantissa * POWERS_OF_TEN[exponent];
+        } else {
+            return parseDoubleSlowly(bytes, from, to);
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static double parseDoubleSlowly(final byte[] bytes,
+                                            final int from,
+                                            final int to) {
+        return Double.parseDouble(new String(bytes,
+                                             from,
+                                             to - from,
+                                             StandardCharsets.ISO_8859_1));
+    }
+
+    private static boolean isDigit(final byte character) {
+        return character >= '0' && character <= '9';
+    }
+}
@@ -0,0 +1,109 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class collects doubles into a primitive array which grows as needed,
+ * so a column of values of unknown length can be gathered without boxing
+ * and then passed to {@link Statistics}.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class DoubleArrayBuilder implements DoubleConsumer {
+    private double[] values;
+    private int size;
+
+    /**
+     * Constructor for DoubleArrayBuilder class instance.
+     */
+    public DoubleArrayBuilder() {
+        this(16);
+    }
+
+    /**
+     * Constructor for DoubleArrayBuilder class instance.
+     *
+     * @param initialCapacity number of values the builder is initially sized
+     *                        for.
+     * @throws IllegalArgumentException if initial capacity is negative.
+     */
+    public DoubleArrayBuilder(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Negative capacity: " +
+                                               initialCapacity + ".");
+        }
+
+        values = new double[initialCapacity];
+    }
+
+    /**
+     * This method appends a value.
+     *
+     * @param value value to append.
+     * @throws OutOfMemoryError if the builder would exceed the maximum
+     *                          length of an array.
+     */
+    @Override
+    public void accept(final double value) {
+        if (size == values.length) {
+            grow();
+        }
+
+        values[size++] = value;
+    }
+
+    /**
+     * @return number of appended values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index index of a value.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if index is out of the builder.
+     */
+    public double get(final int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index is out of the " +
+                                                "builder: " + index + ".");
+        }
+
+        return values[index];
+    }
+
+    /**
+     * @return copy of the appended values.
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    /**
+     * This method forgets all the appended values keeping the allocated
+     * memory.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * This method grows the array by half of its length.
+     */
+    private void grow() {
+        final int length = values.length;
+
+        if (length == Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Too many values.");
+        }
+
+        final int newLength = (int) Math.min(Integer.MAX_VALUE - 8,
+                                             Math.max(16L,
+                                                      length + (length >> 1)));
+
+        values = Arrays.copyOf(values, newLength);
+    }
+}
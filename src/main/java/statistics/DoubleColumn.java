@@ -0,0 +1,1063 @@
+package statistics;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class represents a growable column of doubles which is stored
+ * outside of the heap, in direct buffers of equal length (chunks), and is
+ * indexed by long. So a column may hold far more than 2^31 values without
+ * growing the heap, limited by -XX:MaxDirectMemorySize only. The memory
+ * is released when the column is collected by the garbage collector.
+ * <p>
+ * Every statistic of {@link Statistics} can be computed over a column.
+ * Moments are computed block by block through a small heap buffer.
+ * Order statistics and modes rearrange the values of the column in place
+ * instead of sorting a copy, so they need no extra memory at all: quantiles
+ * are selected in expected linear time, a summary sorts the column.
+ * Use {@link #copy()} first if the order of the values matters.
+ * Once the column is sorted, order statistics are read directly until it is
+ * changed. Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class DoubleColumn implements DoubleConsumer {
+    /**
+     * Default number of values of a chunk: 128 MB.
+     */
+    public static final int DEFAULT_CHUNK_LENGTH = 1 << 24;
+
+    /**
+     * Largest number of values of a chunk: 1 GB.
+     */
+    public static final int MAXIMUM_CHUNK_LENGTH = 1 << 27;
+
+    /**
+     * Initial number of values of the first chunk, which doubles until it
+     * is as long as the other chunks, so small columns stay small.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    /**
+     * Length of the heap buffer through which values are reduced, and of
+     * ranges which are sorted on the heap instead of being partitioned.
+     */
+    private static final int BLOCK_LENGTH = 1 << 16;
+
+    private final int chunkShift;
+    private final int chunkMask;
+
+    private DoubleBuffer[] chunks;
+    private int numberOfChunks;
+    private long capacity;
+    private long size;
+    private boolean sorted = true;
+
+    /**
+     * Constructor for DoubleColumn class instance with chunks of
+     * {@link #DEFAULT_CHUNK_LENGTH} values.
+     */
+    public DoubleColumn() {
+        this(DEFAULT_CHUNK_LENGTH);
+    }
+
+    /**
+     * Constructor for DoubleColumn class instance.
+     *
+     * @param chunkLength number of values of a chunk, a power of two from
+     *                    2 to {@link #MAXIMUM_CHUNK_LENGTH}.
+     * @throws IllegalArgumentException if chunk length is invalid.
+     */
+    public DoubleColumn(final int chunkLength) {
+        if (chunkLength < 2
+                ||
+                chunkLength > MAXIMUM_CHUNK_LENGTH
+                ||
+                Integer.bitCount(chunkLength) != 1) {
+            throw new IllegalArgumentException("Invalid chunk length: " +
+                                               chunkLength + ".");
+        }
+
+        chunkShift = Integer.numberOfTrailingZeros(chunkLength);
+        chunkMask = chunkLength - 1;
+        chunks = new DoubleBuffer[4];
+    }
+
+    /**
+     * This method creates a column with the values of a given array.
+     *
+     * @param data array with values.
+     * @return new column.
+     * @throws NullPointerException if given array is null.
+     */
+    public static DoubleColumn of(final double[] data) {
+        final DoubleColumn column = new DoubleColumn();
+
+        column.accept(data);
+
+        return column;
+    }
+
+    /**
+     * This method appends a value.
+     *
+     * @param value value to append.
+     * @throws OutOfMemoryError if there is not enough direct memory.
+     */
+    @Override
+    public void accept(final double value) {
+        if (size == capacity) {
+            grow();
+        }
+
+        if (sorted && size > 0 && Double.compare(get(size - 1), value) > 0) {
+            sorted = false;
+        }
+
+        store(size++, value);
+    }
+
+    /**
+     * This method appends the values of a given array.
+     *
+     * @param data array with values.
+     * @throws NullPointerException if given array is null.
+     * @throws OutOfMemoryError if there is not enough direct memory.
+     */
+    public void accept(final double[] data) {
+        if (data.length == 0) {
+            return;
+        }
+
+        if (sorted
+                &&
+                (size > 0 && Double.compare(get(size - 1), data[0]) > 0
+                 ||
+                 !SortedView.isSorted(data))) {
+            sorted = false;
+        }
+
+        int offset = 0;
+
+        while (offset < data.length) {
+            if (size == capacity) {
+                grow();
+            }
+
+            final int length = (int) Math.min(data.length - offset,
+                                              capacity - size);
+
+            copyIn(data, offset, length, size);
+
+            offset += length;
+            size += length;
+        }
+    }
+
+    /**
+     * @return number of values.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param index index of a value.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if index is out of the column.
+     */
+    public double get(final long index) {
+        checkIndex(index);
+
+        return load(index);
+    }
+
+    /**
+     * @param index index of a value.
+     * @param value new value.
+     * @throws IndexOutOfBoundsException if index is out of the column.
+     */
+    public void set(final long index, final double value) {
+        checkIndex(index);
+
+        sorted = false;
+
+        store(index, value);
+    }
+
+    /**
+     * This method forgets all the values keeping the allocated memory.
+     */
+    public void clear() {
+        size = 0;
+        sorted = true;
+    }
+
+    /**
+     * @return new column with the same values in the same order.
+     */
+    public DoubleColumn copy() {
+        final DoubleColumn copy = new DoubleColumn(chunkMask + 1);
+        final double[] block = new double[BLOCK_LENGTH];
+
+        for (long from = 0; from < size; from += BLOCK_LENGTH) {
+            final int length = copyOut(from, block);
+
+            copy.accept(length == BLOCK_LENGTH
+                        ? block
+                        : Arrays.copyOf(block, length));
+        }
+
+        return copy;
+    }
+
+    /**
+     * This method passes every chunk to a given consumer as a read-only
+     * buffer of its values.
+     *
+     * @param consumer consumer of chunks.
+     * @throws NullPointerException if given consumer is null.
+     */
+    public void forEachChunk(final Consumer<DoubleBuffer> consumer) {
+        Objects.requireNonNull(consumer);
+
+        for (int chunk = 0; chunk < numberOfChunks; ++chunk) {
+            final long chunkStart = (long) chunk << chunkShift;
+
+            if (chunkStart >= size) {
+                return;
+            }
+
+            final int length = (int) Math.min(chunks[chunk].capacity(),
+                                              size - chunkStart);
+
+            consumer.accept(chunks[chunk].asReadOnlyBuffer()
+                                         .limit(length)
+                                         .position(0));
+        }
+    }
+
+    /**
+     * @return whether the values are known to be in ascending order.
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * This method sorts the values in ascending order in place, in the order
+     * of {@link java.util.Arrays#sort(double[])}: NaN values go to the end.
+     * Large ranges are partitioned around a median-of-three pivot, ranges
+     * not longer than 65536 values are sorted on the heap.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+
+        final long numberOfValues = moveNaNToTheEnd();
+
+        sort(0,
+             numberOfValues,
+             2 * (64 - Long.numberOfLeadingZeros(numberOfValues)),
+             new double[BLOCK_LENGTH]);
+
+        sorted = true;
+    }
+
+    /**
+     * This method finds the minimum value.
+     * Values which are NaN are skipped unless the first value is NaN.
+     *
+     * @return minimum value.
+     * @throws NotEnoughDataException if the column is empty.
+     */
+    public double min() throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        final double[] block = new double[BLOCK_LENGTH];
+
+        double currentMinimum = load(0);
+
+        for (long from = 0; from < size; from += BLOCK_LENGTH) {
+            final int blockLength = copyOut(from, block);
+
+            for (int index = 0; index < blockLength; ++index) {
+                if (block[index] < currentMinimum) {
+                    currentMinimum = block[index];
+                }
+            }
+        }
+
+        return currentMinimum;
+    }
+
+    /**
+     * This method finds the maximum value.
+     * Values which are NaN are skipped unless the first value is NaN.
+     *
+     * @return maximum value.
+     * @throws NotEnoughDataException if the column is empty.
+     */
+    public double max() throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        final double[] block = new double[BLOCK_LENGTH];
+
+        double currentMax = load(0);
+
+        for (long from = 0; from < size; from += BLOCK_LENGTH) {
+            final int blockLength = copyOut(from, block);
+
+            for (int index = 0; index < blockLength; ++index) {
+                if (block[index] > currentMax) {
+                    currentMax = block[index];
+                }
+            }
+        }
+
+        return currentMax;
+    }
+
+    /**
+     * This method calculates average arithmetic of the values. Blocks are
+     * added up pairwise and their sums with compensated summation.
+     *
+     * @return average arithmetic.
+     * @throws NotEnoughDataException if the column is empty.
+     */
+    public double averageArithmetic() throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        return sumOfDifferences(0, false) / size;
+    }
+
+    /**
+     * This method calculates the variance of the values in two passes, see
+     * {@link #averageArithmetic()}.
+     *
+     * @return variance.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public double variance() throws NotEnoughDataException {
+        checkIfDataIsValid(2);
+
+        return sumOfDifferences(averageArithmetic(), true) / (size - 1);
+    }
+
+    /**
+     * This method reads every value into an accumulator in a single pass.
+     *
+     * @return accumulator with count, average arithmetic, variance,
+     *         minimum and maximum of the column.
+     */
+    public RunningStatistics runningStatistics() {
+        final RunningStatistics statistics = new RunningStatistics();
+
+        forEachChunk(statistics::accept);
+
+        return statistics;
+    }
+
+    /**
+     * This method calculates median of the values, which are rearranged.
+     *
+     * @return median.
+     * @throws NotEnoughDataException if the column is empty.
+     */
+    public double median() throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        return medianOfRanks(0, size);
+    }
+
+    /**
+     * This method returns the median of the first half of the values,
+     * see {@link Statistics#firstQuartile(double[])}. The values are
+     * rearranged.
+     *
+     * @return the first quartile.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public double firstQuartile() throws NotEnoughDataException {
+        checkIfDataIsValid(2);
+
+        return medianOfRanks(0, size / 2);
+    }
+
+    /**
+     * This method returns the median of the second half of the values,
+     * see {@link Statistics#thirdQuartile(double[])}. The values are
+     * rearranged.
+     *
+     * @return the third quartile.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public double thirdQuartile() throws NotEnoughDataException {
+        checkIfDataIsValid(2);
+
+        return medianOfRanks(size - size / 2, size);
+    }
+
+    /**
+     * This method calculates an interquartile range (IQR) of the values,
+     * which are rearranged.
+     *
+     * @return interquartile range.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public double iqr() throws NotEnoughDataException {
+        return thirdQuartile() - firstQuartile();
+    }
+
+    /**
+     * This method calculates 3/2 of an interquartile range (IQR).
+     *
+     * @return 3/2 of an interquartile range.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public double threeOverTwoIqr() throws NotEnoughDataException {
+        return (double) 3 / 2 * iqr();
+    }
+
+    /**
+     * This method finds a quantile of the values, interpolating linearly
+     * between the two closest ranks, see
+     * {@link Statistics#quantile(double[], double)}. The values are
+     * rearranged.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws NotEnoughDataException if the column is empty.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    public double quantile(final double probability)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        final double position = (size - 1) * probability;
+        final long lowerRank = (long) position;
+        final double lower = valueOfRank(lowerRank);
+        final double fraction = position - lowerRank;
+
+        if (fraction == 0) {
+            return lower;
+        }
+
+        return lower + fraction * (valueOfRank(lowerRank + 1) - lower);
+    }
+
+    /**
+     * This method finds several quantiles of the values,
+     * see {@link #quantile(double)}.
+     *
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @return the quantiles in the order of the probabilities.
+     * @throws NotEnoughDataException if the column is empty.
+     * @throws IllegalArgumentException if a probability is not in [0, 1].
+     */
+    public double[] quantiles(final double... probabilities)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        for (final double probability: probabilities) {
+            QuantileSelector.checkIfProbabilityIsValid(probability);
+        }
+
+        final double[] quantiles = new double[probabilities.length];
+
+        for (int index = 0; index < quantiles.length; ++index) {
+            quantiles[index] = quantile(probabilities[index]);
+        }
+
+        return quantiles;
+    }
+
+    /**
+     * This method returns mode(s) and their quantity in the format of
+     * {@link Statistics#mode(double[])}. A sorted column is scanned,
+     * otherwise the values are counted in a primitive hash table which
+     * grows with the number of distinct values.
+     *
+     * @return an array with modes in ascending order and their quantity
+     *         as the last value of the array.
+     * @throws NotEnoughDataException if the column is empty.
+     */
+    public double[] mode() throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        final double[] modes;
+        final long modeQuantity;
+
+        if (sorted) {
+            final DoubleArrayBuilder builder = new DoubleArrayBuilder();
+
+            modeQuantity = modesOfSorted(builder);
+            modes = builder.toArray();
+        } else {
+            final FrequencyTable table = frequencyTable();
+
+            modes = table.modes();
+            modeQuantity = table.modeQuantity();
+        }
+
+        final double[] modesAndTheirQuantity =
+                Arrays.copyOf(modes, modes.length + 1);
+
+        modesAndTheirQuantity[modes.length] = modeQuantity;
+
+        return modesAndTheirQuantity;
+    }
+
+    /**
+     * This method returns the values and their frequencies.
+     *
+     * @return values and their frequencies.
+     * @throws NotEnoughDataException if the column is empty.
+     */
+    public Map<Double, Double> frequencies() throws NotEnoughDataException {
+        checkIfDataIsValid(1);
+
+        return frequencyTable().toMap();
+    }
+
+    /**
+     * This method counts distinct values in a primitive hash table.
+     *
+     * @return frequency table of the values.
+     */
+    public FrequencyTable frequencyTable() {
+        final DoubleLongHashMap counts =
+                new DoubleLongHashMap((int) Math.min(size, 1 << 16));
+
+        forEachChunk(chunk -> {
+            for (int index = 0; index < chunk.limit(); ++index) {
+                counts.add(chunk.get(index), 1);
+            }
+        });
+
+        return counts.toFrequencyTable(size);
+    }
+
+    /**
+     * This method records the values in a given histogram.
+     *
+     * @param histogram histogram to record the values in.
+     * @return the histogram.
+     * @throws NullPointerException if given histogram is null.
+     */
+    public Histogram histogram(final Histogram histogram) {
+        Objects.requireNonNull(histogram);
+
+        forEachChunk(chunk -> {
+            for (int index = 0; index < chunk.limit(); ++index) {
+                histogram.accept(chunk.get(index));
+            }
+        });
+
+        return histogram;
+    }
+
+    /**
+     * This method returns a summary of the values: extremes, average
+     * arithmetic, variance, modes and quartiles. The column is sorted in
+     * place. Mode quantity of the summary saturates at
+     * {@link Integer#MAX_VALUE}.
+     *
+     * @return summary of the values.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public Summary summary() throws NotEnoughDataException {
+        checkIfDataIsValid(2);
+
+        final double averageArithmetic = sumOfDifferences(0, false) / size;
+        final double variance = sumOfDifferences(averageArithmetic, true)
+                                / (size - 1);
+
+        sort();
+
+        final DoubleArrayBuilder modes = new DoubleArrayBuilder();
+        final long modeQuantity = modesOfSorted(modes);
+
+        return new Summary(size,
+                           load(0),
+                           load(size - 1),
+                           averageArithmetic,
+                           variance,
+                           modes.toArray(),
+                           (int) Math.min(Integer.MAX_VALUE, modeQuantity),
+                           medianOfRanks(0, size / 2),
+                           medianOfRanks(0, size),
+                           medianOfRanks(size - size / 2, size));
+    }
+
+    /**
+     * This method returns a summary of the values which contains only
+     * extremes, average arithmetic and variance. Nothing is rearranged.
+     *
+     * @return summary of the values without order statistics.
+     * @throws NotEnoughDataException if the column has less than two values.
+     */
+    public Summary momentSummary() throws NotEnoughDataException {
+        checkIfDataIsValid(2);
+
+        return new Summary(size, min(), max(), averageArithmetic(), variance());
+    }
+
+    /**
+     * This method checks if the column has enough values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private void checkIfDataIsValid(final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        if (size < minimumPermissibleLength) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleLength + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+
+    private void checkIndex(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is out of the " +
+                                                "column: " + index + ".");
+        }
+    }
+
+    /**
+     * This method adds room for more values: the first chunk doubles until
+     * it reaches the full length, then full chunks are added.
+     */
+    private void grow() {
+        final int chunkLength = chunkMask + 1;
+
+        if (numberOfChunks == 1 && capacity < chunkLength) {
+            final int newLength = (int) Math.min(chunkLength, capacity * 2);
+            final DoubleBuffer chunk = allocate(newLength);
+
+            chunk.put(chunks[0].duplicate().clear());
+
+            chunks[0] = chunk;
+            capacity = newLength;
+
+            return;
+        }
+
+        if (numberOfChunks == chunks.length) {
+            chunks = Arrays.copyOf(chunks, numberOfChunks * 2);
+        }
+
+        final int newLength = numberOfChunks == 0
+                              ? Math.min(INITIAL_CAPACITY, chunkLength)
+                              : chunkLength;
+
+        chunks[numberOfChunks++] = allocate(newLength);
+        capacity += newLength;
+    }
+
+    private static DoubleBuffer allocate(final int length) {
+        return ByteBuffer.allocateDirect(length * Double.BYTES)
+                         .order(ByteOrder.nativeOrder())
+                         .asDoubleBuffer();
+    }
+
+    private double load(final long index) {
+        return chunks[(int) (index >>> chunkShift)].get((int) index
+                                                        & chunkMask);
+    }
+
+    private void store(final long index, final double value) {
+        chunks[(int) (index >>> chunkShift)].put((int) index & chunkMask,
+                                                 value);
+    }
+
+    /**
+     * This method copies values starting from a given index into a heap
+     * buffer until the buffer or the column ends.
+     *
+     * @return number of copied values.
+     */
+    private int copyOut(final long from, final double[] target) {
+        return copyOut(from, target, (int) Math.min(target.length,
+                                                    size - from));
+    }
+
+    private int copyOut(long from, final double[] target, final int length) {
+        int offset = 0;
+
+        while (offset < length) {
+            final int index = (int) from & chunkMask;
+            final int part = Math.min(length - offset,
+                                      chunkMask + 1 - index);
+
+            chunks[(int) (from >>> chunkShift)].get(index,
+                                                    target,
+                                                    offset,
+                                                    part);
+
+            offset += part;
+            from += part;
+        }
+
+        return length;
+    }
+
+    private void copyIn(final double[] source,
+                        int offset,
+                        final int length,
+                        long to) {
+        final int end = offset + length;
+
+        while (offset < end) {
+            final int index = (int) to & chunkMask;
+            final int part = Math.min(end - offset, chunkMask + 1 - index);
+
+            chunks[(int) (to >>> chunkShift)].put(index, source, offset, part);
+
+            offset += part;
+            to += part;
+        }
+    }
+
+    /**
+     * This method adds up the values or their squared differences from
+     * a given center block by block.
+     */
+    private double sumOfDifferences(final double center,
+                                    final boolean squared) {
+        final double[] block = new double[BLOCK_LENGTH];
+
+        double sum = 0;
+        double compensation = 0;
+
+        for (long from = 0; from < size; from += BLOCK_LENGTH) {
+            final int length = copyOut(from, block);
+            final double blockSum =
+                    squared
+                    ? Reductions.sumOfSquaredDifferences(block,
+                                                         0,
+                                                         length,
+                                                         center,
+                                                         Summation.PAIRWISE)
+                    : Reductions.sum(block, 0, length, Summation.PAIRWISE);
+            final double newSum = sum + blockSum;
+
+            if (Math.abs(sum) >= Math.abs(blockSum)) {
+                compensation += (sum - newSum) + blockSum;
+            } else {
+                compensation += (blockSum - newSum) + sum;
+            }
+
+            sum = newSum;
+        }
+
+        return Double.isInfinite(sum) ? sum : sum + compensation;
+    }
+
+    /**
+     * This method moves NaN values to the end of the column.
+     *
+     * @return number of values which are not NaN.
+     */
+    private long moveNaNToTheEnd() {
+        long end = size;
+        long index = 0;
+
+        while (index < end) {
+            final double value = load(index);
+
+            if (value != value) {
+                store(index, load(--end));
+                store(end, value);
+            } else {
+                ++index;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * This method returns the median of the values which would be in
+     * a given range if the column were sorted.
+     */
+    private double medianOfRanks(final long from, final long to) {
+        final long middle = from + (to - from) / 2;
+
+        if (((to - from) & 1) == 1) {
+            return valueOfRank(middle);
+        }
+
+        return (valueOfRank(middle - 1) + valueOfRank(middle)) / 2;
+    }
+
+    /**
+     * This method returns the value which would be under a given index if
+     * the column were sorted, selecting it in place unless the column is
+     * already sorted.
+     */
+    private double valueOfRank(final long rank) {
+        if (!sorted) {
+            final long numberOfValues = moveNaNToTheEnd();
+
+            if (rank < numberOfValues) {
+                select(0, numberOfValues, rank, new double[BLOCK_LENGTH]);
+            }
+        }
+
+        return load(rank);
+    }
+
+    /**
+     * This method rearranges a range without NaN so that the value under
+     * a given rank is the one which would be there if the range were sorted,
+     * see {@link Selection#select(double[], int, int, int)}.
+     */
+    private void select(long from,
+                        long to,
+                        final long rank,
+                        final double[] block) {
+        final long[] bounds = new long[2];
+
+        int depthLimit = 2 * (64 - Long.numberOfLeadingZeros(to - from));
+
+        while (to - from > BLOCK_LENGTH) {
+            if (depthLimit-- == 0) {
+                heapSort(from, to);
+
+                return;
+            }
+
+            partition(from, to, bounds);
+
+            if (rank < bounds[0]) {
+                to = bounds[0];
+            } else if (rank >= bounds[1]) {
+                from = bounds[1];
+            } else {
+                return;
+            }
+        }
+
+        sortOnHeap(from, to, block);
+    }
+
+    /**
+     * This method sorts a range without NaN, recursing into the shorter
+     * part of every partition.
+     */
+    private void sort(long from,
+                      long to,
+                      int depthLimit,
+                      final double[] block) {
+        final long[] bounds = new long[2];
+
+        while (to - from > BLOCK_LENGTH) {
+            if (depthLimit-- == 0) {
+                heapSort(from, to);
+
+                return;
+            }
+
+            partition(from, to, bounds);
+
+            if (bounds[0] - from < to - bounds[1]) {
+                sort(from, bounds[0], depthLimit, block);
+
+                from = bounds[1];
+            } else {
+                sort(bounds[1], to, depthLimit, block);
+
+                to = bounds[0];
+            }
+        }
+
+        sortOnHeap(from, to, block);
+    }
+
+    /**
+     * This method partitions a range in three parts in the order of
+     * {@link Double#compare(double, double)}. The pivot is the median of
+     * medians of three evenly spaced triples (Tukey's ninther), which stays
+     * close to the median for ranges left half-ordered by selection.
+     * The bounds receive the start and the end of the part equal to
+     * the pivot.
+     */
+    private void partition(final long from,
+                           final long to,
+                           final long[] bounds) {
+        final long step = (to - from) / 8;
+        final long middle = (from + to) >>> 1;
+        final long last = to - 1;
+        final double pivot =
+                medianOfThree(medianOfThree(load(from),
+                                            load(from + step),
+                                            load(from + 2 * step)),
+                              medianOfThree(load(middle - step),
+                                            load(middle),
+                                            load(middle + step)),
+                              medianOfThree(load(last - 2 * step),
+                                            load(last - step),
+                                            load(last)));
+
+        long lessEnd = from;
+        long greaterStart = to;
+        long index = from;
+
+        while (index < greaterStart) {
+            final double value = load(index);
+            final int comparison = value < pivot
+                                   ? -1
+                                   : value > pivot
+                                     ? 1
+                                     : Double.compare(value, pivot);
+
+            if (comparison < 0) {
+                store(index++, load(lessEnd));
+                store(lessEnd++, value);
+            } else if (comparison > 0) {
+                store(index, load(--greaterStart));
+                store(greaterStart, value);
+            } else {
+                ++index;
+            }
+        }
+
+        bounds[0] = lessEnd;
+        bounds[1] = greaterStart;
+    }
+
+    private static double medianOfThree(final double first,
+                                        final double second,
+                                        final double third) {
+        if (Double.compare(first, second) < 0) {
+            if (Double.compare(second, third) < 0) {
+                return second;
+            }
+
+            return Double.compare(first, third) < 0 ? third : first;
+        }
+
+        if (Double.compare(first, third) < 0) {
+            return first;
+        }
+
+        return Double.compare(second, third) < 0 ? third : second;
+    }
+
+    /**
+     * This method sorts a short range through a heap buffer.
+     */
+    private void sortOnHeap(final long from,
+                            final long to,
+                            final double[] block) {
+        final int length = (int) (to - from);
+
+        copyOut(from, block, length);
+
+        Arrays.sort(block, 0, length);
+
+        copyIn(block, 0, length, from);
+    }
+
+    /**
+     * This method sorts a range by heapsort, which is used when
+     * partitioning goes too deep.
+     */
+    private void heapSort(final long from, final long to) {
+        final long length = to - from;
+
+        for (long parent = length / 2 - 1; parent >= 0; --parent) {
+            siftDown(from, parent, length);
+        }
+
+        for (long end = length - 1; end > 0; --end) {
+            final double largest = load(from);
+
+            store(from, load(from + end));
+            store(from + end, largest);
+
+            siftDown(from, 0, end);
+        }
+    }
+
+    private void siftDown(final long offset, long parent, final long length) {
+        final double value = load(offset + parent);
+
+        while (true) {
+            long child = 2 * parent + 1;
+
+            if (child >= length) {
+                break;
+            }
+
+            if (child + 1 < length
+                    &&
+                    Double.compare(load(offset + child),
+                                   load(offset + child + 1)) < 0) {
+                ++child;
+            }
+
+            final double childValue = load(offset + child);
+
+            if (Double.compare(value, childValue) >= 0) {
+                break;
+            }
+
+            store(offset + parent, childValue);
+
+            parent = child;
+        }
+
+        store(offset + parent, value);
+    }
+
+    /**
+     * This method finds the modes of a sorted column comparing values
+     * the way {@link Double#equals(Object)} compares them.
+     *
+     * @return the largest number of times a value appears.
+     */
+    private long modesOfSorted(final DoubleArrayBuilder modes) {
+        long maximumQuantity = 0;
+        long index = 0;
+
+        while (index < size) {
+            final double value = load(index);
+            final long bits = Double.doubleToLongBits(value);
+            final long runStart = index;
+
+            ++index;
+
+            while (index < size
+                    &&
+                    Double.doubleToLongBits(load(index)) == bits) {
+                ++index;
+            }
+
+            final long quantity = index - runStart;
+
+            if (quantity > maximumQuantity) {
+                maximumQuantity = quantity;
+                modes.clear();
+            }
+
+            if (quantity == maximumQuantity) {
+                modes.accept(value);
+            }
+        }
+
+        return maximumQuantity;
+    }
+}
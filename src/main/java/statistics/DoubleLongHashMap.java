@@ -0,0 +1,175 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a hash map from double keys to long counts which
+ * stores neither keys nor counts as objects. Keys are compared the way
+ * {@link Double#equals(Object)} compares them. Entries are kept in dense
+ * arrays in the order of insertion and the hash table with linear probing
+ * only stores positions in those arrays.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+final class DoubleLongHashMap {
+    /**
+     * Multiplier of Fibonacci hashing.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private int[] slots;
+    private int shift;
+    private double[] keys;
+    private long[] counts;
+    private int size;
+
+    /**
+     * Constructor for DoubleLongHashMap class instance.
+     *
+     * @param expectedSize number of keys the map is initially sized for.
+     */
+    DoubleLongHashMap(final int expectedSize) {
+        final int capacity = Math.max(4, expectedSize);
+        final int numberOfSlots =
+                Integer.highestOneBit(Math.max(8, capacity * 2 - 1)) << 1;
+
+        slots = new int[numberOfSlots];
+        shift = Long.numberOfLeadingZeros(numberOfSlots - 1);
+        keys = new double[capacity];
+        counts = new long[capacity];
+    }
+
+    /**
+     * This method adds a given amount to the count of a given key.
+     * A key which is not in the map yet is added with a count of 0 first.
+     *
+     * @param key key to add to.
+     * @param amount amount to add.
+     */
+    void add(final double key, final long amount) {
+        final long bits = Double.doubleToLongBits(key);
+        final int mask = slots.length - 1;
+
+        int slot = (int) ((bits * GOLDEN_RATIO) >>> shift);
+
+        while (true) {
+            final int entry = slots[slot];
+
+            if (entry == 0) {
+                break;
+            } else if (Double.doubleToLongBits(keys[entry - 1]) == bits) {
+                counts[entry - 1] += amount;
+
+                return;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+        }
+
+        keys[size] = key;
+        counts[size] = amount;
+        slots[slot] = ++size;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+    }
+
+    /**
+     * This method returns the count of a given key.
+     *
+     * @param key key to look up.
+     * @return count of the key or 0 if it is not in the map.
+     */
+    long get(final double key) {
+        final long bits = Double.doubleToLongBits(key);
+        final int mask = slots.length - 1;
+
+        int slot = (int) ((bits * GOLDEN_RATIO) >>> shift);
+
+        while (true) {
+            final int entry = slots[slot];
+
+            if (entry == 0) {
+                return 0;
+            } else if (Double.doubleToLongBits(keys[entry - 1]) == bits) {
+                return counts[entry - 1];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return number of keys in the map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param index position of an entry in the order of insertion.
+     * @return key of the entry.
+     */
+    double keyAt(final int index) {
+        return keys[index];
+    }
+
+    /**
+     * @param index position of an entry in the order of insertion.
+     * @return count of the entry.
+     */
+    long countAt(final int index) {
+        return counts[index];
+    }
+
+    /**
+     * This method forgets all the entries keeping the allocated memory.
+     */
+    void clear() {
+        Arrays.fill(slots, 0);
+
+        size = 0;
+    }
+
+    /**
+     * This method returns a frequency table of the entries.
+     *
+     * @param total number of values the counts add up to.
+     * @return frequency table with copies of keys and counts.
+     */
+    FrequencyTable toFrequencyTable(final long total) {
+        return new FrequencyTable(Arrays.copyOf(keys, size),
+                                  Arrays.copyOf(counts, size),
+                                  total);
+    }
+
+    /**
+     * This method doubles the hash table.
+     */
+    private void rehash() {
+        final int numberOfSlots = slots.length * 2;
+        final int mask = numberOfSlots - 1;
+
+        slots = new int[numberOfSlots];
+        shift = Long.numberOfLeadingZeros(numberOfSlots - 1);
+
+        for (int index = 0; index < size; ++index) {
+            final long bits = Double.doubleToLongBits(keys[index]);
+
+            int slot = (int) ((bits * GOLDEN_RATIO) >>> shift);
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = index + 1;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package statistics;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class represents a multiset of values which changes by single values
+ * and answers statistics of its current content without recomputing them
+ * over all the values. Values are kept in an order statistic tree, so
+ * adding, removing or replacing a value as well as finding a median,
+ * a quartile, a quantile or a rank takes O(log n), and the number of
+ * occurrences of the modes is known in O(1). Average arithmetic and
+ * variance are updated with Welford's algorithm and its inverse in O(1).
+ * <p>
+ * Removing values with the inverse of Welford's algorithm accumulates
+ * rounding errors, so the moments are recomputed exactly from the distinct
+ * values once the number of removals since the last recomputation exceeds
+ * the number of values, which keeps the amortised cost constant.
+ * The inverse can not be applied at all once an infinite or NaN value has
+ * entered the moments, so such values are only counted, and average
+ * arithmetic and variance are kept for the finite values, like in
+ * {@link WindowedStatistics}.
+ * <p>
+ * Values are ordered the way {@link Double#compare(double, double)} orders
+ * them, so NaN values are the largest ones, and compared the way
+ * {@link Double#equals(Object)} compares them.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class DynamicDataset implements DoubleConsumer {
+    private final OrderStatisticTree tree;
+
+    private double averageArithmetic;
+    private double sumOfSquaredDifferences;
+    private long removalsSinceRecomputation;
+    private long numberOfNaN;
+    private long numberOfPositiveInfinities;
+    private long numberOfNegativeInfinities;
+
+    /**
+     * Constructor for DynamicDataset class instance.
+     */
+    public DynamicDataset() {
+        this(16);
+    }
+
+    /**
+     * Constructor for DynamicDataset class instance.
+     *
+     * @param expectedSize number of distinct values the dataset is initially
+     *                     sized for.
+     * @throws IllegalArgumentException if expected size is negative.
+     */
+    public DynamicDataset(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative size: " +
+                                               expectedSize + ".");
+        }
+
+        tree = new OrderStatisticTree(Math.min(expectedSize, 1 << 24));
+    }
+
+    /**
+     * This method creates a dataset with the values of a given array.
+     *
+     * @param data array with values.
+     * @return new dataset.
+     * @throws NullPointerException if given array is null.
+     */
+    public static DynamicDataset of(final double[] data) {
+        final DynamicDataset dataset = new DynamicDataset(data.length);
+
+        for (final double value: data) {
+            dataset.add(value);
+        }
+
+        return dataset;
+    }
+
+    /**
+     * This method adds a value, see {@link #add(double)}.
+     *
+     * @param value value to add.
+     */
+    @Override
+    public void accept(final double value) {
+        add(value);
+    }
+
+    /**
+     * This method adds a value in O(log n).
+     *
+     * @param value value to add.
+     */
+    public void add(final double value) {
+        tree.add(value);
+
+        if (!Double.isFinite(value)) {
+            countNonFiniteValue(value, 1);
+
+            return;
+        }
+
+        final double difference = value - averageArithmetic;
+
+        averageArithmetic += difference / numberOfFiniteValues();
+        sumOfSquaredDifferences += difference * (value - averageArithmetic);
+    }
+
+    /**
+     * This method removes one occurrence of a value in O(log n).
+     *
+     * @param value value to remove.
+     * @return true if the value was in the dataset.
+     */
+    public boolean remove(final double value) {
+        if (!tree.remove(value)) {
+            return false;
+        }
+
+        if (!Double.isFinite(value)) {
+            countNonFiniteValue(value, -1);
+
+            return true;
+        }
+
+        final long count = numberOfFiniteValues();
+
+        if (count == 0) {
+            averageArithmetic = 0;
+            sumOfSquaredDifferences = 0;
+            removalsSinceRecomputation = 0;
+
+            return true;
+        }
+
+        final double difference = value - averageArithmetic;
+
+        averageArithmetic -= difference / count;
+        sumOfSquaredDifferences -= difference * (value - averageArithmetic);
+
+        if (sumOfSquaredDifferences < 0) {
+            sumOfSquaredDifferences = 0;
+        }
+
+        if (++removalsSinceRecomputation > count) {
+            recomputeMoments();
+        }
+
+        return true;
+    }
+
+    /**
+     * This method replaces one occurrence of a value with another value
+     * in O(log n).
+     *
+     * @param oldValue value to replace.
+     * @param newValue value to put instead.
+     * @return true if the old value was in the dataset, otherwise nothing
+     *         is changed.
+     */
+    public boolean replace(final double oldValue, final double newValue) {
+        if (!remove(oldValue)) {
+            return false;
+        }
+
+        add(newValue);
+
+        return true;
+    }
+
+    /**
+     * This method removes all the values keeping the allocated memory.
+     */
+    public void clear() {
+        tree.clear();
+
+        averageArithmetic = 0;
+        sumOfSquaredDifferences = 0;
+        removalsSinceRecomputation = 0;
+        numberOfNaN = 0;
+        numberOfPositiveInfinities = 0;
+        numberOfNegativeInfinities = 0;
+    }
+
+    /**
+     * @return number of values.
+     */
+    public long count() {
+        return tree.size();
+    }
+
+    /**
+     * @param value a value.
+     * @return number of occurrences of the value.
+     */
+    public long count(final double value) {
+        return tree.count(value);
+    }
+
+    /**
+     * @param value a value.
+     * @return number of values which are less than the given one.
+     */
+    public long rank(final double value) {
+        return tree.rank(value);
+    }
+
+    /**
+     * This method returns the value which would be under a given index if
+     * the values were sorted.
+     *
+     * @param rank index of the value, from 0 to count - 1.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if rank is out of the dataset.
+     */
+    public double valueOfRank(final long rank) {
+        return tree.select(rank);
+    }
+
+    /**
+     * This method returns the minimum value.
+     *
+     * @return minimum value.
+     * @throws NotEnoughDataException if the dataset is empty.
+     */
+    public double min() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return tree.select(0);
+    }
+
+    /**
+     * This method returns the maximum value.
+     *
+     * @return maximum value.
+     * @throws NotEnoughDataException if the dataset is empty.
+     */
+    public double max() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return tree.select(tree.size() - 1);
+    }
+
+    /**
+     * This method returns the average arithmetic of the values.
+     *
+     * @return average arithmetic.
+     * @throws NotEnoughDataException if the dataset is empty.
+     */
+    public double averageArithmetic() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        if (numberOfNaN > 0
+                || (numberOfPositiveInfinities > 0
+                    && numberOfNegativeInfinities > 0)) {
+            return Double.NaN;
+        } else if (numberOfPositiveInfinities > 0) {
+            return Double.POSITIVE_INFINITY;
+        } else if (numberOfNegativeInfinities > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return averageArithmetic;
+    }
+
+    /**
+     * This method returns the variance of the values.
+     *
+     * @return variance.
+     * @throws NotEnoughDataException if the dataset has less than two
+     *                                values.
+     */
+    public double variance() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        if (numberOfFiniteValues() < tree.size()) {
+            return Double.NaN;
+        }
+
+        return sumOfSquaredDifferences / (tree.size() - 1);
+    }
+
+    /**
+     * This method returns the median of the values.
+     *
+     * @return median.
+     * @throws NotEnoughDataException if the dataset is empty.
+     */
+    public double median() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return tree.medianOfRanks(0, tree.size());
+    }
+
+    /**
+     * This method returns the first quartile of the values,
+     * see {@link Statistics#firstQuartile(double[])}.
+     *
+     * @return the first quartile.
+     * @throws NotEnoughDataException if the dataset has less than two
+     *                                values.
+     */
+    public double firstQuartile() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return tree.medianOfRanks(0, tree.size() / 2);
+    }
+
+    /**
+     * This method returns the third quartile of the values,
+     * see {@link Statistics#thirdQuartile(double[])}.
+     *
+     * @return the third quartile.
+     * @throws NotEnoughDataException if the dataset has less than two
+     *                                values.
+     */
+    public double thirdQuartile() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        final long count = tree.size();
+
+        return tree.medianOfRanks(count - count / 2, count);
+    }
+
+    /**
+     * This method returns the interquartile range of the values.
+     *
+     * @return interquartile range.
+     * @throws NotEnoughDataException if the dataset has less than two
+     *                                values.
+     */
+    public double iqr() throws NotEnoughDataException {
+        return thirdQuartile() - firstQuartile();
+    }
+
+    /**
+     * This method finds a quantile of the values, interpolating linearly
+     * between the two closest ranks, see
+     * {@link Statistics#quantile(double[], double)}.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws NotEnoughDataException if the dataset is empty.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    public double quantile(final double probability)
+                                            throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        final double position = (tree.size() - 1) * probability;
+        final long lowerRank = (long) position;
+        final double lower = tree.select(lowerRank);
+        final double fraction = position - lowerRank;
+
+        if (fraction == 0) {
+            return lower;
+        }
+
+        return lower + fraction * (tree.select(lowerRank + 1) - lower);
+    }
+
+    /**
+     * This method returns mode(s) and their quantity in the format of
+     * {@link Statistics#mode(double[])}.
+     *
+     * @return an array with modes in ascending order and their quantity
+     *         as the last value of the array.
+     * @throws NotEnoughDataException if the dataset is empty.
+     */
+    public double[] mode() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        final double[] modes = tree.modes();
+        final double[] modesAndTheirQuantity = new double[modes.length + 1];
+
+        System.arraycopy(modes, 0, modesAndTheirQuantity, 0, modes.length);
+
+        modesAndTheirQuantity[modes.length] = tree.modeQuantity();
+
+        return modesAndTheirQuantity;
+    }
+
+    /**
+     * @return number of occurrences of the modes or 0 if the dataset is
+     *         empty.
+     */
+    public long modeQuantity() {
+        return tree.modeQuantity();
+    }
+
+    /**
+     * This method returns a summary of the values. Mode quantity of
+     * the summary saturates at {@link Integer#MAX_VALUE}.
+     *
+     * @return summary of the values.
+     * @throws NotEnoughDataException if the dataset has less than two
+     *                                values.
+     */
+    public Summary summary() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return new Summary(tree.size(),
+                           min(),
+                           max(),
+                           averageArithmetic(),
+                           variance(),
+                           tree.modes(),
+                           (int) Math.min(Integer.MAX_VALUE,
+                                          tree.modeQuantity()),
+                           firstQuartile(),
+                           median(),
+                           thirdQuartile());
+    }
+
+    /**
+     * This method recomputes average arithmetic and variance of the finite
+     * values from the distinct values in two passes.
+     */
+    private void recomputeMoments() {
+        final long count = numberOfFiniteValues();
+
+        averageArithmetic = tree.sumOfDifferences(0, false) / count;
+        sumOfSquaredDifferences = tree.sumOfDifferences(averageArithmetic,
+                                                        true);
+        removalsSinceRecomputation = 0;
+    }
+
+    /**
+     * This method changes the number of infinite or NaN values equal to
+     * a given one.
+     *
+     * @param value infinite or NaN value.
+     * @param change 1 if the value is added, -1 if it is removed.
+     */
+    private void countNonFiniteValue(final double value, final int change) {
+        if (value != value) {
+            numberOfNaN += change;
+        } else if (value > 0) {
+            numberOfPositiveInfinities += change;
+        } else {
+            numberOfNegativeInfinities += change;
+        }
+    }
+
+    /**
+     * @return number of values which are neither infinite nor NaN.
+     */
+    private long numberOfFiniteValues() {
+        return tree.size()
+               - numberOfNaN
+               - numberOfPositiveInfinities
+               - numberOfNegativeInfinities;
+    }
+
+    /**
+     * This method checks if the dataset has enough values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private void checkIfThereIsEnoughData(final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (tree.size() < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+}
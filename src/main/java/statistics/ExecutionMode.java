@@ -0,0 +1,46 @@
+package statistics;
+
+/**
+ * This enum represents the way a statistic is computed over an array.
+ * Parallel computations split the array into fixed-size parts, so their
+ * results do not depend on the number of threads and are the same from run
+ * to run. They may differ from sequential results in the last digits
+ * because the values are added in a different order.
+ *
+ * @author svalyavakilia
+ */
+public enum ExecutionMode {
+    /**
+     * The statistic is computed by the calling thread.
+     */
+    SEQUENTIAL,
+
+    /**
+     * The statistic is computed in the common fork/join pool.
+     */
+    PARALLEL,
+
+    /**
+     * The statistic is computed in parallel if the array has at least
+     * {@link #PARALLEL_THRESHOLD} values and sequentially otherwise.
+     */
+    AUTOMATIC;
+
+    /**
+     * Minimum length of an array which is analysed in parallel
+     * in automatic mode.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * This method checks if an array of a given length should be analysed
+     * in parallel in this mode.
+     *
+     * @param length length of the array.
+     * @return true if the array should be analysed in parallel.
+     */
+    boolean isParallelFor(final int length) {
+        return this == PARALLEL
+               || (this == AUTOMATIC && length >= PARALLEL_THRESHOLD);
+    }
+}
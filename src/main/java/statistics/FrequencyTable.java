@@ -0,0 +1,315 @@
+package statistics;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class represents distinct values and the number of times each of them
+ * appears, stored in two parallel primitive arrays. Values are in the order
+ * of their first appearance and are compared the way
+ * {@link Double#equals(Object)} compares them. A table can be written to
+ * and read from a compact byte form.
+ *
+ * @author svalyavakilia
+ */
+public final class FrequencyTable {
+    /**
+     * Version of the serialised form.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    private final double[] values;
+    private final long[] counts;
+    private final long total;
+
+    /**
+     * Constructor for FrequencyTable class instance.
+     *
+     * @param values distinct values, the array is not copied.
+     * @param counts counts of the values, the array is not copied.
+     * @param total sum of the counts.
+     */
+    FrequencyTable(final double[] values,
+                   final long[] counts,
+                   final long total) {
+        this.values = values;
+        this.counts = counts;
+        this.total = total;
+    }
+
+    /**
+     * This method counts distinct values of a given array. Integers which
+     * span a narrow range are counted in an array indexed by the value,
+     * other values in a primitive hash table.
+     *
+     * @param data array with values.
+     * @return frequency table of the values.
+     * @throws NullPointerException if given array is null.
+     */
+    static FrequencyTable of(final double[] data) {
+        final IntegerCounts integerCounts = IntegerCounts.of(data);
+
+        if (integerCounts != null) {
+            return integerCounts.frequencyTable(data);
+        }
+
+        final DoubleLongHashMap counts =
+                new DoubleLongHashMap(Math.min(data.length, 1 << 16));
+
+        for (final double value: data) {
+            counts.add(value, 1);
+        }
+
+        return counts.toFrequencyTable(data.length);
+    }
+
+    /**
+     * @return number of distinct values.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return number of values which were counted.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @param index index of a distinct value.
+     * @return the distinct value.
+     * @throws IndexOutOfBoundsException if index is out of the table.
+     */
+    public double value(final int index) {
+        return values[index];
+    }
+
+    /**
+     * @param index index of a distinct value.
+     * @return number of times the value appears.
+     * @throws IndexOutOfBoundsException if index is out of the table.
+     */
+    public long count(final int index) {
+        return counts[index];
+    }
+
+    /**
+     * @param index index of a distinct value.
+     * @return share of the values which are equal to the value.
+     * @throws IndexOutOfBoundsException if index is out of the table.
+     */
+    public double frequency(final int index) {
+        return (double) counts[index] / total;
+    }
+
+    /**
+     * @return copy of the distinct values.
+     */
+    public double[] values() {
+        return values.clone();
+    }
+
+    /**
+     * @return copy of the counts of the distinct values.
+     */
+    public long[] counts() {
+        return counts.clone();
+    }
+
+    /**
+     * @return the largest count or 0 if the table is empty.
+     */
+    public long modeQuantity() {
+        long maximumCount = 0;
+
+        for (final long count: counts) {
+            if (count > maximumCount) {
+                maximumCount = count;
+            }
+        }
+
+        return maximumCount;
+    }
+
+    /**
+     * @return values which appear the largest number of times,
+     *         in ascending order.
+     */
+    public double[] modes() {
+        final long maximumCount = modeQuantity();
+
+        int numberOfModes = 0;
+
+        for (final long count: counts) {
+            if (count == maximumCount) {
+                ++numberOfModes;
+            }
+        }
+
+        final double[] modes = new double[numberOfModes];
+
+        numberOfModes = 0;
+
+        for (int index = 0; index < counts.length; ++index) {
+            if (counts[index] == maximumCount) {
+                modes[numberOfModes++] = values[index];
+            }
+        }
+
+        Arrays.sort(modes);
+
+        return modes;
+    }
+
+    /**
+     * This method returns the values and their frequencies as a map,
+     * see {@link Statistics#frequencies(double[])}.
+     *
+     * @return values and their frequencies.
+     */
+    public Map<Double, Double> toMap() {
+        final Map<Double, Double> valuesAndTheirFrequencies =
+                new HashMap<>((int) (values.length / 0.75f) + 1);
+
+        for (int index = 0; index < values.length; ++index) {
+            valuesAndTheirFrequencies.put(values[index], frequency(index));
+        }
+
+        return valuesAndTheirFrequencies;
+    }
+
+    /**
+     * @return number of bytes {@link #writeTo(ByteBuffer)} writes.
+     */
+    public int serializedSize() {
+        return serializedSize(values.length);
+    }
+
+    /**
+     * @param size number of distinct values.
+     * @return number of bytes {@link #writeTo(ByteBuffer)} writes for a table
+     *         with a given number of distinct values.
+     */
+    static int serializedSize(final int size) {
+        return 1 + 4 + 8 + 16 * size;
+    }
+
+    /**
+     * This method serialises the table into a compact byte form.
+     *
+     * @return bytes which {@link #fromBytes(byte[])} accepts.
+     */
+    public byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+
+        writeTo(buffer);
+
+        return buffer.array();
+    }
+
+    /**
+     * This method writes the table into a buffer in little-endian order
+     * starting at its position, which is advanced. Distinct values are
+     * written first and their counts after them.
+     *
+     * @param buffer buffer to write to.
+     * @throws java.nio.BufferOverflowException if there is not enough space.
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        final ByteOrder order = buffer.order();
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(SERIAL_VERSION)
+              .putInt(values.length)
+              .putLong(total);
+
+        buffer.asDoubleBuffer().put(values);
+        buffer.position(buffer.position() + 8 * values.length);
+        buffer.asLongBuffer().put(counts);
+        buffer.position(buffer.position() + 8 * counts.length);
+
+        buffer.order(order);
+    }
+
+    /**
+     * This method restores a table from its compact byte form.
+     *
+     * @param bytes bytes returned by {@link #toBytes()}.
+     * @return restored table.
+     * @throws IllegalArgumentException if the bytes are not a table.
+     */
+    public static FrequencyTable fromBytes(final byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * This method reads a table written by {@link #writeTo(ByteBuffer)}
+     * from a buffer starting at its position, which is advanced.
+     *
+     * @param buffer buffer to read from.
+     * @return restored table.
+     * @throws IllegalArgumentException if the bytes are not a table.
+     */
+    public static FrequencyTable readFrom(final ByteBuffer buffer) {
+        final ByteOrder order = buffer.order();
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            final byte version = buffer.get();
+
+            if (version != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unknown version of " +
+                                                   "frequency table: " +
+                                                   version + ".");
+            }
+
+            final int size = buffer.getInt();
+            final long total = buffer.getLong();
+
+            if (size < 0 || total < 0) {
+                throw new IllegalArgumentException("Corrupted frequency " +
+                                                   "table!");
+            } else if (size > buffer.remaining() / 16) {
+                throw new BufferUnderflowException();
+            }
+
+            final double[] values = new double[size];
+            final long[] counts = new long[size];
+
+            buffer.asDoubleBuffer().get(values);
+            buffer.position(buffer.position() + 8 * size);
+            buffer.asLongBuffer().get(counts);
+            buffer.position(buffer.position() + 8 * size);
+
+            return new FrequencyTable(values, counts, total);
+        } catch (final BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Truncated frequency table!",
+                                               exception);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("FrequencyTable{");
+
+        for (int index = 0; index < values.length; ++index) {
+            if (index != 0) {
+                builder.append(", ");
+            }
+
+            builder.append(values[index]).append('=').append(counts[index]);
+        }
+
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,282 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class accumulates count, average arithmetic, sum of squared
+ * differences, minimum and maximum of the values of every key of a pair of
+ * key and value columns. Keys are found in a hash table with linear probing
+ * and the statistics of a key live in parallel primitive arrays under
+ * the position of the key, in the order in which keys were first seen.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+final class GroupTable {
+    /**
+     * Multiplier of Fibonacci hashing.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private int[] slots;
+    private int shift;
+    private long[] keys;
+    private long[] counts;
+    private double[] averages;
+    private double[] sumsOfSquaredDifferences;
+    private double[] minimums;
+    private double[] maximums;
+    private int size;
+
+    /**
+     * Constructor for GroupTable class instance.
+     *
+     * @param expectedSize number of keys the table is initially sized for.
+     */
+    GroupTable(final int expectedSize) {
+        final int capacity = Math.max(4, expectedSize);
+        final int numberOfSlots =
+                Integer.highestOneBit(Math.max(8, capacity * 2 - 1)) << 1;
+
+        slots = new int[numberOfSlots];
+        shift = Long.numberOfLeadingZeros(numberOfSlots - 1);
+        keys = new long[capacity];
+        counts = new long[capacity];
+        averages = new double[capacity];
+        sumsOfSquaredDifferences = new double[capacity];
+        minimums = new double[capacity];
+        maximums = new double[capacity];
+    }
+
+    /**
+     * This method aggregates a range of key and value columns with two
+     * passes over it: the first one finds the group of every value and adds
+     * up counts, sums and extremes, the second one adds up squared
+     * differences from the average arithmetic of every group.
+     * Exactly one of the key columns is not null.
+     *
+     * @param intKeys int keys or null.
+     * @param longKeys long keys or null.
+     * @param values values, as many as keys.
+     * @param from index of the first pair, inclusive.
+     * @param to index of the last pair, exclusive.
+     * @param groups array which receives the group of every pair of the range
+     *               at the index of the pair minus from.
+     * @return table of the range.
+     */
+    static GroupTable aggregate(final int[] intKeys,
+                                final long[] longKeys,
+                                final double[] values,
+                                final int from,
+                                final int to,
+                                final int[] groups) {
+        final GroupTable table = new GroupTable(16);
+
+        for (int index = from; index < to; ++index) {
+            final long key = intKeys != null ? intKeys[index]
+                                             : longKeys[index];
+            final int group = table.groupOf(key);
+            final double value = values[index];
+
+            groups[index - from] = group;
+
+            ++table.counts[group];
+            table.averages[group] += value;
+
+            if (value < table.minimums[group]) {
+                table.minimums[group] = value;
+            }
+
+            if (value > table.maximums[group]) {
+                table.maximums[group] = value;
+            }
+        }
+
+        for (int group = 0; group < table.size; ++group) {
+            table.averages[group] /= table.counts[group];
+        }
+
+        for (int index = from; index < to; ++index) {
+            final int group = groups[index - from];
+            final double difference = values[index] - table.averages[group];
+
+            table.sumsOfSquaredDifferences[group] += difference * difference;
+        }
+
+        return table;
+    }
+
+    /**
+     * @return number of groups.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * This method returns the group of a given key.
+     *
+     * @param key key to look up.
+     * @return position of the group or -1 if there is no such key.
+     */
+    int indexOf(final long key) {
+        final int mask = slots.length - 1;
+
+        int slot = (int) ((key * GOLDEN_RATIO) >>> shift);
+
+        while (true) {
+            final int entry = slots[slot];
+
+            if (entry == 0) {
+                return -1;
+            } else if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long keyAt(final int group) {
+        return keys[group];
+    }
+
+    long countAt(final int group) {
+        return counts[group];
+    }
+
+    double averageArithmeticAt(final int group) {
+        return averages[group];
+    }
+
+    double sumOfSquaredDifferencesAt(final int group) {
+        return sumsOfSquaredDifferences[group];
+    }
+
+    double minAt(final int group) {
+        return minimums[group];
+    }
+
+    double maxAt(final int group) {
+        return maximums[group];
+    }
+
+    /**
+     * This method adds the groups of another table to the groups of this
+     * one, combining the groups of equal keys the way
+     * {@link RunningStatistics#combine(RunningStatistics)} does.
+     * New keys are appended in the order of the other table.
+     *
+     * @param other table to add.
+     * @return this table.
+     */
+    GroupTable merge(final GroupTable other) {
+        for (int otherGroup = 0; otherGroup < other.size; ++otherGroup) {
+            final int group = groupOf(other.keys[otherGroup]);
+            final long count = counts[group];
+            final long otherCount = other.counts[otherGroup];
+            final double otherAverage = other.averages[otherGroup];
+
+            if (count == 0) {
+                averages[group] = otherAverage;
+                sumsOfSquaredDifferences[group] =
+                        other.sumsOfSquaredDifferences[otherGroup];
+            } else {
+                final double newCount = (double) count + otherCount;
+                final double difference = otherAverage - averages[group];
+
+                averages[group] += difference * (otherCount / newCount);
+                sumsOfSquaredDifferences[group] +=
+                        other.sumsOfSquaredDifferences[otherGroup]
+                        + difference * difference
+                          * (count / newCount) * otherCount;
+            }
+
+            counts[group] = count + otherCount;
+            minimums[group] = Math.min(minimums[group],
+                                       other.minimums[otherGroup]);
+            maximums[group] = Math.max(maximums[group],
+                                       other.maximums[otherGroup]);
+        }
+
+        return this;
+    }
+
+    /**
+     * This method returns the group of a given key adding an empty group for
+     * it if there is none yet.
+     *
+     * @param key key to look up.
+     * @return position of the group.
+     */
+    private int groupOf(final long key) {
+        final int mask = slots.length - 1;
+
+        int slot = (int) ((key * GOLDEN_RATIO) >>> shift);
+
+        while (true) {
+            final int entry = slots[slot];
+
+            if (entry == 0) {
+                break;
+            } else if (keys[entry - 1] == key) {
+                return entry - 1;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (size == keys.length) {
+            grow();
+        }
+
+        final int group = size;
+
+        keys[group] = key;
+        minimums[group] = Double.POSITIVE_INFINITY;
+        maximums[group] = Double.NEGATIVE_INFINITY;
+        slots[slot] = ++size;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+
+        return group;
+    }
+
+    /**
+     * This method doubles the arrays of the groups.
+     */
+    private void grow() {
+        final int capacity = keys.length * 2;
+
+        keys = Arrays.copyOf(keys, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        averages = Arrays.copyOf(averages, capacity);
+        sumsOfSquaredDifferences =
+                Arrays.copyOf(sumsOfSquaredDifferences, capacity);
+        minimums = Arrays.copyOf(minimums, capacity);
+        maximums = Arrays.copyOf(maximums, capacity);
+    }
+
+    /**
+     * This method doubles the hash table.
+     */
+    private void rehash() {
+        final int numberOfSlots = slots.length * 2;
+        final int mask = numberOfSlots - 1;
+
+        slots = new int[numberOfSlots];
+        shift = Long.numberOfLeadingZeros(numberOfSlots - 1);
+
+        for (int index = 0; index < size; ++index) {
+            int slot = (int) ((keys[index] * GOLDEN_RATIO) >>> shift);
+
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            slots[slot] = index + 1;
+        }
+    }
+}
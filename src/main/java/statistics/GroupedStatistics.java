@@ -0,0 +1,390 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class represents statistics of the values of every key of a pair of
+ * key and value columns, computed by {@link Statistics#groupBy(long[],
+ * double[], ExecutionMode, boolean)} without splitting the columns into
+ * an array per key. Groups are numbered from 0 in the order in which their
+ * keys first appear in the key column.
+ * Count, average arithmetic, variance, minimum and maximum are always
+ * known. Median, quartiles and quantiles are known if order statistics
+ * were requested: the values are then kept grouped and sorted, so each of
+ * them is found in O(1).
+ *
+ * @author svalyavakilia
+ */
+public final class GroupedStatistics {
+    private final GroupTable table;
+    private final double[] orderedValues;
+    private final int[] offsets;
+
+    /**
+     * Constructor for GroupedStatistics class instance.
+     *
+     * @param table statistics of the groups.
+     * @param orderedValues values grouped and sorted within groups or null.
+     * @param offsets index of the first value of every group in ordered
+     *                values followed by the number of values or null.
+     */
+    private GroupedStatistics(final GroupTable table,
+                              final double[] orderedValues,
+                              final int[] offsets) {
+        this.table = table;
+        this.orderedValues = orderedValues;
+        this.offsets = offsets;
+    }
+
+    /**
+     * This method groups values by keys. Exactly one of the key columns
+     * is not null.
+     *
+     * @param intKeys int keys or null.
+     * @param longKeys long keys or null.
+     * @param values values, as many as keys.
+     * @param mode whether to group in parallel.
+     * @param withOrderStatistics true if median, quartiles and quantiles of
+     *                            the groups are needed.
+     * @return statistics of the groups.
+     * @throws IllegalArgumentException if there are not as many values
+     *                                  as keys.
+     */
+    static GroupedStatistics of(final int[] intKeys,
+                                final long[] longKeys,
+                                final double[] values,
+                                final ExecutionMode mode,
+                                final boolean withOrderStatistics) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(mode);
+
+        final int length = values.length;
+        final int keysLength = intKeys != null ? intKeys.length
+                                               : longKeys.length;
+
+        if (keysLength != length) {
+            throw new IllegalArgumentException("There are " + keysLength +
+                                               " keys and " + length +
+                                               " values.");
+        }
+
+        final boolean parallel = mode.isParallelFor(length);
+
+        final GroupTable table;
+        final int[] groups;
+
+        if (parallel) {
+            table = ParallelStatistics.group(intKeys, longKeys, values);
+            groups = withOrderStatistics ? new int[length] : null;
+
+            if (groups != null) {
+                for (int index = 0; index < length; ++index) {
+                    groups[index] = table.indexOf(intKeys != null
+                                                  ? intKeys[index]
+                                                  : longKeys[index]);
+                }
+            }
+        } else {
+            groups = new int[length];
+            table = GroupTable.aggregate(intKeys,
+                                         longKeys,
+                                         values,
+                                         0,
+                                         length,
+                                         groups);
+        }
+
+        if (!withOrderStatistics) {
+            return new GroupedStatistics(table, null, null);
+        }
+
+        final int numberOfGroups = table.size();
+        final int[] offsets = new int[numberOfGroups + 1];
+
+        for (int group = 0; group < numberOfGroups; ++group) {
+            offsets[group + 1] = offsets[group]
+                                 + (int) table.countAt(group);
+        }
+
+        final int[] positions = Arrays.copyOf(offsets, numberOfGroups);
+        final double[] orderedValues = new double[length];
+
+        for (int index = 0; index < length; ++index) {
+            orderedValues[positions[groups[index]]++] = values[index];
+        }
+
+        for (int group = 0; group < numberOfGroups; ++group) {
+            final int from = offsets[group];
+            final int to = offsets[group + 1];
+
+            if (parallel && to - from >= ParallelStatistics.LEAF_LENGTH) {
+                Arrays.parallelSort(orderedValues, from, to);
+            } else {
+                Arrays.sort(orderedValues, from, to);
+            }
+        }
+
+        return new GroupedStatistics(table, orderedValues, offsets);
+    }
+
+    /**
+     * @return number of groups, i.e. of distinct keys.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * @param group index of a group.
+     * @return key of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     */
+    public long key(final int group) {
+        return table.keyAt(checkGroup(group));
+    }
+
+    /**
+     * This method finds the group of a given key.
+     *
+     * @param key key to look up.
+     * @return index of the group or -1 if there is no such key.
+     */
+    public int indexOf(final long key) {
+        return table.indexOf(key);
+    }
+
+    /**
+     * @param group index of a group.
+     * @return number of values of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     */
+    public long count(final int group) {
+        return table.countAt(checkGroup(group));
+    }
+
+    /**
+     * @param group index of a group.
+     * @return minimum value of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     */
+    public double min(final int group) {
+        return table.minAt(checkGroup(group));
+    }
+
+    /**
+     * @param group index of a group.
+     * @return maximum value of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     */
+    public double max(final int group) {
+        return table.maxAt(checkGroup(group));
+    }
+
+    /**
+     * @param group index of a group.
+     * @return average arithmetic of the values of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     */
+    public double averageArithmetic(final int group) {
+        return table.averageArithmeticAt(checkGroup(group));
+    }
+
+    /**
+     * This method returns the variance of the values of a group.
+     *
+     * @param group index of a group.
+     * @return variance of the values of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     * @throws NotEnoughDataException if the group has less than two values.
+     */
+    public double variance(final int group) throws NotEnoughDataException {
+        checkIfThereIsEnoughData(group, 2);
+
+        return table.sumOfSquaredDifferencesAt(group)
+               / (table.countAt(group) - 1);
+    }
+
+    /**
+     * @return true if median, quartiles and quantiles of the groups are
+     *         known.
+     */
+    public boolean hasOrderStatistics() {
+        return orderedValues != null;
+    }
+
+    /**
+     * This method returns the median of the values of a group.
+     *
+     * @param group index of a group.
+     * @return median of the values of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     * @throws IllegalStateException if order statistics were not requested.
+     */
+    public double median(final int group) {
+        checkGroup(group);
+        checkIfOrderStatisticsAreKnown();
+
+        return SummaryCalculator.medianOfSorted(orderedValues,
+                                                offsets[group],
+                                                offsets[group + 1]);
+    }
+
+    /**
+     * This method returns the first quartile of the values of a group,
+     * see {@link Statistics#firstQuartile(double[])}.
+     *
+     * @param group index of a group.
+     * @return the first quartile.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     * @throws NotEnoughDataException if the group has less than two values.
+     * @throws IllegalStateException if order statistics were not requested.
+     */
+    public double firstQuartile(final int group)
+                                            throws NotEnoughDataException {
+        checkIfThereIsEnoughData(group, 2);
+        checkIfOrderStatisticsAreKnown();
+
+        final int from = offsets[group];
+        final int length = offsets[group + 1] - from;
+
+        return SummaryCalculator.medianOfSorted(orderedValues,
+                                                from,
+                                                from + length / 2);
+    }
+
+    /**
+     * This method returns the third quartile of the values of a group,
+     * see {@link Statistics#thirdQuartile(double[])}.
+     *
+     * @param group index of a group.
+     * @return the third quartile.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     * @throws NotEnoughDataException if the group has less than two values.
+     * @throws IllegalStateException if order statistics were not requested.
+     */
+    public double thirdQuartile(final int group)
+                                            throws NotEnoughDataException {
+        checkIfThereIsEnoughData(group, 2);
+        checkIfOrderStatisticsAreKnown();
+
+        final int to = offsets[group + 1];
+        final int length = to - offsets[group];
+
+        return SummaryCalculator.medianOfSorted(orderedValues,
+                                                to - length / 2,
+                                                to);
+    }
+
+    /**
+     * This method returns a quantile of the values of a group,
+     * see {@link Statistics#quantile(double[], double)}.
+     *
+     * @param group index of a group.
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     * @throws IllegalStateException if order statistics were not requested.
+     */
+    public double quantile(final int group, final double probability) {
+        checkGroup(group);
+        checkIfOrderStatisticsAreKnown();
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        final int from = offsets[group];
+        final double position = (offsets[group + 1] - from - 1)
+                                * probability;
+        final int lowerRank = from + (int) position;
+        final double fraction = position - (int) position;
+        final double lower = orderedValues[lowerRank];
+
+        if (fraction == 0) {
+            return lower;
+        }
+
+        return lower + fraction * (orderedValues[lowerRank + 1] - lower);
+    }
+
+    /**
+     * This method returns an accumulator which holds the statistics of
+     * a group, so more values can be added to them.
+     *
+     * @param group index of a group.
+     * @return new accumulator.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     */
+    public RunningStatistics runningStatistics(final int group) {
+        checkGroup(group);
+
+        return RunningStatistics.of(table.countAt(group),
+                                    table.averageArithmeticAt(group),
+                                    table.sumOfSquaredDifferencesAt(group),
+                                    table.minAt(group),
+                                    table.maxAt(group));
+    }
+
+    /**
+     * This method returns a summary of the values of a group. It has order
+     * statistics only if they were requested.
+     *
+     * @param group index of a group.
+     * @return summary of the values of the group.
+     * @throws IndexOutOfBoundsException if group is out of the statistics.
+     * @throws NotEnoughDataException if the group has less than two values.
+     */
+    public Summary summary(final int group) throws NotEnoughDataException {
+        checkIfThereIsEnoughData(group, 2);
+
+        if (orderedValues == null) {
+            return runningStatistics(group).summary();
+        }
+
+        final int from = offsets[group];
+        final int to = offsets[group + 1];
+
+        return SummaryCalculator.summarizeSorted(
+                Arrays.copyOfRange(orderedValues, from, to),
+                to - from,
+                table.averageArithmeticAt(group));
+    }
+
+    /**
+     * This method checks if a group is in the statistics.
+     *
+     * @return the group.
+     * @throws IndexOutOfBoundsException if it is not.
+     */
+    private int checkGroup(final int group) {
+        return Objects.checkIndex(group, table.size());
+    }
+
+    /**
+     * This method checks if order statistics were requested.
+     *
+     * @throws IllegalStateException if they were not.
+     */
+    private void checkIfOrderStatisticsAreKnown() {
+        if (orderedValues == null) {
+            throw new IllegalStateException("Order statistics of the groups " +
+                                            "were not requested.");
+        }
+    }
+
+    /**
+     * This method checks if a group has enough values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private void checkIfThereIsEnoughData(final int group,
+                                          final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (table.countAt(checkGroup(group)) < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+}
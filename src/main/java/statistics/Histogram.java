@@ -0,0 +1,615 @@
+package statistics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class represents a histogram: the number of values which fall into
+ * each bin of a fixed range. Unlike {@link Statistics#frequencies(double[])}
+ * it takes the same memory however many distinct values there are.
+ * Bins are laid out in one of three ways:
+ * <ul>
+ *     <li>linear: bins of equal width;</li>
+ *     <li>logarithmic: bins whose bounds grow geometrically;</li>
+ *     <li>HDR: bins of fixed relative precision found from the exponent and
+ *         the leading bits of the mantissa of a value, without a logarithm,
+ *         like the bins of HdrHistogram.</li>
+ * </ul>
+ * Values below the range, above it and NaN values are counted separately.
+ * Counts are kept in a single long array and updated atomically, so any
+ * number of threads may record values into the same histogram without
+ * locking. Reading a histogram while values are being recorded gives counts
+ * which may be slightly behind each other.
+ *
+ * @author svalyavakilia
+ */
+public final class Histogram implements DoubleConsumer {
+    /**
+     * Maximum number of bins of a histogram.
+     */
+    public static final int MAXIMUM_NUMBER_OF_BINS = 1 << 24;
+
+    private static final VarHandle COUNTS =
+            MethodHandles.arrayElementVarHandle(long[].class);
+
+    private enum Layout { LINEAR, LOGARITHMIC, HDR }
+
+    private final Layout layout;
+    private final double lowest;
+    private final double highest;
+    private final int numberOfBins;
+    private final double scale;
+    private final int subBinBits;
+    private final int minimumExponent;
+
+    /**
+     * Counts of the bins under indexes from 1 to the number of bins,
+     * the count of values below the range under index 0, the count of
+     * values above the range after the bins and the count of NaN values
+     * at the end.
+     */
+    private final long[] counts;
+
+    /**
+     * Constructor for Histogram class instance.
+     */
+    private Histogram(final Layout layout,
+                      final double lowest,
+                      final double highest,
+                      final int numberOfBins,
+                      final double scale,
+                      final int subBinBits,
+                      final int minimumExponent) {
+        this.layout = layout;
+        this.lowest = lowest;
+        this.highest = highest;
+        this.numberOfBins = numberOfBins;
+        this.scale = scale;
+        this.subBinBits = subBinBits;
+        this.minimumExponent = minimumExponent;
+
+        counts = new long[numberOfBins + 3];
+    }
+
+    /**
+     * This method creates a histogram with bins of equal width.
+     *
+     * @param lowest lower bound of the range, inclusive.
+     * @param highest upper bound of the range, exclusive.
+     * @param numberOfBins number of bins.
+     * @return new empty histogram.
+     * @throws IllegalArgumentException if the range is empty or not finite,
+     *                                  or the number of bins is not positive
+     *                                  or too large.
+     */
+    public static Histogram linear(final double lowest,
+                                   final double highest,
+                                   final int numberOfBins) {
+        checkRange(lowest, highest);
+        checkNumberOfBins(numberOfBins);
+
+        return new Histogram(Layout.LINEAR,
+                             lowest,
+                             highest,
+                             numberOfBins,
+                             numberOfBins / (highest - lowest),
+                             0,
+                             0);
+    }
+
+    /**
+     * This method creates a histogram whose bin bounds grow geometrically,
+     * so every bin is the same number of times wider than the previous one.
+     *
+     * @param lowest lower bound of the range, inclusive and positive.
+     * @param highest upper bound of the range, exclusive.
+     * @param numberOfBins number of bins.
+     * @return new empty histogram.
+     * @throws IllegalArgumentException if lowest is not positive, the range
+     *                                  is empty or not finite, or the number
+     *                                  of bins is not positive or too large.
+     */
+    public static Histogram logarithmic(final double lowest,
+                                        final double highest,
+                                        final int numberOfBins) {
+        checkRange(lowest, highest);
+        checkNumberOfBins(numberOfBins);
+
+        if (!(lowest > 0)) {
+            throw new IllegalArgumentException("Lower bound of a logarithmic " +
+                                               "histogram must be positive: " +
+                                               lowest + ".");
+        }
+
+        return new Histogram(Layout.LOGARITHMIC,
+                             lowest,
+                             highest,
+                             numberOfBins,
+                             numberOfBins / Math.log(highest / lowest),
+                             0,
+                             0);
+    }
+
+    /**
+     * This method creates a histogram whose bins keep a given number of
+     * significant decimal digits of a value: the width of every bin is at
+     * most 10^-digits of its lower bound. The range is widened to whole
+     * powers of two.
+     *
+     * @param lowest lower bound of the range, positive.
+     * @param highest upper bound of the range.
+     * @param significantDigits number of significant decimal digits,
+     *                          from 1 to 5.
+     * @return new empty histogram.
+     * @throws IllegalArgumentException if lowest is less than
+     *                                  {@link Double#MIN_NORMAL}, the range
+     *                                  is empty or not finite, the number of
+     *                                  digits is out of range or there would
+     *                                  be too many bins.
+     */
+    public static Histogram hdr(final double lowest,
+                                final double highest,
+                                final int significantDigits) {
+        checkRange(lowest, highest);
+
+        if (!(lowest >= Double.MIN_NORMAL)) {
+            throw new IllegalArgumentException("Lower bound of an HDR " +
+                                               "histogram must be at least " +
+                                               Double.MIN_NORMAL + ": " +
+                                               lowest + ".");
+        } else if (significantDigits < 1 || significantDigits > 5) {
+            throw new IllegalArgumentException("Invalid number of " +
+                                               "significant digits: " +
+                                               significantDigits + ".");
+        }
+
+        final int subBinBits =
+                (int) Math.ceil(significantDigits * Math.log(10) / Math.log(2));
+        final int minimumExponent = Math.getExponent(lowest);
+        final int maximumExponent = Math.getExponent(highest);
+        final long numberOfBins =
+                (long) (maximumExponent - minimumExponent + 1) << subBinBits;
+
+        checkNumberOfBins(numberOfBins);
+
+        return new Histogram(Layout.HDR,
+                             Math.scalb(1.0, minimumExponent),
+                             Math.scalb(1.0, maximumExponent + 1),
+                             (int) numberOfBins,
+                             0,
+                             subBinBits,
+                             minimumExponent);
+    }
+
+    /**
+     * This method creates an empty histogram with the same bins as this one.
+     *
+     * @return new empty histogram.
+     */
+    public Histogram emptyCopy() {
+        return new Histogram(layout,
+                             lowest,
+                             highest,
+                             numberOfBins,
+                             scale,
+                             subBinBits,
+                             minimumExponent);
+    }
+
+    /**
+     * This method records a value. It may be called by several threads
+     * at once.
+     *
+     * @param value value to record.
+     */
+    @Override
+    public void accept(final double value) {
+        COUNTS.getAndAdd(counts, slotOf(value), 1L);
+    }
+
+    /**
+     * This method records a value a given number of times. It may be called
+     * by several threads at once.
+     *
+     * @param value value to record.
+     * @param count number of times to record the value.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public void accept(final double value, final long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count: " +
+                                               count + ".");
+        }
+
+        COUNTS.getAndAdd(counts, slotOf(value), count);
+    }
+
+    /**
+     * This method records all the values of a given array.
+     *
+     * @param data array with values.
+     * @throws NullPointerException if given array is null.
+     */
+    public void accept(final double[] data) {
+        for (final double value: data) {
+            accept(value);
+        }
+    }
+
+    /**
+     * This method adds the counts of another histogram with the same bins
+     * to the counts of this one.
+     *
+     * @param other histogram to add.
+     * @return this histogram.
+     * @throws IllegalArgumentException if the histograms have different
+     *                                  bins.
+     */
+    public Histogram merge(final Histogram other) {
+        if (!hasSameBinsAs(other)) {
+            throw new IllegalArgumentException("Histograms with different " +
+                                               "bins can not be merged.");
+        }
+
+        for (int slot = 0; slot < counts.length; ++slot) {
+            final long count = (long) COUNTS.getVolatile(other.counts, slot);
+
+            if (count != 0) {
+                COUNTS.getAndAdd(counts, slot, count);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * This method forgets all the recorded values.
+     */
+    public void reset() {
+        for (int slot = 0; slot < counts.length; ++slot) {
+            COUNTS.setVolatile(counts, slot, 0L);
+        }
+    }
+
+    /**
+     * @param other another histogram.
+     * @return true if the histograms have the same bins.
+     */
+    public boolean hasSameBinsAs(final Histogram other) {
+        return layout == other.layout
+               && Double.compare(lowest, other.lowest) == 0
+               && Double.compare(highest, other.highest) == 0
+               && numberOfBins == other.numberOfBins;
+    }
+
+    /**
+     * @return number of bins.
+     */
+    public int numberOfBins() {
+        return numberOfBins;
+    }
+
+    /**
+     * @param bin index of a bin.
+     * @return lower bound of the bin, inclusive.
+     * @throws IndexOutOfBoundsException if bin is out of the histogram.
+     */
+    public double lowerBound(final int bin) {
+        checkBin(bin);
+
+        return bound(bin);
+    }
+
+    /**
+     * @param bin index of a bin.
+     * @return upper bound of the bin, exclusive.
+     * @throws IndexOutOfBoundsException if bin is out of the histogram.
+     */
+    public double upperBound(final int bin) {
+        checkBin(bin);
+
+        return bound(bin + 1);
+    }
+
+    /**
+     * @param bin index of a bin.
+     * @return number of values in the bin.
+     * @throws IndexOutOfBoundsException if bin is out of the histogram.
+     */
+    public long count(final int bin) {
+        checkBin(bin);
+
+        return (long) COUNTS.getVolatile(counts, bin + 1);
+    }
+
+    /**
+     * @param bin index of a bin.
+     * @return share of the recorded values which are in the bin.
+     * @throws IndexOutOfBoundsException if bin is out of the histogram.
+     */
+    public double frequency(final int bin) {
+        final long count = count(bin);
+
+        return count == 0 ? 0 : (double) count / total();
+    }
+
+    /**
+     * @return number of values below the range.
+     */
+    public long underflowCount() {
+        return (long) COUNTS.getVolatile(counts, 0);
+    }
+
+    /**
+     * @return number of values above the range.
+     */
+    public long overflowCount() {
+        return (long) COUNTS.getVolatile(counts, numberOfBins + 1);
+    }
+
+    /**
+     * @return number of NaN values.
+     */
+    public long nanCount() {
+        return (long) COUNTS.getVolatile(counts, numberOfBins + 2);
+    }
+
+    /**
+     * @return number of recorded values which are not NaN, including values
+     *         out of the range.
+     */
+    public long total() {
+        long total = 0;
+
+        for (int slot = 0; slot <= numberOfBins + 1; ++slot) {
+            total += (long) COUNTS.getVolatile(counts, slot);
+        }
+
+        return total;
+    }
+
+    /**
+     * This method returns an approximate quantile of the recorded values.
+     * The bin which holds the quantile is found from the cumulative counts
+     * and the quantile is interpolated linearly inside it. Quantiles which
+     * fall below or above the range are the bounds of the range.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     * @throws NotEnoughDataException if no values out of NaN were recorded.
+     */
+    public double quantile(final double probability)
+                                            throws NotEnoughDataException {
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        final long[] snapshot = new long[numberOfBins + 2];
+
+        long total = 0;
+
+        for (int slot = 0; slot < snapshot.length; ++slot) {
+            snapshot[slot] = (long) COUNTS.getVolatile(counts, slot);
+            total += snapshot[slot];
+        }
+
+        if (total == 0) {
+            throw new NotEnoughDataException("There is not enough data!" +
+                                             "Minimum quantity of values " +
+                                             "needed: 1.");
+        }
+
+        final double target = probability * total;
+
+        long cumulativeCount = 0;
+        int slot = 0;
+
+        while (snapshot[slot] == 0
+                ||
+                cumulativeCount + snapshot[slot] < target) {
+            cumulativeCount += snapshot[slot++];
+        }
+
+        if (slot == 0) {
+            return lowest;
+        } else if (slot == numberOfBins + 1) {
+            return highest;
+        }
+
+        final double lower = bound(slot - 1);
+        final double upper = bound(slot);
+        final double fraction = (target - cumulativeCount) / snapshot[slot];
+
+        return lower + fraction * (upper - lower);
+    }
+
+    /**
+     * This method returns several approximate quantiles,
+     * see {@link #quantile(double)}.
+     *
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @return the quantiles in the order of the probabilities.
+     * @throws IllegalArgumentException if a probability is not in [0, 1].
+     * @throws NotEnoughDataException if no values out of NaN were recorded.
+     */
+    public double[] quantiles(final double... probabilities)
+                                            throws NotEnoughDataException {
+        final double[] quantiles = new double[probabilities.length];
+
+        for (int index = 0; index < probabilities.length; ++index) {
+            quantiles[index] = quantile(probabilities[index]);
+        }
+
+        return quantiles;
+    }
+
+    /**
+     * @return the largest number of values in a bin.
+     */
+    public long modeQuantity() {
+        long maximumCount = 0;
+
+        for (int bin = 1; bin <= numberOfBins; ++bin) {
+            maximumCount = Math.max(maximumCount,
+                                    (long) COUNTS.getVolatile(counts, bin));
+        }
+
+        return maximumCount;
+    }
+
+    /**
+     * This method returns the bins which hold the largest number of values,
+     * the binned counterpart of {@link Statistics#mode(double[])}.
+     *
+     * @return indexes of the modal bins in ascending order, empty if no
+     *         value is in the range.
+     */
+    public int[] modalBins() {
+        final long maximumCount = modeQuantity();
+
+        if (maximumCount == 0) {
+            return new int[0];
+        }
+
+        int numberOfModalBins = 0;
+
+        for (int bin = 1; bin <= numberOfBins; ++bin) {
+            if ((long) COUNTS.getVolatile(counts, bin) == maximumCount) {
+                ++numberOfModalBins;
+            }
+        }
+
+        final int[] modalBins = new int[numberOfModalBins];
+
+        numberOfModalBins = 0;
+
+        for (int bin = 1;
+             bin <= numberOfBins && numberOfModalBins < modalBins.length;
+             ++bin) {
+            if ((long) COUNTS.getVolatile(counts, bin) == maximumCount) {
+                modalBins[numberOfModalBins++] = bin - 1;
+            }
+        }
+
+        return modalBins;
+    }
+
+    /**
+     * This method returns the lower bounds of the bins which are not empty
+     * and their frequencies, the binned counterpart of
+     * {@link Statistics#frequencies(double[])}.
+     *
+     * @return lower bounds of bins and frequencies in ascending order of
+     *         bins.
+     */
+    public Map<Double, Double> frequencies() {
+        final Map<Double, Double> frequencies = new LinkedHashMap<>();
+        final double total = total();
+
+        for (int bin = 1; bin <= numberOfBins; ++bin) {
+            final long count = (long) COUNTS.getVolatile(counts, bin);
+
+            if (count != 0) {
+                frequencies.put(bound(bin - 1), count / total);
+            }
+        }
+
+        return frequencies;
+    }
+
+    /**
+     * This method finds the slot of the counts array for a value.
+     */
+    private int slotOf(final double value) {
+        if (value != value) {
+            return numberOfBins + 2;
+        } else if (value < lowest) {
+            return 0;
+        } else if (!(value < highest)) {
+            return numberOfBins + 1;
+        }
+
+        final int bin;
+
+        switch (layout) {
+            case LINEAR:
+                bin = (int) ((value - lowest) * scale);
+                break;
+            case LOGARITHMIC:
+                bin = (int) (Math.log(value / lowest) * scale);
+                break;
+            default:
+                final long mantissa = Double.doubleToRawLongBits(value)
+                                      & 0xFFFFFFFFFFFFFL;
+
+                bin = ((Math.getExponent(value) - minimumExponent)
+                       << subBinBits)
+                      | (int) (mantissa >>> (52 - subBinBits));
+        }
+
+        /*
+         * Rounding may put a value which is just below the upper bound of
+         * the range past the last bin.
+         */
+        return Math.min(bin, numberOfBins - 1) + 1;
+    }
+
+    /**
+     * This method returns the lower bound of a bin or the upper bound of
+     * the range for the index right after the last bin.
+     */
+    private double bound(final int bin) {
+        if (bin == numberOfBins) {
+            return highest;
+        }
+
+        switch (layout) {
+            case LINEAR:
+                return lowest + bin / scale;
+            case LOGARITHMIC:
+                return lowest * Math.exp(bin / scale);
+            default:
+                final int subBins = 1 << subBinBits;
+
+                return Math.scalb(1 + (double) (bin & (subBins - 1)) / subBins,
+                                  minimumExponent + (bin >>> subBinBits));
+        }
+    }
+
+    private void checkBin(final int bin) {
+        if (bin < 0 || bin >= numberOfBins) {
+            throw new IndexOutOfBoundsException("Bin is out of the " +
+                                                "histogram: " + bin + ".");
+        }
+    }
+
+    private static void checkRange(final double lowest, final double highest) {
+        if (!(lowest < highest)
+                ||
+                Double.isInfinite(lowest)
+                ||
+                Double.isInfinite(highest)) {
+            throw new IllegalArgumentException("Invalid range of a " +
+                                               "histogram: [" + lowest +
+                                               ", " + highest + ").");
+        }
+    }
+
+    private static void checkNumberOfBins(final long numberOfBins) {
+        if (numberOfBins < 1 || numberOfBins > MAXIMUM_NUMBER_OF_BINS) {
+            throw new IllegalArgumentException("Invalid number of bins: " +
+                                               numberOfBins + ".");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Histogram{layout=" + layout +
+               ", lowest=" + lowest +
+               ", highest=" + highest +
+               ", numberOfBins=" + numberOfBins +
+               ", total=" + total() + "}";
+    }
+}
@@ -0,0 +1,388 @@
+package statistics;
+
+import java.lang.management.ManagementFactory;
+import java.nio.DoubleBuffer;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class switches on and off the recording of metrics of the methods
+ * of {@link Statistics} listed in {@link Operation}: number of calls and of
+ * exceptions, lengths of the arrays or numbers of values remaining in
+ * the buffers, latencies and bytes allocated by
+ * the calling thread. Metrics can be pulled with {@link #snapshot()},
+ * read over JMX after {@link #registerMBeans()} and recorded by Flight
+ * Recorder as {@code statistics.Operation} events.
+ * <p>
+ * Instrumentation is disabled unless the system property
+ * {@value #PROPERTY} is true. While it is disabled an instrumented method
+ * only reads a volatile flag, and nothing else of the instrumentation is
+ * even loaded until it is enabled for the first time.
+ *
+ * @author svalyavakilia
+ */
+public final class Instrumentation {
+    /**
+     * Name of the system property which enables instrumentation on start.
+     */
+    public static final String PROPERTY = "statistics.instrumentation";
+
+    private static volatile boolean enabled = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private Instrumentation() {}
+
+    /**
+     * This interface represents the body of an instrumented method which
+     * returns a double.
+     */
+    @FunctionalInterface
+    interface DoubleOperation {
+        double apply(double[] data) throws NotEnoughDataException;
+    }
+
+    /**
+     * This interface represents the body of an instrumented method which
+     * returns an object.
+     */
+    @FunctionalInterface
+    interface ObjectOperation<T> {
+        T apply(double[] data) throws NotEnoughDataException;
+    }
+
+    /**
+     * This interface represents the body of an instrumented method which
+     * returns a double and has already captured its arguments.
+     */
+    @FunctionalInterface
+    interface DoubleCall<E extends Exception> {
+        double call() throws E;
+    }
+
+    /**
+     * This interface represents the body of an instrumented method which
+     * returns an object and has already captured its arguments.
+     */
+    @FunctionalInterface
+    interface ObjectCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Recorders and the thread bean are created on the first use of
+     * the holder, so a disabled instrumentation costs nothing at start.
+     */
+    private static final class Recorders {
+        private static final OperationRecorder[] RECORDERS =
+                new OperationRecorder[Operation.values().length];
+        private static final com.sun.management.ThreadMXBean THREADS =
+                allocationMeasuringThreadBean();
+
+        static {
+            for (final Operation operation: Operation.values()) {
+                RECORDERS[operation.ordinal()] =
+                        new OperationRecorder(operation);
+            }
+        }
+
+        private static com.sun.management.ThreadMXBean
+                                        allocationMeasuringThreadBean() {
+            final java.lang.management.ThreadMXBean bean =
+                    ManagementFactory.getThreadMXBean();
+
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean threads =
+                        (com.sun.management.ThreadMXBean) bean;
+
+                if (threads.isThreadAllocatedMemorySupported()
+                        && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads;
+                }
+            }
+
+            return null;
+        }
+
+        private static long allocatedBytes() {
+            return THREADS == null
+                   ? 0
+                   : THREADS.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * @return true if instrumentation is enabled.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * This method enables instrumentation.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * This method disables instrumentation. Metrics recorded so far are
+     * kept.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * This method returns the metrics recorded for an operation so far.
+     *
+     * @param operation an operation.
+     * @return snapshot of the metrics.
+     * @throws NullPointerException if operation is null.
+     */
+    public static OperationMetrics snapshot(final Operation operation) {
+        return Recorders.RECORDERS[operation.ordinal()].snapshot();
+    }
+
+    /**
+     * This method returns the metrics recorded so far for every operation.
+     *
+     * @return snapshots of the metrics by operation.
+     */
+    public static Map<Operation, OperationMetrics> snapshot() {
+        final Map<Operation, OperationMetrics> metrics =
+                new EnumMap<>(Operation.class);
+
+        for (final OperationRecorder recorder: Recorders.RECORDERS) {
+            final OperationMetrics snapshot = recorder.snapshot();
+
+            metrics.put(snapshot.operation(), snapshot);
+        }
+
+        return metrics;
+    }
+
+    /**
+     * This method forgets the metrics of every operation.
+     */
+    public static void reset() {
+        for (final OperationRecorder recorder: Recorders.RECORDERS) {
+            recorder.reset();
+        }
+    }
+
+    /**
+     * This method registers an {@link OperationMXBean} for every operation
+     * with the platform MBean server. Beans which are already registered
+     * are left as they are.
+     *
+     * @throws JMException if a bean can not be registered.
+     */
+    public static void registerMBeans() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (final OperationRecorder recorder: Recorders.RECORDERS) {
+            final ObjectName name = nameOf(recorder);
+
+            if (!server.isRegistered(name)) {
+                server.registerMBean(recorder, name);
+            }
+        }
+    }
+
+    /**
+     * This method unregisters the beans registered by
+     * {@link #registerMBeans()}.
+     *
+     * @throws JMException if a bean can not be unregistered.
+     */
+    public static void unregisterMBeans() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (final OperationRecorder recorder: Recorders.RECORDERS) {
+            final ObjectName name = nameOf(recorder);
+
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        }
+    }
+
+    /**
+     * This method calls an instrumented method and records its metrics.
+     *
+     * @param operation the operation.
+     * @param data array passed to the method.
+     * @param body body of the method.
+     * @return result of the method.
+     * @throws NotEnoughDataException if the method throws it.
+     */
+    static double recordDouble(final Operation operation,
+                               final double[] data,
+                               final DoubleOperation body)
+                                            throws NotEnoughDataException {
+        return recordDouble(operation, inputSize(data), () -> body.apply(data));
+    }
+
+    /**
+     * This method calls an instrumented method and records its metrics.
+     *
+     * @param operation the operation.
+     * @param data array passed to the method.
+     * @param body body of the method.
+     * @return result of the method.
+     * @throws NotEnoughDataException if the method throws it.
+     */
+    static <T> T record(final Operation operation,
+                        final double[] data,
+                        final ObjectOperation<T> body)
+                                            throws NotEnoughDataException {
+        return record(operation, inputSize(data), () -> body.apply(data));
+    }
+
+    /**
+     * This method calls an instrumented method whose input is not a single
+     * array of doubles and records its metrics.
+     *
+     * @param operation the operation.
+     * @param inputSize number of values passed to the method.
+     * @param body body of the method.
+     * @return result of the method.
+     * @throws E if the method throws it.
+     */
+    static <E extends Exception> double recordDouble(
+                                            final Operation operation,
+                                            final int inputSize,
+                                            final DoubleCall<E> body)
+                                            throws E {
+        final OperationEvent event = new OperationEvent();
+        final long allocatedBefore = Recorders.allocatedBytes();
+        final long start = System.nanoTime();
+
+        event.begin();
+
+        Throwable exception = null;
+
+        try {
+            return body.call();
+        } catch (final Exception failure) {
+            exception = failure;
+
+            throw failure;
+        } finally {
+            finish(operation,
+                   inputSize,
+                   start,
+                   allocatedBefore,
+                   event,
+                   exception);
+        }
+    }
+
+    /**
+     * This method calls an instrumented method whose input is not a single
+     * array of doubles and records its metrics.
+     *
+     * @param operation the operation.
+     * @param inputSize number of values passed to the method.
+     * @param body body of the method.
+     * @return result of the method.
+     * @throws E if the method throws it.
+     */
+    static <T, E extends Exception> T record(final Operation operation,
+                                             final int inputSize,
+                                             final ObjectCall<T, E> body)
+                                            throws E {
+        final OperationEvent event = new OperationEvent();
+        final long allocatedBefore = Recorders.allocatedBytes();
+        final long start = System.nanoTime();
+
+        event.begin();
+
+        Throwable exception = null;
+
+        try {
+            return body.call();
+        } catch (final Exception failure) {
+            exception = failure;
+
+            throw failure;
+        } finally {
+            finish(operation,
+                   inputSize,
+                   start,
+                   allocatedBefore,
+                   event,
+                   exception);
+        }
+    }
+
+    /**
+     * @return length of an array passed to an instrumented method, 0 if it
+     *         is null.
+     */
+    static int inputSize(final double[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+    /**
+     * @return length of an array passed to an instrumented method, 0 if it
+     *         is null.
+     */
+    static int inputSize(final int[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+    /**
+     * @return length of an array passed to an instrumented method, 0 if it
+     *         is null.
+     */
+    static int inputSize(final long[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+    /**
+     * @return number of values remaining in a buffer passed to
+     *         an instrumented method, 0 if it is null.
+     */
+    static int inputSize(final DoubleBuffer data) {
+        return data == null ? 0 : data.remaining();
+    }
+
+    private static void finish(final Operation operation,
+                               final int inputSize,
+                               final long start,
+                               final long allocatedBefore,
+                               final OperationEvent event,
+                               final Throwable exception) {
+        final long latencyNanos = System.nanoTime() - start;
+        final long allocated = Recorders.allocatedBytes() - allocatedBefore;
+
+        Recorders.RECORDERS[operation.ordinal()].record(inputSize,
+                                                        latencyNanos,
+                                                        allocated,
+                                                        exception);
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.operation = operation.name();
+            event.inputSize = inputSize;
+            event.allocatedBytes = allocated;
+            event.exception = exception == null
+                              ? null
+                              : exception.getClass().getName();
+            event.commit();
+        }
+    }
+
+    private static ObjectName nameOf(final OperationRecorder recorder)
+                                            throws JMException {
+        return new ObjectName("statistics:type=Operation,name=" +
+                              recorder.getOperation());
+    }
+}
@@ -0,0 +1,461 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class represents integral values as the number of times every
+ * distinct value appears, in ascending order of the values, so that
+ * the median, the quartiles, modes and frequencies all come from scans of
+ * a single array of counts instead of sorting or hashing the values.
+ * <p>
+ * When the values span a narrow range the counts are dense, one per
+ * integer from the minimum to the maximum, and are filled by counting in
+ * O(n + range) without comparisons. Otherwise int and long values are
+ * sorted once and compressed into distinct values and their counts, while
+ * double values are left to the general algorithms.
+ *
+ * @author svalyavakilia
+ */
+final class IntegerCounts {
+    /**
+     * Maximum number of dense counts: 16 MB.
+     */
+    static final int MAXIMUM_RANGE = 1 << 22;
+
+    private static final long NEGATIVE_ZERO_BITS =
+            Double.doubleToRawLongBits(-0.0);
+
+    private final long min;
+    private final long[] values;
+    private final int[] counts;
+    private final int total;
+
+    /**
+     * Constructor for IntegerCounts class instance.
+     *
+     * @param min the smallest value.
+     * @param values distinct values in ascending order or null if counts
+     *               are dense and the value of count i is min + i.
+     * @param counts counts of the values.
+     * @param total sum of the counts.
+     */
+    private IntegerCounts(final long min,
+                          final long[] values,
+                          final int[] counts,
+                          final int total) {
+        this.min = min;
+        this.values = values;
+        this.counts = counts;
+        this.total = total;
+    }
+
+    /**
+     * This method counts the values of a given array if all of them are
+     * integers which span a narrow range. Negative zero is not counted as
+     * zero, since frequencies tell them apart.
+     *
+     * @param data non-empty array with values.
+     * @return counts of the values or null if they are not integral or
+     *         their range is too wide.
+     */
+    static IntegerCounts of(final double[] data) {
+        final int dataLength = data.length;
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        for (final double value: data) {
+            final long integer = (long) value;
+
+            if (integer != value
+                    || Double.doubleToRawLongBits(value)
+                       == NEGATIVE_ZERO_BITS) {
+                return null;
+            }
+
+            min = Math.min(min, integer);
+            max = Math.max(max, integer);
+        }
+
+        if (!isNarrow(min, max, dataLength)) {
+            return null;
+        }
+
+        final int[] counts = new int[(int) (max - min) + 1];
+
+        for (final double value: data) {
+            ++counts[(int) ((long) value - min)];
+        }
+
+        return new IntegerCounts(min, null, counts, dataLength);
+    }
+
+    /**
+     * This method counts the values of a given array: by counting if they
+     * span a narrow range, by sorting a copy otherwise.
+     *
+     * @param data non-empty array with values.
+     * @return counts of the values.
+     */
+    static IntegerCounts of(final int[] data) {
+        final int dataLength = data.length;
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+
+        for (final int value: data) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        if (!isNarrow(min, max, dataLength)) {
+            final long[] sorted = new long[dataLength];
+
+            for (int index = 0; index < dataLength; ++index) {
+                sorted[index] = data[index];
+            }
+
+            return ofSorted(sorted);
+        }
+
+        final int[] counts = new int[max - min + 1];
+
+        for (final int value: data) {
+            ++counts[value - min];
+        }
+
+        return new IntegerCounts(min, null, counts, dataLength);
+    }
+
+    /**
+     * This method counts the values of a given array: by counting if they
+     * span a narrow range, by sorting a copy otherwise.
+     *
+     * @param data non-empty array with values.
+     * @return counts of the values.
+     */
+    static IntegerCounts of(final long[] data) {
+        final int dataLength = data.length;
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+
+        for (final long value: data) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        if (!isNarrow(min, max, dataLength)) {
+            return ofSorted(data.clone());
+        }
+
+        final int[] counts = new int[(int) (max - min) + 1];
+
+        for (final long value: data) {
+            ++counts[(int) (value - min)];
+        }
+
+        return new IntegerCounts(min, null, counts, dataLength);
+    }
+
+    /**
+     * This method sorts an array and compresses it into distinct values and
+     * their counts.
+     */
+    private static IntegerCounts ofSorted(final long[] sorted) {
+        Arrays.sort(sorted);
+
+        final int[] counts = new int[sorted.length];
+
+        int size = 0;
+
+        for (int index = 0; index < sorted.length; ++index) {
+            if (index == 0 || sorted[index] != sorted[size - 1]) {
+                sorted[size++] = sorted[index];
+            }
+
+            ++counts[size - 1];
+        }
+
+        return new IntegerCounts(sorted[0],
+                                 Arrays.copyOf(sorted, size),
+                                 Arrays.copyOf(counts, size),
+                                 sorted.length);
+    }
+
+    /**
+     * This method checks if values from min to max are few enough to be
+     * counted densely: the counts take at most twice the memory of
+     * the values and at most {@link #MAXIMUM_RANGE} counts.
+     */
+    private static boolean isNarrow(final long min,
+                                    final long max,
+                                    final int dataLength) {
+        final long range = max - min;
+
+        return range >= 0
+               && range < MAXIMUM_RANGE
+               && range < 2L * dataLength;
+    }
+
+    /**
+     * @return median of the values.
+     */
+    double median() {
+        return medianOfRanks(0, total);
+    }
+
+    /**
+     * @return median of the first half of the values.
+     */
+    double firstQuartile() {
+        return medianOfRanks(0, total / 2);
+    }
+
+    /**
+     * @return median of the second half of the values.
+     */
+    double thirdQuartile() {
+        return medianOfRanks(total - total / 2, total);
+    }
+
+    /**
+     * @return the largest count.
+     */
+    int modeQuantity() {
+        int modeQuantity = 0;
+
+        for (final int count: counts) {
+            modeQuantity = Math.max(modeQuantity, count);
+        }
+
+        return modeQuantity;
+    }
+
+    /**
+     * @return values which appear most often in ascending order.
+     */
+    double[] modes() {
+        final int modeQuantity = modeQuantity();
+
+        int numberOfModes = 0;
+
+        for (final int count: counts) {
+            if (count == modeQuantity) {
+                ++numberOfModes;
+            }
+        }
+
+        final double[] modes = new double[numberOfModes];
+
+        for (int index = 0, mode = 0; mode < numberOfModes; ++index) {
+            if (counts[index] == modeQuantity) {
+                modes[mode++] = value(index);
+            }
+        }
+
+        return modes;
+    }
+
+    /**
+     * This method returns a frequency table of the values of an array which
+     * were counted, in the order of their first appearance in it.
+     *
+     * @param data the counted array.
+     * @return frequency table of the values.
+     */
+    FrequencyTable frequencyTable(final double[] data) {
+        final double[] tableValues = new double[numberOfDistinctValues()];
+        final long[] tableCounts = new long[tableValues.length];
+
+        for (int index = 0, size = 0; size < tableValues.length; ++index) {
+            final double value = data[index];
+            final int count = take((long) value);
+
+            if (count > 0) {
+                tableValues[size] = value;
+                tableCounts[size++] = count;
+            }
+        }
+
+        return restore(tableValues, tableCounts);
+    }
+
+    /**
+     * This method returns a frequency table of the values of an array which
+     * were counted, in the order of their first appearance in it.
+     *
+     * @param data the counted array.
+     * @return frequency table of the values.
+     */
+    FrequencyTable frequencyTable(final int[] data) {
+        final double[] tableValues = new double[numberOfDistinctValues()];
+        final long[] tableCounts = new long[tableValues.length];
+
+        for (int index = 0, size = 0; size < tableValues.length; ++index) {
+            final int value = data[index];
+            final int count = take(value);
+
+            if (count > 0) {
+                tableValues[size] = value;
+                tableCounts[size++] = count;
+            }
+        }
+
+        return restore(tableValues, tableCounts);
+    }
+
+    /**
+     * This method returns a frequency table of the values of an array which
+     * were counted, in the order of their first appearance in it.
+     *
+     * @param data the counted array.
+     * @return frequency table of the values.
+     */
+    FrequencyTable frequencyTable(final long[] data) {
+        final double[] tableValues = new double[numberOfDistinctValues()];
+        final long[] tableCounts = new long[tableValues.length];
+
+        for (int index = 0, size = 0; size < tableValues.length; ++index) {
+            final long value = data[index];
+            final int count = take(value);
+
+            if (count > 0) {
+                tableValues[size] = value;
+                tableCounts[size++] = count;
+            }
+        }
+
+        return restore(tableValues, tableCounts);
+    }
+
+    /**
+     * This method returns a full summary of the values.
+     *
+     * @return summary with moments and order statistics.
+     */
+    Summary summary() {
+        double sumOfOffsets = 0;
+
+        for (int index = 0; index < counts.length; ++index) {
+            sumOfOffsets += counts[index] * ((double) value(index) - min);
+        }
+
+        return summary(min + sumOfOffsets / total);
+    }
+
+    /**
+     * This method returns a full summary of at least two values.
+     *
+     * @param averageArithmetic average arithmetic of the values.
+     * @return summary with moments and order statistics.
+     */
+    Summary summary(final double averageArithmetic) {
+        double sumOfSquaredDifferences = 0;
+
+        /*
+         * Squared differences are added once per value in ascending order,
+         * like a sorted copy is summarised, so that summaries are the same
+         * whichever way they are computed.
+         */
+        for (int index = 0; index < counts.length; ++index) {
+            final double difference = value(index) - averageArithmetic;
+            final double squaredDifference = difference * difference;
+
+            for (int count = counts[index]; count > 0; --count) {
+                sumOfSquaredDifferences += squaredDifference;
+            }
+        }
+
+        return new Summary(total,
+                           min,
+                           value(counts.length - 1),
+                           averageArithmetic,
+                           sumOfSquaredDifferences / (total - 1),
+                           modes(),
+                           modeQuantity(),
+                           firstQuartile(),
+                           median(),
+                           thirdQuartile());
+    }
+
+    /**
+     * This method returns the median of the values which have ranks from
+     * a given range in ascending order.
+     */
+    private double medianOfRanks(final int from, final int to) {
+        final int middle = from + (to - from) / 2;
+        final int lowerRank = ((to - from) & 1) == 1 ? middle : middle - 1;
+
+        long cumulativeCount = 0;
+        int index = 0;
+
+        while ((cumulativeCount += counts[index]) <= lowerRank) {
+            ++index;
+        }
+
+        final double lower = value(index);
+
+        if (lowerRank == middle) {
+            return lower;
+        }
+
+        while (cumulativeCount <= middle) {
+            cumulativeCount += counts[++index];
+        }
+
+        return (lower + value(index)) / 2;
+    }
+
+    /**
+     * @return value of the count under a given index.
+     */
+    private long value(final int index) {
+        return values == null ? min + index : values[index];
+    }
+
+    /**
+     * @return number of values which appear at least once.
+     */
+    private int numberOfDistinctValues() {
+        if (values != null) {
+            return values.length;
+        }
+
+        int numberOfDistinctValues = 0;
+
+        for (final int count: counts) {
+            numberOfDistinctValues += count > 0 ? 1 : 0;
+        }
+
+        return numberOfDistinctValues;
+    }
+
+    /**
+     * This method returns the count of a counted value the first time it
+     * is asked for and 0 afterwards: a taken count is negated until
+     * {@link #restore(double[], long[])}.
+     */
+    private int take(final long value) {
+        final int index = values == null
+                          ? (int) (value - min)
+                          : Arrays.binarySearch(values, value);
+        final int count = counts[index];
+
+        counts[index] = -Math.abs(count);
+
+        return count;
+    }
+
+    /**
+     * This method restores the taken counts and creates a frequency table.
+     */
+    private FrequencyTable restore(final double[] tableValues,
+                                   final long[] tableCounts) {
+        for (int index = 0; index < counts.length; ++index) {
+            counts[index] = Math.abs(counts[index]);
+        }
+
+        return new FrequencyTable(tableValues, tableCounts, total);
+    }
+}
@@ -0,0 +1,157 @@
+package statistics;
+
+import java.util.Objects;
+
+/**
+ * This class computes jackknife estimates of the bias and the standard
+ * error of a statistic: the statistic is computed over every sample which
+ * leaves one value out. Samples are computed in parallel in the common
+ * fork/join pool, every block of them reuses a single buffer, so the number
+ * of allocations does not grow with the number of values.
+ *
+ * @author svalyavakilia
+ */
+public final class Jackknife {
+    /**
+     * Number of samples which share a buffer.
+     */
+    private static final int SAMPLES_PER_BLOCK = 64;
+
+    private final double estimate;
+    private final double[] replicates;
+    private final double averageOfReplicates;
+
+    /**
+     * Constructor for Jackknife class instance.
+     */
+    private Jackknife(final double estimate, final double[] replicates) {
+        this.estimate = estimate;
+        this.replicates = replicates;
+
+        double sum = 0;
+
+        for (final double replicate: replicates) {
+            sum += replicate;
+        }
+
+        averageOfReplicates = sum / replicates.length;
+    }
+
+    /**
+     * This method computes a statistic over a given array and over every
+     * sample of it which leaves one value out.
+     *
+     * @param data array with values, it is not changed.
+     * @param statistic statistic to compute.
+     * @return jackknife of the statistic.
+     * @throws NullPointerException if given array or statistic is null.
+     * @throws NotEnoughDataException if given array has less than two values
+     *                                or the statistic needs more values.
+     */
+    public static Jackknife of(final double[] data,
+                               final SampleStatistic statistic)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 2);
+        Objects.requireNonNull(statistic);
+
+        final int dataLength = data.length;
+        final double[] values = data.clone();
+        final double estimate = statistic.compute(data.clone(), dataLength);
+        final double[] replicates = new double[dataLength];
+
+        Resampling.forEachBlock(
+                (dataLength + SAMPLES_PER_BLOCK - 1) / SAMPLES_PER_BLOCK,
+                block -> {
+                    final double[] sample = new double[dataLength - 1];
+                    final int from = block * SAMPLES_PER_BLOCK;
+                    final int to = Math.min(dataLength,
+                                            from + SAMPLES_PER_BLOCK);
+
+                    for (int left = from; left < to; ++left) {
+                        System.arraycopy(values, 0, sample, 0, left);
+                        System.arraycopy(values,
+                                         left + 1,
+                                         sample,
+                                         left,
+                                         dataLength - left - 1);
+
+                        replicates[left] = statistic.compute(sample,
+                                                             dataLength - 1);
+                    }
+                });
+
+        return new Jackknife(estimate, replicates);
+    }
+
+    /**
+     * @return the statistic of all the values.
+     */
+    public double estimate() {
+        return estimate;
+    }
+
+    /**
+     * @return statistics of the samples, the value under index i is
+     *         the statistic of the sample which leaves value i out.
+     */
+    public double[] replicates() {
+        return replicates.clone();
+    }
+
+    /**
+     * @return jackknife estimate of the bias of the statistic.
+     */
+    public double bias() {
+        return (replicates.length - 1) * (averageOfReplicates - estimate);
+    }
+
+    /**
+     * @return the estimate minus its bias.
+     */
+    public double biasCorrectedEstimate() {
+        return estimate - bias();
+    }
+
+    /**
+     * @return jackknife estimate of the standard error of the statistic.
+     */
+    public double standardError() {
+        final int numberOfReplicates = replicates.length;
+
+        double sumOfSquaredDifferences = 0;
+
+        for (final double replicate: replicates) {
+            final double difference = replicate - averageOfReplicates;
+
+            sumOfSquaredDifferences += difference * difference;
+        }
+
+        return Math.sqrt(sumOfSquaredDifferences
+                         * (numberOfReplicates - 1) / numberOfReplicates);
+    }
+
+    /**
+     * This method returns the acceleration of bias-corrected and accelerated
+     * bootstrap intervals, which measures the skewness of the replicates.
+     *
+     * @return the acceleration, 0 if all the replicates are equal.
+     */
+    double acceleration() {
+        double sumOfSquares = 0;
+        double sumOfCubes = 0;
+
+        for (final double replicate: replicates) {
+            final double difference = averageOfReplicates - replicate;
+            final double square = difference * difference;
+
+            sumOfSquares += square;
+            sumOfCubes += square * difference;
+        }
+
+        if (sumOfSquares == 0) {
+            return 0;
+        }
+
+        return sumOfCubes / (6 * Math.pow(sumOfSquares, 1.5));
+    }
+}
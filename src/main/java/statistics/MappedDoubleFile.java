@@ -0,0 +1,182 @@
+package statistics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * This class represents a binary file of doubles which is analysed without
+ * loading it onto the heap. The file is mapped into memory window by window,
+ * so files larger than 2 GB are supported, and every window is passed to
+ * the reductions as a {@link DoubleBuffer} view. Each window is unmapped by
+ * the garbage collector once it is no longer referenced.
+ *
+ * @author svalyavakilia
+ */
+public final class MappedDoubleFile implements Closeable {
+    /**
+     * Default size of a mapped window in bytes.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+    private final ByteOrder order;
+    private final int windowSize;
+    private final long count;
+
+    /**
+     * Constructor for MappedDoubleFile class instance.
+     */
+    private MappedDoubleFile(final FileChannel channel,
+                             final ByteOrder order,
+                             final int windowSize,
+                             final long count) {
+        this.channel = channel;
+        this.order = order;
+        this.windowSize = windowSize;
+        this.count = count;
+    }
+
+    /**
+     * This method opens a file of little-endian doubles.
+     *
+     * @param path path to the file.
+     * @return opened file.
+     * @throws IOException if the file cannot be opened or its size is not
+     *                     a multiple of 8 bytes.
+     */
+    public static MappedDoubleFile open(final Path path) throws IOException {
+        return open(path, ByteOrder.LITTLE_ENDIAN, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * This method opens a file of doubles.
+     *
+     * @param path path to the file.
+     * @param order byte order of the doubles.
+     * @param windowSize maximum number of bytes mapped at once, it is
+     *                   rounded down to a multiple of 8.
+     * @return opened file.
+     * @throws IOException if the file cannot be opened or its size is not
+     *                     a multiple of 8 bytes.
+     * @throws IllegalArgumentException if window size is less than 8.
+     */
+    public static MappedDoubleFile open(final Path path,
+                                        final ByteOrder order,
+                                        final int windowSize)
+                                                        throws IOException {
+        if (windowSize < Double.BYTES) {
+            throw new IllegalArgumentException("Window is too small: " +
+                                               windowSize + ".");
+        }
+
+        final FileChannel channel = FileChannel.open(path,
+                                                     StandardOpenOption.READ);
+        final long size = channel.size();
+
+        if (size % Double.BYTES != 0) {
+            channel.close();
+
+            throw new IOException("File size is not a multiple of " +
+                                  Double.BYTES + " bytes: " + size + ".");
+        }
+
+        return new MappedDoubleFile(channel,
+                                    order,
+                                    windowSize & -Double.BYTES,
+                                    size / Double.BYTES);
+    }
+
+    /**
+     * @return number of doubles in the file.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * This method maps the file window by window and passes every window
+     * to a given consumer as a buffer of doubles.
+     *
+     * @param consumer consumer of windows.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public void forEachWindow(final Consumer<DoubleBuffer> consumer)
+                                                        throws IOException {
+        final long size = count * Double.BYTES;
+
+        for (long position = 0; position < size; position += windowSize) {
+            final long length = Math.min(windowSize, size - position);
+
+            final MappedByteBuffer window =
+                    channel.map(FileChannel.MapMode.READ_ONLY,
+                                position,
+                                length);
+
+            consumer.accept(window.order(order).asDoubleBuffer());
+        }
+    }
+
+    /**
+     * This method reads every double of the file into an accumulator.
+     *
+     * @return accumulator with count, average arithmetic, variance,
+     *         minimum and maximum of the file.
+     * @throws IOException if the file cannot be mapped.
+     */
+    public RunningStatistics runningStatistics() throws IOException {
+        final RunningStatistics statistics = new RunningStatistics();
+
+        forEachWindow(statistics::accept);
+
+        return statistics;
+    }
+
+    /**
+     * This method returns a summary of the file which has no order
+     * statistics.
+     *
+     * @return summary of the file.
+     * @throws IOException if the file cannot be mapped.
+     * @throws NotEnoughDataException if the file has less than two values.
+     */
+    public Summary momentSummary() throws IOException, NotEnoughDataException {
+        return runningStatistics().summary();
+    }
+
+    /**
+     * This method summarises the file in a quantile sketch.
+     *
+     * @param k accuracy parameter of the sketch.
+     * @return sketch of the file.
+     * @throws IOException if the file cannot be mapped.
+     * @throws IllegalArgumentException if k is too small.
+     */
+    public QuantileSketch sketch(final int k) throws IOException {
+        final QuantileSketch sketch = new QuantileSketch(k);
+
+        forEachWindow(window -> {
+            for (int index = 0; index < window.limit(); ++index) {
+                sketch.accept(window.get(index));
+            }
+        });
+
+        return sketch;
+    }
+
+    /**
+     * This method closes the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
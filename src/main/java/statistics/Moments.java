@@ -0,0 +1,359 @@
+package statistics;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class accumulates count, average arithmetic and the second, third
+ * and fourth central moments of a stream of values in constant memory, so
+ * variance, standard deviation, skewness and kurtosis come from a single
+ * pass over the values. Arrays are read in chunks which fit in the
+ * processor cache: every chunk is reduced in passes over the cache, its
+ * average first, refined by the average difference from it, and then sums
+ * of powers of differences from it, and combined with the accumulated
+ * moments with the pairwise formulas of P. P. P&eacute;bay, which are also
+ * used to combine two accumulators, for example after accumulating parts
+ * of the same data in parallel.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class Moments implements DoubleConsumer {
+    /**
+     * Number of values of an array which are reduced at once: 32 KB.
+     */
+    static final int CHUNK_LENGTH = 1 << 12;
+
+    private long count;
+    private double averageArithmetic;
+    private double sumOfSquaredDifferences;
+    private double sumOfCubedDifferences;
+    private double sumOfFourthPowersOfDifferences;
+
+    /**
+     * Constructor for an empty Moments class instance.
+     */
+    public Moments() {}
+
+    /**
+     * This method adds a value to the accumulated ones.
+     *
+     * @param value value to add.
+     */
+    @Override
+    public void accept(final double value) {
+        final long previousCount = count;
+        final double newCount = ++count;
+        final double difference = value - averageArithmetic;
+        final double scaledDifference = difference / newCount;
+        final double squaredScaledDifference =
+                scaledDifference * scaledDifference;
+        final double term = difference * scaledDifference * previousCount;
+
+        averageArithmetic += scaledDifference;
+        sumOfFourthPowersOfDifferences +=
+                term * squaredScaledDifference
+                * (newCount * newCount - 3 * newCount + 3)
+                + 6 * squaredScaledDifference * sumOfSquaredDifferences
+                - 4 * scaledDifference * sumOfCubedDifferences;
+        sumOfCubedDifferences +=
+                term * scaledDifference * (newCount - 2)
+                - 3 * scaledDifference * sumOfSquaredDifferences;
+        sumOfSquaredDifferences += term;
+    }
+
+    /**
+     * This method adds all values of a given array to the accumulated ones.
+     *
+     * @param data array with values to add.
+     * @throws NullPointerException if given array is null.
+     */
+    public void accept(final double[] data) {
+        accept(data, 0, data.length);
+    }
+
+    /**
+     * This method adds values of a range of a given array to
+     * the accumulated ones, chunk by chunk.
+     *
+     * @param data array with values to add.
+     * @param offset index of the first value to add.
+     * @param length number of values to add.
+     * @throws NullPointerException if given array is null.
+     * @throws IndexOutOfBoundsException if the range is out of the array.
+     */
+    public void accept(final double[] data,
+                       final int offset,
+                       final int length) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        final int end = offset + length;
+
+        for (int from = offset; from < end; from += CHUNK_LENGTH) {
+            final int to = Math.min(end, from + CHUNK_LENGTH);
+            final int chunkLength = to - from;
+
+            double sum = 0;
+
+            for (int index = from; index < to; ++index) {
+                sum += data[index];
+            }
+
+            final double chunkAverage =
+                    refine(data, from, to, sum / chunkLength);
+
+            double squares = 0;
+            double cubes = 0;
+            double fourthPowers = 0;
+
+            for (int index = from; index < to; ++index) {
+                final double difference = data[index] - chunkAverage;
+                final double square = difference * difference;
+
+                squares += square;
+                cubes += square * difference;
+                fourthPowers += square * square;
+            }
+
+            combine(chunkLength, chunkAverage, squares, cubes, fourthPowers);
+        }
+    }
+
+    /**
+     * This method corrects the rounding error of the average of a range by
+     * the average difference of its values from it, so that the average of
+     * equal values is exactly their value and their moments are exactly 0.
+     *
+     * @param data array with values.
+     * @param from index of the first value, inclusive.
+     * @param to index of the last value, exclusive.
+     * @param average sum of the values divided by their number.
+     * @return refined average.
+     */
+    static double refine(final double[] data,
+                         final int from,
+                         final int to,
+                         final double average) {
+        double sumOfDifferences = 0;
+
+        for (int index = from; index < to; ++index) {
+            sumOfDifferences += data[index] - average;
+        }
+
+        return average + sumOfDifferences / (to - from);
+    }
+
+    /**
+     * This method adds values accumulated by another instance to the values
+     * accumulated by this one. The other instance is left untouched.
+     *
+     * @param other accumulator to combine with.
+     * @return this accumulator.
+     * @throws NullPointerException if other accumulator is null.
+     */
+    public Moments combine(final Moments other) {
+        combine(other.count,
+                other.averageArithmetic,
+                other.sumOfSquaredDifferences,
+                other.sumOfCubedDifferences,
+                other.sumOfFourthPowersOfDifferences);
+
+        return this;
+    }
+
+    /**
+     * This method combines the accumulated moments with moments of other
+     * values.
+     */
+    private void combine(final long otherCount,
+                         final double otherAverage,
+                         final double otherSquares,
+                         final double otherCubes,
+                         final double otherFourthPowers) {
+        if (otherCount == 0) {
+            return;
+        } else if (count == 0) {
+            count = otherCount;
+            averageArithmetic = otherAverage;
+            sumOfSquaredDifferences = otherSquares;
+            sumOfCubedDifferences = otherCubes;
+            sumOfFourthPowersOfDifferences = otherFourthPowers;
+
+            return;
+        }
+
+        final double thisCount = count;
+        final double newCount = thisCount + otherCount;
+        final double difference = otherAverage - averageArithmetic;
+        final double scaledDifference = difference / newCount;
+        final double product = thisCount * otherCount;
+        final double squares = sumOfSquaredDifferences;
+        final double cubes = sumOfCubedDifferences;
+
+        averageArithmetic += scaledDifference * otherCount;
+        sumOfSquaredDifferences +=
+                otherSquares + difference * scaledDifference * product;
+        sumOfCubedDifferences +=
+                otherCubes
+                + difference * scaledDifference * scaledDifference * product
+                  * (thisCount - otherCount)
+                + 3 * scaledDifference
+                  * (thisCount * otherSquares - otherCount * squares);
+        sumOfFourthPowersOfDifferences +=
+                otherFourthPowers
+                + difference * scaledDifference * scaledDifference
+                  * scaledDifference * product
+                  * (thisCount * thisCount - product
+                     + (double) otherCount * otherCount)
+                + 6 * scaledDifference * scaledDifference
+                  * (thisCount * thisCount * otherSquares
+                     + (double) otherCount * otherCount * squares)
+                + 4 * scaledDifference
+                  * (thisCount * otherCubes - otherCount * cubes);
+        count += otherCount;
+    }
+
+    /**
+     * This method forgets all the accumulated values.
+     */
+    public void reset() {
+        count = 0;
+        averageArithmetic = 0;
+        sumOfSquaredDifferences = 0;
+        sumOfCubedDifferences = 0;
+        sumOfFourthPowersOfDifferences = 0;
+    }
+
+    /**
+     * @return number of accumulated values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * This method returns the average arithmetic of the accumulated values.
+     *
+     * @return average arithmetic.
+     * @throws NotEnoughDataException if no values were accumulated.
+     */
+    public double averageArithmetic() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return averageArithmetic;
+    }
+
+    /**
+     * This method returns the variance of the accumulated values.
+     *
+     * @return variance.
+     * @throws NotEnoughDataException if less than two values were
+     *                                accumulated.
+     */
+    public double variance() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return sumOfSquaredDifferences / (count - 1);
+    }
+
+    /**
+     * This method returns the standard deviation of the accumulated values,
+     * the square root of their variance.
+     *
+     * @return standard deviation.
+     * @throws NotEnoughDataException if less than two values were
+     *                                accumulated.
+     */
+    public double standardDeviation() throws NotEnoughDataException {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * This method returns the adjusted Fisher-Pearson coefficient of
+     * skewness of the accumulated values (G1, as SKEW of spreadsheets),
+     * which is 0 for symmetric data and positive when the right tail is
+     * longer.
+     *
+     * @return skewness, NaN if all the values are equal.
+     * @throws NotEnoughDataException if less than three values were
+     *                                accumulated.
+     */
+    public double skewness() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(3);
+
+        if (areAllValuesEqual()) {
+            return Double.NaN;
+        }
+
+        final double n = count;
+        final double populationSkewness =
+                Math.sqrt(n) * sumOfCubedDifferences
+                / Math.pow(sumOfSquaredDifferences, 1.5);
+
+        return populationSkewness * Math.sqrt(n * (n - 1)) / (n - 2);
+    }
+
+    /**
+     * This method returns the adjusted excess kurtosis of the accumulated
+     * values (G2, as KURT of spreadsheets), which is 0 for normally
+     * distributed data and positive when the tails are heavier.
+     *
+     * @return excess kurtosis, NaN if all the values are equal.
+     * @throws NotEnoughDataException if less than four values were
+     *                                accumulated.
+     */
+    public double kurtosis() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(4);
+
+        if (areAllValuesEqual()) {
+            return Double.NaN;
+        }
+
+        final double n = count;
+        final double populationKurtosis =
+                n * sumOfFourthPowersOfDifferences
+                / (sumOfSquaredDifferences * sumOfSquaredDifferences)
+                - 3;
+
+        return ((n + 1) * populationKurtosis + 6) * (n - 1)
+               / ((n - 2) * (n - 3));
+    }
+
+    /**
+     * This method tells if the sum of squared differences is not greater
+     * than the rounding error of the differences of values which are all
+     * equal to the average arithmetic.
+     */
+    private boolean areAllValuesEqual() {
+        final double roundingError = 4 * Math.ulp(averageArithmetic);
+
+        return sumOfSquaredDifferences
+               <= count * roundingError * roundingError;
+    }
+
+    /**
+     * This method checks if enough values were accumulated.
+     *
+     * @throws NotEnoughDataException if they were not.
+     */
+    private void checkIfThereIsEnoughData(final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (count < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Moments{count=" + count +
+               ", averageArithmetic=" + averageArithmetic +
+               ", sumOfSquaredDifferences=" + sumOfSquaredDifferences +
+               ", sumOfCubedDifferences=" + sumOfCubedDifferences +
+               ", sumOfFourthPowersOfDifferences=" +
+               sumOfFourthPowersOfDifferences + "}";
+    }
+}
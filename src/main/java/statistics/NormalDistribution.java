@@ -0,0 +1,114 @@
+package statistics;
+
+/**
+ * This class provides the cumulative distribution function of the standard
+ * normal distribution and its inverse, which are needed by bias-corrected
+ * and accelerated confidence intervals.
+ *
+ * @author svalyavakilia
+ */
+final class NormalDistribution {
+    /**
+     * Coefficients of the rational approximations of the inverse by
+     * P. J. Acklam, relative error below 1.15e-9.
+     */
+    private static final double[] A = {
+            -3.969683028665376e+01, 2.209460984245205e+02,
+            -2.759285104469687e+02, 1.383577518672690e+02,
+            -3.066479806614716e+01, 2.506628277459239e+00
+    };
+    private static final double[] B = {
+            -5.447609879822406e+01, 1.615858368580409e+02,
+            -1.556989798598866e+02, 6.680131188771972e+01,
+            -1.328068155288572e+01
+    };
+    private static final double[] C = {
+            -7.784894002430293e-03, -3.223964580411365e-01,
+            -2.400758277161838e+00, -2.549732539343734e+00,
+            4.374664141464968e+00, 2.938163982698783e+00
+    };
+    private static final double[] D = {
+            7.784695709041462e-03, 3.224671290700398e-01,
+            2.445134137142996e+00, 3.754408661907416e+00
+    };
+
+    /**
+     * Probability below which the tail approximation is used.
+     */
+    private static final double LOW = 0.02425;
+
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private NormalDistribution() {}
+
+    /**
+     * This method returns the probability that a standard normal variable
+     * is not greater than a given value, with absolute error below 1.2e-7.
+     *
+     * @param x a value.
+     * @return the probability.
+     */
+    static double cdf(final double x) {
+        return 0.5 * complementaryErrorFunction(-x / Math.sqrt(2));
+    }
+
+    /**
+     * This method returns the value which a standard normal variable does
+     * not exceed with a given probability.
+     *
+     * @param probability probability from 0 to 1.
+     * @return the value, infinite for 0 and 1.
+     */
+    static double inverseCdf(final double probability) {
+        if (probability <= 0) {
+            return Double.NEGATIVE_INFINITY;
+        } else if (probability >= 1) {
+            return Double.POSITIVE_INFINITY;
+        } else if (probability < LOW) {
+            final double q = Math.sqrt(-2 * Math.log(probability));
+
+            return tail(q);
+        } else if (probability > 1 - LOW) {
+            final double q = Math.sqrt(-2 * Math.log1p(-probability));
+
+            return -tail(q);
+        }
+
+        final double q = probability - 0.5;
+        final double r = q * q;
+
+        return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r
+                + A[5]) * q
+               / (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r
+                  + 1);
+    }
+
+    private static double tail(final double q) {
+        return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q
+                + C[5])
+               / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+    }
+
+    /**
+     * This method computes erfc with a Chebyshev fit from Numerical Recipes,
+     * fractional error below 1.2e-7.
+     */
+    private static double complementaryErrorFunction(final double x) {
+        final double z = Math.abs(x);
+        final double t = 1 / (1 + 0.5 * z);
+        final double result =
+                t * Math.exp(-z * z - 1.26551223
+                             + t * (1.00002368
+                             + t * (0.37409196
+                             + t * (0.09678418
+                             + t * (-0.18628806
+                             + t * (0.27886807
+                             + t * (-1.13520398
+                             + t * (1.48851587
+                             + t * (-0.82215223
+                             + t * 0.17087277)))))))));
+
+        return x >= 0 ? result : 2 - result;
+    }
+}
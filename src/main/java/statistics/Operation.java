@@ -0,0 +1,148 @@
+package statistics;
+
+/**
+ * This enum lists the methods of {@link Statistics} which record metrics
+ * while {@link Instrumentation} is enabled. Overloads which take
+ * a {@link Summation} or an {@link ExecutionMode} and overloads for int,
+ * long and {@link java.nio.DoubleBuffer} values are recorded under the same
+ * operation as the ones for an array of doubles. A method which is
+ * implemented with another one is recorded only under its own operation.
+ * Sorting, sorted views, histograms and grouping are not recorded.
+ *
+ * @author svalyavakilia
+ */
+public enum Operation {
+    /**
+     * {@link Statistics#min(double[])}.
+     */
+    MIN,
+
+    /**
+     * {@link Statistics#max(double[])}.
+     */
+    MAX,
+
+    /**
+     * {@link Statistics#averageArithmetic(double[])}.
+     */
+    AVERAGE_ARITHMETIC,
+
+    /**
+     * {@link Statistics#variance(double[])}.
+     */
+    VARIANCE,
+
+    /**
+     * {@link Statistics#median(double[])}.
+     */
+    MEDIAN,
+
+    /**
+     * {@link Statistics#firstQuartile(double[])}.
+     */
+    FIRST_QUARTILE,
+
+    /**
+     * {@link Statistics#thirdQuartile(double[])}.
+     */
+    THIRD_QUARTILE,
+
+    /**
+     * {@link Statistics#iqr(double[])}.
+     */
+    IQR,
+
+    /**
+     * {@link Statistics#threeOverTwoIqr(double[])}.
+     */
+    THREE_OVER_TWO_IQR,
+
+    /**
+     * {@link Statistics#outliers(double[])}.
+     */
+    OUTLIERS,
+
+    /**
+     * {@link Statistics#quantile(double[], double)}.
+     */
+    QUANTILE,
+
+    /**
+     * {@link Statistics#quantiles(double[], double...)}.
+     */
+    QUANTILES,
+
+    /**
+     * {@link Statistics#mode(double[])}.
+     */
+    MODE,
+
+    /**
+     * {@link Statistics#frequencies(double[])}.
+     */
+    FREQUENCIES,
+
+    /**
+     * {@link Statistics#frequencyTable(double[])}.
+     */
+    FREQUENCY_TABLE,
+
+    /**
+     * {@link Statistics#summary(double[])}.
+     */
+    SUMMARY,
+
+    /**
+     * {@link Statistics#momentSummary(double[])}.
+     */
+    MOMENT_SUMMARY,
+
+    /**
+     * {@link Statistics#moments(double[])}.
+     */
+    MOMENTS,
+
+    /**
+     * {@link Statistics#standardDeviation(double[])}.
+     */
+    STANDARD_DEVIATION,
+
+    /**
+     * {@link Statistics#skewness(double[])}.
+     */
+    SKEWNESS,
+
+    /**
+     * {@link Statistics#kurtosis(double[])}.
+     */
+    KURTOSIS,
+
+    /**
+     * {@link Statistics#coMoments(double[], double[], ExecutionMode)}.
+     * The input size is the number of pairs.
+     */
+    CO_MOMENTS,
+
+    /**
+     * {@link Statistics#covariance(double[], double[])}.
+     * The input size is the number of pairs.
+     */
+    COVARIANCE,
+
+    /**
+     * {@link Statistics#correlation(double[], double[])}.
+     * The input size is the number of pairs.
+     */
+    CORRELATION,
+
+    /**
+     * {@link Statistics#summarizeSeries(double[], int[])}.
+     * The input size is the number of values of all the series.
+     */
+    SUMMARIZE_SERIES,
+
+    /**
+     * {@link Statistics#overallStatistics(double[])}.
+     */
+    OVERALL_STATISTICS
+}
@@ -0,0 +1,36 @@
+package statistics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This class represents a Flight Recorder event of a call recorded by
+ * {@link Instrumentation}. It is disabled by default: enable
+ * {@code statistics.Operation} in the recording settings to record it.
+ *
+ * @author svalyavakilia
+ */
+@Name("statistics.Operation")
+@Label("Statistics Operation")
+@Category("Statistics")
+@Description("A call of an instrumented method of Statistics")
+@Enabled(false)
+final class OperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Input Size")
+    int inputSize;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,64 @@
+package statistics;
+
+/**
+ * This interface is the management interface of the metrics of
+ * an {@link Operation}, registered with
+ * {@link Instrumentation#registerMBeans()} under the name
+ * {@code statistics:type=Operation,name=<operation>}.
+ *
+ * @author svalyavakilia
+ */
+public interface OperationMXBean {
+    /**
+     * @return name of the operation.
+     */
+    String getOperation();
+
+    /**
+     * @return number of recorded calls.
+     */
+    long getCalls();
+
+    /**
+     * @return number of calls which threw {@link NotEnoughDataException}.
+     */
+    long getNotEnoughDataExceptions();
+
+    /**
+     * @return number of calls which threw any other exception.
+     */
+    long getFailures();
+
+    /**
+     * @return average length of the arrays passed to the operation.
+     */
+    double getAverageInputSize();
+
+    /**
+     * @return bytes allocated by the calling threads during the calls,
+     *         0 if the virtual machine does not measure allocations.
+     */
+    long getAllocatedBytes();
+
+    /**
+     * @return average latency of a call in nanoseconds.
+     */
+    double getAverageLatencyNanos();
+
+    /**
+     * @return approximate median latency in nanoseconds, NaN if there were
+     *         no calls.
+     */
+    double getMedianLatencyNanos();
+
+    /**
+     * @return approximate 99th percentile of latencies in nanoseconds, NaN
+     *         if there were no calls.
+     */
+    double getLatency99thPercentileNanos();
+
+    /**
+     * This method forgets the recorded calls.
+     */
+    void reset();
+}
@@ -0,0 +1,153 @@
+package statistics;
+
+/**
+ * This class represents an immutable snapshot of the metrics recorded for
+ * an {@link Operation} while {@link Instrumentation} was enabled.
+ *
+ * @author svalyavakilia
+ */
+public final class OperationMetrics {
+    private final Operation operation;
+    private final long calls;
+    private final long notEnoughDataExceptions;
+    private final long failures;
+    private final long totalInputSize;
+    private final long allocatedBytes;
+    private final long totalLatencyNanos;
+    private final Histogram inputSizes;
+    private final Histogram latencies;
+
+    /**
+     * Constructor for OperationMetrics class instance.
+     *
+     * @param inputSizes histogram of input sizes, it is not copied.
+     * @param latencies histogram of latencies, it is not copied.
+     */
+    OperationMetrics(final Operation operation,
+                     final long calls,
+                     final long notEnoughDataExceptions,
+                     final long failures,
+                     final long totalInputSize,
+                     final long allocatedBytes,
+                     final long totalLatencyNanos,
+                     final Histogram inputSizes,
+                     final Histogram latencies) {
+        this.operation = operation;
+        this.calls = calls;
+        this.notEnoughDataExceptions = notEnoughDataExceptions;
+        this.failures = failures;
+        this.totalInputSize = totalInputSize;
+        this.allocatedBytes = allocatedBytes;
+        this.totalLatencyNanos = totalLatencyNanos;
+        this.inputSizes = inputSizes;
+        this.latencies = latencies;
+    }
+
+    /**
+     * @return the operation.
+     */
+    public Operation operation() {
+        return operation;
+    }
+
+    /**
+     * @return number of recorded calls.
+     */
+    public long calls() {
+        return calls;
+    }
+
+    /**
+     * @return number of calls which threw {@link NotEnoughDataException}.
+     */
+    public long notEnoughDataExceptions() {
+        return notEnoughDataExceptions;
+    }
+
+    /**
+     * @return number of calls which threw any other exception.
+     */
+    public long failures() {
+        return failures;
+    }
+
+    /**
+     * @return sum of the lengths of the arrays passed to the operation.
+     */
+    public long totalInputSize() {
+        return totalInputSize;
+    }
+
+    /**
+     * @return average length of the arrays passed to the operation, NaN if
+     *         there were no calls.
+     */
+    public double averageInputSize() {
+        return (double) totalInputSize / calls;
+    }
+
+    /**
+     * @return bytes allocated by the calling threads during the calls,
+     *         0 if the virtual machine does not measure allocations.
+     *         Allocations of fork/join workers in parallel mode are not
+     *         included.
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return sum of the latencies of the calls in nanoseconds.
+     */
+    public long totalLatencyNanos() {
+        return totalLatencyNanos;
+    }
+
+    /**
+     * @return average latency of a call in nanoseconds, NaN if there were
+     *         no calls.
+     */
+    public double averageLatencyNanos() {
+        return (double) totalLatencyNanos / calls;
+    }
+
+    /**
+     * @return a copy of the HDR histogram of the lengths of the arrays
+     *         passed to the operation.
+     */
+    public Histogram inputSizes() {
+        return inputSizes.emptyCopy().merge(inputSizes);
+    }
+
+    /**
+     * @return a copy of the HDR histogram of the latencies of the calls in
+     *         nanoseconds.
+     */
+    public Histogram latencies() {
+        return latencies.emptyCopy().merge(latencies);
+    }
+
+    /**
+     * This method returns an approximate quantile of the latencies.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile in nanoseconds.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     * @throws NotEnoughDataException if there were no calls.
+     */
+    public double latencyQuantileNanos(final double probability)
+                                            throws NotEnoughDataException {
+        return latencies.quantile(probability);
+    }
+
+    @Override
+    public String toString() {
+        return "OperationMetrics{operation=" + operation +
+               ", calls=" + calls +
+               ", notEnoughDataExceptions=" + notEnoughDataExceptions +
+               ", failures=" + failures +
+               ", averageInputSize=" + averageInputSize() +
+               ", allocatedBytes=" + allocatedBytes +
+               ", averageLatencyNanos=" + averageLatencyNanos() + '}';
+    }
+}
@@ -0,0 +1,139 @@
+package statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class accumulates the metrics of an {@link Operation} from many
+ * threads at once. Counters are {@link LongAdder}s and histograms are
+ * updated atomically, so recording never blocks.
+ *
+ * @author svalyavakilia
+ */
+final class OperationRecorder implements OperationMXBean {
+    private final Operation operation;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder notEnoughDataExceptions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalInputSize = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder totalLatencyNanos = new LongAdder();
+    private final Histogram inputSizes = Histogram.hdr(1, 1L << 31, 1);
+    private final Histogram latencies = Histogram.hdr(1, 1e12, 2);
+
+    /**
+     * Constructor for OperationRecorder class instance.
+     *
+     * @param operation operation to record.
+     */
+    OperationRecorder(final Operation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * This method records a call.
+     *
+     * @param inputSize length of the array passed to the operation.
+     * @param latencyNanos latency of the call in nanoseconds.
+     * @param allocated bytes allocated by the calling thread.
+     * @param exception exception thrown by the call or null.
+     */
+    void record(final int inputSize,
+                final long latencyNanos,
+                final long allocated,
+                final Throwable exception) {
+        calls.increment();
+        totalInputSize.add(inputSize);
+        inputSizes.accept(inputSize);
+        totalLatencyNanos.add(latencyNanos);
+        latencies.accept(latencyNanos);
+        allocatedBytes.add(allocated);
+
+        if (exception instanceof NotEnoughDataException) {
+            notEnoughDataExceptions.increment();
+        } else if (exception != null) {
+            failures.increment();
+        }
+    }
+
+    /**
+     * @return snapshot of the metrics recorded so far. Counters are read
+     *         one after another, so calls recorded meanwhile may be
+     *         counted by some of them only.
+     */
+    OperationMetrics snapshot() {
+        return new OperationMetrics(operation,
+                                    calls.sum(),
+                                    notEnoughDataExceptions.sum(),
+                                    failures.sum(),
+                                    totalInputSize.sum(),
+                                    allocatedBytes.sum(),
+                                    totalLatencyNanos.sum(),
+                                    inputSizes.emptyCopy().merge(inputSizes),
+                                    latencies.emptyCopy().merge(latencies));
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.name();
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getNotEnoughDataExceptions() {
+        return notEnoughDataExceptions.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public double getAverageInputSize() {
+        return (double) totalInputSize.sum() / calls.sum();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public double getAverageLatencyNanos() {
+        return (double) totalLatencyNanos.sum() / calls.sum();
+    }
+
+    @Override
+    public double getMedianLatencyNanos() {
+        return latencyQuantile(0.5);
+    }
+
+    @Override
+    public double getLatency99thPercentileNanos() {
+        return latencyQuantile(0.99);
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        notEnoughDataExceptions.reset();
+        failures.reset();
+        totalInputSize.reset();
+        allocatedBytes.reset();
+        totalLatencyNanos.reset();
+        inputSizes.reset();
+        latencies.reset();
+    }
+
+    private double latencyQuantile(final double probability) {
+        try {
+            return latencies.quantile(probability);
+        } catch (final NotEnoughDataException exception) {
+            return Double.NaN;
+        }
+    }
+}
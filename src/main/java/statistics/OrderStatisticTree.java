@@ -0,0 +1,420 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a multiset of doubles kept in a treap whose nodes
+ * know the number of values in their subtrees, so a value can be added or
+ * removed and the value of any rank can be found in O(log n).
+ * Nodes also know the largest count in their subtrees, so the quantity of
+ * modes is known in O(1) and the modes are found without visiting
+ * subtrees which cannot contain them. Equal values share a node.
+ * Values are ordered the way {@link Double#compare(double, double)} orders
+ * them.
+ * Nodes live in parallel arrays and removed nodes are reused, so
+ * the tree allocates only when it grows.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+final class OrderStatisticTree {
+    /**
+     * Index of the empty node.
+     */
+    private static final int NIL = 0;
+
+    private double[] values;
+    private long[] counts;
+    private long[] sizes;
+    private long[] maximumCounts;
+    private int[] lefts;
+    private int[] rights;
+    private int[] priorities;
+
+    private int root = NIL;
+    private int numberOfNodes;
+    private int firstFreeNode = NIL;
+    private int randomState = 0x2545F491;
+    private boolean removed;
+
+    /**
+     * Constructor for OrderStatisticTree class instance.
+     *
+     * @param expectedSize number of distinct values the tree is initially
+     *                     sized for.
+     */
+    OrderStatisticTree(final int expectedSize) {
+        final int capacity = Math.max(8, expectedSize + 1);
+
+        values = new double[capacity];
+        counts = new long[capacity];
+        sizes = new long[capacity];
+        maximumCounts = new long[capacity];
+        lefts = new int[capacity];
+        rights = new int[capacity];
+        priorities = new int[capacity];
+        numberOfNodes = 1;
+    }
+
+    /**
+     * @return number of values in the tree.
+     */
+    long size() {
+        return sizes[root];
+    }
+
+    /**
+     * This method adds a value to the tree.
+     *
+     * @param value value to add.
+     */
+    void add(final double value) {
+        root = insert(root, value);
+    }
+
+    /**
+     * This method removes one occurrence of a value from the tree.
+     *
+     * @param value value to remove.
+     * @return true if the value was in the tree.
+     */
+    boolean remove(final double value) {
+        removed = false;
+        root = delete(root, value);
+
+        return removed;
+    }
+
+    /**
+     * This method removes all the values keeping the allocated memory.
+     */
+    void clear() {
+        root = NIL;
+        numberOfNodes = 1;
+        firstFreeNode = NIL;
+    }
+
+    /**
+     * This method returns the value which would be under a given index if
+     * the values were sorted.
+     *
+     * @param rank index of the value, from 0 to size - 1.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if rank is out of the tree.
+     */
+    double select(long rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank is out of the tree: " +
+                                                rank + ".");
+        }
+
+        int node = root;
+
+        while (true) {
+            final long leftSize = sizes[lefts[node]];
+
+            if (rank < leftSize) {
+                node = lefts[node];
+            } else if (rank < leftSize + counts[node]) {
+                return values[node];
+            } else {
+                rank -= leftSize + counts[node];
+                node = rights[node];
+            }
+        }
+    }
+
+    /**
+     * This method returns the number of values which are less than a given
+     * one.
+     *
+     * @param value value to find the rank of.
+     * @return number of smaller values.
+     */
+    long rank(final double value) {
+        long rank = 0;
+
+        int node = root;
+
+        while (node != NIL) {
+            final int comparison = Double.compare(value, values[node]);
+
+            if (comparison <= 0) {
+                node = lefts[node];
+            } else {
+                rank += sizes[lefts[node]] + counts[node];
+                node = rights[node];
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * This method returns the number of occurrences of a given value.
+     *
+     * @param value value to count.
+     * @return number of occurrences.
+     */
+    long count(final double value) {
+        int node = root;
+
+        while (node != NIL) {
+            final int comparison = Double.compare(value, values[node]);
+
+            if (comparison == 0) {
+                return counts[node];
+            }
+
+            node = comparison < 0 ? lefts[node] : rights[node];
+        }
+
+        return 0;
+    }
+
+    /**
+     * @return the largest number of occurrences of a value or 0 if the tree
+     *         is empty.
+     */
+    long modeQuantity() {
+        return maximumCounts[root];
+    }
+
+    /**
+     * This method returns the values which occur the largest number of
+     * times.
+     *
+     * @return the modes in ascending order.
+     */
+    double[] modes() {
+        final DoubleArrayBuilder modes = new DoubleArrayBuilder();
+
+        collectModes(root, maximumCounts[root], modes);
+
+        return modes.toArray();
+    }
+
+    /**
+     * This method adds up the distinct finite values times their counts or
+     * their squared differences from a given center times their counts.
+     * Infinite and NaN values are skipped.
+     *
+     * @param center value to subtract from every value.
+     * @param squared whether to square the differences.
+     * @return the sum.
+     */
+    double sumOfDifferences(final double center, final boolean squared) {
+        double sum = 0;
+
+        for (int node = 1; node < numberOfNodes; ++node) {
+            if (counts[node] != 0 && Double.isFinite(values[node])) {
+                final double difference = values[node] - center;
+
+                sum += counts[node] * (squared ? difference * difference
+                                               : difference);
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * This method returns the median of the values which would be in
+     * a given range of indexes if the values were sorted.
+     *
+     * @param from index of the first value of the range, inclusive.
+     * @param to index of the last value of the range, exclusive.
+     * @return median of the range.
+     */
+    double medianOfRanks(final long from, final long to) {
+        final long rangeLength = to - from;
+        final long middle = from + rangeLength / 2;
+
+        if ((rangeLength & 1) == 1) {
+            return select(middle);
+        } else {
+            return (select(middle - 1) + select(middle)) / 2;
+        }
+    }
+
+    private void collectModes(final int node,
+                              final long modeQuantity,
+                              final DoubleArrayBuilder modes) {
+        if (node == NIL || maximumCounts[node] != modeQuantity) {
+            return;
+        }
+
+        collectModes(lefts[node], modeQuantity, modes);
+
+        if (counts[node] == modeQuantity) {
+            modes.accept(values[node]);
+        }
+
+        collectModes(rights[node], modeQuantity, modes);
+    }
+
+    private int insert(int node, final double value) {
+        if (node == NIL) {
+            return newNode(value);
+        }
+
+        final int comparison = Double.compare(value, values[node]);
+
+        if (comparison == 0) {
+            ++counts[node];
+        } else if (comparison < 0) {
+            lefts[node] = insert(lefts[node], value);
+
+            if (priorities[lefts[node]] > priorities[node]) {
+                node = rotateRight(node);
+            }
+        } else {
+            rights[node] = insert(rights[node], value);
+
+            if (priorities[rights[node]] > priorities[node]) {
+                node = rotateLeft(node);
+            }
+        }
+
+        update(node);
+
+        return node;
+    }
+
+    private int delete(int node, final double value) {
+        if (node == NIL) {
+            return NIL;
+        }
+
+        final int comparison = Double.compare(value, values[node]);
+
+        if (comparison < 0) {
+            lefts[node] = delete(lefts[node], value);
+        } else if (comparison > 0) {
+            rights[node] = delete(rights[node], value);
+        } else {
+            removed = true;
+
+            if (counts[node] > 1) {
+                --counts[node];
+            } else {
+                return removeNode(node);
+            }
+        }
+
+        update(node);
+
+        return node;
+    }
+
+    /**
+     * This method rotates a node down until it becomes a leaf and removes it.
+     *
+     * @return new root of the subtree.
+     */
+    private int removeNode(final int node) {
+        final int left = lefts[node];
+        final int right = rights[node];
+
+        if (left == NIL || right == NIL) {
+            counts[node] = 0;
+            lefts[node] = firstFreeNode;
+            firstFreeNode = node;
+
+            return left == NIL ? right : left;
+        }
+
+        final int top;
+
+        if (priorities[left] > priorities[right]) {
+            top = rotateRight(node);
+            rights[top] = removeNode(node);
+        } else {
+            top = rotateLeft(node);
+            lefts[top] = removeNode(node);
+        }
+
+        update(top);
+
+        return top;
+    }
+
+    private int rotateRight(final int node) {
+        final int left = lefts[node];
+
+        lefts[node] = rights[left];
+        rights[left] = node;
+
+        update(node);
+        update(left);
+
+        return left;
+    }
+
+    private int rotateLeft(final int node) {
+        final int right = rights[node];
+
+        rights[node] = lefts[right];
+        lefts[right] = node;
+
+        update(node);
+        update(right);
+
+        return right;
+    }
+
+    private void update(final int node) {
+        final int left = lefts[node];
+        final int right = rights[node];
+
+        sizes[node] = sizes[left] + counts[node] + sizes[right];
+        maximumCounts[node] = Math.max(counts[node],
+                                       Math.max(maximumCounts[left],
+                                                maximumCounts[right]));
+    }
+
+    private int newNode(final double value) {
+        final int node;
+
+        if (firstFreeNode != NIL) {
+            node = firstFreeNode;
+            firstFreeNode = lefts[node];
+        } else {
+            if (numberOfNodes == values.length) {
+                grow();
+            }
+
+            node = numberOfNodes++;
+        }
+
+        int state = randomState;
+
+        state ^= state << 13;
+        state ^= state >>> 17;
+        state ^= state << 5;
+
+        randomState = state;
+
+        values[node] = value;
+        counts[node] = 1;
+        sizes[node] = 1;
+        maximumCounts[node] = 1;
+        lefts[node] = NIL;
+        rights[node] = NIL;
+        priorities[node] = state;
+
+        return node;
+    }
+
+    private void grow() {
+        final int capacity = values.length * 2;
+
+        values = Arrays.copyOf(values, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        maximumCounts = Arrays.copyOf(maximumCounts, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+    }
+}
@@ -0,0 +1,236 @@
+package statistics;
+
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * This class finds outliers of arrays. The fences of an array are derived
+ * by an {@link OutlierRule} from a single copy of it: both quartiles of
+ * Tukey's fences are selected at once, the median absolute deviation is
+ * selected from the same copy after the median, and the standard deviation
+ * is computed with {@link Moments}. The values are then classified by
+ * {@link OutlierFences} in one pass into a bitset or an array of indexes.
+ * <p>
+ * NaN values are ignored when the fences are derived and are never
+ * outliers. The copy is kept in a scratch buffer owned by the detector
+ * which grows only when a longer array comes, so a detector used in a loop
+ * with bitsets or arrays of indexes of its own allocates nothing.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class OutlierDetector {
+    /**
+     * Scale of the median absolute deviation which makes it an estimate of
+     * the standard deviation of normally distributed data: one over
+     * the third quartile of the standard normal distribution.
+     */
+    static final double MEDIAN_ABSOLUTE_DEVIATION_SCALE = 1.482602218505602;
+
+    private final OutlierRule rule;
+    private final double threshold;
+    private final int[] ranks = new int[4];
+    private double[] scratch = new double[0];
+
+    /**
+     * Constructor for OutlierDetector class instance.
+     *
+     * @param rule the way fences are derived from the data.
+     * @param threshold multiplier of the measure of spread of the rule.
+     * @throws NullPointerException if rule is null.
+     * @throws IllegalArgumentException if threshold is not positive and
+     *                                  finite.
+     */
+    public OutlierDetector(final OutlierRule rule, final double threshold) {
+        this.rule = Objects.requireNonNull(rule);
+        this.threshold = checkIfThresholdIsValid(threshold);
+    }
+
+    /**
+     * @return the way fences are derived from the data.
+     */
+    public OutlierRule rule() {
+        return rule;
+    }
+
+    /**
+     * @return multiplier of the measure of spread of the rule.
+     */
+    public double threshold() {
+        return threshold;
+    }
+
+    /**
+     * This method derives the fences of a given array. The array is not
+     * reordered.
+     *
+     * @param data array with values.
+     * @return fences of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two
+     *                                values which are not NaN.
+     */
+    public OutlierFences fences(final double[] data)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 2);
+
+        if (scratch.length < data.length) {
+            scratch = new double[data.length];
+        }
+
+        final int numberOfValues =
+                Selection.copyMovingNaNToTheEnd(data, scratch);
+
+        if (numberOfValues < 2) {
+            throw new NotEnoughDataException("There is not enough data!" +
+                                             "Minimum quantity of values " +
+                                             "needed: 2.");
+        }
+
+        switch (rule) {
+            case TUKEY:
+                return tukeyFences(numberOfValues);
+            case MEDIAN_ABSOLUTE_DEVIATION:
+                return medianAbsoluteDeviationFences(numberOfValues);
+            default:
+                return zScoreFences(numberOfValues);
+        }
+    }
+
+    /**
+     * This method finds outliers of a given array.
+     *
+     * @param data array with values.
+     * @return bitset in which the indexes of the outliers are set.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two
+     *                                values which are not NaN.
+     */
+    public BitSet outliers(final double[] data)
+                                            throws NotEnoughDataException {
+        final long[] words = new long[OutlierFences.wordsFor(data.length)];
+
+        fences(data).classify(data, words);
+
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * This method derives Tukey's fences from both quartiles of the values
+     * in the scratch buffer, selected at once.
+     */
+    private OutlierFences tukeyFences(final int numberOfValues) {
+        final int halfLength = numberOfValues / 2;
+        final int secondHalfStart = numberOfValues - halfLength;
+
+        int numberOfRanks = addMedianRanks(0, halfLength, 0);
+
+        numberOfRanks = addMedianRanks(secondHalfStart,
+                                       numberOfValues,
+                                       numberOfRanks);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        final double firstQuartile =
+                SummaryCalculator.medianOfSorted(scratch, 0, halfLength);
+        final double thirdQuartile =
+                SummaryCalculator.medianOfSorted(scratch,
+                                                 secondHalfStart,
+                                                 numberOfValues);
+        final double margin = threshold * (thirdQuartile - firstQuartile);
+
+        return new OutlierFences(firstQuartile - margin,
+                                 thirdQuartile + margin);
+    }
+
+    /**
+     * This method derives fences from the median of the values in
+     * the scratch buffer and from the median of their absolute deviations
+     * from it, which replace the values.
+     */
+    private OutlierFences medianAbsoluteDeviationFences(
+                                            final int numberOfValues) {
+        final double median = medianOfScratch(numberOfValues);
+
+        for (int index = 0; index < numberOfValues; ++index) {
+            scratch[index] = Math.abs(scratch[index] - median);
+        }
+
+        final double margin = threshold
+                              * MEDIAN_ABSOLUTE_DEVIATION_SCALE
+                              * medianOfScratch(numberOfValues);
+
+        return new OutlierFences(median - margin, median + margin);
+    }
+
+    /**
+     * This method derives fences from the average arithmetic and
+     * the standard deviation of the values in the scratch buffer.
+     */
+    private OutlierFences zScoreFences(final int numberOfValues)
+                                            throws NotEnoughDataException {
+        final Moments moments = new Moments();
+
+        moments.accept(scratch, 0, numberOfValues);
+
+        final double averageArithmetic = moments.averageArithmetic();
+        final double margin = threshold * moments.standardDeviation();
+
+        return new OutlierFences(averageArithmetic - margin,
+                                 averageArithmetic + margin);
+    }
+
+    /**
+     * This method selects the median of the leading values of the scratch
+     * buffer.
+     */
+    private double medianOfScratch(final int numberOfValues) {
+        final int numberOfRanks = addMedianRanks(0, numberOfValues, 0);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        return SummaryCalculator.medianOfSorted(scratch, 0, numberOfValues);
+    }
+
+    /**
+     * This method appends ranks which are needed to find the median of
+     * the values which would be in a given range if they were sorted.
+     *
+     * @return new number of ranks.
+     */
+    private int addMedianRanks(final int from,
+                               final int to,
+                               int numberOfRanks) {
+        final int middle = from + (to - from) / 2;
+
+        if (((to - from) & 1) == 0) {
+            ranks[numberOfRanks++] = middle - 1;
+        }
+
+        ranks[numberOfRanks++] = middle;
+
+        return numberOfRanks;
+    }
+
+    /**
+     * This method checks if a given threshold is positive and finite.
+     *
+     * @return the threshold.
+     * @throws IllegalArgumentException if it is not.
+     */
+    static double checkIfThresholdIsValid(final double threshold) {
+        if (!(threshold > 0 && threshold < Double.POSITIVE_INFINITY)) {
+            throw new IllegalArgumentException("Threshold must be positive " +
+                                               "and finite: " + threshold +
+                                               ".");
+        }
+
+        return threshold;
+    }
+
+    @Override
+    public String toString() {
+        return "OutlierDetector{rule=" + rule +
+               ", threshold=" + threshold + '}';
+    }
+}
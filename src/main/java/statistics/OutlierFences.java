@@ -0,0 +1,144 @@
+package statistics;
+
+/**
+ * This class represents immutable fences: values less than the lower
+ * fence or greater than the upper one are outliers, see
+ * {@link OutlierDetector}. NaN is never an outlier.
+ * <p>
+ * Arrays are classified in a single pass without branches on the values:
+ * both comparisons of a value are always made and their result is added
+ * to a word of a bitset or to the number of written indexes, so the cost
+ * does not depend on how many outliers there are and where they are.
+ *
+ * @author svalyavakilia
+ */
+public final class OutlierFences {
+    private final double lower;
+    private final double upper;
+
+    /**
+     * Constructor for OutlierFences class instance.
+     *
+     * @param lower lower fence.
+     * @param upper upper fence.
+     */
+    OutlierFences(final double lower, final double upper) {
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * @return lower fence, values less than it are outliers.
+     */
+    public double lower() {
+        return lower;
+    }
+
+    /**
+     * @return upper fence, values greater than it are outliers.
+     */
+    public double upper() {
+        return upper;
+    }
+
+    /**
+     * @param value a value.
+     * @return true if the value is outside the fences.
+     */
+    public boolean isOutlier(final double value) {
+        return value < lower | value > upper;
+    }
+
+    /**
+     * This method returns the number of words of a bitset which
+     * {@link #classify(double[], long[])} needs for a given number of
+     * values.
+     *
+     * @param length number of values.
+     * @return number of words.
+     */
+    public static int wordsFor(final int length) {
+        return (length + Long.SIZE - 1) >>> 6;
+    }
+
+    /**
+     * This method classifies every value of a given array into a bitset:
+     * bit {@code index % 64} of word {@code index / 64} is set if the value
+     * under the index is an outlier, which is the layout of
+     * {@link java.util.BitSet#valueOf(long[])}. Words after the last one
+     * needed are left untouched, so a bitset can be reused for arrays of
+     * different lengths.
+     *
+     * @param data array with values to classify.
+     * @param words bitset to write to, at least
+     *              {@link #wordsFor(int)} words long.
+     * @return number of outliers.
+     * @throws NullPointerException if any of the arrays is null.
+     * @throws IllegalArgumentException if the bitset is too short.
+     */
+    public int classify(final double[] data, final long[] words) {
+        final int dataLength = data.length;
+
+        if (words.length < wordsFor(dataLength)) {
+            throw new IllegalArgumentException("Bitset is too short!");
+        }
+
+        int numberOfOutliers = 0;
+
+        for (int from = 0; from < dataLength; from += Long.SIZE) {
+            final int to = Math.min(dataLength, from + Long.SIZE);
+
+            long word = 0;
+
+            for (int index = from; index < to; ++index) {
+                final double value = data[index];
+                final long outlier = value < lower | value > upper ? 1 : 0;
+
+                word |= outlier << index;
+            }
+
+            words[from >>> 6] = word;
+            numberOfOutliers += Long.bitCount(word);
+        }
+
+        return numberOfOutliers;
+    }
+
+    /**
+     * This method writes indexes of outliers of a given array in ascending
+     * order into the beginning of another array. Every index is written
+     * and kept only if its value is an outlier, which is why the array of
+     * indexes must be as long as the data.
+     *
+     * @param data array with values to classify.
+     * @param indexes array to write the indexes to, at least as long as
+     *                the data.
+     * @return number of outliers, that is of written indexes.
+     * @throws NullPointerException if any of the arrays is null.
+     * @throws IllegalArgumentException if the array of indexes is too
+     *                                  short.
+     */
+    public int outlierIndexes(final double[] data, final int[] indexes) {
+        final int dataLength = data.length;
+
+        if (indexes.length < dataLength) {
+            throw new IllegalArgumentException("Indexes array is too short!");
+        }
+
+        int numberOfOutliers = 0;
+
+        for (int index = 0; index < dataLength; ++index) {
+            final double value = data[index];
+
+            indexes[numberOfOutliers] = index;
+            numberOfOutliers += value < lower | value > upper ? 1 : 0;
+        }
+
+        return numberOfOutliers;
+    }
+
+    @Override
+    public String toString() {
+        return "OutlierFences{lower=" + lower + ", upper=" + upper + '}';
+    }
+}
@@ -0,0 +1,34 @@
+package statistics;
+
+/**
+ * This enum represents the way fences outside which values are outliers
+ * are derived from the data. Every rule multiplies a measure of spread by
+ * a threshold given along with the rule.
+ *
+ * @author svalyavakilia
+ */
+public enum OutlierRule {
+    /**
+     * Tukey's fences: the first quartile minus and the third quartile plus
+     * the threshold times the interquartile range. The usual thresholds are
+     * 1.5 for outliers and 3 for far outliers.
+     */
+    TUKEY,
+
+    /**
+     * The median plus and minus the threshold times the median absolute
+     * deviation scaled by 1.4826, so that it estimates the standard
+     * deviation of normally distributed data. The usual thresholds are
+     * from 2.5 to 3.5. Like Tukey's fences the rule is not affected by
+     * the outliers themselves.
+     */
+    MEDIAN_ABSOLUTE_DEVIATION,
+
+    /**
+     * The average arithmetic plus and minus the threshold times
+     * the standard deviation. The usual threshold is 3. Large outliers
+     * widen the fences, so the rule suits data which is close to normally
+     * distributed.
+     */
+    Z_SCORE
+}
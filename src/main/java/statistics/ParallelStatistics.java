@@ -0,0 +1,343 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class computes statistics of arrays in the common fork/join pool.
+ * Reductions split an array into parts of at most {@link #LEAF_LENGTH}
+ * values, compute a {@link RunningStatistics} of every part and combine
+ * them in a fixed order. Order statistics are read from a copy of the array
+ * sorted by {@link Arrays#parallelSort(double[])}.
+ *
+ * @author svalyavakilia
+ */
+final class ParallelStatistics {
+    /**
+     * Maximum number of values which are reduced by a single task.
+     */
+    static final int LEAF_LENGTH = 1 << 16;
+
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private ParallelStatistics() {}
+
+    /**
+     * This method reduces a given array in parallel. Leaves skip NaN when
+     * they look for the extremes, so the extremes are NaN only if the first
+     * value of the array is NaN, like {@link Reductions#min} and
+     * {@link Reductions#max} of the whole array.
+     *
+     * @param data non-empty array to reduce.
+     * @param withVariance false if only count, average arithmetic, minimum
+     *                     and maximum are needed.
+     * @return reduction of the array.
+     */
+    static RunningStatistics reduce(final double[] data,
+                                    final boolean withVariance) {
+        final RunningStatistics reduction =
+                new ReductionTask(data, 0, data.length, withVariance).invoke();
+
+        if (Double.isNaN(data[0])) {
+            return reduction.withExtremes(Double.NaN, Double.NaN);
+        }
+
+        return reduction;
+    }
+
+    /**
+     * This method returns a copy of a given array sorted in parallel.
+     *
+     * @param data array to copy.
+     * @return sorted copy.
+     */
+    static double[] sortedCopy(final double[] data) {
+        final double[] sorted = data.clone();
+
+        Arrays.parallelSort(sorted);
+
+        return sorted;
+    }
+
+    /**
+     * This method computes a full summary of a given array in parallel.
+     *
+     * @param data array with at least two values.
+     * @return summary with moments and order statistics.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    static Summary summarize(final double[] data)
+                                            throws NotEnoughDataException {
+        final ReductionTask reduction =
+                new ReductionTask(data, 0, data.length, false);
+
+        reduction.fork();
+
+        final double[] sorted = sortedCopy(data);
+
+        return SummaryCalculator.summarizeSorted(
+                sorted, sorted.length, reduction.join().averageArithmetic());
+    }
+
+    /**
+     * This method groups values by keys in parallel. Every part of
+     * the columns is aggregated into its own table and the tables are merged
+     * in a fixed order, so keys keep the order of their first appearance.
+     * Exactly one of the key columns is not null.
+     *
+     * @param intKeys int keys or null.
+     * @param longKeys long keys or null.
+     * @param values values, as many as keys.
+     * @return table of the groups.
+     */
+    static GroupTable group(final int[] intKeys,
+                            final long[] longKeys,
+                            final double[] values) {
+        return new GroupingTask(intKeys, longKeys, values, 0, values.length)
+                .invoke();
+    }
+
+    /**
+     * This method accumulates the moments of a given array in parallel.
+     *
+     * @param data array to reduce.
+     * @return moments of the array.
+     */
+    static Moments moments(final double[] data) {
+        return new MomentsTask(data, 0, data.length).invoke();
+    }
+
+    /**
+     * This method accumulates the co-moments of two equally long arrays in
+     * parallel.
+     *
+     * @param x first values of the pairs.
+     * @param y second values of the pairs.
+     * @return co-moments of the arrays.
+     */
+    static CoMoments coMoments(final double[] x, final double[] y) {
+        return new CoMomentsTask(x, y, 0, x.length).invoke();
+    }
+
+    /**
+     * This class represents a reduction of a range of an array.
+     */
+    private static final class ReductionTask
+                                    extends RecursiveTask<RunningStatistics> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] data;
+        private final int from;
+        private final int to;
+        private final boolean withVariance;
+
+        ReductionTask(final double[] data,
+                      final int from,
+                      final int to,
+                      final boolean withVariance) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+            this.withVariance = withVariance;
+        }
+
+        @Override
+        protected RunningStatistics compute() {
+            if (to - from <= LEAF_LENGTH) {
+                return reduceLeaf();
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final ReductionTask left =
+                    new ReductionTask(data, from, middle, withVariance);
+            final ReductionTask right =
+                    new ReductionTask(data, middle, to, withVariance);
+
+            right.fork();
+
+            final RunningStatistics result = left.compute();
+
+            return result.combine(right.join());
+        }
+
+        /**
+         * This method reduces a small range with cache-friendly passes over
+         * it: the extremes, skipping NaN, then the sum and then squared
+         * differences from the average arithmetic.
+         */
+        private RunningStatistics reduceLeaf() {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+
+            for (int index = from; index < to; ++index) {
+                final double value = data[index];
+
+                if (value < min) {
+                    min = value;
+                }
+
+                if (value > max) {
+                    max = value;
+                }
+            }
+
+            final int count = to - from;
+            final double averageArithmetic =
+                    Reductions.sum(data, from, to, Summation.PAIRWISE) / count;
+            final double sumOfSquaredDifferences =
+                    withVariance
+                    ? Reductions.sumOfSquaredDifferences(data,
+                                                         from,
+                                                         to,
+                                                         averageArithmetic,
+                                                         Summation.PAIRWISE)
+                    : 0;
+
+            return RunningStatistics.of(count,
+                                        averageArithmetic,
+                                        sumOfSquaredDifferences,
+                                        min,
+                                        max);
+        }
+    }
+
+    /**
+     * This class represents the accumulation of the moments of a range of
+     * an array.
+     */
+    private static final class MomentsTask extends RecursiveTask<Moments> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] data;
+        private final int from;
+        private final int to;
+
+        MomentsTask(final double[] data, final int from, final int to) {
+            this.data = data;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Moments compute() {
+            if (to - from <= LEAF_LENGTH) {
+                final Moments moments = new Moments();
+
+                moments.accept(data, from, to - from);
+
+                return moments;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final MomentsTask left = new MomentsTask(data, from, middle);
+            final MomentsTask right = new MomentsTask(data, middle, to);
+
+            right.fork();
+
+            final Moments result = left.compute();
+
+            return result.combine(right.join());
+        }
+    }
+
+    /**
+     * This class represents the accumulation of the co-moments of ranges of
+     * two arrays.
+     */
+    private static final class CoMomentsTask
+                                    extends RecursiveTask<CoMoments> {
+        private static final long serialVersionUID = 1L;
+
+        private final double[] x;
+        private final double[] y;
+        private final int from;
+        private final int to;
+
+        CoMomentsTask(final double[] x,
+                      final double[] y,
+                      final int from,
+                      final int to) {
+            this.x = x;
+            this.y = y;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected CoMoments compute() {
+            if (to - from <= LEAF_LENGTH) {
+                final CoMoments coMoments = new CoMoments();
+
+                coMoments.accept(x, y, from, to - from);
+
+                return coMoments;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final CoMomentsTask left = new CoMomentsTask(x, y, from, middle);
+            final CoMomentsTask right = new CoMomentsTask(x, y, middle, to);
+
+            right.fork();
+
+            final CoMoments result = left.compute();
+
+            return result.combine(right.join());
+        }
+    }
+
+    /**
+     * This class represents the grouping of a range of key and value
+     * columns.
+     */
+    private static final class GroupingTask
+                                    extends RecursiveTask<GroupTable> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] intKeys;
+        private final long[] longKeys;
+        private final double[] values;
+        private final int from;
+        private final int to;
+
+        GroupingTask(final int[] intKeys,
+                     final long[] longKeys,
+                     final double[] values,
+                     final int from,
+                     final int to) {
+            this.intKeys = intKeys;
+            this.longKeys = longKeys;
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected GroupTable compute() {
+            if (to - from <= LEAF_LENGTH) {
+                return GroupTable.aggregate(intKeys,
+                                            longKeys,
+                                            values,
+                                            from,
+                                            to,
+                                            new int[to - from]);
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            final GroupingTask left =
+                    new GroupingTask(intKeys, longKeys, values, from, middle);
+            final GroupingTask right =
+                    new GroupingTask(intKeys, longKeys, values, middle, to);
+
+            right.fork();
+
+            final GroupTable result = left.compute();
+
+            return result.merge(right.join());
+        }
+    }
+}
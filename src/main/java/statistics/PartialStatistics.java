@@ -0,0 +1,435 @@
+package statistics;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class represents a mergeable partial state of statistics of a part
+ * of the data, for example of the shard of a node: the moments and extremes
+ * of {@link RunningStatistics}, a {@link QuantileSketch} and optionally
+ * the exact {@link FrequencyTable}. Partial states of all the parts can be
+ * merged into the state of the whole data, so the values themselves never
+ * have to be shipped.
+ * <p>
+ * A partial state has a compact versioned byte form written and read with
+ * {@link ByteBuffer}s: a version byte, a flags byte and the byte forms of
+ * its parts one after another. A coordinator does not even need to restore
+ * the states it receives: {@link #mergeFrom(ByteBuffer)} merges a byte form
+ * straight into an accumulated state.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class PartialStatistics implements DoubleConsumer {
+    /**
+     * Version of the serialised form.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    /**
+     * Flag of the serialised form which tells that a frequency table
+     * follows the sketch.
+     */
+    private static final byte WITH_FREQUENCIES = 1;
+
+    private final RunningStatistics moments;
+    private final QuantileSketch sketch;
+    private final DoubleLongHashMap frequencies;
+
+    /**
+     * Constructor for an empty PartialStatistics class instance with
+     * a sketch of default accuracy and without frequencies.
+     */
+    public PartialStatistics() {
+        this(QuantileSketch.DEFAULT_K, false);
+    }
+
+    /**
+     * Constructor for an empty PartialStatistics class instance.
+     *
+     * @param k accuracy parameter of the sketch.
+     * @param withFrequencies true if the exact number of occurrences of
+     *                        every distinct value is needed.
+     * @throws IllegalArgumentException if k is less than
+     *                                  {@link QuantileSketch#MINIMUM_K} or
+     *                                  greater than
+     *                                  {@link QuantileSketch#MAXIMUM_K}.
+     */
+    public PartialStatistics(final int k, final boolean withFrequencies) {
+        this(new RunningStatistics(),
+             new QuantileSketch(k),
+             withFrequencies ? new DoubleLongHashMap(16) : null);
+    }
+
+    /**
+     * Constructor for PartialStatistics class instance.
+     */
+    private PartialStatistics(final RunningStatistics moments,
+                              final QuantileSketch sketch,
+                              final DoubleLongHashMap frequencies) {
+        this.moments = moments;
+        this.sketch = sketch;
+        this.frequencies = frequencies;
+    }
+
+    /**
+     * This method creates a partial state of the values of a given array
+     * with a sketch of default accuracy.
+     *
+     * @param data array with values.
+     * @param withFrequencies true if the exact number of occurrences of
+     *                        every distinct value is needed.
+     * @return new partial state.
+     * @throws NullPointerException if given array is null.
+     */
+    public static PartialStatistics of(final double[] data,
+                                       final boolean withFrequencies) {
+        final PartialStatistics statistics =
+                new PartialStatistics(QuantileSketch.DEFAULT_K,
+                                      withFrequencies);
+
+        statistics.accept(data);
+
+        return statistics;
+    }
+
+    /**
+     * This method adds a value.
+     *
+     * @param value value to add.
+     */
+    @Override
+    public void accept(final double value) {
+        moments.accept(value);
+        sketch.accept(value);
+
+        if (frequencies != null) {
+            frequencies.add(value, 1);
+        }
+    }
+
+    /**
+     * This method adds all values of a given array.
+     *
+     * @param data array with values to add.
+     * @throws NullPointerException if given array is null.
+     */
+    public void accept(final double[] data) {
+        moments.accept(data);
+        sketch.accept(data);
+
+        if (frequencies != null) {
+            for (final double value: data) {
+                frequencies.add(value, 1);
+            }
+        }
+    }
+
+    /**
+     * This method adds values summarised by another partial state to this
+     * one. The other state is left untouched.
+     *
+     * @param other partial state to merge.
+     * @return this partial state.
+     * @throws NullPointerException if other state is null.
+     * @throws IllegalArgumentException if sketches have different k or
+     *                                  only one of the states has
+     *                                  frequencies.
+     */
+    public PartialStatistics merge(final PartialStatistics other) {
+        checkIfMergeable(other.sketch.k(), other.frequencies != null);
+
+        moments.combine(other.moments);
+        sketch.merge(other.sketch);
+
+        if (frequencies != null) {
+            final DoubleLongHashMap otherFrequencies = other.frequencies;
+
+            for (int index = 0; index < otherFrequencies.size(); ++index) {
+                frequencies.add(otherFrequencies.keyAt(index),
+                                otherFrequencies.countAt(index));
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * This method reads a partial state written by
+     * {@link #writeTo(ByteBuffer)} from a buffer starting at its position,
+     * which is advanced, and merges it into this one. All the parts are
+     * read and checked before anything is merged, so nothing is merged if
+     * the bytes are not a partial state or can not be merged.
+     *
+     * @param buffer buffer to read from.
+     * @return this partial state.
+     * @throws IllegalArgumentException if the bytes are not a partial state,
+     *                                  sketches have different k or only
+     *                                  one of the states has frequencies.
+     */
+    public PartialStatistics mergeFrom(final ByteBuffer buffer) {
+        final boolean withFrequencies = readHeader(buffer);
+        final RunningStatistics otherMoments =
+                RunningStatistics.readFrom(buffer);
+        final QuantileSketch otherSketch = QuantileSketch.readFrom(buffer);
+        final FrequencyTable otherFrequencies =
+                withFrequencies ? FrequencyTable.readFrom(buffer) : null;
+
+        checkIfPartsAgree(otherMoments, otherSketch, otherFrequencies);
+        checkIfMergeable(otherSketch.k(), withFrequencies);
+
+        moments.combine(otherMoments);
+        sketch.merge(otherSketch);
+
+        if (frequencies != null) {
+            for (int index = 0; index < otherFrequencies.size(); ++index) {
+                frequencies.add(otherFrequencies.value(index),
+                                otherFrequencies.count(index));
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * @return number of added values.
+     */
+    public long count() {
+        return moments.count();
+    }
+
+    /**
+     * @return true if the exact number of occurrences of every distinct
+     *         value is known.
+     */
+    public boolean hasFrequencies() {
+        return frequencies != null;
+    }
+
+    /**
+     * @return a copy of the moments and extremes of the added values.
+     */
+    public RunningStatistics runningStatistics() {
+        return new RunningStatistics().combine(moments);
+    }
+
+    /**
+     * @return a copy of the quantile sketch of the added values.
+     */
+    public QuantileSketch quantileSketch() {
+        return QuantileSketch.fromBytes(sketch.toBytes());
+    }
+
+    /**
+     * @return distinct values of the added values and the number of times
+     *         each of them appears.
+     * @throws IllegalStateException if frequencies are not known.
+     */
+    public FrequencyTable frequencyTable() {
+        if (frequencies == null) {
+            throw new IllegalStateException("Frequencies were not " +
+                                            "requested.");
+        }
+
+        return frequencies.toFrequencyTable(moments.count());
+    }
+
+    /**
+     * This method returns a summary of the added values. Quartiles are
+     * approximate quantiles of the sketch, not medians of halves, and
+     * modes are known only if frequencies are.
+     *
+     * @return summary of the added values.
+     * @throws NotEnoughDataException if less than two values were added.
+     */
+    public Summary summary() throws NotEnoughDataException {
+        final Summary summary = moments.summary();
+        final double firstQuartile = sketch.firstQuartile();
+        final double median = sketch.median();
+        final double thirdQuartile = sketch.thirdQuartile();
+
+        if (frequencies == null) {
+            return summary.withQuartiles(firstQuartile,
+                                         median,
+                                         thirdQuartile);
+        }
+
+        final FrequencyTable table = frequencyTable();
+
+        return new Summary(summary.count(),
+                           summary.min(),
+                           summary.max(),
+                           summary.averageArithmetic(),
+                           summary.variance(),
+                           table.modes(),
+                           (int) Math.min(Integer.MAX_VALUE,
+                                          table.modeQuantity()),
+                           firstQuartile,
+                           median,
+                           thirdQuartile);
+    }
+
+    /**
+     * @return number of bytes {@link #writeTo(ByteBuffer)} writes.
+     */
+    public int serializedSize() {
+        final int frequenciesSize =
+                frequencies == null
+                ? 0
+                : FrequencyTable.serializedSize(frequencies.size());
+
+        return 2
+               + moments.serializedSize()
+               + sketch.serializedSize()
+               + frequenciesSize;
+    }
+
+    /**
+     * This method serialises the partial state into a compact byte form.
+     *
+     * @return bytes which {@link #fromBytes(byte[])} accepts.
+     */
+    public byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+
+        writeTo(buffer);
+
+        return buffer.array();
+    }
+
+    /**
+     * This method writes the partial state into a buffer starting at its
+     * position, which is advanced.
+     *
+     * @param buffer buffer to write to.
+     * @throws java.nio.BufferOverflowException if there is not enough space.
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        buffer.put(SERIAL_VERSION)
+              .put(frequencies == null ? 0 : WITH_FREQUENCIES);
+
+        moments.writeTo(buffer);
+        sketch.writeTo(buffer);
+
+        if (frequencies != null) {
+            frequencyTable().writeTo(buffer);
+        }
+    }
+
+    /**
+     * This method restores a partial state from its compact byte form.
+     *
+     * @param bytes bytes returned by {@link #toBytes()}.
+     * @return restored partial state.
+     * @throws IllegalArgumentException if the bytes are not a partial state.
+     */
+    public static PartialStatistics fromBytes(final byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * This method reads a partial state written by
+     * {@link #writeTo(ByteBuffer)} from a buffer starting at its position,
+     * which is advanced.
+     *
+     * @param buffer buffer to read from.
+     * @return restored partial state.
+     * @throws IllegalArgumentException if the bytes are not a partial state.
+     */
+    public static PartialStatistics readFrom(final ByteBuffer buffer) {
+        final boolean withFrequencies = readHeader(buffer);
+        final RunningStatistics moments = RunningStatistics.readFrom(buffer);
+        final QuantileSketch sketch = QuantileSketch.readFrom(buffer);
+
+        final FrequencyTable table =
+                withFrequencies ? FrequencyTable.readFrom(buffer) : null;
+
+        checkIfPartsAgree(moments, sketch, table);
+
+        DoubleLongHashMap frequencies = null;
+
+        if (withFrequencies) {
+            frequencies = new DoubleLongHashMap(table.size());
+
+            for (int index = 0; index < table.size(); ++index) {
+                frequencies.add(table.value(index), table.count(index));
+            }
+        }
+
+        return new PartialStatistics(moments, sketch, frequencies);
+    }
+
+    /**
+     * This method reads the version and the flags of a serialised form.
+     *
+     * @return true if a frequency table follows the sketch.
+     * @throws IllegalArgumentException if the bytes are not a partial state.
+     */
+    private static boolean readHeader(final ByteBuffer buffer) {
+        try {
+            final byte version = buffer.get();
+
+            if (version != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unknown version of " +
+                                                   "partial statistics: " +
+                                                   version + ".");
+            }
+
+            final byte flags = buffer.get();
+
+            if ((flags & ~WITH_FREQUENCIES) != 0) {
+                throw new IllegalArgumentException("Corrupted partial " +
+                                                   "statistics!");
+            }
+
+            return flags == WITH_FREQUENCIES;
+        } catch (final BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Truncated partial " +
+                                               "statistics!",
+                                               exception);
+        }
+    }
+
+    /**
+     * This method checks if the parts of a serialised form count the same
+     * values: the sketch ignores NaN, so it may count fewer of them.
+     *
+     * @throws IllegalArgumentException if they do not.
+     */
+    private static void checkIfPartsAgree(final RunningStatistics moments,
+                                          final QuantileSketch sketch,
+                                          final FrequencyTable table) {
+        if (sketch.count() > moments.count()
+                || (table != null && table.total() != moments.count())) {
+            throw new IllegalArgumentException("Corrupted partial " +
+                                               "statistics!");
+        }
+    }
+
+    /**
+     * This method checks if a state with a given sketch parameter and
+     * with or without frequencies can be merged into this one.
+     *
+     * @throws IllegalArgumentException if it can not.
+     */
+    private void checkIfMergeable(final int otherK,
+                                  final boolean otherWithFrequencies) {
+        if (otherK != sketch.k()) {
+            throw new IllegalArgumentException("Sketches have different k: " +
+                                               sketch.k() + " and " +
+                                               otherK + ".");
+        } else if (otherWithFrequencies != (frequencies != null)) {
+            throw new IllegalArgumentException("Partial statistics with " +
+                                               "and without frequencies " +
+                                               "can not be merged.");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PartialStatistics{count=" + moments.count() +
+               ", k=" + sketch.k() +
+               ", withFrequencies=" + (frequencies != null) + "}";
+    }
+}
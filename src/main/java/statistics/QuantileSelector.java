@@ -0,0 +1,313 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class finds quantiles, median and quartiles of arrays by selection
+ * (see {@link Selection}) in expected linear time. The values are copied
+ * into a scratch buffer owned by the selector, so the arrays passed to it
+ * are never reordered. The buffer is reused between calls and grows only
+ * when a longer array comes, so a selector used in a loop allocates nothing.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class QuantileSelector {
+    private double[] scratch;
+    private int[] ranks;
+
+    /**
+     * Constructor for QuantileSelector class instance.
+     */
+    public QuantileSelector() {
+        this(0);
+    }
+
+    /**
+     * Constructor for QuantileSelector class instance.
+     *
+     * @param initialCapacity length of arrays the scratch buffer
+     *                        is initially sized for.
+     * @throws IllegalArgumentException if initial capacity is negative.
+     */
+    public QuantileSelector(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity is negative!");
+        }
+
+        scratch = new double[initialCapacity];
+        ranks = new int[8];
+    }
+
+    /**
+     * This method finds a quantile of a given array. The quantile is
+     * interpolated linearly between the two closest ranks, so quantile
+     * 0 is the minimum, 1 is the maximum and 0.5 is the median.
+     *
+     * @param data array to find a quantile of.
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    public double quantile(final double[] data, final double probability)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 1);
+
+        checkIfProbabilityIsValid(probability);
+
+        final int numberOfValues = load(data);
+        final double position = (data.length - 1) * probability;
+        final int lowerRank = (int) position;
+
+        ranks[0] = lowerRank;
+        ranks[1] = lowerRank + 1;
+
+        Selection.selectAll(scratch,
+                            numberOfValues,
+                            ranks,
+                            lowerRank + 1 < data.length ? 2 : 1);
+
+        return interpolate(lowerRank, position - lowerRank);
+    }
+
+    /**
+     * This method finds several quantiles of a given array with a single
+     * copy of it. See {@link #quantile(double[], double)}.
+     *
+     * @param data array to find quantiles of.
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @return the quantiles in the order of the probabilities.
+     * @throws NullPointerException if given array or probabilities are null.
+     * @throws NotEnoughDataException if given array is empty.
+     * @throws IllegalArgumentException if a probability is not in [0, 1].
+     */
+    public double[] quantiles(final double[] data,
+                              final double... probabilities)
+                                            throws NotEnoughDataException {
+        final double[] quantiles = new double[probabilities.length];
+
+        quantiles(data, probabilities, quantiles);
+
+        return quantiles;
+    }
+
+    /**
+     * This method finds several quantiles of a given array and writes them
+     * into a given array, so that nothing is allocated.
+     * See {@link #quantile(double[], double)}.
+     *
+     * @param data array to find quantiles of.
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @param quantiles array to write the quantiles to in the order of
+     *                  the probabilities.
+     * @throws NullPointerException if any of the arrays is null.
+     * @throws NotEnoughDataException if given array is empty.
+     * @throws IllegalArgumentException if a probability is not in [0, 1]
+     *                                  or the quantiles array is shorter
+     *                                  than the probabilities.
+     */
+    public void quantiles(final double[] data,
+                          final double[] probabilities,
+                          final double[] quantiles)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 1);
+
+        if (quantiles.length < probabilities.length) {
+            throw new IllegalArgumentException("Quantiles array is too short!");
+        }
+
+        for (final double probability: probabilities) {
+            checkIfProbabilityIsValid(probability);
+        }
+
+        final int numberOfValues = load(data);
+        final int lastRank = data.length - 1;
+
+        if (ranks.length < 2 * probabilities.length) {
+            ranks = new int[2 * probabilities.length];
+        }
+
+        int numberOfRanks = 0;
+
+        for (final double probability: probabilities) {
+            final int lowerRank = (int) (lastRank * probability);
+
+            ranks[numberOfRanks++] = lowerRank;
+
+            if (lowerRank < lastRank) {
+                ranks[numberOfRanks++] = lowerRank + 1;
+            }
+        }
+
+        Arrays.sort(ranks, 0, numberOfRanks);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        for (int index = 0; index < probabilities.length; ++index) {
+            final double position = lastRank * probabilities[index];
+            final int lowerRank = (int) position;
+
+            quantiles[index] = interpolate(lowerRank, position - lowerRank);
+        }
+    }
+
+    /**
+     * This method calculates median of a given array.
+     *
+     * @param data array to find median of.
+     * @return median of a given array.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public double median(final double[] data) throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 1);
+
+        final int numberOfValues = load(data);
+        final int numberOfRanks = addMedianRanks(0, data.length, 0);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        return medianOfSelected(0, data.length);
+    }
+
+    /**
+     * This method returns the median of the first half of a given array,
+     * see {@link Statistics#firstQuartile(double[])}.
+     *
+     * @param data array to find the first quartile of.
+     * @return the first quartile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public double firstQuartile(final double[] data)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 2);
+
+        final int numberOfValues = load(data);
+        final int numberOfRanks = addMedianRanks(0, data.length / 2, 0);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        return medianOfSelected(0, data.length / 2);
+    }
+
+    /**
+     * This method returns the median of the second half of a given array,
+     * see {@link Statistics#thirdQuartile(double[])}.
+     *
+     * @param data array to find the third quartile of.
+     * @return the third quartile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public double thirdQuartile(final double[] data)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 2);
+
+        final int dataLength = data.length;
+        final int numberOfValues = load(data);
+        final int numberOfRanks = addMedianRanks(dataLength - dataLength / 2,
+                                                 dataLength,
+                                                 0);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        return medianOfSelected(dataLength - dataLength / 2, dataLength);
+    }
+
+    /**
+     * This method calculates an interquartile range (IQR) of a given array,
+     * both quartiles are selected from a single copy of it.
+     *
+     * @param data array to find IQR of.
+     * @return interquartile range.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public double iqr(final double[] data) throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 2);
+
+        final int dataLength = data.length;
+        final int halfLength = dataLength / 2;
+        final int numberOfValues = load(data);
+
+        int numberOfRanks = addMedianRanks(0, halfLength, 0);
+
+        numberOfRanks = addMedianRanks(dataLength - halfLength,
+                                       dataLength,
+                                       numberOfRanks);
+
+        Selection.selectAll(scratch, numberOfValues, ranks, numberOfRanks);
+
+        return medianOfSelected(dataLength - halfLength, dataLength)
+               - medianOfSelected(0, halfLength);
+    }
+
+    /**
+     * This method copies a given array into the scratch buffer.
+     *
+     * @return number of values which are not NaN.
+     */
+    private int load(final double[] data) {
+        if (scratch.length < data.length) {
+            scratch = new double[data.length];
+        }
+
+        return Selection.copyMovingNaNToTheEnd(data, scratch);
+    }
+
+    /**
+     * This method appends ranks which are needed to find the median of
+     * the values which would be in a given range if they were sorted.
+     *
+     * @return new number of ranks.
+     */
+    private int addMedianRanks(final int from,
+                               final int to,
+                               int numberOfRanks) {
+        final int middle = from + (to - from) / 2;
+
+        if (((to - from) & 1) == 0) {
+            ranks[numberOfRanks++] = middle - 1;
+        }
+
+        ranks[numberOfRanks++] = middle;
+
+        return numberOfRanks;
+    }
+
+    /**
+     * This method returns the median of a range of the scratch buffer whose
+     * ranks were selected.
+     */
+    private double medianOfSelected(final int from, final int to) {
+        return SummaryCalculator.medianOfSorted(scratch, from, to);
+    }
+
+    /**
+     * This method interpolates between a selected rank and the next one.
+     */
+    private double interpolate(final int lowerRank, final double fraction) {
+        final double lower = scratch[lowerRank];
+
+        if (fraction == 0) {
+            return lower;
+        }
+
+        return lower + fraction * (scratch[lowerRank + 1] - lower);
+    }
+
+    /**
+     * This method checks if a given probability is in [0, 1].
+     *
+     * @throws IllegalArgumentException if it is not.
+     */
+    static void checkIfProbabilityIsValid(final double probability) {
+        if (!(probability >= 0 && probability <= 1)) {
+            throw new IllegalArgumentException("Probability must be in " +
+                                               "[0, 1]: " + probability + ".");
+        }
+    }
+}
@@ -0,0 +1,691 @@
+package statistics;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class represents a KLL sketch (Karnin, Lang, Liberty) which answers
+ * approximate quantile and rank queries over any number of values in bounded
+ * memory. Values are kept in levels of compactors: a value in level h stands
+ * for 2^h original values. When the sketch is full, a level is sorted and
+ * every other value of it, starting from a random one, is promoted to
+ * the next level. Larger parameter k means better accuracy: the rank error
+ * is about 1.7 / k and the sketch keeps at most about 3k values.
+ * Sketches with the same k can be merged, so each thread or node can
+ * summarise its own part of the data. NaN values are ignored.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class QuantileSketch implements DoubleConsumer {
+    /**
+     * Default accuracy parameter which gives about 1% rank error.
+     */
+    public static final int DEFAULT_K = 200;
+
+    /**
+     * Minimum accuracy parameter.
+     */
+    public static final int MINIMUM_K = 8;
+
+    /**
+     * Maximum accuracy parameter, which gives about 0.003% rank error.
+     */
+    public static final int MAXIMUM_K = 1 << 16;
+
+    /**
+     * Version of the serialised form.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    /**
+     * Minimum capacity of a level.
+     */
+    private static final int MINIMUM_LEVEL_CAPACITY = 8;
+
+    /**
+     * Ratio of capacities of two adjacent levels.
+     */
+    private static final double CAPACITY_RATIO = 2.0 / 3;
+
+    private final int k;
+    private double[][] levels;
+    private int[] levelSizes;
+    private int numberOfLevels;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long randomState = 0x5DEECE66DL;
+
+    private double[] sortedValues;
+    private long[] cumulativeWeights;
+
+    /**
+     * Constructor for QuantileSketch class instance with default accuracy.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * Constructor for QuantileSketch class instance.
+     *
+     * @param k accuracy parameter.
+     * @throws IllegalArgumentException if k is less than {@link #MINIMUM_K}
+     *                                  or greater than {@link #MAXIMUM_K}.
+     */
+    public QuantileSketch(final int k) {
+        if (k < MINIMUM_K || k > MAXIMUM_K) {
+            throw new IllegalArgumentException("k must be from " +
+                                               MINIMUM_K + " to " +
+                                               MAXIMUM_K + ": " + k + ".");
+        }
+
+        this.k = k;
+
+        levels = new double[4][];
+        levelSizes = new int[4];
+        levels[0] = new double[k];
+        numberOfLevels = 1;
+    }
+
+    /**
+     * This method adds a value to the sketch.
+     *
+     * @param value value to add, NaN is ignored.
+     */
+    @Override
+    public void accept(final double value) {
+        if (value != value) {
+            return;
+        }
+
+        if (value < min) {
+            min = value;
+        }
+
+        if (value > max) {
+            max = value;
+        }
+
+        ++count;
+
+        append(0, value);
+
+        sortedValues = null;
+
+        if (levelSizes[0] >= capacity(0)) {
+            compress();
+        }
+    }
+
+    /**
+     * This method adds all values of a given array to the sketch.
+     *
+     * @param data array with values to add.
+     * @throws NullPointerException if given array is null.
+     */
+    public void accept(final double[] data) {
+        for (final double value: data) {
+            accept(value);
+        }
+    }
+
+    /**
+     * This method adds values summarised by another sketch to this one.
+     * The other sketch is left untouched, it may be this one.
+     *
+     * @param other sketch to merge.
+     * @return this sketch.
+     * @throws NullPointerException if other sketch is null.
+     * @throws IllegalArgumentException if sketches have different k.
+     */
+    public QuantileSketch merge(final QuantileSketch other) {
+        if (other.k != k) {
+            throw new IllegalArgumentException("Sketches have different k: " +
+                                               k + " and " + other.k + ".");
+        } else if (other.count == 0) {
+            return this;
+        }
+
+        /*
+         * Sizes are read before appending, since the other sketch may be
+         * this one and grow while it is read.
+         */
+        final int otherNumberOfLevels = other.numberOfLevels;
+
+        for (int level = 0; level < otherNumberOfLevels; ++level) {
+            final int otherLevelSize = other.levelSizes[level];
+
+            ensureLevel(level);
+
+            for (int index = 0; index < otherLevelSize; ++index) {
+                append(level, other.levels[level][index]);
+            }
+        }
+
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        sortedValues = null;
+
+        compress();
+
+        return this;
+    }
+
+    /**
+     * @return accuracy parameter of this sketch.
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * @return number of values added to the sketch.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return true if no values were added to the sketch.
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return number of values retained by the sketch.
+     */
+    public int retained() {
+        int retained = 0;
+
+        for (int level = 0; level < numberOfLevels; ++level) {
+            retained += levelSizes[level];
+        }
+
+        return retained;
+    }
+
+    /**
+     * This method returns the exact minimum of the added values.
+     *
+     * @return minimum value.
+     * @throws NotEnoughDataException if the sketch is empty.
+     */
+    public double min() throws NotEnoughDataException {
+        checkIfThereIsEnoughData();
+
+        return min;
+    }
+
+    /**
+     * This method returns the exact maximum of the added values.
+     *
+     * @return maximum value.
+     * @throws NotEnoughDataException if the sketch is empty.
+     */
+    public double max() throws NotEnoughDataException {
+        checkIfThereIsEnoughData();
+
+        return max;
+    }
+
+    /**
+     * This method returns an approximate quantile: the smallest retained
+     * value such that the share of added values which are not greater than
+     * it is at least the given probability. Quantiles 0 and 1 are the exact
+     * minimum and maximum.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return approximate quantile.
+     * @throws NotEnoughDataException if the sketch is empty.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    public double quantile(final double probability)
+                                            throws NotEnoughDataException {
+        checkIfThereIsEnoughData();
+
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        if (probability == 0) {
+            return min;
+        } else if (probability == 1) {
+            return max;
+        }
+
+        prepareForQueries();
+
+        final double rank = probability * count;
+
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (cumulativeWeights[middle] < rank) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return sortedValues[low];
+    }
+
+    /**
+     * This method returns several approximate quantiles,
+     * see {@link #quantile(double)}.
+     *
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @return approximate quantiles in the order of the probabilities.
+     * @throws NotEnoughDataException if the sketch is empty.
+     * @throws IllegalArgumentException if a probability is not in [0, 1].
+     */
+    public double[] quantiles(final double... probabilities)
+                                            throws NotEnoughDataException {
+        final double[] quantiles = new double[probabilities.length];
+
+        for (int index = 0; index < probabilities.length; ++index) {
+            quantiles[index] = quantile(probabilities[index]);
+        }
+
+        return quantiles;
+    }
+
+    /**
+     * This method returns an approximate share of the added values which
+     * are not greater than a given value.
+     *
+     * @param value value to find the rank of.
+     * @return approximate cumulative distribution function at the value,
+     *         from 0 to 1.
+     * @throws NotEnoughDataException if the sketch is empty.
+     */
+    public double cdf(final double value) throws NotEnoughDataException {
+        checkIfThereIsEnoughData();
+
+        if (value < min) {
+            return 0;
+        } else if (value >= max) {
+            return 1;
+        }
+
+        prepareForQueries();
+
+        int low = 0;
+        int high = sortedValues.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (sortedValues[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low == 0 ? 0 : (double) cumulativeWeights[low - 1] / count;
+    }
+
+    /**
+     * This method returns an approximate median of the added values.
+     *
+     * @return approximate median.
+     * @throws NotEnoughDataException if the sketch is empty.
+     */
+    public double median() throws NotEnoughDataException {
+        return quantile(0.5);
+    }
+
+    /**
+     * This method returns an approximate first quartile of the added values.
+     *
+     * @return approximate 0.25 quantile.
+     * @throws NotEnoughDataException if the sketch is empty.
+     */
+    public double firstQuartile() throws NotEnoughDataException {
+        return quantile(0.25);
+    }
+
+    /**
+     * This method returns an approximate third quartile of the added values.
+     *
+     * @return approximate 0.75 quantile.
+     * @throws NotEnoughDataException if the sketch is empty.
+     */
+    public double thirdQuartile() throws NotEnoughDataException {
+        return quantile(0.75);
+    }
+
+    /**
+     * @return number of bytes {@link #writeTo(ByteBuffer)} writes.
+     */
+    public int serializedSize() {
+        return 1 + 4 + 8 + 8 + 8 + 8 + 4 + 4 * numberOfLevels + 8 * retained();
+    }
+
+    /**
+     * This method serialises the sketch into a compact byte form.
+     *
+     * @return bytes which {@link #fromBytes(byte[])} accepts.
+     */
+    public byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(serializedSize());
+
+        writeTo(buffer);
+
+        return buffer.array();
+    }
+
+    /**
+     * This method writes the sketch into a buffer in little-endian order
+     * starting at its position, which is advanced.
+     *
+     * @param buffer buffer to write to.
+     * @throws java.nio.BufferOverflowException if there is not enough space.
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        final ByteOrder order = buffer.order();
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(SERIAL_VERSION)
+              .putInt(k)
+              .putLong(count)
+              .putDouble(min)
+              .putDouble(max)
+              .putLong(randomState)
+              .putInt(numberOfLevels);
+
+        for (int level = 0; level < numberOfLevels; ++level) {
+            buffer.putInt(levelSizes[level]);
+
+            for (int index = 0; index < levelSizes[level]; ++index) {
+                buffer.putDouble(levels[level][index]);
+            }
+        }
+
+        buffer.order(order);
+    }
+
+    /**
+     * This method restores a sketch from its compact byte form.
+     *
+     * @param bytes bytes returned by {@link #toBytes()}.
+     * @return restored sketch.
+     * @throws IllegalArgumentException if the bytes are not a sketch.
+     */
+    public static QuantileSketch fromBytes(final byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * This method reads a sketch written by {@link #writeTo(ByteBuffer)}
+     * from a buffer starting at its position, which is advanced.
+     * The parameter k is checked before anything is allocated for it and
+     * the count is checked against the weights of the retained values, in
+     * which a value of level h stands for 2^h added values.
+     *
+     * @param buffer buffer to read from.
+     * @return restored sketch.
+     * @throws IllegalArgumentException if the bytes are not a sketch.
+     */
+    public static QuantileSketch readFrom(final ByteBuffer buffer) {
+        final ByteOrder order = buffer.order();
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            final byte version = buffer.get();
+
+            if (version != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unknown sketch version: " +
+                                                   version + ".");
+            }
+
+            final int k = buffer.getInt();
+
+            if (k < MINIMUM_K || k > MAXIMUM_K) {
+                throw new IllegalArgumentException("Corrupted sketch!");
+            }
+
+            final QuantileSketch sketch = new QuantileSketch(k);
+
+            sketch.count = buffer.getLong();
+            sketch.min = buffer.getDouble();
+            sketch.max = buffer.getDouble();
+            sketch.randomState = buffer.getLong();
+
+            final int numberOfLevels = buffer.getInt();
+
+            if (numberOfLevels < 1 || numberOfLevels > 64) {
+                throw new IllegalArgumentException("Corrupted sketch!");
+            }
+
+            long weight = 0;
+
+            for (int level = 0; level < numberOfLevels; ++level) {
+                final int levelSize = buffer.getInt();
+
+                if (levelSize < 0 || levelSize > buffer.remaining() / 8) {
+                    throw new IllegalArgumentException("Corrupted sketch!");
+                }
+
+                sketch.ensureLevel(level);
+
+                for (int index = 0; index < levelSize; ++index) {
+                    sketch.append(level, buffer.getDouble());
+                }
+
+                if (levelSize > 0) {
+                    if (level == Long.SIZE - 1) {
+                        throw new IllegalArgumentException("Corrupted " +
+                                                           "sketch!");
+                    }
+
+                    weight = Math.addExact(weight,
+                                           Math.multiplyExact(
+                                                   (long) levelSize,
+                                                   1L << level));
+                }
+            }
+
+            if (weight != sketch.count) {
+                throw new IllegalArgumentException("Corrupted sketch!");
+            }
+
+            return sketch;
+        } catch (final ArithmeticException exception) {
+            throw new IllegalArgumentException("Corrupted sketch!", exception);
+        } catch (final BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Truncated sketch!", exception);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * This method returns the capacity of a given level.
+     */
+    private int capacity(final int level) {
+        final double depth = numberOfLevels - 1 - level;
+
+        return Math.max(MINIMUM_LEVEL_CAPACITY,
+                        (int) Math.ceil(k * Math.pow(CAPACITY_RATIO, depth)));
+    }
+
+    /**
+     * This method compacts levels until the sketch fits in its capacity.
+     */
+    private void compress() {
+        int level = 0;
+
+        while (level < numberOfLevels) {
+            if (levelSizes[level] >= capacity(level)) {
+                compact(level);
+
+                level = 0;
+            } else {
+                ++level;
+            }
+        }
+    }
+
+    /**
+     * This method sorts a level and promotes every other value of it to
+     * the next level. If the level has an odd number of values, one of its
+     * extreme values stays in it.
+     */
+    private void compact(final int level) {
+        ensureLevel(level + 1);
+
+        final double[] values = levels[level];
+        final int size = levelSizes[level];
+
+        Arrays.sort(values, 0, size);
+
+        int from = 0;
+        int to = size;
+
+        if ((size & 1) == 1) {
+            if (nextRandomBit()) {
+                --to;
+            } else {
+                ++from;
+            }
+        }
+
+        final int offset = nextRandomBit() ? 1 : 0;
+
+        for (int index = from + offset; index < to; index += 2) {
+            append(level + 1, values[index]);
+        }
+
+        if (to < size) {
+            values[0] = values[size - 1];
+        }
+
+        levelSizes[level] = size - (to - from);
+    }
+
+    /**
+     * This method appends a value to a level growing it if needed.
+     */
+    private void append(final int level, final double value) {
+        double[] values = levels[level];
+
+        if (levelSizes[level] == values.length) {
+            values = Arrays.copyOf(values, Math.max(8, values.length * 2));
+            levels[level] = values;
+        }
+
+        values[levelSizes[level]++] = value;
+    }
+
+    /**
+     * This method makes sure that a given level exists.
+     */
+    private void ensureLevel(final int level) {
+        if (level < numberOfLevels) {
+            return;
+        }
+
+        if (level >= levels.length) {
+            levels = Arrays.copyOf(levels, levels.length * 2);
+            levelSizes = Arrays.copyOf(levelSizes, levelSizes.length * 2);
+        }
+
+        for (int newLevel = numberOfLevels; newLevel <= level; ++newLevel) {
+            levels[newLevel] = new double[MINIMUM_LEVEL_CAPACITY];
+            levelSizes[newLevel] = 0;
+        }
+
+        numberOfLevels = level + 1;
+    }
+
+    /**
+     * This method returns the next bit of a xorshift generator, so that
+     * sketches fed with the same values in the same order are identical.
+     */
+    private boolean nextRandomBit() {
+        long state = randomState;
+
+        state ^= state << 13;
+        state ^= state >>> 7;
+        state ^= state << 17;
+
+        randomState = state;
+
+        return state < 0;
+    }
+
+    /**
+     * This method merges the sorted levels into a single sorted array of
+     * retained values with their cumulative weights.
+     */
+    private void prepareForQueries() {
+        if (sortedValues != null) {
+            return;
+        }
+
+        double[] values = new double[0];
+        long[] weights = new long[0];
+
+        for (int level = 0; level < numberOfLevels; ++level) {
+            final int size = levelSizes[level];
+            final double[] levelValues = Arrays.copyOf(levels[level], size);
+            final long weight = 1L << level;
+
+            Arrays.sort(levelValues);
+
+            final double[] mergedValues = new double[values.length + size];
+            final long[] mergedWeights = new long[values.length + size];
+
+            int left = 0;
+            int right = 0;
+
+            for (int index = 0; index < mergedValues.length; ++index) {
+                if (right == size
+                        ||
+                        (left < values.length
+                         && values[left] <= levelValues[right])) {
+                    mergedValues[index] = values[left];
+                    mergedWeights[index] = weights[left++];
+                } else {
+                    mergedValues[index] = levelValues[right++];
+                    mergedWeights[index] = weight;
+                }
+            }
+
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+
+        for (int index = 1; index < weights.length; ++index) {
+            weights[index] += weights[index - 1];
+        }
+
+        sortedValues = values;
+        cumulativeWeights = weights;
+    }
+
+    /**
+     * This method checks if the sketch has values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private void checkIfThereIsEnoughData() throws NotEnoughDataException {
+        if (count == 0) {
+            throw new NotEnoughDataException("There is not enough data!" +
+                                             "Minimum quantity of values " +
+                                             "needed: 1.");
+        }
+    }
+}
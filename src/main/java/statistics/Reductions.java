@@ -0,0 +1,337 @@
+package statistics;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * This class contains the loops which reduce a range of an array to its
+ * minimum, maximum, sum and sum of squared differences. Buffers are reduced
+ * the same way through blocks copied to the heap. Pairwise sums keep
+ * four independent accumulators instead of one, so consecutive additions
+ * do not wait for each other and the processor can overlap them.
+ *
+ * @author svalyavakilia
+ */
+final class Reductions {
+    /**
+     * Maximum length of a range which pairwise summation adds directly.
+     */
+    private static final int BLOCK_LENGTH = 256;
+
+    /**
+     * Length of the heap blocks through which values of a buffer which is
+     * not backed by an accessible array are reduced.
+     */
+    private static final int BUFFER_BLOCK_LENGTH = 1 << 16;
+
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private Reductions() {}
+
+    /**
+     * This method finds the minimum value of a non-empty range of an array.
+     * Values which are NaN are skipped unless the first value is NaN.
+     * A single accumulator is enough here: the comparison is almost always
+     * false and well predicted, so iterations do not wait for each other.
+     *
+     * @param data array with values.
+     * @param from index of the first value, inclusive.
+     * @param to index of the last value, exclusive.
+     * @return minimum value.
+     */
+    static double min(final double[] data, final int from, final int to) {
+        double currentMinimum = data[from];
+
+        for (int index = from + 1; index < to; ++index) {
+            if (data[index] < currentMinimum) {
+                currentMinimum = data[index];
+            }
+        }
+
+        return currentMinimum;
+    }
+
+    /**
+     * This method finds the maximum value of a non-empty range of an array.
+     * Values which are NaN are skipped unless the first value is NaN.
+     *
+     * @param data array with values.
+     * @param from index of the first value, inclusive.
+     * @param to index of the last value, exclusive.
+     * @return maximum value.
+     */
+    static double max(final double[] data, final int from, final int to) {
+        double currentMax = data[from];
+
+        for (int index = from + 1; index < to; ++index) {
+            if (data[index] > currentMax) {
+                currentMax = data[index];
+            }
+        }
+
+        return currentMax;
+    }
+
+    /**
+     * This method adds up a range of an array.
+     *
+     * @param data array with values.
+     * @param from index of the first value, inclusive.
+     * @param to index of the last value, exclusive.
+     * @param summation the way to add the values.
+     * @return sum of the values.
+     */
+    static double sum(final double[] data,
+                      final int from,
+                      final int to,
+                      final Summation summation) {
+        return sumOfDifferences(data, from, to, 0, false, summation);
+    }
+
+    /**
+     * This method adds up squared differences between the values of a range
+     * of an array and a given average arithmetic.
+     *
+     * @param data array with values.
+     * @param from index of the first value, inclusive.
+     * @param to index of the last value, exclusive.
+     * @param averageArithmetic average arithmetic of the values.
+     * @param summation the way to add the squared differences.
+     * @return sum of the squared differences.
+     */
+    static double sumOfSquaredDifferences(final double[] data,
+                                          final int from,
+                                          final int to,
+                                          final double averageArithmetic,
+                                          final Summation summation) {
+        return sumOfDifferences(data,
+                                from,
+                                to,
+                                averageArithmetic,
+                                true,
+                                summation);
+    }
+
+    /**
+     * This method adds up the values remaining in a buffer. The position of
+     * the buffer is not changed.
+     *
+     * @param data buffer with values.
+     * @param summation the way to add the values.
+     * @return sum of the values.
+     */
+    static double sum(final DoubleBuffer data, final Summation summation) {
+        return sumOfDifferences(data, 0, false, summation);
+    }
+
+    /**
+     * This method adds up squared differences between the values remaining
+     * in a buffer and a given average arithmetic. The position of the buffer
+     * is not changed.
+     *
+     * @param data buffer with values.
+     * @param averageArithmetic average arithmetic of the values.
+     * @param summation the way to add the squared differences.
+     * @return sum of the squared differences.
+     */
+    static double sumOfSquaredDifferences(final DoubleBuffer data,
+                                          final double averageArithmetic,
+                                          final Summation summation) {
+        return sumOfDifferences(data, averageArithmetic, true, summation);
+    }
+
+    /**
+     * This method adds up the values remaining in a buffer or their squared
+     * differences from a given center. The backing array is reduced in place
+     * if it is accessible, otherwise the values are copied out block by
+     * block and the sums of the blocks are added with compensation, like
+     * {@link DoubleColumn} does.
+     */
+    private static double sumOfDifferences(final DoubleBuffer data,
+                                           final double center,
+                                           final boolean squared,
+                                           final Summation summation) {
+        final int position = data.position();
+        final int limit = data.limit();
+
+        if (data.hasArray()) {
+            final int offset = data.arrayOffset();
+
+            return sumOfDifferences(data.array(),
+                                    offset + position,
+                                    offset + limit,
+                                    center,
+                                    squared,
+                                    summation);
+        }
+
+        final double[] block =
+                new double[Math.min(BUFFER_BLOCK_LENGTH, limit - position)];
+
+        double sum = 0;
+        double compensation = 0;
+
+        for (int from = position; from < limit; from += block.length) {
+            final int length = Math.min(block.length, limit - from);
+
+            data.get(from, block, 0, length);
+
+            final double blockSum = sumOfDifferences(block,
+                                                     0,
+                                                     length,
+                                                     center,
+                                                     squared,
+                                                     summation);
+            final double newSum = sum + blockSum;
+
+            if (Math.abs(sum) >= Math.abs(blockSum)) {
+                compensation += (sum - newSum) + blockSum;
+            } else {
+                compensation += (blockSum - newSum) + sum;
+            }
+
+            sum = newSum;
+        }
+
+        return Double.isInfinite(sum) ? sum : sum + compensation;
+    }
+
+    private static double sumOfDifferences(final double[] data,
+                                           final int from,
+                                           final int to,
+                                           final double center,
+                                           final boolean squared,
+                                           final Summation summation) {
+        switch (summation) {
+            case NAIVE:
+                return naiveSum(data, from, to, center, squared);
+            case COMPENSATED:
+                return compensatedSum(data, from, to, center, squared);
+            default:
+                return pairwiseSum(data, from, to, center, squared);
+        }
+    }
+
+    private static double naiveSum(final double[] data,
+                                   final int from,
+                                   final int to,
+                                   final double center,
+                                   final boolean squared) {
+        double sum = 0;
+
+        for (int index = from; index < to; ++index) {
+            final double difference = data[index] - center;
+
+            sum += squared ? difference * difference : difference;
+        }
+
+        return sum;
+    }
+
+    private static double pairwiseSum(final double[] data,
+                                      final int from,
+                                      final int to,
+                                      final double center,
+                                      final boolean squared) {
+        if (to - from <= BLOCK_LENGTH) {
+            return squared ? blockSumOfSquares(data, from, to, center)
+                           : blockSum(data, from, to);
+        }
+
+        final int middle = from + (to - from) / 2;
+
+        return pairwiseSum(data, from, middle, center, squared)
+               + pairwiseSum(data, middle, to, center, squared);
+    }
+
+    private static double blockSum(final double[] data,
+                                   final int from,
+                                   final int to) {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+
+        int index = from;
+
+        for (; index + 3 < to; index += 4) {
+            sum0 += data[index];
+            sum1 += data[index + 1];
+            sum2 += data[index + 2];
+            sum3 += data[index + 3];
+        }
+
+        for (; index < to; ++index) {
+            sum0 += data[index];
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    private static double blockSumOfSquares(final double[] data,
+                                            final int from,
+                                            final int to,
+                                            final double center) {
+        double sum0 = 0;
+        double sum1 = 0;
+        double sum2 = 0;
+        double sum3 = 0;
+
+        int index = from;
+
+        for (; index + 3 < to; index += 4) {
+            final double difference0 = data[index] - center;
+            final double difference1 = data[index + 1] - center;
+            final double difference2 = data[index + 2] - center;
+            final double difference3 = data[index + 3] - center;
+
+            sum0 += difference0 * difference0;
+            sum1 += difference1 * difference1;
+            sum2 += difference2 * difference2;
+            sum3 += difference3 * difference3;
+        }
+
+        for (; index < to; ++index) {
+            final double difference = data[index] - center;
+
+            sum0 += difference * difference;
+        }
+
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * This method adds up values with Neumaier's variant of Kahan
+     * summation. The lost low-order bits of every addition are collected
+     * separately and added back at the end.
+     */
+    private static double compensatedSum(final double[] data,
+                                         final int from,
+                                         final int to,
+                                         final double center,
+                                         final boolean squared) {
+        double sum = 0;
+        double compensation = 0;
+
+        for (int index = from; index < to; ++index) {
+            final double difference = data[index] - center;
+            final double value = squared ? difference * difference
+                                         : difference;
+            final double total = sum + value;
+
+            if (Math.abs(sum) >= Math.abs(value)) {
+                compensation += (sum - total) + value;
+            } else {
+                compensation += (value - total) + sum;
+            }
+
+            sum = total;
+        }
+
+        /*
+         * Once the sum overflows or meets an infinity the compensation is
+         * NaN, while the sum itself is the right answer.
+         */
+        return Double.isInfinite(sum) ? sum : sum + compensation;
+    }
+}
@@ -0,0 +1,91 @@
+package statistics;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class runs the blocks of work of resampling engines in the common
+ * fork/join pool. The work is split into a number of blocks which does not
+ * depend on the parallelism and every block writes only its own results,
+ * so results do not depend on the scheduling of the blocks.
+ *
+ * @author svalyavakilia
+ */
+final class Resampling {
+    /**
+     * This interface represents a block of work.
+     */
+    @FunctionalInterface
+    interface Block {
+        /**
+         * This method does the work of a block.
+         *
+         * @param block index of the block.
+         * @throws NotEnoughDataException if a statistic throws it.
+         */
+        void compute(int block) throws NotEnoughDataException;
+    }
+
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private Resampling() {}
+
+    /**
+     * This method runs blocks of work in parallel and waits for them.
+     *
+     * @param numberOfBlocks number of blocks.
+     * @param block work of a block.
+     * @throws NotEnoughDataException if any block throws it.
+     */
+    static void forEachBlock(final int numberOfBlocks, final Block block)
+                                            throws NotEnoughDataException {
+        try {
+            new BlockTask(block, 0, numberOfBlocks).invoke();
+        } catch (final RuntimeException exception) {
+            for (Throwable cause = exception;
+                 cause != null;
+                 cause = cause.getCause()) {
+                if (cause instanceof NotEnoughDataException) {
+                    throw (NotEnoughDataException) cause;
+                }
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * This class splits a range of blocks in halves down to single blocks.
+     */
+    private static final class BlockTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Block block;
+        private final int from;
+        private final int to;
+
+        private BlockTask(final Block block, final int from, final int to) {
+            this.block = block;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                final int middle = (from + to) >>> 1;
+
+                invokeAll(new BlockTask(block, from, middle),
+                          new BlockTask(block, middle, to));
+
+                return;
+            }
+
+            try {
+                block.compute(from);
+            } catch (final NotEnoughDataException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package statistics;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class accumulates count, average arithmetic, variance, minimum and
+ * maximum of a stream of values in constant memory. Average arithmetic and
+ * the sum of squared differences from it are updated with Welford's
+ * algorithm, so the variance is computed in a single numerically stable
+ * pass. Two accumulators can be combined, for example after accumulating
+ * parts of the same data in parallel or on different nodes, and written to
+ * and read from a compact byte form.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class RunningStatistics implements DoubleConsumer {
+    /**
+     * Number of values of a buffer which are reduced at once.
+     */
+    private static final int CHUNK_LENGTH = 1 << 14;
+
+    /**
+     * Version of the serialised form.
+     */
+    private static final byte SERIAL_VERSION = 1;
+
+    /**
+     * Number of bytes of the serialised form.
+     */
+    private static final int SERIALIZED_SIZE = 1 + 8 + 4 * 8;
+
+    private long count;
+    private double averageArithmetic;
+    private double sumOfSquaredDifferences;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructor for an empty RunningStatistics class instance.
+     */
+    public RunningStatistics() {}
+
+    /**
+     * This method creates an accumulator from already computed values.
+     *
+     * @param count number of values.
+     * @param averageArithmetic average arithmetic of the values.
+     * @param sumOfSquaredDifferences sum of squared differences between
+     *                                the values and their average.
+     * @param min minimum value.
+     * @param max maximum value.
+     * @return new accumulator.
+     */
+    static RunningStatistics of(final long count,
+                                final double averageArithmetic,
+                                final double sumOfSquaredDifferences,
+                                final double min,
+                                final double max) {
+        final RunningStatistics statistics = new RunningStatistics();
+
+        if (count > 0) {
+            statistics.count = count;
+            statistics.averageArithmetic = averageArithmetic;
+            statistics.sumOfSquaredDifferences = sumOfSquaredDifferences;
+            statistics.min = min;
+            statistics.max = max;
+        }
+
+        return statistics;
+    }
+
+    /**
+     * This method adds a value to the accumulated ones.
+     *
+     * @param value value to add.
+     */
+    @Override
+    public void accept(final double value) {
+        final long newCount = ++count;
+        final double difference = value - averageArithmetic;
+
+        averageArithmetic += difference / newCount;
+        sumOfSquaredDifferences += difference * (value - averageArithmetic);
+
+        if (value < min) {
+            min = value;
+        }
+
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /**
+     * This method adds all values of a given array to the accumulated ones.
+     *
+     * @param data array with values to add.
+     * @throws NullPointerException if given array is null.
+     */
+    public void accept(final double[] data) {
+        accept(data, 0, data.length);
+    }
+
+    /**
+     * This method adds values of a range of a given array to
+     * the accumulated ones.
+     *
+     * @param data array with values to add.
+     * @param offset index of the first value to add.
+     * @param length number of values to add.
+     * @throws NullPointerException if given array is null.
+     * @throws IndexOutOfBoundsException if the range is out of the array.
+     */
+    public void accept(final double[] data,
+                       final int offset,
+                       final int length) {
+        Objects.checkFromIndexSize(offset, length, data.length);
+
+        long currentCount = count;
+        double currentAverage = averageArithmetic;
+        double currentSum = sumOfSquaredDifferences;
+        double currentMin = min;
+        double currentMax = max;
+
+        for (int index = offset; index < offset + length; ++index) {
+            final double value = data[index];
+            final double difference = value - currentAverage;
+
+            currentAverage += difference / ++currentCount;
+            currentSum += difference * (value - currentAverage);
+
+            if (value < currentMin) {
+                currentMin = value;
+            }
+
+            if (value > currentMax) {
+                currentMax = value;
+            }
+        }
+
+        count = currentCount;
+        averageArithmetic = currentAverage;
+        sumOfSquaredDifferences = currentSum;
+        min = currentMin;
+        max = currentMax;
+    }
+
+    /**
+     * This method adds the remaining values of a given buffer, from its
+     * position to its limit, to the accumulated ones. The position of
+     * the buffer is not changed. The buffer is processed in chunks which fit
+     * in the processor cache, every chunk is reduced in two passes and
+     * combined with the accumulated values.
+     *
+     * @param buffer buffer with values to add.
+     * @throws NullPointerException if given buffer is null.
+     */
+    public void accept(final DoubleBuffer buffer) {
+        final int limit = buffer.limit();
+
+        for (int from = buffer.position(); from < limit; from += CHUNK_LENGTH) {
+            final int to = Math.min(limit, from + CHUNK_LENGTH);
+
+            double chunkMin = Double.POSITIVE_INFINITY;
+            double chunkMax = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+
+            for (int index = from; index < to; ++index) {
+                final double value = buffer.get(index);
+
+                if (value < chunkMin) {
+                    chunkMin = value;
+                }
+
+                if (value > chunkMax) {
+                    chunkMax = value;
+                }
+
+                sum += value;
+            }
+
+            final double chunkAverage = sum / (to - from);
+
+            double chunkSum = 0;
+
+            for (int index = from; index < to; ++index) {
+                final double difference = buffer.get(index) - chunkAverage;
+
+                chunkSum += difference * difference;
+            }
+
+            combine(of(to - from, chunkAverage, chunkSum, chunkMin, chunkMax));
+        }
+    }
+
+    /**
+     * This method adds values accumulated by another instance to the values
+     * accumulated by this one. The other instance is left untouched.
+     *
+     * @param other accumulator to combine with.
+     * @return this accumulator.
+     * @throws NullPointerException if other accumulator is null.
+     */
+    public RunningStatistics combine(final RunningStatistics other) {
+        final long otherCount = other.count;
+
+        if (otherCount == 0) {
+            return this;
+        } else if (count == 0) {
+            count = otherCount;
+            averageArithmetic = other.averageArithmetic;
+            sumOfSquaredDifferences = other.sumOfSquaredDifferences;
+            min = other.min;
+            max = other.max;
+
+            return this;
+        }
+
+        final double newCount = (double) count + otherCount;
+        final double difference = other.averageArithmetic - averageArithmetic;
+
+        averageArithmetic += difference * (otherCount / newCount);
+        sumOfSquaredDifferences += other.sumOfSquaredDifferences
+                                   + difference * difference
+                                     * (count / newCount) * otherCount;
+        count += otherCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+
+        return this;
+    }
+
+    /**
+     * This method returns a copy of this accumulator with other extremes.
+     *
+     * @param otherMin minimum value of the copy.
+     * @param otherMax maximum value of the copy.
+     * @return new accumulator.
+     */
+    RunningStatistics withExtremes(final double otherMin,
+                                   final double otherMax) {
+        return of(count,
+                  averageArithmetic,
+                  sumOfSquaredDifferences,
+                  otherMin,
+                  otherMax);
+    }
+
+    /**
+     * This method forgets all the accumulated values.
+     */
+    public void reset() {
+        count = 0;
+        averageArithmetic = 0;
+        sumOfSquaredDifferences = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * @return number of accumulated values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * This method returns the minimum of the accumulated values.
+     *
+     * @return minimum value.
+     * @throws NotEnoughDataException if no values were accumulated.
+     */
+    public double min() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return min;
+    }
+
+    /**
+     * This method returns the maximum of the accumulated values.
+     *
+     * @return maximum value.
+     * @throws NotEnoughDataException if no values were accumulated.
+     */
+    public double max() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return max;
+    }
+
+    /**
+     * This method returns the average arithmetic of the accumulated values.
+     *
+     * @return average arithmetic.
+     * @throws NotEnoughDataException if no values were accumulated.
+     */
+    public double averageArithmetic() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return averageArithmetic;
+    }
+
+    /**
+     * This method returns the variance of the accumulated values.
+     *
+     * @return variance.
+     * @throws NotEnoughDataException if less than two values were
+     *                                accumulated.
+     */
+    public double variance() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return sumOfSquaredDifferences / (count - 1);
+    }
+
+    /**
+     * This method returns a summary of the accumulated values which has
+     * no order statistics.
+     *
+     * @return summary of the accumulated values.
+     * @throws NotEnoughDataException if less than two values were
+     *                                accumulated.
+     */
+    public Summary summary() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return new Summary(count,
+                           min,
+                           max,
+                           averageArithmetic,
+                           sumOfSquaredDifferences / (count - 1));
+    }
+
+    /**
+     * @return number of bytes {@link #writeTo(ByteBuffer)} writes.
+     */
+    public int serializedSize() {
+        return SERIALIZED_SIZE;
+    }
+
+    /**
+     * This method serialises the accumulator into a compact byte form.
+     *
+     * @return bytes which {@link #fromBytes(byte[])} accepts.
+     */
+    public byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(SERIALIZED_SIZE);
+
+        writeTo(buffer);
+
+        return buffer.array();
+    }
+
+    /**
+     * This method writes the accumulator into a buffer in little-endian
+     * order starting at its position, which is advanced.
+     *
+     * @param buffer buffer to write to.
+     * @throws java.nio.BufferOverflowException if there is not enough space.
+     */
+    public void writeTo(final ByteBuffer buffer) {
+        final ByteOrder order = buffer.order();
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.put(SERIAL_VERSION)
+              .putLong(count)
+              .putDouble(averageArithmetic)
+              .putDouble(sumOfSquaredDifferences)
+              .putDouble(min)
+              .putDouble(max);
+
+        buffer.order(order);
+    }
+
+    /**
+     * This method restores an accumulator from its compact byte form.
+     *
+     * @param bytes bytes returned by {@link #toBytes()}.
+     * @return restored accumulator.
+     * @throws IllegalArgumentException if the bytes are not an accumulator.
+     */
+    public static RunningStatistics fromBytes(final byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * This method reads an accumulator written by
+     * {@link #writeTo(ByteBuffer)} from a buffer starting at its position,
+     * which is advanced.
+     *
+     * @param buffer buffer to read from.
+     * @return restored accumulator.
+     * @throws IllegalArgumentException if the bytes are not an accumulator.
+     */
+    public static RunningStatistics readFrom(final ByteBuffer buffer) {
+        final ByteOrder order = buffer.order();
+
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        try {
+            final byte version = buffer.get();
+
+            if (version != SERIAL_VERSION) {
+                throw new IllegalArgumentException("Unknown version of " +
+                                                   "running statistics: " +
+                                                   version + ".");
+            }
+
+            final long count = buffer.getLong();
+
+            if (count < 0) {
+                throw new IllegalArgumentException("Corrupted running " +
+                                                   "statistics!");
+            }
+
+            return of(count,
+                      buffer.getDouble(),
+                      buffer.getDouble(),
+                      buffer.getDouble(),
+                      buffer.getDouble());
+        } catch (final BufferUnderflowException exception) {
+            throw new IllegalArgumentException("Truncated running " +
+                                               "statistics!",
+                                               exception);
+        } finally {
+            buffer.order(order);
+        }
+    }
+
+    /**
+     * This method checks if enough values were accumulated.
+     *
+     * @throws NotEnoughDataException if they were not.
+     */
+    private void checkIfThereIsEnoughData(final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (count < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RunningStatistics{count=" + count +
+               ", averageArithmetic=" + averageArithmetic +
+               ", sumOfSquaredDifferences=" + sumOfSquaredDifferences +
+               ", min=" + min +
+               ", max=" + max + "}";
+    }
+}
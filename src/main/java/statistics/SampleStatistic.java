@@ -0,0 +1,127 @@
+package statistics;
+
+/**
+ * This interface represents a statistic of a sample which is computed by
+ * resampling engines such as {@link Bootstrap} and {@link Jackknife}.
+ * The sample is a scratch buffer owned by the engine, so the statistic
+ * may reorder it, which lets order statistics select in place instead of
+ * copying and sorting. The same instance is called from several threads at
+ * once, so it must not keep state between calls.
+ *
+ * @author svalyavakilia
+ */
+@FunctionalInterface
+public interface SampleStatistic {
+    /**
+     * This method computes the statistic of the leading values of a given
+     * array, which it may reorder.
+     *
+     * @param sample array with the values.
+     * @param length number of leading values of the array to use.
+     * @return the statistic.
+     * @throws NotEnoughDataException if there are not enough values.
+     */
+    double compute(double[] sample, int length) throws NotEnoughDataException;
+
+    /**
+     * @return average arithmetic computed with {@link Summation#PAIRWISE}
+     *         summation.
+     */
+    static SampleStatistic averageArithmetic() {
+        return (sample, length) -> {
+            checkIfThereIsEnoughData(length, 1);
+
+            return Reductions.sum(sample, 0, length, Summation.PAIRWISE)
+                   / length;
+        };
+    }
+
+    /**
+     * @return variance computed in two passes with
+     *         {@link Summation#PAIRWISE} summation.
+     */
+    static SampleStatistic variance() {
+        return (sample, length) -> {
+            checkIfThereIsEnoughData(length, 2);
+
+            final double averageArithmetic =
+                    Reductions.sum(sample, 0, length, Summation.PAIRWISE)
+                    / length;
+
+            return Reductions.sumOfSquaredDifferences(sample,
+                                                      0,
+                                                      length,
+                                                      averageArithmetic,
+                                                      Summation.PAIRWISE)
+                   / (length - 1);
+        };
+    }
+
+    /**
+     * @return median, see {@link #quantile(double)}.
+     */
+    static SampleStatistic median() {
+        return quantile(0.5);
+    }
+
+    /**
+     * This method returns a quantile which is interpolated linearly between
+     * the two closest ranks like {@link Statistics#quantile(double[], double)}
+     * and is selected in place in expected linear time.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    static SampleStatistic quantile(final double probability) {
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        return (sample, length) -> {
+            checkIfThereIsEnoughData(length, 1);
+
+            final int numberOfValues = Selection.moveNaNToTheEnd(sample,
+                                                                 length);
+            final double position = (length - 1) * probability;
+            final int lowerRank = (int) position;
+
+            if (lowerRank >= numberOfValues) {
+                return Double.NaN;
+            }
+
+            Selection.select(sample, 0, numberOfValues, lowerRank);
+
+            final double lower = sample[lowerRank];
+            final double fraction = position - lowerRank;
+
+            if (fraction == 0) {
+                return lower;
+            } else if (lowerRank + 1 == numberOfValues) {
+                return Double.NaN;
+            }
+
+            final double upper = Reductions.min(sample,
+                                                lowerRank + 1,
+                                                numberOfValues);
+
+            return lower + fraction * (upper - lower);
+        };
+    }
+
+    /**
+     * This method checks if a sample has enough values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private static void checkIfThereIsEnoughData(
+                                        final int length,
+                                        final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        if (length < minimumPermissibleLength) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleLength + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+}
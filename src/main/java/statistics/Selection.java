@@ -0,0 +1,205 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class provides introselect: quickselect with a three-way partition
+ * around a median-of-three pivot which falls back to sorting when
+ * the recursion gets too deep, so it runs in expected linear time and
+ * never worse than O(n log n).
+ *
+ * @author svalyavakilia
+ */
+final class Selection {
+    /**
+     * Ranges not longer than this are finished with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private Selection() {}
+
+    /**
+     * This method copies values of a source array into a target array
+     * moving all NaN values to its end, in the same way as
+     * {@link Arrays#sort(double[])} places them.
+     *
+     * @param source array to copy.
+     * @param target array which is at least as long as the source.
+     * @return number of values in the source array which are not NaN.
+     */
+    static int copyMovingNaNToTheEnd(final double[] source,
+                                     final double[] target) {
+        final int sourceLength = source.length;
+
+        int numberOfValues = 0;
+
+        for (final double value: source) {
+            if (value == value) {
+                target[numberOfValues++] = value;
+            }
+        }
+
+        Arrays.fill(target, numberOfValues, sourceLength, Double.NaN);
+
+        return numberOfValues;
+    }
+
+    /**
+     * This method moves all NaN values of the leading values of an array
+     * to their end in place. The order of the other values is not kept.
+     *
+     * @param data array to rearrange.
+     * @param length number of leading values to rearrange.
+     * @return number of those values which are not NaN.
+     */
+    static int moveNaNToTheEnd(final double[] data, final int length) {
+        int end = length;
+        int index = 0;
+
+        while (index < end) {
+            final double value = data[index];
+
+            if (value != value) {
+                data[index] = data[--end];
+                data[end] = value;
+            } else {
+                ++index;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * This method rearranges a range of an array so that the value under
+     * a given index is the one which would be there if the range were
+     * sorted, all values before it are not greater and all values after it
+     * are not less. The range must not contain NaN.
+     *
+     * @param data array to rearrange.
+     * @param from index of the first value of the range, inclusive.
+     * @param to index of the last value of the range, exclusive.
+     * @param rank index of the value to select.
+     */
+    static void select(final double[] data,
+                       int from,
+                       int to,
+                       final int rank) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(to - from));
+
+        while (to - from > INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                Arrays.sort(data, from, to);
+
+                return;
+            }
+
+            final double pivot = medianOfThree(data[from],
+                                               data[(from + to) >>> 1],
+                                               data[to - 1]);
+
+            int lessEnd = from;
+            int greaterStart = to;
+            int index = from;
+
+            while (index < greaterStart) {
+                final double value = data[index];
+
+                if (value < pivot) {
+                    data[index++] = data[lessEnd];
+                    data[lessEnd++] = value;
+                } else if (value > pivot) {
+                    data[index] = data[--greaterStart];
+                    data[greaterStart] = value;
+                } else {
+                    ++index;
+                }
+            }
+
+            if (rank < lessEnd) {
+                to = lessEnd;
+            } else if (rank >= greaterStart) {
+                from = greaterStart;
+            } else {
+                return;
+            }
+        }
+
+        insertionSort(data, from, to);
+    }
+
+    /**
+     * This method selects several ranks at once. Every rank is searched
+     * only in the part of the range which is right of the previous one.
+     *
+     * @param data array to rearrange.
+     * @param length number of leading values to select from, none of them
+     *               can be NaN.
+     * @param ranks ranks to select in ascending order.
+     * @param numberOfRanks number of leading values of the ranks array
+     *                      to use.
+     */
+    static void selectAll(final double[] data,
+                          final int length,
+                          final int[] ranks,
+                          final int numberOfRanks) {
+        int from = 0;
+
+        for (int index = 0; index < numberOfRanks; ++index) {
+            final int rank = ranks[index];
+
+            if (rank >= length) {
+                return;
+            }
+
+            select(data, from, length, rank);
+
+            from = rank;
+        }
+    }
+
+    /**
+     * This method returns the median of three values.
+     */
+    private static double medianOfThree(final double first,
+                                        final double second,
+                                        final double third) {
+        if (first < second) {
+            if (second < third) {
+                return second;
+            }
+
+            return first < third ? third : first;
+        }
+
+        if (first < third) {
+            return first;
+        }
+
+        return second < third ? third : second;
+    }
+
+    /**
+     * This method sorts a small range of an array by insertion.
+     */
+    private static void insertionSort(final double[] data,
+                                      final int from,
+                                      final int to) {
+        for (int index = from + 1; index < to; ++index) {
+            final double value = data[index];
+
+            int position = index - 1;
+
+            while (position >= from && data[position] > value) {
+                data[position + 1] = data[position];
+
+                --position;
+            }
+
+            data[position + 1] = value;
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package statistics;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class represents statistics of many series of values which lie one
+ * after another in a single array, computed by
+ * {@link Statistics#summarizeSeries(double[], int[], ExecutionMode)}.
+ * Statistics are kept as a structure of arrays, one array per statistic
+ * indexed by series, so no object is created per series.
+ * <p>
+ * Every series gets the statistics of {@link Statistics#summary(double[])}
+ * except modes, but without validation, a copy or a {@link Summary} per
+ * series: the values are copied into a scratch array which is allocated
+ * once for a whole run of series, and only the ranks of the quartiles are
+ * selected there instead of sorting it. Statistics which need
+ * more values than a series has are NaN.
+ *
+ * @author svalyavakilia
+ */
+public final class SeriesSummaries {
+    private final int[] counts;
+    private final double[] mins;
+    private final double[] maxs;
+    private final double[] averagesArithmetic;
+    private final double[] variances;
+    private final double[] firstQuartiles;
+    private final double[] medians;
+    private final double[] thirdQuartiles;
+
+    /**
+     * Constructor for SeriesSummaries class instance with room for a given
+     * number of series.
+     */
+    private SeriesSummaries(final int numberOfSeries) {
+        counts = new int[numberOfSeries];
+        mins = new double[numberOfSeries];
+        maxs = new double[numberOfSeries];
+        averagesArithmetic = new double[numberOfSeries];
+        variances = new double[numberOfSeries];
+        firstQuartiles = new double[numberOfSeries];
+        medians = new double[numberOfSeries];
+        thirdQuartiles = new double[numberOfSeries];
+    }
+
+    /**
+     * This method summarises series of values.
+     *
+     * @param values values of all the series one after another.
+     * @param offsets index of the first value of every series followed by
+     *                the index after the last value of the last series.
+     * @param mode whether to summarise the series in parallel.
+     * @return statistics of the series.
+     * @throws NullPointerException if values, offsets or mode are null.
+     * @throws IllegalArgumentException if offsets are empty, decrease or
+     *                                  are out of the values.
+     */
+    static SeriesSummaries of(final double[] values,
+                              final int[] offsets,
+                              final ExecutionMode mode) {
+        Objects.requireNonNull(values);
+        Objects.requireNonNull(mode);
+        checkIfOffsetsAreValid(offsets, values.length);
+
+        final int numberOfSeries = offsets.length - 1;
+        final SeriesSummaries summaries = new SeriesSummaries(numberOfSeries);
+        final int totalLength = offsets[numberOfSeries] - offsets[0];
+
+        if (mode.isParallelFor(totalLength)) {
+            new SummarizingTask(summaries, values, offsets, 0, numberOfSeries)
+                    .invoke();
+        } else {
+            summaries.summarize(values, offsets, 0, numberOfSeries);
+        }
+
+        return summaries;
+    }
+
+    /**
+     * This method summarises a range of series with a single scratch array.
+     * Instead of sorting a series, only the ranks of its quartiles are
+     * selected in the scratch array.
+     */
+    private void summarize(final double[] values,
+                           final int[] offsets,
+                           final int fromSeries,
+                           final int toSeries) {
+        int maximumLength = 0;
+
+        for (int series = fromSeries; series < toSeries; ++series) {
+            maximumLength = Math.max(maximumLength,
+                                     offsets[series + 1] - offsets[series]);
+        }
+
+        final double[] scratch = new double[maximumLength];
+
+        for (int series = fromSeries; series < toSeries; ++series) {
+            final int from = offsets[series];
+            final int to = offsets[series + 1];
+            final int count = to - from;
+
+            counts[series] = count;
+
+            if (count == 0) {
+                mins[series] = Double.NaN;
+                maxs[series] = Double.NaN;
+                averagesArithmetic[series] = Double.NaN;
+                variances[series] = Double.NaN;
+                firstQuartiles[series] = Double.NaN;
+                medians[series] = Double.NaN;
+                thirdQuartiles[series] = Double.NaN;
+
+                continue;
+            }
+
+            final double averageArithmetic =
+                    Reductions.sum(values, from, to, Summation.PAIRWISE)
+                    / count;
+
+            averagesArithmetic[series] = averageArithmetic;
+            variances[series] =
+                    count < 2
+                    ? Double.NaN
+                    : Reductions.sumOfSquaredDifferences(values,
+                                                         from,
+                                                         to,
+                                                         averageArithmetic,
+                                                         Summation.PAIRWISE)
+                      / (count - 1);
+
+            System.arraycopy(values, from, scratch, 0, count);
+
+            final int numberOfValues =
+                    Selection.moveNaNToTheEnd(scratch, count);
+            final int half = count / 2;
+
+            mins[series] = numberOfValues == 0
+                           ? Double.NaN
+                           : Reductions.min(scratch, 0, numberOfValues);
+            maxs[series] = numberOfValues < count
+                           ? Double.NaN
+                           : Reductions.max(scratch, 0, count);
+            medians[series] = medianOf(scratch, 0, count, numberOfValues);
+
+            if (count < 2) {
+                firstQuartiles[series] = Double.NaN;
+                thirdQuartiles[series] = Double.NaN;
+            } else {
+                /*
+                 * The values are now partitioned around the median, so
+                 * each half holds the values it would hold if sorted.
+                 */
+                firstQuartiles[series] =
+                        medianOf(scratch, 0, half, numberOfValues);
+                thirdQuartiles[series] =
+                        medianOf(scratch, count - half, count, numberOfValues);
+            }
+        }
+    }
+
+    /**
+     * This method finds the median of a range of the scratch array which
+     * holds the values it would hold if the array were sorted. The value
+     * of the middle rank is selected, and the value of the rank before it,
+     * which is the maximum of the values left of it, is moved there.
+     * Values of the range left and right of the middle rank stay there.
+     *
+     * @param numberOfValues number of leading values which are not NaN.
+     */
+    private static double medianOf(final double[] scratch,
+                                   final int from,
+                                   final int to,
+                                   final int numberOfValues) {
+        final int middle = from + (to - from) / 2;
+
+        if (middle < numberOfValues) {
+            Selection.select(scratch,
+                             from,
+                             Math.min(to, numberOfValues),
+                             middle);
+        }
+
+        if (((to - from) & 1) == 0 && middle - 1 < numberOfValues) {
+            int maximumIndex = from;
+
+            for (int index = from + 1; index < middle; ++index) {
+                if (scratch[index] > scratch[maximumIndex]) {
+                    maximumIndex = index;
+                }
+            }
+
+            final double maximum = scratch[maximumIndex];
+
+            scratch[maximumIndex] = scratch[middle - 1];
+            scratch[middle - 1] = maximum;
+        }
+
+        return SummaryCalculator.medianOfSorted(scratch, from, to);
+    }
+
+    /**
+     * This method checks if offsets start inside the values, never
+     * decrease and end inside the values.
+     *
+     * @throws NullPointerException if offsets are null.
+     * @throws IllegalArgumentException if they do not.
+     */
+    private static void checkIfOffsetsAreValid(final int[] offsets,
+                                               final int length) {
+        if (offsets.length == 0) {
+            throw new IllegalArgumentException("There must be at least one " +
+                                               "offset.");
+        } else if (offsets[0] < 0) {
+            throw new IllegalArgumentException("Negative offset: " +
+                                               offsets[0] + ".");
+        }
+
+        for (int index = 1; index < offsets.length; ++index) {
+            if (offsets[index] < offsets[index - 1]) {
+                throw new IllegalArgumentException("Offset " + index +
+                                                   " is less than the " +
+                                                   "previous one.");
+            }
+        }
+
+        if (offsets[offsets.length - 1] > length) {
+            throw new IllegalArgumentException("Last offset is greater " +
+                                               "than the number of values: " +
+                                               offsets[offsets.length - 1] +
+                                               ".");
+        }
+    }
+
+    /**
+     * @return number of series.
+     */
+    public int numberOfSeries() {
+        return counts.length;
+    }
+
+    /**
+     * @param series index of a series.
+     * @return number of values of the series.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public int count(final int series) {
+        return counts[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return minimum value of the series, NaN if it is empty.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double min(final int series) {
+        return mins[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return maximum value of the series, NaN if it is empty.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double max(final int series) {
+        return maxs[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return average arithmetic of the series, NaN if it is empty.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double averageArithmetic(final int series) {
+        return averagesArithmetic[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return variance of the series, NaN if it has less than two values.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double variance(final int series) {
+        return variances[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return the first quartile of the series, NaN if it has less than
+     *         two values.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double firstQuartile(final int series) {
+        return firstQuartiles[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return median of the series, NaN if it is empty.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double median(final int series) {
+        return medians[series];
+    }
+
+    /**
+     * @param series index of a series.
+     * @return the third quartile of the series, NaN if it has less than
+     *         two values.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     */
+    public double thirdQuartile(final int series) {
+        return thirdQuartiles[series];
+    }
+
+    /**
+     * This method returns a summary of a series with moments, extremes and
+     * quartiles but without modes.
+     *
+     * @param series index of a series.
+     * @return summary of the series.
+     * @throws IndexOutOfBoundsException if series is out of range.
+     * @throws NotEnoughDataException if the series has less than two
+     *                                values.
+     */
+    public Summary summary(final int series) throws NotEnoughDataException {
+        if (counts[series] < 2) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: 2.";
+
+            throw new NotEnoughDataException(message);
+        }
+
+        return new Summary(counts[series],
+                           mins[series],
+                           maxs[series],
+                           averagesArithmetic[series],
+                           variances[series])
+                .withQuartiles(firstQuartiles[series],
+                               medians[series],
+                               thirdQuartiles[series]);
+    }
+
+    /**
+     * @return a copy of the numbers of values of the series.
+     */
+    public int[] counts() {
+        return counts.clone();
+    }
+
+    /**
+     * @return a copy of the minimum values of the series.
+     */
+    public double[] mins() {
+        return mins.clone();
+    }
+
+    /**
+     * @return a copy of the maximum values of the series.
+     */
+    public double[] maxs() {
+        return maxs.clone();
+    }
+
+    /**
+     * @return a copy of the averages arithmetic of the series.
+     */
+    public double[] averagesArithmetic() {
+        return averagesArithmetic.clone();
+    }
+
+    /**
+     * @return a copy of the variances of the series.
+     */
+    public double[] variances() {
+        return variances.clone();
+    }
+
+    /**
+     * @return a copy of the first quartiles of the series.
+     */
+    public double[] firstQuartiles() {
+        return firstQuartiles.clone();
+    }
+
+    /**
+     * @return a copy of the medians of the series.
+     */
+    public double[] medians() {
+        return medians.clone();
+    }
+
+    /**
+     * @return a copy of the third quartiles of the series.
+     */
+    public double[] thirdQuartiles() {
+        return thirdQuartiles.clone();
+    }
+
+    /**
+     * This class represents the summarising of a range of series. Ranges
+     * are split at the series which holds the middle value until they hold
+     * at most {@link ParallelStatistics#LEAF_LENGTH} values, so every leaf
+     * allocates a single scratch array for all its series.
+     */
+    private static final class SummarizingTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SeriesSummaries summaries;
+        private final double[] values;
+        private final int[] offsets;
+        private final int fromSeries;
+        private final int toSeries;
+
+        SummarizingTask(final SeriesSummaries summaries,
+                        final double[] values,
+                        final int[] offsets,
+                        final int fromSeries,
+                        final int toSeries) {
+            this.summaries = summaries;
+            this.values = values;
+            this.offsets = offsets;
+            this.fromSeries = fromSeries;
+            this.toSeries = toSeries;
+        }
+
+        @Override
+        protected void compute() {
+            final int length = offsets[toSeries] - offsets[fromSeries];
+
+            if (toSeries - fromSeries <= 1
+                    || length <= ParallelStatistics.LEAF_LENGTH) {
+                summaries.summarize(values, offsets, fromSeries, toSeries);
+
+                return;
+            }
+
+            final int middle = middleSeries(offsets[fromSeries] + length / 2);
+
+            invokeAll(new SummarizingTask(summaries,
+                                          values,
+                                          offsets,
+                                          fromSeries,
+                                          middle),
+                      new SummarizingTask(summaries,
+                                          values,
+                                          offsets,
+                                          middle,
+                                          toSeries));
+        }
+
+        /**
+         * This method finds the series which holds a value index, keeping
+         * both halves non-empty.
+         */
+        private int middleSeries(final int index) {
+            int low = fromSeries + 1;
+            int high = toSeries - 1;
+
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+
+                if (offsets[middle] < index) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+}
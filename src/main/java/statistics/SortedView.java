@@ -0,0 +1,352 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an immutable sorted copy of a set of values which
+ * answers many questions about them without sorting again: extremes,
+ * median, quartiles and quantiles in O(1), ranks in O(log n) and modes in
+ * O(n). An array which is already sorted is detected by a linear check that
+ * stops at the first pair of values out of order, so it is only copied.
+ * Values are ordered the way {@link Arrays#sort(double[])} orders them.
+ *
+ * @author svalyavakilia
+ */
+public final class SortedView {
+    private final double[] sorted;
+
+    /**
+     * Constructor for SortedView class instance.
+     *
+     * @param sorted non-empty sorted array, it is not copied.
+     */
+    SortedView(final double[] sorted) {
+        this.sorted = sorted;
+    }
+
+    /**
+     * This method creates a sorted view of a given array.
+     * The array itself is left untouched.
+     *
+     * @param data array with values.
+     * @return sorted view of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static SortedView of(final double[] data)
+                                            throws NotEnoughDataException {
+        Statistics.checkIfDataIsValid(data, 1);
+
+        final double[] sorted = data.clone();
+
+        if (!isSorted(sorted)) {
+            Arrays.sort(sorted);
+        }
+
+        return new SortedView(sorted);
+    }
+
+    /**
+     * This method checks if a given array is sorted in ascending order
+     * the way {@link Arrays#sort(double[])} sorts it.
+     * It stops at the first pair of values out of order.
+     *
+     * @param data array to check.
+     * @return true if the array is sorted.
+     */
+    static boolean isSorted(final double[] data) {
+        for (int index = 1; index < data.length; ++index) {
+            final double previous = data[index - 1];
+            final double next = data[index];
+
+            if (!(previous < next) && Double.compare(previous, next) > 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return number of values.
+     */
+    public int size() {
+        return sorted.length;
+    }
+
+    /**
+     * @param rank index of a value in ascending order.
+     * @return the value.
+     * @throws IndexOutOfBoundsException if rank is out of the view.
+     */
+    public double get(final int rank) {
+        return sorted[rank];
+    }
+
+    /**
+     * @return copy of the sorted values.
+     */
+    public double[] toArray() {
+        return sorted.clone();
+    }
+
+    /**
+     * @return minimum value.
+     */
+    public double min() {
+        return sorted[0];
+    }
+
+    /**
+     * @return maximum value.
+     */
+    public double max() {
+        return sorted[sorted.length - 1];
+    }
+
+    /**
+     * @return median of the values.
+     */
+    public double median() {
+        return SummaryCalculator.medianOfSorted(sorted, 0, sorted.length);
+    }
+
+    /**
+     * This method returns the first quartile,
+     * see {@link Statistics#firstQuartile(double[])}.
+     *
+     * @return the first quartile.
+     * @throws NotEnoughDataException if the view has less than two values.
+     */
+    public double firstQuartile() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return SummaryCalculator.medianOfSorted(sorted, 0, sorted.length / 2);
+    }
+
+    /**
+     * This method returns the third quartile,
+     * see {@link Statistics#thirdQuartile(double[])}.
+     *
+     * @return the third quartile.
+     * @throws NotEnoughDataException if the view has less than two values.
+     */
+    public double thirdQuartile() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        final int length = sorted.length;
+
+        return SummaryCalculator.medianOfSorted(sorted,
+                                                length - length / 2,
+                                                length);
+    }
+
+    /**
+     * This method returns the interquartile range.
+     *
+     * @return interquartile range.
+     * @throws NotEnoughDataException if the view has less than two values.
+     */
+    public double iqr() throws NotEnoughDataException {
+        return thirdQuartile() - firstQuartile();
+    }
+
+    /**
+     * This method returns 3/2 of the interquartile range.
+     *
+     * @return 3/2 of the interquartile range.
+     * @throws NotEnoughDataException if the view has less than two values.
+     */
+    public double threeOverTwoIqr() throws NotEnoughDataException {
+        return (double) 3 / 2 * iqr();
+    }
+
+    /**
+     * This method returns a quantile interpolated linearly between the two
+     * closest ranks, see {@link Statistics#quantile(double[], double)}.
+     *
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    public double quantile(final double probability) {
+        QuantileSelector.checkIfProbabilityIsValid(probability);
+
+        final double position = (sorted.length - 1) * probability;
+        final int lowerRank = (int) position;
+        final double fraction = position - lowerRank;
+        final double lower = sorted[lowerRank];
+
+        if (fraction == 0) {
+            return lower;
+        }
+
+        return lower + fraction * (sorted[lowerRank + 1] - lower);
+    }
+
+    /**
+     * This method returns several quantiles, see {@link #quantile(double)}.
+     *
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @return the quantiles in the order of the probabilities.
+     * @throws IllegalArgumentException if a probability is not in [0, 1].
+     */
+    public double[] quantiles(final double... probabilities) {
+        final double[] quantiles = new double[probabilities.length];
+
+        for (int index = 0; index < probabilities.length; ++index) {
+            quantiles[index] = quantile(probabilities[index]);
+        }
+
+        return quantiles;
+    }
+
+    /**
+     * This method returns the number of values which are less than a given
+     * one.
+     *
+     * @param value value to find the rank of.
+     * @return number of smaller values.
+     */
+    public int rank(final double value) {
+        int low = 0;
+        int high = sorted.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (Double.compare(sorted[middle], value) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * This method returns the share of values which are not greater than
+     * a given one, i.e. the empirical cumulative distribution function.
+     *
+     * @param value value to find the share for.
+     * @return share of values from 0 to 1.
+     */
+    public double cdf(final double value) {
+        int low = 0;
+        int high = sorted.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+
+            if (Double.compare(sorted[middle], value) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return (double) low / sorted.length;
+    }
+
+    /**
+     * @return the largest number of times a value appears.
+     */
+    public int modeQuantity() {
+        int maximumQuantity = 0;
+        int currentIndex = 0;
+
+        while (currentIndex < sorted.length) {
+            final int runEnd = endOfRun(currentIndex);
+
+            maximumQuantity = Math.max(maximumQuantity, runEnd - currentIndex);
+            currentIndex = runEnd;
+        }
+
+        return maximumQuantity;
+    }
+
+    /**
+     * This method returns values which appear the largest number of times.
+     * Values are compared the way {@link Double#equals(Object)} compares
+     * them, as in {@link Statistics#mode(double[])}.
+     *
+     * @return modes in ascending order.
+     */
+    public double[] modes() {
+        final int maximumQuantity = modeQuantity();
+
+        double[] modes = new double[4];
+        int numberOfModes = 0;
+        int currentIndex = 0;
+
+        while (currentIndex < sorted.length) {
+            final int runEnd = endOfRun(currentIndex);
+
+            if (runEnd - currentIndex == maximumQuantity) {
+                if (numberOfModes == modes.length) {
+                    modes = Arrays.copyOf(modes, numberOfModes * 2);
+                }
+
+                modes[numberOfModes++] = sorted[currentIndex];
+            }
+
+            currentIndex = runEnd;
+        }
+
+        return Arrays.copyOf(modes, numberOfModes);
+    }
+
+    /**
+     * This method returns a full summary of the values.
+     *
+     * @return summary of the values.
+     * @throws NotEnoughDataException if the view has less than two values.
+     */
+    public Summary summary() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        double sum = 0;
+
+        for (final double value: sorted) {
+            sum += value;
+        }
+
+        return SummaryCalculator.summarizeSorted(sorted.clone(),
+                                                 sorted.length,
+                                                 sum / sorted.length);
+    }
+
+    /**
+     * This method returns the index right after a run of equal values.
+     */
+    private int endOfRun(final int start) {
+        final long bits = Double.doubleToLongBits(sorted[start]);
+
+        int index = start + 1;
+
+        while (index < sorted.length
+                &&
+                Double.doubleToLongBits(sorted[index]) == bits) {
+            ++index;
+        }
+
+        return index;
+    }
+
+    /**
+     * This method checks if the view has enough values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private void checkIfThereIsEnoughData(final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (sorted.length < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package statistics;
 
-import java.util.ArrayList;
+import java.nio.DoubleBuffer;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.List;
+import java.util.BitSet;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * This is a utility class which provides methods for data analysis.
  * It uses array of doubles as a data source.
+ * Methods listed in {@link Operation} record metrics while
+ * {@link Instrumentation} is enabled.
  *
  * @author svalyavakilia
  */
@@ -28,12 +30,87 @@ public class Statistics {
      * @throws NotEnoughDataException if the number of values in a given
      *                                array is less than required.
      */
-    private static void checkIfDataIsValid(final double[] data,
-                                           final int minimumPermissibleLength)
+    static void checkIfDataIsValid(final double[] data,
+                                   final int minimumPermissibleLength)
                                             throws NotEnoughDataException {
         if (data == null) {
             throw new NullPointerException();
-        } else if (data.length < minimumPermissibleLength) {
+        }
+
+        checkIfThereAreEnoughValues(data.length, minimumPermissibleLength);
+    }
+
+    /**
+     * This method checks if a given array is null or has enough data
+     * to analyse.
+     *
+     * @param data array to check.
+     * @param minimumPermissibleLength minimum permissible amount of values.
+     * @throws NullPointerException if data is null.
+     * @throws NotEnoughDataException if the number of values in a given
+     *                                array is less than required.
+     */
+    static void checkIfDataIsValid(final int[] data,
+                                   final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        if (data == null) {
+            throw new NullPointerException();
+        }
+
+        checkIfThereAreEnoughValues(data.length, minimumPermissibleLength);
+    }
+
+    /**
+     * This method checks if a given array is null or has enough data
+     * to analyse.
+     *
+     * @param data array to check.
+     * @param minimumPermissibleLength minimum permissible amount of values.
+     * @throws NullPointerException if data is null.
+     * @throws NotEnoughDataException if the number of values in a given
+     *                                array is less than required.
+     */
+    static void checkIfDataIsValid(final long[] data,
+                                   final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        if (data == null) {
+            throw new NullPointerException();
+        }
+
+        checkIfThereAreEnoughValues(data.length, minimumPermissibleLength);
+    }
+
+    /**
+     * This method checks if a given buffer is null or has enough data
+     * remaining to analyse.
+     *
+     * @param data buffer to check.
+     * @param minimumPermissibleLength minimum permissible amount of values.
+     * @throws NullPointerException if data is null.
+     * @throws NotEnoughDataException if the number of values remaining in
+     *                                a given buffer is less than required.
+     */
+    static void checkIfDataIsValid(final DoubleBuffer data,
+                                   final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        if (data == null) {
+            throw new NullPointerException();
+        }
+
+        checkIfThereAreEnoughValues(data.remaining(),
+                                    minimumPermissibleLength);
+    }
+
+    /**
+     * This method checks if there are enough values to analyse.
+     *
+     * @throws NotEnoughDataException if there are not.
+     */
+    private static void checkIfThereAreEnoughValues(
+                                        final int numberOfValues,
+                                        final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        if (numberOfValues < minimumPermissibleLength) {
             final String message = "There is not enough data!" +
                                    "Minimum quantity of values needed: " +
                                    minimumPermissibleLength + ".";
@@ -98,17 +175,20 @@ public class Statistics {
      */
     public static double min(final double[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 1);
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(Operation.MIN,
+                                                data,
+                                                Statistics::computeMin);
+        }
 
-        double currentMinimum = data[0];
+        return computeMin(data);
+    }
 
-        for (int index = 1; index < data.length; ++index) {
-            if (data[index] < currentMinimum) {
-                currentMinimum = data[index];
-            }
-        }
+    private static double computeMin(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-        return currentMinimum;
+        return Reductions.min(data, 0, data.length);
     }
 
     /**
@@ -121,21 +201,25 @@ public class Statistics {
      */
     public static double max(final double[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 1);
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(Operation.MAX,
+                                                data,
+                                                Statistics::computeMax);
+        }
 
-        double currentMax = data[0];
+        return computeMax(data);
+    }
 
-        for (int index = 1; index < data.length; ++index) {
-            if (data[index] > currentMax) {
-                currentMax = data[index];
-            }
-        }
+    private static double computeMax(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-        return currentMax;
+        return Reductions.max(data, 0, data.length);
     }
 
     /**
      * This method calculates average arithmetic of a given array.
+     * Values are added with {@link Summation#PAIRWISE} summation.
      *
      * @param data array to find average arithmetic of.
      * @return average arithmetic of a given array.
@@ -144,19 +228,46 @@ public class Statistics {
      */
     public static double averageArithmetic(final double[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 1);
-
-        double sum = 0;
+        return averageArithmetic(data, Summation.PAIRWISE);
+    }
 
-        for (final double value: data) {
-            sum += value;
+    /**
+     * This method calculates average arithmetic of a given array adding
+     * the values in a given way.
+     *
+     * @param data array to find average arithmetic of.
+     * @param summation the way to add the values.
+     * @return average arithmetic of a given array.
+     * @throws NullPointerException if given array or summation is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double averageArithmetic(final double[] data,
+                                           final Summation summation)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.AVERAGE_ARITHMETIC,
+                    data,
+                    values -> computeAverageArithmetic(values, summation));
         }
 
-        return sum / data.length;
+        return computeAverageArithmetic(data, summation);
+    }
+
+    private static double computeAverageArithmetic(final double[] data,
+                                                   final Summation summation)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return Reductions.sum(data, 0, data.length, summation) / data.length;
     }
 
     /**
      * This method calculates median of a given array.
+     * The median is found by selection on a copy of the array, so it takes
+     * linear time and does not reorder the array. An array which is already
+     * sorted is neither copied nor searched, and integers which span
+     * a narrow range are counted instead of being copied.
      *
      * @param data array to find median of.
      * @return median of a given array.
@@ -165,20 +276,30 @@ public class Statistics {
      */
     public static double median(final double[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 1);
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(Operation.MEDIAN,
+                                                data,
+                                                Statistics::computeMedian);
+        }
 
-        Arrays.sort(data);
+        return computeMedian(data);
+    }
 
-        final int dataLength = data.length;
+    private static double computeMedian(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-        if ((dataLength & 1) == 1) {
-            return data[dataLength / 2];
-        } else {
-            final double firstPartOfMedian = data[(dataLength / 2) - 1];
-            final double secondPartOfMedian = data[dataLength / 2];
+        if (SortedView.isSorted(data)) {
+            return new SortedView(data).median();
+        }
 
-            return (firstPartOfMedian + secondPartOfMedian) / 2;
+        final IntegerCounts counts = IntegerCounts.of(data);
+
+        if (counts != null) {
+            return counts.median();
         }
+
+        return new QuantileSelector(data.length).median(data);
     }
 
     /**
@@ -193,11 +314,31 @@ public class Statistics {
      */
     public static double firstQuartile(final double[] data)
                                             throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.FIRST_QUARTILE,
+                    data,
+                    Statistics::computeFirstQuartile);
+        }
+
+        return computeFirstQuartile(data);
+    }
+
+    private static double computeFirstQuartile(final double[] data)
+                                            throws NotEnoughDataException {
         checkIfDataIsValid(data, 2);
 
-        sortInAscendingOrder(data);
+        if (SortedView.isSorted(data)) {
+            return new SortedView(data).firstQuartile();
+        }
+
+        final IntegerCounts counts = IntegerCounts.of(data);
+
+        if (counts != null) {
+            return counts.firstQuartile();
+        }
 
-        return median(Arrays.copyOfRange(data, 0, data.length / 2));
+        return new QuantileSelector(data.length).firstQuartile(data);
     }
 
     /**
@@ -212,19 +353,31 @@ public class Statistics {
      */
     public static double thirdQuartile(final double[] data)
                                             throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.THIRD_QUARTILE,
+                    data,
+                    Statistics::computeThirdQuartile);
+        }
+
+        return computeThirdQuartile(data);
+    }
+
+    private static double computeThirdQuartile(final double[] data)
+                                            throws NotEnoughDataException {
         checkIfDataIsValid(data, 2);
 
-        sortInAscendingOrder(data);
+        if (SortedView.isSorted(data)) {
+            return new SortedView(data).thirdQuartile();
+        }
 
-        final int dataLength = data.length;
+        final IntegerCounts counts = IntegerCounts.of(data);
 
-        if ((dataLength & 1) == 1) {
-            return median(Arrays.copyOfRange(data,
-                                             dataLength / 2 + 1,
-                                             dataLength));
-        } else {
-            return median(Arrays.copyOfRange(data, dataLength / 2, dataLength));
+        if (counts != null) {
+            return counts.thirdQuartile();
         }
+
+        return new QuantileSelector(data.length).thirdQuartile(data);
     }
 
     /**
@@ -238,9 +391,30 @@ public class Statistics {
      */
     public static double iqr(final double[] data)
                                             throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(Operation.IQR,
+                                                data,
+                                                Statistics::computeIqr);
+        }
+
+        return computeIqr(data);
+    }
+
+    private static double computeIqr(final double[] data)
+                                            throws NotEnoughDataException {
         checkIfDataIsValid(data, 2);
 
-        return thirdQuartile(data) - firstQuartile(data);
+        if (SortedView.isSorted(data)) {
+            return new SortedView(data).iqr();
+        }
+
+        final IntegerCounts counts = IntegerCounts.of(data);
+
+        if (counts != null) {
+            return counts.thirdQuartile() - counts.firstQuartile();
+        }
+
+        return new QuantileSelector(data.length).iqr(data);
     }
 
     /**
@@ -254,13 +428,130 @@ public class Statistics {
      */
     public static double threeOverTwoIqr(final double[] data)
                                             throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.THREE_OVER_TWO_IQR,
+                    data,
+                    Statistics::computeThreeOverTwoIqr);
+        }
+
+        return computeThreeOverTwoIqr(data);
+    }
+
+    private static double computeThreeOverTwoIqr(final double[] data)
+                                            throws NotEnoughDataException {
         checkIfDataIsValid(data, 2);
 
-        return (double) 3 / 2 * iqr(data);
+        return (double) 3 / 2 * computeIqr(data);
+    }
+
+    /**
+     * This method finds outliers of a given array by Tukey's fences: values
+     * which are more than 3/2 of an interquartile range (IQR) below the first
+     * quartile or above the third one. Both quartiles are selected from
+     * a single copy of the array and the values are classified in one pass,
+     * see {@link OutlierDetector} for other rules and for reusable output.
+     *
+     * @param data array to find outliers of.
+     * @return bitset in which the indexes of the outliers are set.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values
+     *                                which are not NaN.
+     */
+    public static BitSet outliers(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.OUTLIERS,
+                                          data,
+                                          Statistics::computeOutliers);
+        }
+
+        return computeOutliers(data);
+    }
+
+    private static BitSet computeOutliers(final double[] data)
+                                            throws NotEnoughDataException {
+        return new OutlierDetector(OutlierRule.TUKEY, 1.5).outliers(data);
+    }
+
+    /**
+     * This method finds a quantile of a given array, interpolating linearly
+     * between the two closest ranks. Quantile 0 is the minimum, 1 is
+     * the maximum and 0.5 is the median. The array is not reordered.
+     * Use {@link QuantileSelector} to reuse the scratch buffer between calls.
+     *
+     * @param data array to find a quantile of.
+     * @param probability probability of the quantile, from 0 to 1.
+     * @return the quantile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     * @throws IllegalArgumentException if probability is not in [0, 1].
+     */
+    public static double quantile(final double[] data,
+                                  final double probability)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.QUANTILE,
+                    data,
+                    values -> computeQuantile(values, probability));
+        }
+
+        return computeQuantile(data, probability);
+    }
+
+    private static double computeQuantile(final double[] data,
+                                          final double probability)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (SortedView.isSorted(data)) {
+            return new SortedView(data).quantile(probability);
+        }
+
+        return new QuantileSelector(data.length).quantile(data, probability);
+    }
+
+    /**
+     * This method finds several quantiles of a given array with a single
+     * copy of it. See {@link #quantile(double[], double)}.
+     *
+     * @param data array to find quantiles of.
+     * @param probabilities probabilities of the quantiles, from 0 to 1.
+     * @return the quantiles in the order of the probabilities.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     * @throws IllegalArgumentException if a probability is not in [0, 1].
+     */
+    public static double[] quantiles(final double[] data,
+                                     final double... probabilities)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.QUANTILES,
+                    data,
+                    values -> computeQuantiles(values, probabilities));
+        }
+
+        return computeQuantiles(data, probabilities);
+    }
+
+    private static double[] computeQuantiles(final double[] data,
+                                             final double... probabilities)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (SortedView.isSorted(data)) {
+            return new SortedView(data).quantiles(probabilities);
+        }
+
+        return new QuantileSelector(data.length).quantiles(data,
+                                                           probabilities);
     }
 
     /**
      * This method calculates the variance of the given values.
+     * Values are added with {@link Summation#PAIRWISE} summation.
      *
      * @param data array to find variance of.
      * @return variance of the given values.
@@ -269,79 +560,112 @@ public class Statistics {
      */
     public static double variance(final double[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 2);
-
-        double variance = (double) 1 / (data.length - 1);
-
-        final double averageArithmetic = averageArithmetic(data);
-
-        double sumOfSquaredDifferences = 0;
+        return variance(data, Summation.PAIRWISE);
+    }
 
-        for (final double value: data) {
-            sumOfSquaredDifferences += Math.pow(value - averageArithmetic, 2);
+    /**
+     * This method calculates the variance of the given values adding both
+     * the values and their squared differences from the average arithmetic
+     * in a given way.
+     *
+     * @param data array to find variance of.
+     * @param summation the way to add the values.
+     * @return variance of the given values.
+     * @throws NullPointerException if given array or summation is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double variance(final double[] data,
+                                  final Summation summation)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.VARIANCE,
+                    data,
+                    values -> computeVariance(values, summation));
         }
 
-        variance *= sumOfSquaredDifferences;
+        return computeVariance(data, summation);
+    }
+
+    private static double computeVariance(final double[] data,
+                                          final Summation summation)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
 
-        return variance;
+        final int dataLength = data.length;
+        final double averageArithmetic =
+                Reductions.sum(data, 0, dataLength, summation) / dataLength;
+
+        return Reductions.sumOfSquaredDifferences(data,
+                                                  0,
+                                                  dataLength,
+                                                  averageArithmetic,
+                                                  summation)
+               / (dataLength - 1);
     }
 
     /**
      * This method returns mode(s) and their quantity.
+     * Values are counted in a primitive hash table, or in an array indexed
+     * by the value if they are integers which span a narrow range, so
+     * the array is neither sorted nor reordered. Values are compared the way
+     * {@link Double#equals(Object)} compares them.
      *
      * @param data array to find mode(s) of.
-     * @return an array with modes and (!!!) their quantity as the last value of
-     *         the array.
+     * @return an array with modes in ascending order and (!!!) their quantity
+     *         as the last value of the array.
      * @throws NullPointerException is given array is null.
      * @throws NotEnoughDataException if given array is empty.
      */
     public static double[] mode(final double[] data)
             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 1);
-
-        sortInAscendingOrder(data);
-
-        final List<Double> modes = new ArrayList<>();
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.MODE,
+                                          data,
+                                          Statistics::computeMode);
+        }
 
-        int currentMaximumQuantity = 1;
-        int currentQuantity;
-        int currentIndex = 0;
+        return computeMode(data);
+    }
 
-        double currentValue;
+    private static double[] computeMode(final double[] data)
+            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-        while (currentIndex < data.length) {
-            currentValue = data[currentIndex];
-            currentQuantity = 1;
+        final double[] modes;
+        final long modeQuantity;
 
-            ++currentIndex;
+        if (SortedView.isSorted(data)) {
+            final SortedView view = new SortedView(data);
 
-            while (currentIndex < data.length
-                    &&
-                    data[currentIndex] == currentValue) {
-                ++currentQuantity;
+            modes = view.modes();
+            modeQuantity = view.modeQuantity();
+        } else {
+            final IntegerCounts counts = IntegerCounts.of(data);
 
-                ++currentIndex;
+            if (counts != null) {
+                return modesAndTheirQuantity(counts);
             }
 
-            if (currentQuantity == currentMaximumQuantity) {
-                modes.add(currentValue);
-            } else if (currentQuantity > currentMaximumQuantity) {
-                currentMaximumQuantity = currentQuantity;
+            final FrequencyTable table = FrequencyTable.of(data);
 
-                modes.clear();
-
-                modes.add(currentValue);
-            }
+            modes = table.modes();
+            modeQuantity = table.modeQuantity();
         }
 
-        final double[] modesAndTheirQuantity = new double[modes.size() + 1];
+        return modesAndTheirQuantity(modes, modeQuantity);
+    }
 
-        for (int index = 0; index < modes.size(); ++index) {
-            modesAndTheirQuantity[index] = modes.get(index);
-        }
+    private static double[] modesAndTheirQuantity(final IntegerCounts counts) {
+        return modesAndTheirQuantity(counts.modes(), counts.modeQuantity());
+    }
+
+    private static double[] modesAndTheirQuantity(final double[] modes,
+                                                  final long modeQuantity) {
+        final double[] modesAndTheirQuantity =
+                Arrays.copyOf(modes, modes.length + 1);
 
-        modesAndTheirQuantity[modesAndTheirQuantity.length - 1] =
-                currentMaximumQuantity;
+        modesAndTheirQuantity[modesAndTheirQuantity.length - 1] = modeQuantity;
 
         return modesAndTheirQuantity;
     }
@@ -358,69 +682,1420 @@ public class Statistics {
      */
     public static Map<Double, Double> frequencies(final double[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 1);
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.FREQUENCIES,
+                                          data,
+                                          Statistics::computeFrequencies);
+        }
 
-        final Map<Double, Double> valuesAndTheirFrequencies = new HashMap<>();
+        return computeFrequencies(data);
+    }
 
-        for (final double value: data) {
-            if (valuesAndTheirFrequencies.containsKey(value)) {
-                final double oldValue = valuesAndTheirFrequencies.get(value);
-                final double newValue = oldValue + 1;
+    private static Map<Double, Double> computeFrequencies(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-                valuesAndTheirFrequencies.replace(value, oldValue, newValue);
-            } else {
-                valuesAndTheirFrequencies.put(value, 1.0);
-            }
+        return FrequencyTable.of(data).toMap();
+    }
+
+    /**
+     * This method returns distinct values of a given array and the number
+     * of times each of them appears. Unlike {@link #frequencies(double[])}
+     * it does not box values or counts.
+     *
+     * @param data a given array of values.
+     * @return frequency table of the values.
+     * @throws NullPointerException is given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static FrequencyTable frequencyTable(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.FREQUENCY_TABLE,
+                                          data,
+                                          Statistics::computeFrequencyTable);
         }
 
-        for (final double value: valuesAndTheirFrequencies.keySet()) {
-            final double frequency = valuesAndTheirFrequencies.get(value);
+        return computeFrequencyTable(data);
+    }
 
-            valuesAndTheirFrequencies.replace(value,
-                                              frequency,
-                                              frequency / data.length);
-        }
+    private static FrequencyTable computeFrequencyTable(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-        return valuesAndTheirFrequencies;
+        return FrequencyTable.of(data);
     }
 
     /**
-     * This method returns an overall statistics on values in a given array.
+     * This method records the values of a given array into a histogram.
+     * Unlike {@link #frequencies(double[])} and {@link #mode(double[])},
+     * {@link Histogram#frequencies()} and {@link Histogram#modalBins()} of
+     * the histogram count values by bin and take the same memory however
+     * many distinct values there are.
      *
-     * @param data array with values.
-     * @return overall statistics.
+     * @param data a given array of values.
+     * @param histogram histogram to record the values into.
+     * @return the histogram.
+     * @throws NullPointerException if given array or histogram is null.
+     */
+    public static Histogram histogram(final double[] data,
+                                      final Histogram histogram) {
+        histogram.accept(data);
+
+        return histogram;
+    }
+
+    /**
+     * This method calculates median of a given array. Values which span
+     * a narrow range are counted in O(n + range) without comparisons,
+     * others are sorted in a copy of the array.
+     *
+     * @param data array to find median of.
+     * @return median of a given array.
      * @throws NullPointerException if given array is null.
-     * @throws NotEnoughDataException if given array has less than two values.
+     * @throws NotEnoughDataException if given array is empty.
      */
-    public static String overallStatistics(final double[] data)
+    public static double median(final int[] data)
                                             throws NotEnoughDataException {
-        checkIfDataIsValid(data, 2);
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MEDIAN,
+                    Instrumentation.inputSize(data),
+                    () -> computeMedian(data));
+        }
+
+        return computeMedian(data);
+    }
 
-        final StringBuilder modes = new StringBuilder("Mode(s): ");
+    private static double computeMedian(final int[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
 
-        final double[] modesAndTheirQuantity = mode(data);
+        return IntegerCounts.of(data).median();
+    }
 
-        for (int index = 0; index < modesAndTheirQuantity.length - 1; ++index) {
-            if (index != modesAndTheirQuantity.length - 2) {
-                modes.append(modesAndTheirQuantity[index]).append(", ");
-            } else {
-                modes.append(modesAndTheirQuantity[index]);
-            }
+    /**
+     * This method returns the median of the first half of a given array,
+     * see {@link #firstQuartile(double[])} and {@link #median(int[])}.
+     *
+     * @param data array to find the first quartile of.
+     * @return the first quartile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double firstQuartile(final int[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.FIRST_QUARTILE,
+                    Instrumentation.inputSize(data),
+                    () -> computeFirstQuartile(data));
         }
 
-        final int modeQuantity =
-                (int) modesAndTheirQuantity[modesAndTheirQuantity.length - 1];
+        return computeFirstQuartile(data);
+    }
+
+    private static double computeFirstQuartile(final int[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return IntegerCounts.of(data).firstQuartile();
+    }
+
+    /**
+     * This method returns the median of the second half of a given array,
+     * see {@link #thirdQuartile(double[])} and {@link #median(int[])}.
+     *
+     * @param data array to find the third quartile of.
+     * @return the third quartile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double thirdQuartile(final int[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.THIRD_QUARTILE,
+                    Instrumentation.inputSize(data),
+                    () -> computeThirdQuartile(data));
+        }
+
+        return computeThirdQuartile(data);
+    }
+
+    private static double computeThirdQuartile(final int[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return IntegerCounts.of(data).thirdQuartile();
+    }
+
+    /**
+     * This method returns mode(s) of a given array and their quantity,
+     * see {@link #mode(double[])} and {@link #median(int[])}.
+     *
+     * @param data array to find mode(s) of.
+     * @return an array with modes in ascending order and their quantity
+     *         as the last value of the array.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double[] mode(final int[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.MODE,
+                    Instrumentation.inputSize(data),
+                    () -> computeMode(data));
+        }
+
+        return computeMode(data);
+    }
+
+    private static double[] computeMode(final int[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return modesAndTheirQuantity(IntegerCounts.of(data));
+    }
+
+    /**
+     * This method returns distinct values of a given array and the number
+     * of times each of them appears, see {@link #frequencyTable(double[])}
+     * and {@link #median(int[])}.
+     *
+     * @param data a given array of values.
+     * @return frequency table of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static FrequencyTable frequencyTable(final int[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.FREQUENCY_TABLE,
+                    Instrumentation.inputSize(data),
+                    () -> computeFrequencyTable(data));
+        }
+
+        return computeFrequencyTable(data);
+    }
+
+    private static FrequencyTable computeFrequencyTable(final int[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return IntegerCounts.of(data).frequencyTable(data);
+    }
+
+    /**
+     * This method returns a summary of values in a given array,
+     * see {@link #summary(double[])}. Order statistics, modes and moments
+     * all come from a single count of the values, see
+     * {@link #median(int[])}.
+     *
+     * @param data array with values.
+     * @return summary of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static Summary summary(final int[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.SUMMARY,
+                    Instrumentation.inputSize(data),
+                    () -> computeSummary(data));
+        }
+
+        return computeSummary(data);
+    }
+
+    private static Summary computeSummary(final int[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return IntegerCounts.of(data).summary();
+    }
+
+    /**
+     * This method calculates median of a given array. Values which span
+     * a narrow range are counted in O(n + range) without comparisons,
+     * others are sorted in a copy of the array.
+     *
+     * @param data array to find median of.
+     * @return median of a given array.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double median(final long[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MEDIAN,
+                    Instrumentation.inputSize(data),
+                    () -> computeMedian(data));
+        }
+
+        return computeMedian(data);
+    }
+
+    private static double computeMedian(final long[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return IntegerCounts.of(data).median();
+    }
+
+    /**
+     * This method returns the median of the first half of a given array,
+     * see {@link #firstQuartile(double[])} and {@link #median(long[])}.
+     *
+     * @param data array to find the first quartile of.
+     * @return the first quartile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double firstQuartile(final long[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.FIRST_QUARTILE,
+                    Instrumentation.inputSize(data),
+                    () -> computeFirstQuartile(data));
+        }
+
+        return computeFirstQuartile(data);
+    }
+
+    private static double computeFirstQuartile(final long[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return IntegerCounts.of(data).firstQuartile();
+    }
+
+    /**
+     * This method returns the median of the second half of a given array,
+     * see {@link #thirdQuartile(double[])} and {@link #median(long[])}.
+     *
+     * @param data array to find the third quartile of.
+     * @return the third quartile.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double thirdQuartile(final long[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.THIRD_QUARTILE,
+                    Instrumentation.inputSize(data),
+                    () -> computeThirdQuartile(data));
+        }
+
+        return computeThirdQuartile(data);
+    }
+
+    private static double computeThirdQuartile(final long[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return IntegerCounts.of(data).thirdQuartile();
+    }
+
+    /**
+     * This method returns mode(s) of a given array and their quantity,
+     * see {@link #mode(double[])} and {@link #median(long[])}.
+     *
+     * @param data array to find mode(s) of.
+     * @return an array with modes in ascending order and their quantity
+     *         as the last value of the array.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double[] mode(final long[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.MODE,
+                    Instrumentation.inputSize(data),
+                    () -> computeMode(data));
+        }
+
+        return computeMode(data);
+    }
+
+    private static double[] computeMode(final long[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return modesAndTheirQuantity(IntegerCounts.of(data));
+    }
+
+    /**
+     * This method returns distinct values of a given array and the number
+     * of times each of them appears, see {@link #frequencyTable(double[])}
+     * and {@link #median(long[])}.
+     * Values beyond 2^53 in magnitude are rounded to the nearest double.
+     *
+     * @param data a given array of values.
+     * @return frequency table of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static FrequencyTable frequencyTable(final long[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.FREQUENCY_TABLE,
+                    Instrumentation.inputSize(data),
+                    () -> computeFrequencyTable(data));
+        }
+
+        return computeFrequencyTable(data);
+    }
+
+    private static FrequencyTable computeFrequencyTable(final long[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return IntegerCounts.of(data).frequencyTable(data);
+    }
+
+    /**
+     * This method returns a summary of values in a given array,
+     * see {@link #summary(double[])}. Order statistics, modes and moments
+     * all come from a single count of the values, see
+     * {@link #median(long[])}.
+     *
+     * @param data array with values.
+     * @return summary of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static Summary summary(final long[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.SUMMARY,
+                    Instrumentation.inputSize(data),
+                    () -> computeSummary(data));
+        }
+
+        return computeSummary(data);
+    }
+
+    private static Summary computeSummary(final long[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return IntegerCounts.of(data).summary();
+    }
+
+    /**
+     * This method finds the minimum value in a given array.
+     *
+     * @param data array to search minimum value in.
+     * @param mode whether to search in parallel.
+     * @return minimum value in a given array.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double min(final double[] data, final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MIN,
+                    data,
+                    values -> computeMin(values, mode));
+        }
+
+        return computeMin(data, mode);
+    }
+
+    private static double computeMin(final double[] data,
+                                     final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeMin(data);
+        }
+
+        return ParallelStatistics.reduce(data, false).min();
+    }
+
+    /**
+     * This method finds the maximum value in a given array.
+     *
+     * @param data array to search maximum value in.
+     * @param mode whether to search in parallel.
+     * @return maximum value in a given array.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double max(final double[] data, final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MAX,
+                    data,
+                    values -> computeMax(values, mode));
+        }
+
+        return computeMax(data, mode);
+    }
+
+    private static double computeMax(final double[] data,
+                                     final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeMax(data);
+        }
+
+        return ParallelStatistics.reduce(data, false).max();
+    }
+
+    /**
+     * This method calculates average arithmetic of a given array.
+     *
+     * @param data array to find average arithmetic of.
+     * @param mode whether to calculate in parallel.
+     * @return average arithmetic of a given array.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double averageArithmetic(final double[] data,
+                                           final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.AVERAGE_ARITHMETIC,
+                    data,
+                    values -> computeAverageArithmetic(values, mode));
+        }
+
+        return computeAverageArithmetic(data, mode);
+    }
+
+    private static double computeAverageArithmetic(final double[] data,
+                                                   final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeAverageArithmetic(data, Summation.PAIRWISE);
+        }
+
+        return ParallelStatistics.reduce(data, false).averageArithmetic();
+    }
+
+    /**
+     * This method calculates the variance of the given values.
+     *
+     * @param data array to find variance of.
+     * @param mode whether to calculate in parallel.
+     * @return variance of the given values.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double variance(final double[] data,
+                                  final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.VARIANCE,
+                    data,
+                    values -> computeVariance(values, mode));
+        }
+
+        return computeVariance(data, mode);
+    }
+
+    private static double computeVariance(final double[] data,
+                                          final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeVariance(data, Summation.PAIRWISE);
+        }
+
+        return ParallelStatistics.reduce(data, true).variance();
+    }
+
+    /**
+     * This method calculates median of a given array.
+     * In parallel mode a copy of the array is sorted in parallel.
+     *
+     * @param data array to find median of.
+     * @param mode whether to calculate in parallel.
+     * @return median of a given array.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static double median(final double[] data,
+                                final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MEDIAN,
+                    data,
+                    values -> computeMedian(values, mode));
+        }
+
+        return computeMedian(data, mode);
+    }
+
+    private static double computeMedian(final double[] data,
+                                        final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeMedian(data);
+        }
+
+        final double[] sorted = ParallelStatistics.sortedCopy(data);
+
+        return SummaryCalculator.medianOfSorted(sorted, 0, sorted.length);
+    }
+
+    /**
+     * This method returns the first quartile of a given array,
+     * see {@link #firstQuartile(double[])}.
+     * In parallel mode a copy of the array is sorted in parallel.
+     *
+     * @param data array to find the first quartile of.
+     * @param mode whether to calculate in parallel.
+     * @return the first quartile.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double firstQuartile(final double[] data,
+                                       final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.FIRST_QUARTILE,
+                    data,
+                    values -> computeFirstQuartile(values, mode));
+        }
+
+        return computeFirstQuartile(data, mode);
+    }
+
+    private static double computeFirstQuartile(final double[] data,
+                                               final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeFirstQuartile(data);
+        }
+
+        final double[] sorted = ParallelStatistics.sortedCopy(data);
+
+        return SummaryCalculator.medianOfSorted(sorted, 0, sorted.length / 2);
+    }
+
+    /**
+     * This method returns the third quartile of a given array,
+     * see {@link #thirdQuartile(double[])}.
+     * In parallel mode a copy of the array is sorted in parallel.
+     *
+     * @param data array to find the third quartile of.
+     * @param mode whether to calculate in parallel.
+     * @return the third quartile.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double thirdQuartile(final double[] data,
+                                       final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.THIRD_QUARTILE,
+                    data,
+                    values -> computeThirdQuartile(values, mode));
+        }
+
+        return computeThirdQuartile(data, mode);
+    }
+
+    private static double computeThirdQuartile(final double[] data,
+                                               final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeThirdQuartile(data);
+        }
+
+        final double[] sorted = ParallelStatistics.sortedCopy(data);
+        final int dataLength = sorted.length;
+
+        return SummaryCalculator.medianOfSorted(sorted,
+                                                dataLength - dataLength / 2,
+                                                dataLength);
+    }
+
+    /**
+     * This method calculates an interquartile range (IQR) of a given array.
+     * In parallel mode a copy of the array is sorted in parallel.
+     *
+     * @param data array to find IQR of.
+     * @param mode whether to calculate in parallel.
+     * @return interquartile range.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double iqr(final double[] data, final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.IQR,
+                    data,
+                    values -> computeIqr(values, mode));
+        }
+
+        return computeIqr(data, mode);
+    }
+
+    private static double computeIqr(final double[] data,
+                                     final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        if (!mode.isParallelFor(data.length)) {
+            return computeIqr(data);
+        }
+
+        final double[] sorted = ParallelStatistics.sortedCopy(data);
+        final int dataLength = sorted.length;
+
+        return SummaryCalculator.medianOfSorted(sorted,
+                                                dataLength - dataLength / 2,
+                                                dataLength)
+               - SummaryCalculator.medianOfSorted(sorted, 0, dataLength / 2);
+    }
+
+    /**
+     * This method finds the minimum of the values remaining in a given
+     * buffer. The position of the buffer is not changed.
+     *
+     * @param data buffer to search minimum value in.
+     * @return minimum value in a given buffer.
+     * @throws NullPointerException if given buffer is null.
+     * @throws NotEnoughDataException if given buffer has no values remaining.
+     */
+    public static double min(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MIN,
+                    Instrumentation.inputSize(data),
+                    () -> computeMin(data));
+        }
+
+        return computeMin(data);
+    }
+
+    private static double computeMin(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        final int limit = data.limit();
+
+        double currentMinimum = data.get(data.position());
+
+        for (int index = data.position() + 1; index < limit; ++index) {
+            if (data.get(index) < currentMinimum) {
+                currentMinimum = data.get(index);
+            }
+        }
+
+        return currentMinimum;
+    }
+
+    /**
+     * This method finds the maximum of the values remaining in a given
+     * buffer. The position of the buffer is not changed.
+     *
+     * @param data buffer to search maximum value in.
+     * @return maximum value in a given buffer.
+     * @throws NullPointerException if given buffer is null.
+     * @throws NotEnoughDataException if given buffer has no values remaining.
+     */
+    public static double max(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.MAX,
+                    Instrumentation.inputSize(data),
+                    () -> computeMax(data));
+        }
+
+        return computeMax(data);
+    }
+
+    private static double computeMax(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        final int limit = data.limit();
+
+        double currentMax = data.get(data.position());
+
+        for (int index = data.position() + 1; index < limit; ++index) {
+            if (data.get(index) > currentMax) {
+                currentMax = data.get(index);
+            }
+        }
+
+        return currentMax;
+    }
+
+    /**
+     * This method calculates average arithmetic of the values remaining in
+     * a given buffer. The position of the buffer is not changed.
+     * Values are added with {@link Summation#PAIRWISE} summation.
+     *
+     * @param data buffer to find average arithmetic of.
+     * @return average arithmetic of a given buffer.
+     * @throws NullPointerException if given buffer is null.
+     * @throws NotEnoughDataException if given buffer has no values remaining.
+     */
+    public static double averageArithmetic(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.AVERAGE_ARITHMETIC,
+                    Instrumentation.inputSize(data),
+                    () -> computeAverageArithmetic(data));
+        }
+
+        return computeAverageArithmetic(data);
+    }
+
+    private static double computeAverageArithmetic(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        return Reductions.sum(data, Summation.PAIRWISE) / data.remaining();
+    }
+
+    /**
+     * This method calculates the variance of the values remaining in a given
+     * buffer. The position of the buffer is not changed.
+     * Values are added with {@link Summation#PAIRWISE} summation.
+     *
+     * @param data buffer to find variance of.
+     * @return variance of the given values.
+     * @throws NullPointerException if given buffer is null.
+     * @throws NotEnoughDataException if given buffer has less than two values
+     *                                remaining.
+     */
+    public static double variance(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.VARIANCE,
+                    Instrumentation.inputSize(data),
+                    () -> computeVariance(data));
+        }
+
+        return computeVariance(data);
+    }
+
+    private static double computeVariance(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        final double averageArithmetic = computeAverageArithmetic(data);
+
+        return Reductions.sumOfSquaredDifferences(data,
+                                                  averageArithmetic,
+                                                  Summation.PAIRWISE)
+               / (data.remaining() - 1);
+    }
+
+    /**
+     * This method returns a summary of the values remaining in a given
+     * buffer which has no order statistics. The position of the buffer is
+     * not changed. Values are added with {@link Summation#PAIRWISE}
+     * summation, like in {@link #momentSummary(double[])}.
+     *
+     * @param data buffer with values.
+     * @return summary of the values without order statistics.
+     * @throws NullPointerException if given buffer is null.
+     * @throws NotEnoughDataException if given buffer has less than two values
+     *                                remaining.
+     */
+    public static Summary momentSummary(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.MOMENT_SUMMARY,
+                    Instrumentation.inputSize(data),
+                    () -> computeMomentSummary(data));
+        }
+
+        return computeMomentSummary(data);
+    }
+
+    private static Summary computeMomentSummary(final DoubleBuffer data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        final int numberOfValues = data.remaining();
+        final double averageArithmetic = computeAverageArithmetic(data);
+        final double sumOfSquaredDifferences =
+                Reductions.sumOfSquaredDifferences(data,
+                                                   averageArithmetic,
+                                                   Summation.PAIRWISE);
+
+        return new Summary(numberOfValues,
+                           computeMin(data),
+                           computeMax(data),
+                           averageArithmetic,
+                           sumOfSquaredDifferences / (numberOfValues - 1));
+    }
+
+    /**
+     * This method returns a summary of values in a given array: extremes,
+     * average arithmetic, variance, modes and quartiles.
+     * A copy of the array is sorted once, the array itself is left untouched.
+     *
+     * @param data array with values.
+     * @return summary of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static Summary summary(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.SUMMARY,
+                                          data,
+                                          Statistics::computeSummary);
+        }
+
+        return computeSummary(data);
+    }
+
+    private static Summary computeSummary(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return SummaryCalculator.summarize(data);
+    }
+
+    /**
+     * This method returns an immutable sorted view of a given array which
+     * answers order statistics, ranks and modes without sorting again.
+     * Create it once when several such statistics of the same values are
+     * needed. The array itself is left untouched.
+     *
+     * @param data array with values.
+     * @return sorted view of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static SortedView sortedView(final double[] data)
+                                            throws NotEnoughDataException {
+        return SortedView.of(data);
+    }
+
+    /**
+     * This method returns a summary of values in a given array,
+     * see {@link #summary(double[])}. In parallel mode the reduction and
+     * the sorting of a copy of the array run in parallel.
+     *
+     * @param data array with values.
+     * @param mode whether to compute in parallel.
+     * @return summary of the values.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static Summary summary(final double[] data,
+                                  final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.SUMMARY,
+                    data,
+                    values -> computeSummary(values, mode));
+        }
+
+        return computeSummary(data, mode);
+    }
+
+    private static Summary computeSummary(final double[] data,
+                                          final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        if (!mode.isParallelFor(data.length)) {
+            return SummaryCalculator.summarize(data);
+        }
+
+        return ParallelStatistics.summarize(data);
+    }
+
+    /**
+     * This method returns a summary of values in a given array which
+     * contains only extremes, average arithmetic and variance.
+     * Nothing is sorted or copied, so it is much cheaper than
+     * {@link #summary(double[])}.
+     *
+     * @param data array with values.
+     * @return summary of the values without order statistics.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static Summary momentSummary(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.MOMENT_SUMMARY,
+                                          data,
+                                          Statistics::computeMomentSummary);
+        }
+
+        return computeMomentSummary(data);
+    }
+
+    private static Summary computeMomentSummary(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        return SummaryCalculator.summarizeMoments(data);
+    }
+
+    /**
+     * This method accumulates count, average arithmetic and the central
+     * moments up to the fourth of values in a given array in a single
+     * pass over it, see {@link Moments}.
+     *
+     * @param data array with values.
+     * @return moments of the values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static Moments moments(final double[] data)
+                                            throws NotEnoughDataException {
+        return moments(data, ExecutionMode.SEQUENTIAL);
+    }
+
+    /**
+     * This method accumulates the moments of values in a given array,
+     * see {@link #moments(double[])}. In parallel mode parts of the array
+     * are accumulated in parallel and combined in a fixed order.
+     *
+     * @param data array with values.
+     * @param mode whether to accumulate in parallel.
+     * @return moments of the values.
+     * @throws NullPointerException if given array or mode is null.
+     * @throws NotEnoughDataException if given array is empty.
+     */
+    public static Moments moments(final double[] data,
+                                  final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.MOMENTS,
+                    data,
+                    values -> computeMoments(values, mode));
+        }
+
+        return computeMoments(data, mode);
+    }
+
+    private static Moments computeMoments(final double[] data,
+                                          final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 1);
+
+        if (mode.isParallelFor(data.length)) {
+            return ParallelStatistics.moments(data);
+        }
+
+        final Moments moments = new Moments();
+
+        moments.accept(data);
+
+        return moments;
+    }
+
+    /**
+     * This method calculates the standard deviation of the given values,
+     * the square root of their variance.
+     *
+     * @param data array to find standard deviation of.
+     * @return standard deviation of the given values.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static double standardDeviation(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.STANDARD_DEVIATION,
+                    data,
+                    Statistics::computeStandardDeviation);
+        }
+
+        return computeStandardDeviation(data);
+    }
+
+    private static double computeStandardDeviation(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 2);
+
+        final Moments moments = computeMoments(data, ExecutionMode.SEQUENTIAL);
+
+        return moments.standardDeviation();
+    }
+
+    /**
+     * This method calculates the skewness of the given values,
+     * see {@link Moments#skewness()}.
+     *
+     * @param data array to find skewness of.
+     * @return skewness of the given values, NaN if they are all equal.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than three
+     *                                values.
+     */
+    public static double skewness(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(Operation.SKEWNESS,
+                                                data,
+                                                Statistics::computeSkewness);
+        }
+
+        return computeSkewness(data);
+    }
+
+    private static double computeSkewness(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 3);
+
+        final Moments moments = computeMoments(data, ExecutionMode.SEQUENTIAL);
+
+        return moments.skewness();
+    }
+
+    /**
+     * This method calculates the excess kurtosis of the given values,
+     * see {@link Moments#kurtosis()}.
+     *
+     * @param data array to find kurtosis of.
+     * @return excess kurtosis of the given values, NaN if they are all
+     *         equal.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than four
+     *                                values.
+     */
+    public static double kurtosis(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(Operation.KURTOSIS,
+                                                data,
+                                                Statistics::computeKurtosis);
+        }
+
+        return computeKurtosis(data);
+    }
+
+    private static double computeKurtosis(final double[] data)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(data, 4);
+
+        final Moments moments = computeMoments(data, ExecutionMode.SEQUENTIAL);
+
+        return moments.kurtosis();
+    }
+
+    /**
+     * This method accumulates averages arithmetic, sums of squared
+     * differences and the co-moment of pairs of values under the same
+     * indexes of two arrays in a single pass over them, see
+     * {@link CoMoments}.
+     *
+     * @param x first values of the pairs.
+     * @param y second values of the pairs.
+     * @param mode whether to accumulate in parallel.
+     * @return co-moments of the pairs.
+     * @throws NullPointerException if given arrays or mode are null.
+     * @throws NotEnoughDataException if given arrays are empty.
+     * @throws IllegalArgumentException if the arrays have different
+     *                                  lengths.
+     */
+    public static CoMoments coMoments(final double[] x,
+                                      final double[] y,
+                                      final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.CO_MOMENTS,
+                    x,
+                    values -> computeCoMoments(values, y, mode));
+        }
+
+        return computeCoMoments(x, y, mode);
+    }
+
+    private static CoMoments computeCoMoments(final double[] x,
+                                              final double[] y,
+                                              final ExecutionMode mode)
+                                            throws NotEnoughDataException {
+        return coMoments(x, y, mode, 1);
+    }
+
+    /**
+     * This method calculates the sample covariance of pairs of values under
+     * the same indexes of two arrays.
+     *
+     * @param x first values of the pairs.
+     * @param y second values of the pairs.
+     * @return covariance of the pairs.
+     * @throws NullPointerException if given arrays are null.
+     * @throws NotEnoughDataException if given arrays have less than two
+     *                                values.
+     * @throws IllegalArgumentException if the arrays have different
+     *                                  lengths.
+     */
+    public static double covariance(final double[] x, final double[] y)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.COVARIANCE,
+                    x,
+                    values -> computeCovariance(values, y));
+        }
+
+        return computeCovariance(x, y);
+    }
+
+    private static double computeCovariance(final double[] x, final double[] y)
+                                            throws NotEnoughDataException {
+        return coMoments(x, y, ExecutionMode.SEQUENTIAL, 2).covariance();
+    }
+
+    /**
+     * This method calculates the Pearson correlation coefficient of pairs of
+     * values under the same indexes of two arrays.
+     *
+     * @param x first values of the pairs.
+     * @param y second values of the pairs.
+     * @return correlation from -1 to 1, NaN if all values of an array are
+     *         equal.
+     * @throws NullPointerException if given arrays are null.
+     * @throws NotEnoughDataException if given arrays have less than two
+     *                                values.
+     * @throws IllegalArgumentException if the arrays have different
+     *                                  lengths.
+     */
+    public static double correlation(final double[] x, final double[] y)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.recordDouble(
+                    Operation.CORRELATION,
+                    x,
+                    values -> computeCorrelation(values, y));
+        }
+
+        return computeCorrelation(x, y);
+    }
+
+    private static double computeCorrelation(final double[] x, final double[] y)
+                                            throws NotEnoughDataException {
+        return coMoments(x, y, ExecutionMode.SEQUENTIAL, 2).correlation();
+    }
+
+    private static CoMoments coMoments(final double[] x,
+                                       final double[] y,
+                                       final ExecutionMode mode,
+                                       final int minimumPermissibleLength)
+                                            throws NotEnoughDataException {
+        checkIfDataIsValid(x, minimumPermissibleLength);
+        checkIfDataIsValid(y, minimumPermissibleLength);
+        CoMoments.checkIfLengthsAreEqual(x, y);
+
+        if (mode.isParallelFor(x.length)) {
+            return ParallelStatistics.coMoments(x, y);
+        }
+
+        final CoMoments coMoments = new CoMoments();
+
+        coMoments.accept(x, y);
+
+        return coMoments;
+    }
+
+    /**
+     * This method summarises many series of values which lie one after
+     * another in a single array, see {@link SeriesSummaries}. It is much
+     * cheaper than {@link #summary(double[])} of every series when there
+     * are many short ones.
+     *
+     * @param values values of all the series one after another.
+     * @param offsets index of the first value of every series followed by
+     *                the index after the last value of the last series.
+     * @return statistics of the series.
+     * @throws NullPointerException if values or offsets are null.
+     * @throws IllegalArgumentException if offsets are empty, decrease or
+     *                                  are out of the values.
+     */
+    public static SeriesSummaries summarizeSeries(final double[] values,
+                                                  final int[] offsets) {
+        return summarizeSeries(values, offsets, ExecutionMode.SEQUENTIAL);
+    }
+
+    /**
+     * This method summarises many series of values which lie one after
+     * another in a single array, see {@link #summarizeSeries(double[],
+     * int[])}. In parallel mode the series are split between the threads
+     * of the common fork/join pool.
+     *
+     * @param values values of all the series one after another.
+     * @param offsets index of the first value of every series followed by
+     *                the index after the last value of the last series.
+     * @param mode whether to summarise the series in parallel.
+     * @return statistics of the series.
+     * @throws NullPointerException if values, offsets or mode are null.
+     * @throws IllegalArgumentException if offsets are empty, decrease or
+     *                                  are out of the values.
+     */
+    public static SeriesSummaries summarizeSeries(final double[] values,
+                                                  final int[] offsets,
+                                                  final ExecutionMode mode) {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(
+                    Operation.SUMMARIZE_SERIES,
+                    Instrumentation.inputSize(values),
+                    () -> SeriesSummaries.of(values, offsets, mode));
+        }
+
+        return SeriesSummaries.of(values, offsets, mode);
+    }
+
+    /**
+     * This method computes count, average arithmetic, variance, minimum and
+     * maximum of the values of every key in a single pass over the columns,
+     * without splitting them into an array per key.
+     *
+     * @param keys key of every value.
+     * @param values values, as many as keys.
+     * @return statistics of the groups.
+     * @throws NullPointerException if keys or values are null.
+     * @throws IllegalArgumentException if there are not as many values
+     *                                  as keys.
+     */
+    public static GroupedStatistics groupBy(final int[] keys,
+                                            final double[] values) {
+        return groupBy(keys, values, ExecutionMode.SEQUENTIAL, false);
+    }
+
+    /**
+     * This method computes statistics of the values of every key,
+     * see {@link #groupBy(int[], double[])}.
+     *
+     * @param keys key of every value.
+     * @param values values, as many as keys.
+     * @return statistics of the groups.
+     * @throws NullPointerException if keys or values are null.
+     * @throws IllegalArgumentException if there are not as many values
+     *                                  as keys.
+     */
+    public static GroupedStatistics groupBy(final long[] keys,
+                                            final double[] values) {
+        return groupBy(keys, values, ExecutionMode.SEQUENTIAL, false);
+    }
+
+    /**
+     * This method computes statistics of the values of every key,
+     * see {@link #groupBy(long[], double[], ExecutionMode, boolean)}.
+     *
+     * @param keys key of every value.
+     * @param values values, as many as keys.
+     * @param mode whether to group in parallel.
+     * @param withOrderStatistics true if median, quartiles and quantiles of
+     *                            the groups are needed.
+     * @return statistics of the groups.
+     * @throws NullPointerException if keys, values or mode are null.
+     * @throws IllegalArgumentException if there are not as many values
+     *                                  as keys.
+     */
+    public static GroupedStatistics groupBy(final int[] keys,
+                                            final double[] values,
+                                            final ExecutionMode mode,
+                                            final boolean withOrderStatistics) {
+        Objects.requireNonNull(keys);
+
+        return GroupedStatistics.of(keys,
+                                    null,
+                                    values,
+                                    mode,
+                                    withOrderStatistics);
+    }
+
+    /**
+     * This method computes statistics of the values of every key.
+     * Count, sum and extremes of every key are accumulated in primitive
+     * arrays found through a hash table, then squared differences from
+     * the averages are added up in a second pass. In parallel mode parts of
+     * the columns are grouped separately and merged in a fixed order.
+     * If order statistics are requested the values are scattered into
+     * one array grouped by key and every group is sorted.
+     *
+     * @param keys key of every value.
+     * @param values values, as many as keys.
+     * @param mode whether to group in parallel.
+     * @param withOrderStatistics true if median, quartiles and quantiles of
+     *                            the groups are needed.
+     * @return statistics of the groups.
+     * @throws NullPointerException if keys, values or mode are null.
+     * @throws IllegalArgumentException if there are not as many values
+     *                                  as keys.
+     */
+    public static GroupedStatistics groupBy(final long[] keys,
+                                            final double[] values,
+                                            final ExecutionMode mode,
+                                            final boolean withOrderStatistics) {
+        Objects.requireNonNull(keys);
+
+        return GroupedStatistics.of(null,
+                                    keys,
+                                    values,
+                                    mode,
+                                    withOrderStatistics);
+    }
+
+    /**
+     * This method returns an overall statistics on values in a given array.
+     *
+     * @param data array with values.
+     * @return overall statistics.
+     * @throws NullPointerException if given array is null.
+     * @throws NotEnoughDataException if given array has less than two values.
+     */
+    public static String overallStatistics(final double[] data)
+                                            throws NotEnoughDataException {
+        if (Instrumentation.isEnabled()) {
+            return Instrumentation.record(Operation.OVERALL_STATISTICS,
+                                          data,
+                                          Statistics::computeOverallStatistics);
+        }
 
-        modes.append("; quantity: ").append(modeQuantity);
+        return computeOverallStatistics(data);
+    }
 
-        return "Minimum: " + min(data) + "\n" +
-               "Maximum: " + max(data) + "\n" +
-               "Average arithmetic: " + averageArithmetic(data) + "\n" +
-               modes.toString() + "\n" +
-               "First quartile: " + firstQuartile(data) + "\n" +
-               "Median: " + median(data) + "\n" +
-               "Third quartile: " + thirdQuartile(data) + "\n" +
-               "IQR: " + iqr(data) + "\n" +
-               "3/2 IQR: " + threeOverTwoIqr(data);
+    private static String computeOverallStatistics(final double[] data)
+                                            throws NotEnoughDataException {
+        return computeSummary(data).toString();
     }
 }
\ No newline at end of file
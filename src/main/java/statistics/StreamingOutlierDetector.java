@@ -0,0 +1,219 @@
+package statistics;
+
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class finds outliers of an unbounded stream of values in bounded
+ * memory. Fences are derived by an {@link OutlierRule} like in
+ * {@link OutlierDetector}, but quantiles come from a {@link QuantileSketch}
+ * and so are approximate, while the average arithmetic and the standard
+ * deviation of {@link OutlierRule#Z_SCORE} are exact. The median absolute
+ * deviation is found by bisection on the distribution function of
+ * the sketch: it is the smallest distance from the median within which
+ * half of the values lie.
+ * <p>
+ * Fences are derived when they are asked for and kept until more values
+ * are added, so values can be tested against the same fences many times
+ * at no cost. NaN values are ignored and are never outliers.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class StreamingOutlierDetector implements DoubleConsumer {
+    /**
+     * Maximum number of halvings of the interval of the median absolute
+     * deviation, enough to reach the precision of a double.
+     */
+    private static final int MAXIMUM_BISECTIONS = 64;
+
+    private final OutlierRule rule;
+    private final double threshold;
+    private final QuantileSketch sketch;
+    private final Moments moments = new Moments();
+
+    private OutlierFences fences;
+    private long fencesCount;
+
+    /**
+     * Constructor for StreamingOutlierDetector class instance with a sketch
+     * of default accuracy.
+     *
+     * @param rule the way fences are derived from the values.
+     * @param threshold multiplier of the measure of spread of the rule.
+     * @throws NullPointerException if rule is null.
+     * @throws IllegalArgumentException if threshold is not positive and
+     *                                  finite.
+     */
+    public StreamingOutlierDetector(final OutlierRule rule,
+                                    final double threshold) {
+        this(rule, threshold, QuantileSketch.DEFAULT_K);
+    }
+
+    /**
+     * Constructor for StreamingOutlierDetector class instance.
+     *
+     * @param rule the way fences are derived from the values.
+     * @param threshold multiplier of the measure of spread of the rule.
+     * @param k accuracy parameter of the sketch.
+     * @throws NullPointerException if rule is null.
+     * @throws IllegalArgumentException if threshold is not positive and
+     *                                  finite or k is less than
+     *                                  {@link QuantileSketch#MINIMUM_K} or
+     *                                  greater than
+     *                                  {@link QuantileSketch#MAXIMUM_K}.
+     */
+    public StreamingOutlierDetector(final OutlierRule rule,
+                                    final double threshold,
+                                    final int k) {
+        this.rule = Objects.requireNonNull(rule);
+        this.threshold = OutlierDetector.checkIfThresholdIsValid(threshold);
+        this.sketch = new QuantileSketch(k);
+    }
+
+    /**
+     * This method adds a value.
+     *
+     * @param value value to add, NaN is ignored.
+     */
+    @Override
+    public void accept(final double value) {
+        if (value != value) {
+            return;
+        }
+
+        if (rule == OutlierRule.Z_SCORE) {
+            moments.accept(value);
+        } else {
+            sketch.accept(value);
+        }
+    }
+
+    /**
+     * This method adds all values of a given array.
+     *
+     * @param data array with values to add.
+     * @throws NullPointerException if given array is null.
+     */
+    public void accept(final double[] data) {
+        for (final double value: data) {
+            accept(value);
+        }
+    }
+
+    /**
+     * @return number of added values which are not NaN.
+     */
+    public long count() {
+        return rule == OutlierRule.Z_SCORE ? moments.count() : sketch.count();
+    }
+
+    /**
+     * This method returns the fences of the added values.
+     *
+     * @return fences of the added values.
+     * @throws NotEnoughDataException if less than two values were added.
+     */
+    public OutlierFences fences() throws NotEnoughDataException {
+        final long count = count();
+
+        if (count < 2) {
+            throw new NotEnoughDataException("There is not enough data!" +
+                                             "Minimum quantity of values " +
+                                             "needed: 2.");
+        }
+
+        if (fences == null || fencesCount != count) {
+            fences = deriveFences();
+            fencesCount = count;
+        }
+
+        return fences;
+    }
+
+    /**
+     * This method tests a value against the fences of the added values.
+     * The value is not added.
+     *
+     * @param value value to test.
+     * @return true if the value is an outlier.
+     * @throws NotEnoughDataException if less than two values were added.
+     */
+    public boolean isOutlier(final double value)
+                                            throws NotEnoughDataException {
+        return fences().isOutlier(value);
+    }
+
+    /**
+     * This method derives fences of the added values by the rule.
+     */
+    private OutlierFences deriveFences() throws NotEnoughDataException {
+        switch (rule) {
+            case TUKEY: {
+                final double firstQuartile = sketch.firstQuartile();
+                final double thirdQuartile = sketch.thirdQuartile();
+                final double margin =
+                        threshold * (thirdQuartile - firstQuartile);
+
+                return new OutlierFences(firstQuartile - margin,
+                                         thirdQuartile + margin);
+            }
+            case MEDIAN_ABSOLUTE_DEVIATION: {
+                final double median = sketch.median();
+                final double margin =
+                        threshold
+                        * OutlierDetector.MEDIAN_ABSOLUTE_DEVIATION_SCALE
+                        * medianAbsoluteDeviation(median);
+
+                return new OutlierFences(median - margin, median + margin);
+            }
+            default: {
+                final double averageArithmetic =
+                        moments.averageArithmetic();
+                final double margin = threshold * moments.standardDeviation();
+
+                return new OutlierFences(averageArithmetic - margin,
+                                         averageArithmetic + margin);
+            }
+        }
+    }
+
+    /**
+     * This method finds the smallest distance from the median such that
+     * the sketch puts at least half of the values within it.
+     */
+    private double medianAbsoluteDeviation(final double median)
+                                            throws NotEnoughDataException {
+        double low = 0;
+        double high = Math.max(sketch.max() - median, median - sketch.min());
+
+        for (int bisection = 0;
+             bisection < MAXIMUM_BISECTIONS && low < high;
+             ++bisection) {
+            final double middle = low + (high - low) / 2;
+
+            if (middle == low || middle == high) {
+                break;
+            }
+
+            final double share =
+                    sketch.cdf(median + middle)
+                    - sketch.cdf(Math.nextDown(median - middle));
+
+            if (share >= 0.5) {
+                high = middle;
+            } else {
+                low = middle;
+            }
+        }
+
+        return high;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingOutlierDetector{rule=" + rule +
+               ", threshold=" + threshold +
+               ", count=" + count() + '}';
+    }
+}
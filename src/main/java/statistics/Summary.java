@@ -0,0 +1,297 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class represents an immutable summary of a set of values:
+ * its extremes, moments, modes and quartiles.
+ * A summary which was built without sorting the values contains only
+ * the moments and extremes, its order statistics are NaN. A summary of
+ * a stream may have approximate quartiles taken from a
+ * {@link QuantileSketch} but no modes.
+ *
+ * @author svalyavakilia
+ */
+public final class Summary {
+    private final long count;
+    private final double min;
+    private final double max;
+    private final double averageArithmetic;
+    private final double variance;
+    private final double[] modes;
+    private final int modeQuantity;
+    private final double firstQuartile;
+    private final double median;
+    private final double thirdQuartile;
+
+    /**
+     * Constructor for Summary class instance.
+     *
+     * @param count number of summarised values.
+     * @param min minimum value.
+     * @param max maximum value.
+     * @param averageArithmetic average arithmetic of the values.
+     * @param variance variance of the values.
+     * @param modes mode(s) of the values in ascending order, the array is
+     *              not copied.
+     * @param modeQuantity quantity of each mode, 0 if modes are unknown.
+     * @param firstQuartile the first quartile.
+     * @param median median of the values.
+     * @param thirdQuartile the third quartile.
+     */
+    Summary(final long count,
+            final double min,
+            final double max,
+            final double averageArithmetic,
+            final double variance,
+            final double[] modes,
+            final int modeQuantity,
+            final double firstQuartile,
+            final double median,
+            final double thirdQuartile) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.averageArithmetic = averageArithmetic;
+        this.variance = variance;
+        this.modes = modes;
+        this.modeQuantity = modeQuantity;
+        this.firstQuartile = firstQuartile;
+        this.median = median;
+        this.thirdQuartile = thirdQuartile;
+    }
+
+    /**
+     * Constructor for Summary class instance which has no order statistics.
+     *
+     * @param count number of summarised values.
+     * @param min minimum value.
+     * @param max maximum value.
+     * @param averageArithmetic average arithmetic of the values.
+     * @param variance variance of the values.
+     */
+    Summary(final long count,
+            final double min,
+            final double max,
+            final double averageArithmetic,
+            final double variance) {
+        this(count, min, max, averageArithmetic, variance,
+             new double[0], 0, Double.NaN, Double.NaN, Double.NaN);
+    }
+
+    /**
+     * This method returns a copy of this summary with given quartiles and
+     * without modes.
+     *
+     * @param firstQuartile the first quartile.
+     * @param median median of the values.
+     * @param thirdQuartile the third quartile.
+     * @return new summary.
+     */
+    Summary withQuartiles(final double firstQuartile,
+                          final double median,
+                          final double thirdQuartile) {
+        return new Summary(count, min, max, averageArithmetic, variance,
+                           new double[0], 0,
+                           firstQuartile, median, thirdQuartile);
+    }
+
+    /**
+     * @return number of summarised values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return minimum value.
+     */
+    public double min() {
+        return min;
+    }
+
+    /**
+     * @return maximum value.
+     */
+    public double max() {
+        return max;
+    }
+
+    /**
+     * @return average arithmetic of the values.
+     */
+    public double averageArithmetic() {
+        return averageArithmetic;
+    }
+
+    /**
+     * @return variance of the values.
+     */
+    public double variance() {
+        return variance;
+    }
+
+    /**
+     * @return mode(s) of the values in ascending order or an empty array
+     *         if this summary has no order statistics.
+     */
+    public double[] modes() {
+        return modes.clone();
+    }
+
+    /**
+     * @return quantity of each mode or 0 if this summary has no order
+     *         statistics.
+     */
+    public int modeQuantity() {
+        return modeQuantity;
+    }
+
+    /**
+     * @return the first quartile or NaN if this summary has no order
+     *         statistics.
+     */
+    public double firstQuartile() {
+        return firstQuartile;
+    }
+
+    /**
+     * @return median of the values or NaN if this summary has no order
+     *         statistics.
+     */
+    public double median() {
+        return median;
+    }
+
+    /**
+     * @return the third quartile or NaN if this summary has no order
+     *         statistics.
+     */
+    public double thirdQuartile() {
+        return thirdQuartile;
+    }
+
+    /**
+     * @return interquartile range (IQR) or NaN if this summary has no order
+     *         statistics.
+     */
+    public double iqr() {
+        return thirdQuartile - firstQuartile;
+    }
+
+    /**
+     * @return 3/2 of an interquartile range or NaN if this summary has no
+     *         order statistics.
+     */
+    public double threeOverTwoIqr() {
+        return (double) 3 / 2 * iqr();
+    }
+
+    /**
+     * @return true if modes and quartiles of this summary are known.
+     */
+    public boolean hasOrderStatistics() {
+        return modeQuantity > 0;
+    }
+
+    /**
+     * @return true if quartiles of this summary are known, exactly or
+     *         approximately.
+     */
+    public boolean hasQuartiles() {
+        return hasOrderStatistics() || !Double.isNaN(median);
+    }
+
+    /**
+     * This method returns a human readable representation of this summary
+     * in the format of {@link Statistics#overallStatistics(double[])}.
+     *
+     * @return human readable representation of this summary.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+
+        builder.append("Minimum: ").append(min).append('\n')
+               .append("Maximum: ").append(max).append('\n')
+               .append("Average arithmetic: ").append(averageArithmetic);
+
+        if (!hasQuartiles()) {
+            return builder.append('\n')
+                          .append("Variance: ").append(variance)
+                          .toString();
+        } else if (!hasOrderStatistics()) {
+            return builder.append('\n')
+                          .append("Variance: ").append(variance)
+                          .append('\n')
+                          .append(quartilesToString())
+                          .toString();
+        }
+
+        builder.append('\n').append("Mode(s): ");
+
+        for (int index = 0; index < modes.length; ++index) {
+            if (index != 0) {
+                builder.append(", ");
+            }
+
+            builder.append(modes[index]);
+        }
+
+        return builder.append("; quantity: ").append(modeQuantity).append('\n')
+                      .append(quartilesToString())
+                      .toString();
+    }
+
+    /**
+     * This method returns the lines with quartiles of
+     * {@link #toString()}.
+     */
+    private String quartilesToString() {
+        return "First quartile: " + firstQuartile + '\n' +
+               "Median: " + median + '\n' +
+               "Third quartile: " + thirdQuartile + '\n' +
+               "IQR: " + iqr() + '\n' +
+               "3/2 IQR: " + threeOverTwoIqr();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        } else if (!(other instanceof Summary)) {
+            return false;
+        }
+
+        final Summary summary = (Summary) other;
+
+        return count == summary.count
+               && Double.compare(min, summary.min) == 0
+               && Double.compare(max, summary.max) == 0
+               && Double.compare(averageArithmetic,
+                                 summary.averageArithmetic) == 0
+               && Double.compare(variance, summary.variance) == 0
+               && Arrays.equals(modes, summary.modes)
+               && modeQuantity == summary.modeQuantity
+               && Double.compare(firstQuartile, summary.firstQuartile) == 0
+               && Double.compare(median, summary.median) == 0
+               && Double.compare(thirdQuartile, summary.thirdQuartile) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(count);
+
+        result = 31 * result + Double.hashCode(min);
+        result = 31 * result + Double.hashCode(max);
+        result = 31 * result + Double.hashCode(averageArithmetic);
+        result = 31 * result + Double.hashCode(variance);
+        result = 31 * result + Arrays.hashCode(modes);
+        result = 31 * result + Integer.hashCode(modeQuantity);
+        result = 31 * result + Double.hashCode(firstQuartile);
+        result = 31 * result + Double.hashCode(median);
+        result = 31 * result + Double.hashCode(thirdQuartile);
+
+        return result;
+    }
+}
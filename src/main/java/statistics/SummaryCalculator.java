@@ -0,0 +1,178 @@
+package statistics;
+
+import java.util.Arrays;
+
+/**
+ * This class computes {@link Summary} instances. A full summary sorts
+ * a copy of the data once and then fills in every field from a single pass
+ * over the sorted copy, unless the values are integers which span a narrow
+ * range and are counted instead (see {@link IntegerCounts}). A summary of
+ * moments does not sort at all.
+ *
+ * @author svalyavakilia
+ */
+final class SummaryCalculator {
+    /**
+     * No need to instantiate this class as all its members are static.
+     */
+    private SummaryCalculator() {}
+
+    /**
+     * This method computes a full summary of a given array.
+     * The array itself is left untouched, the copy is not sorted if
+     * the array is already sorted and is not made if its values are
+     * counted.
+     *
+     * @param data array with at least two values.
+     * @return summary with moments and order statistics.
+     */
+    static Summary summarize(final double[] data) {
+        final int dataLength = data.length;
+        final double sum = Reductions.sum(data,
+                                          0,
+                                          dataLength,
+                                          Summation.PAIRWISE);
+        final boolean isSorted = SortedView.isSorted(data);
+
+        if (!isSorted) {
+            final IntegerCounts counts = IntegerCounts.of(data);
+
+            if (counts != null) {
+                return counts.summary(sum / dataLength);
+            }
+        }
+
+        final double[] sorted = data.clone();
+
+        if (!isSorted) {
+            Arrays.sort(sorted);
+        }
+
+        return summarizeSorted(sorted, dataLength, sum / dataLength);
+    }
+
+    /**
+     * This method computes a full summary of the leading values of an array
+     * which are already sorted in ascending order. The array is used as
+     * a scratch buffer and its content is undefined afterwards.
+     *
+     * @param sorted array with sorted values.
+     * @param dataLength number of the values, at least two.
+     * @param averageArithmetic average arithmetic of the values.
+     * @return summary with moments and order statistics.
+     */
+    static Summary summarizeSorted(final double[] sorted,
+                                   final int dataLength,
+                                   final double averageArithmetic) {
+        final double min = sorted[0];
+        final double max = sorted[dataLength - 1];
+        final double firstQuartile = medianOfSorted(sorted,
+                                                    0,
+                                                    dataLength / 2);
+        final double median = medianOfSorted(sorted, 0, dataLength);
+        final double thirdQuartile = medianOfSorted(sorted,
+                                                    dataLength
+                                                    - dataLength / 2,
+                                                    dataLength);
+
+        double sumOfSquaredDifferences = 0;
+
+        int maximumQuantity = 0;
+        int modeCount = 0;
+        int currentIndex = 0;
+
+        while (currentIndex < dataLength) {
+            final double currentValue = sorted[currentIndex];
+            final long currentBits = Double.doubleToLongBits(currentValue);
+            final double difference = currentValue - averageArithmetic;
+
+            int currentQuantity = 1;
+
+            sumOfSquaredDifferences += difference * difference;
+
+            ++currentIndex;
+
+            while (currentIndex < dataLength
+                    &&
+                    Double.doubleToLongBits(sorted[currentIndex])
+                    == currentBits) {
+                sumOfSquaredDifferences += difference * difference;
+
+                ++currentQuantity;
+
+                ++currentIndex;
+            }
+
+            /*
+             * Modes are written to the front of the sorted array: there is
+             * always at most one mode per run that has already been read,
+             * so the write position never overtakes the read position.
+             */
+            if (currentQuantity == maximumQuantity) {
+                sorted[modeCount++] = currentValue;
+            } else if (currentQuantity > maximumQuantity) {
+                maximumQuantity = currentQuantity;
+                modeCount = 0;
+                sorted[modeCount++] = currentValue;
+            }
+        }
+
+        return new Summary(dataLength,
+                           min,
+                           max,
+                           averageArithmetic,
+                           sumOfSquaredDifferences / (dataLength - 1),
+                           Arrays.copyOf(sorted, modeCount),
+                           maximumQuantity,
+                           firstQuartile,
+                           median,
+                           thirdQuartile);
+    }
+
+    /**
+     * This method computes a summary of a given array without its order
+     * statistics. No copy of the array is made and nothing is sorted.
+     *
+     * @param data array with at least two values.
+     * @return summary with moments and extremes only.
+     */
+    static Summary summarizeMoments(final double[] data) {
+        final int dataLength = data.length;
+        final double averageArithmetic =
+                Reductions.sum(data, 0, dataLength, Summation.PAIRWISE)
+                / dataLength;
+        final double sumOfSquaredDifferences =
+                Reductions.sumOfSquaredDifferences(data,
+                                                   0,
+                                                   dataLength,
+                                                   averageArithmetic,
+                                                   Summation.PAIRWISE);
+
+        return new Summary(dataLength,
+                           Reductions.min(data, 0, dataLength),
+                           Reductions.max(data, 0, dataLength),
+                           averageArithmetic,
+                           sumOfSquaredDifferences / (dataLength - 1));
+    }
+
+    /**
+     * This method returns the median of a range of a sorted array.
+     *
+     * @param sorted array sorted in ascending order.
+     * @param from index of the first value of the range, inclusive.
+     * @param to index of the last value of the range, exclusive.
+     * @return median of the range.
+     */
+    static double medianOfSorted(final double[] sorted,
+                                 final int from,
+                                 final int to) {
+        final int rangeLength = to - from;
+        final int middle = from + rangeLength / 2;
+
+        if ((rangeLength & 1) == 1) {
+            return sorted[middle];
+        } else {
+            return (sorted[middle - 1] + sorted[middle]) / 2;
+        }
+    }
+}
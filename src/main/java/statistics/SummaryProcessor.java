@@ -0,0 +1,292 @@
+package statistics;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+/**
+ * This class is a {@link Flow.Processor} which consumes batches of values
+ * and publishes a {@link Summary} of every consecutive window of them,
+ * either of N values or of a period of time. A summary has the count,
+ * extremes, average arithmetic and variance of its window and approximate
+ * quartiles from a {@link QuantileSketch}, so the work per value is
+ * constant and no value is stored. Windows with less than two values are
+ * dropped without a summary.
+ * <p>
+ * Batches are requested from the upstream publisher one at a time, after
+ * the previous one is processed. Summaries are published through
+ * a {@link SubmissionPublisher} which buffers a bounded number of them for
+ * every subscriber: when a slow subscriber's buffer is full, processing of
+ * the batch waits until it has room, so no more batches are requested
+ * upstream in the meantime and the demand of the slowest subscriber
+ * propagates to the source.
+ * <p>
+ * Time windows are closed when a batch arrives after the end of the window
+ * or when the upstream completes, the whole batch belongs to the window of
+ * its arrival time. The last, possibly partial, window is published on
+ * completion.
+ *
+ * @author svalyavakilia
+ */
+public final class SummaryProcessor
+                                implements Flow.Processor<double[], Summary> {
+    private final long maximumCount;
+    private final long duration;
+    private final int k;
+    private final SubmissionPublisher<Summary> publisher;
+
+    private final RunningStatistics statistics = new RunningStatistics();
+    private QuantileSketch sketch;
+    private Flow.Subscription subscription;
+    private long windowStart;
+    private boolean started;
+
+    /**
+     * Constructor for SummaryProcessor class instance.
+     */
+    private SummaryProcessor(final long maximumCount,
+                             final long duration,
+                             final int k,
+                             final Executor executor,
+                             final int bufferCapacity) {
+        this.maximumCount = maximumCount;
+        this.duration = duration;
+        this.k = k;
+
+        sketch = new QuantileSketch(k);
+        publisher = new SubmissionPublisher<>(executor, bufferCapacity);
+    }
+
+    /**
+     * This method creates a processor of windows of N values which delivers
+     * summaries on {@link ForkJoinPool#commonPool()} and buffers
+     * {@link Flow#defaultBufferSize()} summaries per subscriber.
+     *
+     * @param count number of values in a window, at least two.
+     * @return new processor.
+     * @throws IllegalArgumentException if count is less than two.
+     */
+    public static SummaryProcessor ofCount(final long count) {
+        return ofCount(count,
+                       QuantileSketch.DEFAULT_K,
+                       ForkJoinPool.commonPool(),
+                       Flow.defaultBufferSize());
+    }
+
+    /**
+     * This method creates a processor of windows of N values.
+     *
+     * @param count number of values in a window, at least two.
+     * @param k accuracy parameter of the sketches of quartiles.
+     * @param executor executor which delivers summaries to subscribers.
+     * @param bufferCapacity maximum number of summaries buffered for
+     *                       a subscriber.
+     * @return new processor.
+     * @throws IllegalArgumentException if count is less than two, k is too
+     *                                  small or buffer capacity is not
+     *                                  positive.
+     * @throws NullPointerException if executor is null.
+     */
+    public static SummaryProcessor ofCount(final long count,
+                                           final int k,
+                                           final Executor executor,
+                                           final int bufferCapacity) {
+        if (count < 2) {
+            throw new IllegalArgumentException("Invalid window size: " +
+                                               count + ".");
+        }
+
+        return new SummaryProcessor(count, 0, k, executor, bufferCapacity);
+    }
+
+    /**
+     * This method creates a processor of windows of a period of time which
+     * delivers summaries on {@link ForkJoinPool#commonPool()} and buffers
+     * {@link Flow#defaultBufferSize()} summaries per subscriber.
+     * The first window starts when the first batch arrives.
+     *
+     * @param duration length of a window.
+     * @return new processor.
+     * @throws IllegalArgumentException if duration is not positive.
+     */
+    public static SummaryProcessor ofDuration(final Duration duration) {
+        return ofDuration(duration,
+                          QuantileSketch.DEFAULT_K,
+                          ForkJoinPool.commonPool(),
+                          Flow.defaultBufferSize());
+    }
+
+    /**
+     * This method creates a processor of windows of a period of time.
+     * The first window starts when the first batch arrives.
+     *
+     * @param duration length of a window.
+     * @param k accuracy parameter of the sketches of quartiles.
+     * @param executor executor which delivers summaries to subscribers.
+     * @param bufferCapacity maximum number of summaries buffered for
+     *                       a subscriber.
+     * @return new processor.
+     * @throws IllegalArgumentException if duration is not positive, k is
+     *                                  too small or buffer capacity is not
+     *                                  positive.
+     * @throws NullPointerException if duration or executor is null.
+     */
+    public static SummaryProcessor ofDuration(final Duration duration,
+                                              final int k,
+                                              final Executor executor,
+                                              final int bufferCapacity) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Invalid window duration: " +
+                                               duration + ".");
+        }
+
+        return new SummaryProcessor(Long.MAX_VALUE,
+                                    duration.toNanos(),
+                                    k,
+                                    executor,
+                                    bufferCapacity);
+    }
+
+    /**
+     * This method subscribes a subscriber to the summaries.
+     *
+     * @param subscriber subscriber of summaries.
+     * @throws NullPointerException if subscriber is null.
+     */
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Summary> subscriber) {
+        publisher.subscribe(subscriber);
+    }
+
+    /**
+     * This method starts consuming batches from a publisher. A processor
+     * consumes a single publisher, later subscriptions are cancelled.
+     *
+     * @param subscription subscription to the publisher.
+     */
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+
+        if (this.subscription != null) {
+            subscription.cancel();
+
+            return;
+        }
+
+        this.subscription = subscription;
+
+        subscription.request(1);
+    }
+
+    /**
+     * This method adds a batch of values to the current window publishing
+     * summaries of the windows which it closes, and requests the next
+     * batch.
+     *
+     * @param batch batch of values.
+     * @throws NullPointerException if the batch is null.
+     */
+    @Override
+    public void onNext(final double[] batch) {
+        Objects.requireNonNull(batch);
+
+        if (duration != 0) {
+            advanceTo(System.nanoTime());
+        }
+
+        int offset = 0;
+
+        while (offset < batch.length) {
+            final int length = (int) Math.min(batch.length - offset,
+                                              maximumCount
+                                              - statistics.count());
+
+            statistics.accept(batch, offset, length);
+
+            for (int index = offset; index < offset + length; ++index) {
+                sketch.accept(batch[index]);
+            }
+
+            offset += length;
+
+            if (statistics.count() == maximumCount) {
+                flush();
+            }
+        }
+
+        subscription.request(1);
+    }
+
+    /**
+     * This method passes an error of the publisher to the subscribers,
+     * the current window is dropped.
+     *
+     * @param throwable error of the publisher.
+     */
+    @Override
+    public void onError(final Throwable throwable) {
+        publisher.closeExceptionally(throwable);
+    }
+
+    /**
+     * This method publishes the summary of the last window and completes
+     * the subscribers.
+     */
+    @Override
+    public void onComplete() {
+        flush();
+
+        publisher.close();
+    }
+
+    /**
+     * @return number of subscribers of the summaries.
+     */
+    public int numberOfSubscribers() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    /**
+     * This method closes the current time window if a given time is out
+     * of it.
+     */
+    private void advanceTo(final long timestamp) {
+        if (!started) {
+            started = true;
+            windowStart = timestamp;
+        } else if (timestamp - windowStart >= duration) {
+            flush();
+
+            windowStart += (timestamp - windowStart) / duration * duration;
+        }
+    }
+
+    /**
+     * This method publishes the summary of the current window if it has
+     * at least two values and starts a new window. It blocks while
+     * a subscriber has no room for the summary.
+     */
+    private void flush() {
+        if (statistics.count() >= 2) {
+            try {
+                publisher.submit(statistics.summary()
+                                           .withQuartiles(
+                                                   sketch.firstQuartile(),
+                                                   sketch.median(),
+                                                   sketch.thirdQuartile()));
+            } catch (final NotEnoughDataException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        statistics.reset();
+
+        if (!sketch.isEmpty()) {
+            sketch = new QuantileSketch(k);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package statistics;
+
+/**
+ * This enum represents the way values are added up when average arithmetic
+ * and variance are computed. The methods differ in speed and in how much
+ * rounding error accumulates over long arrays.
+ *
+ * @author svalyavakilia
+ */
+public enum Summation {
+    /**
+     * Values are added one by one into a single accumulator. The error may
+     * grow linearly with the number of values.
+     */
+    NAIVE,
+
+    /**
+     * Blocks of values are added into several independent accumulators and
+     * the block sums are added pairwise. The error grows logarithmically
+     * with the number of values and the independent accumulators let
+     * the processor add several values at a time. This is the default.
+     */
+    PAIRWISE,
+
+    /**
+     * Values are added with Neumaier's compensated summation which keeps
+     * the rounding error of every addition. The error does not depend on
+     * the number of values, at the cost of a few more operations per value.
+     */
+    COMPENSATED
+}
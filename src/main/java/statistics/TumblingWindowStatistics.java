@@ -0,0 +1,178 @@
+package statistics;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class splits a stream of values into consecutive non-overlapping
+ * windows, either of N values or of a period of time, and passes a full
+ * {@link Summary} of every closed window to a listener. Values of the
+ * current window are collected into a reusable buffer which is sorted once
+ * when the window closes, so the cost per value is O(log N) amortised.
+ * Windows with less than two values are dropped without a summary.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class TumblingWindowStatistics implements DoubleConsumer {
+    private final int maximumCount;
+    private final long duration;
+    private final Consumer<Summary> listener;
+
+    private double[] buffer;
+    private int size;
+    private double sum;
+    private long windowStart;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    /**
+     * Constructor for TumblingWindowStatistics class instance.
+     */
+    private TumblingWindowStatistics(final int maximumCount,
+                                     final long duration,
+                                     final Consumer<Summary> listener,
+                                     final int capacity) {
+        this.maximumCount = maximumCount;
+        this.duration = duration;
+        this.listener = Objects.requireNonNull(listener);
+
+        buffer = new double[capacity];
+    }
+
+    /**
+     * This method creates statistics of windows of N values.
+     *
+     * @param size number of values in a window, at least two.
+     * @param listener listener of summaries of closed windows.
+     * @return new windowed statistics.
+     * @throws IllegalArgumentException if size is less than two.
+     * @throws NullPointerException if listener is null.
+     */
+    public static TumblingWindowStatistics ofCount(
+                                        final int size,
+                                        final Consumer<Summary> listener) {
+        if (size < 2) {
+            throw new IllegalArgumentException("Invalid window size: " +
+                                               size + ".");
+        }
+
+        return new TumblingWindowStatistics(size, 0, listener, size);
+    }
+
+    /**
+     * This method creates statistics of windows of a period of time.
+     * The first window starts at the timestamp of the first value.
+     *
+     * @param duration length of a window.
+     * @param listener listener of summaries of closed windows.
+     * @return new windowed statistics.
+     * @throws IllegalArgumentException if duration is not positive.
+     * @throws NullPointerException if listener is null.
+     */
+    public static TumblingWindowStatistics ofDuration(
+                                        final Duration duration,
+                                        final Consumer<Summary> listener) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Invalid window duration: " +
+                                               duration + ".");
+        }
+
+        return new TumblingWindowStatistics(Integer.MAX_VALUE,
+                                            duration.toNanos(),
+                                            listener,
+                                            16);
+    }
+
+    /**
+     * This method adds a value to the current window. Values of time windows
+     * are stamped with {@link System#nanoTime()}.
+     *
+     * @param value value to add.
+     */
+    @Override
+    public void accept(final double value) {
+        accept(value, duration == 0 ? 0 : System.nanoTime());
+    }
+
+    /**
+     * This method adds a value with a given timestamp to the current window,
+     * closing the previous one first if the value is out of it.
+     * Timestamps are ignored by count windows.
+     *
+     * @param value value to add.
+     * @param timestamp timestamp of the value in nanoseconds, not less than
+     *                  the timestamp of the previous value.
+     * @throws IllegalArgumentException if the timestamp is less than
+     *                                  the previous one.
+     */
+    public void accept(final double value, final long timestamp) {
+        advanceTo(timestamp);
+
+        if (size == buffer.length) {
+            buffer = Arrays.copyOf(buffer, size * 2);
+        }
+
+        buffer[size++] = value;
+        sum += value;
+
+        if (size == maximumCount) {
+            flush();
+        }
+    }
+
+    /**
+     * This method moves the time of time windows forward closing the current
+     * window if the time is out of it. It does nothing for count windows.
+     *
+     * @param timestamp current time in nanoseconds, not less than
+     *                  the timestamp of the previous value.
+     * @throws IllegalArgumentException if the timestamp is less than
+     *                                  the previous one.
+     */
+    public void advanceTo(final long timestamp) {
+        if (duration == 0) {
+            return;
+        } else if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Timestamps must not " +
+                                               "decrease: " + timestamp +
+                                               " < " + lastTimestamp + ".");
+        }
+
+        if (lastTimestamp == Long.MIN_VALUE) {
+            windowStart = timestamp;
+        } else if (timestamp - windowStart >= duration) {
+            flush();
+
+            windowStart += (timestamp - windowStart) / duration * duration;
+        }
+
+        lastTimestamp = timestamp;
+    }
+
+    /**
+     * This method closes the current window passing its summary to
+     * the listener if it has at least two values.
+     */
+    public void flush() {
+        if (size >= 2) {
+            Arrays.sort(buffer, 0, size);
+
+            listener.accept(SummaryCalculator.summarizeSorted(buffer,
+                                                              size,
+                                                              sum / size));
+        }
+
+        size = 0;
+        sum = 0;
+    }
+
+    /**
+     * @return number of values in the current window.
+     */
+    public int count() {
+        return size;
+    }
+}
@@ -0,0 +1,513 @@
+package statistics;
+
+import java.time.Duration;
+import java.util.function.DoubleConsumer;
+
+/**
+ * This class keeps statistics of a sliding window over a stream of values:
+ * either the last N values or the values of the last period of time.
+ * Every statistic is maintained incrementally instead of being recomputed
+ * over a copy of the window: minimum and maximum are the heads of monotonic
+ * deques of the values which are not NaN (O(1) amortised per value),
+ * average arithmetic and variance are updated with Welford's algorithm and
+ * its inverse (O(1)), and median and quartiles are read from an order
+ * statistic tree (O(log N)).
+ * <p>
+ * Welford's algorithm can not be inverted once an infinite or NaN value
+ * has entered the moments, so such values are only counted, and average
+ * arithmetic and variance are kept for the finite values of the window.
+ * Removing values with the inverse of Welford's algorithm accumulates
+ * rounding errors as well, so the moments are recomputed from the ring
+ * buffer once the number of evictions since the last recomputation exceeds
+ * the number of finite values, which keeps the amortised cost constant.
+ * Instances are not thread safe.
+ *
+ * @author svalyavakilia
+ */
+public final class WindowedStatistics implements DoubleConsumer {
+    private final int maximumCount;
+    private final long duration;
+
+    private double[] values;
+    private long[] timestamps;
+    private int mask;
+    private long head;
+    private long tail;
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    private long[] minimumQueue;
+    private long minimumHead;
+    private long minimumTail;
+    private long[] maximumQueue;
+    private long maximumHead;
+    private long maximumTail;
+
+    private double averageArithmetic;
+    private double sumOfSquaredDifferences;
+    private long evictionsSinceRecomputation;
+    private long numberOfNaN;
+    private long numberOfPositiveInfinities;
+    private long numberOfNegativeInfinities;
+
+    private final OrderStatisticTree tree;
+
+    /**
+     * Constructor for WindowedStatistics class instance.
+     */
+    private WindowedStatistics(final int maximumCount,
+                               final long duration,
+                               final int capacity) {
+        this.maximumCount = maximumCount;
+        this.duration = duration;
+
+        values = new double[capacity];
+        minimumQueue = new long[capacity];
+        maximumQueue = new long[capacity];
+        mask = capacity - 1;
+        tree = new OrderStatisticTree(Math.min(capacity, 1 << 16));
+    }
+
+    /**
+     * This method creates statistics of a window of the last values.
+     *
+     * @param size maximum number of values in the window.
+     * @return new windowed statistics.
+     * @throws IllegalArgumentException if size is not positive or is greater
+     *                                  than 2^30.
+     */
+    public static WindowedStatistics ofCount(final int size) {
+        if (size < 1 || size > 1 << 30) {
+            throw new IllegalArgumentException("Invalid window size: " +
+                                               size + ".");
+        }
+
+        final int capacity = Math.max(2, Integer.highestOneBit(size * 2 - 1));
+
+        return new WindowedStatistics(size, 0, capacity);
+    }
+
+    /**
+     * This method creates statistics of a window of the values of the last
+     * period of time. A value whose timestamp is t stays in the window while
+     * the latest timestamp is less than t + duration.
+     *
+     * @param duration length of the window.
+     * @return new windowed statistics.
+     * @throws IllegalArgumentException if duration is not positive.
+     */
+    public static WindowedStatistics ofDuration(final Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Invalid window duration: " +
+                                               duration + ".");
+        }
+
+        final WindowedStatistics statistics =
+                new WindowedStatistics(Integer.MAX_VALUE,
+                                       duration.toNanos(),
+                                       16);
+
+        statistics.timestamps = new long[16];
+
+        return statistics;
+    }
+
+    /**
+     * This method adds a value to the window. Values of a time window are
+     * stamped with {@link System#nanoTime()}.
+     *
+     * @param value value to add.
+     */
+    @Override
+    public void accept(final double value) {
+        accept(value, timestamps == null ? 0 : System.nanoTime());
+    }
+
+    /**
+     * This method adds a value with a given timestamp to the window and
+     * evicts the values which fall out of it. Timestamps are ignored by
+     * count windows.
+     *
+     * @param value value to add.
+     * @param timestamp timestamp of the value in nanoseconds, not less than
+     *                  the timestamp of the previous value.
+     * @throws IllegalArgumentException if the timestamp is less than
+     *                                  the previous one.
+     */
+    public void accept(final double value, final long timestamp) {
+        if (timestamps != null) {
+            advanceTo(timestamp);
+        } else if (tail - head == maximumCount) {
+            evictOldest();
+        }
+
+        if (tail - head == values.length) {
+            grow();
+        }
+
+        final long sequence = tail++;
+        final int index = (int) (sequence & mask);
+
+        values[index] = value;
+
+        if (timestamps != null) {
+            timestamps[index] = timestamp;
+        }
+
+        if (value == value) {
+            addToExtremes(value, sequence);
+        }
+
+        if (Double.isFinite(value)) {
+            final long count = tail - head - numberOfNonFiniteValues();
+            final double difference = value - averageArithmetic;
+
+            averageArithmetic += difference / count;
+            sumOfSquaredDifferences += difference
+                                       * (value - averageArithmetic);
+        } else {
+            countNonFiniteValue(value, 1);
+        }
+
+        tree.add(value);
+    }
+
+    /**
+     * This method appends a value which is not NaN to the monotonic deques
+     * of the extremes. NaN is compared neither greater nor less than
+     * anything, so it would stay in the deques and keep stale extremes
+     * behind it.
+     */
+    private void addToExtremes(final double value, final long sequence) {
+        while (minimumTail > minimumHead
+                &&
+                values[(int) (minimumQueue[(int) ((minimumTail - 1) & mask)]
+                              & mask)] > value) {
+            --minimumTail;
+        }
+
+        minimumQueue[(int) (minimumTail++ & mask)] = sequence;
+
+        while (maximumTail > maximumHead
+                &&
+                values[(int) (maximumQueue[(int) ((maximumTail - 1) & mask)]
+                              & mask)] < value) {
+            --maximumTail;
+        }
+
+        maximumQueue[(int) (maximumTail++ & mask)] = sequence;
+    }
+
+    /**
+     * This method moves the time of a time window forward evicting
+     * the values which fall out of it. It does nothing for count windows.
+     *
+     * @param timestamp current time in nanoseconds, not less than
+     *                  the timestamp of the previous value.
+     * @throws IllegalArgumentException if the timestamp is less than
+     *                                  the previous one.
+     */
+    public void advanceTo(final long timestamp) {
+        if (timestamps == null) {
+            return;
+        } else if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("Timestamps must not " +
+                                               "decrease: " + timestamp +
+                                               " < " + lastTimestamp + ".");
+        }
+
+        lastTimestamp = timestamp;
+
+        while (tail > head
+                &&
+                timestamp - timestamps[(int) (head & mask)] >= duration) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * @return number of values in the window.
+     */
+    public long count() {
+        return tail - head;
+    }
+
+    /**
+     * This method returns the minimum value of the window. NaN values are
+     * ignored.
+     *
+     * @return minimum value, NaN if all the values are NaN.
+     * @throws NotEnoughDataException if the window is empty.
+     */
+    public double min() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        if (minimumTail == minimumHead) {
+            return Double.NaN;
+        }
+
+        return values[(int) (minimumQueue[(int) (minimumHead & mask)] & mask)];
+    }
+
+    /**
+     * This method returns the maximum value of the window. NaN values are
+     * ignored.
+     *
+     * @return maximum value, NaN if all the values are NaN.
+     * @throws NotEnoughDataException if the window is empty.
+     */
+    public double max() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        if (maximumTail == maximumHead) {
+            return Double.NaN;
+        }
+
+        return values[(int) (maximumQueue[(int) (maximumHead & mask)] & mask)];
+    }
+
+    /**
+     * This method returns the average arithmetic of the window.
+     *
+     * @return average arithmetic.
+     * @throws NotEnoughDataException if the window is empty.
+     */
+    public double averageArithmetic() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        if (numberOfNaN > 0
+                || (numberOfPositiveInfinities > 0
+                    && numberOfNegativeInfinities > 0)) {
+            return Double.NaN;
+        } else if (numberOfPositiveInfinities > 0) {
+            return Double.POSITIVE_INFINITY;
+        } else if (numberOfNegativeInfinities > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return averageArithmetic;
+    }
+
+    /**
+     * This method returns the variance of the window.
+     *
+     * @return variance.
+     * @throws NotEnoughDataException if the window has less than two values.
+     */
+    public double variance() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        if (numberOfNonFiniteValues() > 0) {
+            return Double.NaN;
+        }
+
+        return sumOfSquaredDifferences / (count() - 1);
+    }
+
+    /**
+     * This method returns the median of the window.
+     *
+     * @return median.
+     * @throws NotEnoughDataException if the window is empty.
+     */
+    public double median() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(1);
+
+        return tree.medianOfRanks(0, count());
+    }
+
+    /**
+     * This method returns the first quartile of the window,
+     * see {@link Statistics#firstQuartile(double[])}.
+     *
+     * @return the first quartile.
+     * @throws NotEnoughDataException if the window has less than two values.
+     */
+    public double firstQuartile() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        return tree.medianOfRanks(0, count() / 2);
+    }
+
+    /**
+     * This method returns the third quartile of the window,
+     * see {@link Statistics#thirdQuartile(double[])}.
+     *
+     * @return the third quartile.
+     * @throws NotEnoughDataException if the window has less than two values.
+     */
+    public double thirdQuartile() throws NotEnoughDataException {
+        checkIfThereIsEnoughData(2);
+
+        final long count = count();
+
+        return tree.medianOfRanks(count - count / 2, count);
+    }
+
+    /**
+     * This method returns the interquartile range of the window.
+     *
+     * @return interquartile range.
+     * @throws NotEnoughDataException if the window has less than two values.
+     */
+    public double iqr() throws NotEnoughDataException {
+        return thirdQuartile() - firstQuartile();
+    }
+
+    /**
+     * This method removes the oldest value of the window.
+     */
+    private void evictOldest() {
+        final long sequence = head++;
+        final double value = values[(int) (sequence & mask)];
+
+        if (minimumTail > minimumHead
+                && minimumQueue[(int) (minimumHead & mask)] == sequence) {
+            ++minimumHead;
+        }
+
+        if (maximumTail > maximumHead
+                && maximumQueue[(int) (maximumHead & mask)] == sequence) {
+            ++maximumHead;
+        }
+
+        tree.remove(value);
+
+        if (!Double.isFinite(value)) {
+            countNonFiniteValue(value, -1);
+
+            return;
+        }
+
+        final long count = tail - head - numberOfNonFiniteValues();
+
+        if (count == 0) {
+            averageArithmetic = 0;
+            sumOfSquaredDifferences = 0;
+            evictionsSinceRecomputation = 0;
+
+            return;
+        }
+
+        final double difference = value - averageArithmetic;
+
+        averageArithmetic -= difference / count;
+        sumOfSquaredDifferences -= difference * (value - averageArithmetic);
+
+        if (sumOfSquaredDifferences < 0) {
+            sumOfSquaredDifferences = 0;
+        }
+
+        if (++evictionsSinceRecomputation > count) {
+            recomputeMoments(count);
+        }
+    }
+
+    /**
+     * This method recomputes average arithmetic and variance of the finite
+     * values of the window from the ring buffer in two passes.
+     */
+    private void recomputeMoments(final long count) {
+        double sum = 0;
+
+        for (long sequence = head; sequence < tail; ++sequence) {
+            final double value = values[(int) (sequence & mask)];
+
+            if (Double.isFinite(value)) {
+                sum += value;
+            }
+        }
+
+        averageArithmetic = sum / count;
+        sumOfSquaredDifferences = 0;
+
+        for (long sequence = head; sequence < tail; ++sequence) {
+            final double value = values[(int) (sequence & mask)];
+
+            if (Double.isFinite(value)) {
+                final double difference = value - averageArithmetic;
+
+                sumOfSquaredDifferences += difference * difference;
+            }
+        }
+
+        evictionsSinceRecomputation = 0;
+    }
+
+    /**
+     * This method changes the number of infinite or NaN values equal to
+     * a given one.
+     *
+     * @param value infinite or NaN value.
+     * @param change 1 if the value is added, -1 if it is evicted.
+     */
+    private void countNonFiniteValue(final double value, final int change) {
+        if (value != value) {
+            numberOfNaN += change;
+        } else if (value > 0) {
+            numberOfPositiveInfinities += change;
+        } else {
+            numberOfNegativeInfinities += change;
+        }
+    }
+
+    /**
+     * @return number of infinite or NaN values in the window.
+     */
+    private long numberOfNonFiniteValues() {
+        return numberOfNaN
+               + numberOfPositiveInfinities
+               + numberOfNegativeInfinities;
+    }
+
+    /**
+     * This method doubles the ring buffers of a time window.
+     */
+    private void grow() {
+        final int capacity = values.length * 2;
+        final int newMask = capacity - 1;
+
+        final double[] newValues = new double[capacity];
+        final long[] newTimestamps = new long[capacity];
+        final long[] newMinimumQueue = new long[capacity];
+        final long[] newMaximumQueue = new long[capacity];
+
+        for (long sequence = head; sequence < tail; ++sequence) {
+            newValues[(int) (sequence & newMask)] =
+                    values[(int) (sequence & mask)];
+            newTimestamps[(int) (sequence & newMask)] =
+                    timestamps[(int) (sequence & mask)];
+        }
+
+        for (long position = minimumHead; position < minimumTail; ++position) {
+            newMinimumQueue[(int) (position & newMask)] =
+                    minimumQueue[(int) (position & mask)];
+        }
+
+        for (long position = maximumHead; position < maximumTail; ++position) {
+            newMaximumQueue[(int) (position & newMask)] =
+                    maximumQueue[(int) (position & mask)];
+        }
+
+        values = newValues;
+        timestamps = newTimestamps;
+        minimumQueue = newMinimumQueue;
+        maximumQueue = newMaximumQueue;
+        mask = newMask;
+    }
+
+    /**
+     * This method checks if the window has enough values.
+     *
+     * @throws NotEnoughDataException if it has not.
+     */
+    private void checkIfThereIsEnoughData(final int minimumPermissibleCount)
+                                            throws NotEnoughDataException {
+        if (count() < minimumPermissibleCount) {
+            final String message = "There is not enough data!" +
+                                   "Minimum quantity of values needed: " +
+                                   minimumPermissibleCount + ".";
+
+            throw new NotEnoughDataException(message);
+        }
+    }
+}
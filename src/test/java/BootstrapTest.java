@@ -0,0 +1,87 @@
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.Bootstrap;
+import statistics.ConfidenceInterval;
+import statistics.Jackknife;
+import statistics.NotEnoughDataException;
+import statistics.SampleStatistic;
+import statistics.Statistics;
+
+public class BootstrapTest {
+    @Test
+    public void testSameSeedGivesSameReplicates()
+                                            throws NotEnoughDataException {
+        final double[] data = normalData(500, 19);
+        final Bootstrap first =
+                Bootstrap.of(data, SampleStatistic.median(), 1_000, 7);
+        final Bootstrap second =
+                Bootstrap.of(data, SampleStatistic.median(), 1_000, 7);
+
+        Assert.assertArrayEquals(first.replicates().toArray(),
+                                 second.replicates().toArray(),
+                                 0);
+        Assert.assertEquals(Statistics.median(data), first.estimate(), 0);
+    }
+
+    @Test
+    public void testIntervalsContainTrueMean() throws NotEnoughDataException {
+        final double[] data = normalData(1_000, 20);
+        final double[] copy = data.clone();
+        final Bootstrap bootstrap = Bootstrap.of(data,
+                                                 SampleStatistic
+                                                    .averageArithmetic(),
+                                                 2_000,
+                                                 42);
+        final ConfidenceInterval percentile =
+                bootstrap.percentileInterval(0.95);
+        final ConfidenceInterval bca = bootstrap.bcaInterval(0.95);
+
+        Assert.assertArrayEquals(copy, data, 0);
+        Assert.assertTrue(percentile.contains(10));
+        Assert.assertTrue(bca.contains(10));
+        Assert.assertTrue(percentile.contains(percentile.estimate()));
+        Assert.assertEquals(percentile.width(), bca.width(), 0.05);
+
+        final double expectedError =
+                Math.sqrt(Statistics.variance(data) / data.length);
+
+        Assert.assertEquals(expectedError,
+                            bootstrap.standardError(),
+                            expectedError * 0.1);
+        Assert.assertEquals(0, bootstrap.bias(), expectedError * 0.2);
+    }
+
+    @Test
+    public void testJackknifeOfAverage() throws NotEnoughDataException {
+        final double[] data = normalData(300, 21);
+        final Jackknife jackknife =
+                Jackknife.of(data, SampleStatistic.averageArithmetic());
+
+        Assert.assertEquals(Math.sqrt(Statistics.variance(data)
+                                      / data.length),
+                            jackknife.standardError(),
+                            1e-9);
+        Assert.assertEquals(0, jackknife.bias(), 1e-9);
+        Assert.assertEquals(data.length, jackknife.replicates().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidConfidenceLevel() throws NotEnoughDataException {
+        Bootstrap.of(new double[] {1, 2, 3},
+                     SampleStatistic.median(),
+                     10,
+                     1).percentileInterval(1);
+    }
+
+    private static double[] normalData(final int length, final long seed) {
+        final Random random = new Random(seed);
+        final double[] data = new double[length];
+
+        for (int index = 0; index < length; ++index) {
+            data[index] = 10 + 2 * random.nextGaussian();
+        }
+
+        return data;
+    }
+}
@@ -0,0 +1,142 @@
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.ConcurrentStatisticsRecorder;
+import statistics.NotEnoughDataException;
+import statistics.RunningStatistics;
+import statistics.Statistics;
+
+public class ConcurrentStatisticsRecorderTest {
+    @Test
+    public void testSingleThread() throws NotEnoughDataException {
+        final Random random = new Random(14);
+        final double[] data = new double[10_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = 1e9 + random.nextGaussian();
+        }
+
+        final ConcurrentStatisticsRecorder recorder =
+                new ConcurrentStatisticsRecorder();
+
+        for (final double value: data) {
+            recorder.accept(value);
+        }
+
+        final RunningStatistics statistics = recorder.snapshot();
+
+        Assert.assertEquals(data.length, statistics.count());
+        Assert.assertEquals(Statistics.min(data), statistics.min(), 0);
+        Assert.assertEquals(Statistics.max(data), statistics.max(), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(data),
+                            statistics.averageArithmetic(),
+                            1e-6);
+        Assert.assertEquals(Statistics.variance(data),
+                            statistics.variance(),
+                            1e-6);
+
+        Assert.assertEquals(data.length,
+                            recorder.snapshotAndReset().count());
+        Assert.assertEquals(0, recorder.snapshot().count());
+    }
+
+    @Test
+    public void testLevelChangesBetweenIntervals()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(14);
+        final ConcurrentStatisticsRecorder recorder =
+                new ConcurrentStatisticsRecorder();
+
+        recorder.accept(1e9);
+        recorder.snapshotAndReset();
+
+        for (int interval = 0; interval < 3; ++interval) {
+            final double[] data = new double[100_000];
+
+            for (int index = 0; index < data.length; ++index) {
+                data[index] = random.nextDouble();
+            }
+
+            for (final double value: data) {
+                recorder.accept(value);
+            }
+
+            final RunningStatistics statistics = recorder.snapshotAndReset();
+
+            Assert.assertEquals(Statistics.averageArithmetic(data),
+                                statistics.averageArithmetic(),
+                                1e-12);
+            Assert.assertEquals(Statistics.variance(data),
+                                statistics.variance(),
+                                1e-12);
+
+            recorder.accept(-1e9);
+            recorder.snapshotAndReset();
+        }
+    }
+
+    @Test
+    public void testIntervalsDoNotLoseValues() throws InterruptedException {
+        final ConcurrentStatisticsRecorder recorder =
+                new ConcurrentStatisticsRecorder(4);
+        final Thread[] threads = new Thread[4];
+        final int valuesPerThread = 200_000;
+
+        for (int index = 0; index < threads.length; ++index) {
+            threads[index] = new Thread(() -> {
+                for (int value = 0; value < valuesPerThread; ++value) {
+                    recorder.accept(value % 10);
+                }
+            });
+        }
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final long[] counted = new long[1];
+        final double[] sum = new double[1];
+        final Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                final RunningStatistics statistics =
+                        recorder.snapshotAndReset();
+
+                counted[0] += statistics.count();
+                sum[0] += statistics.count() == 0
+                          ? 0
+                          : averageTimesCount(statistics);
+            }
+        });
+
+        reader.start();
+
+        for (final Thread thread: threads) {
+            thread.start();
+        }
+
+        for (final Thread thread: threads) {
+            thread.join();
+        }
+
+        done.set(true);
+        reader.join();
+
+        final RunningStatistics rest = recorder.snapshotAndReset();
+
+        counted[0] += rest.count();
+        sum[0] += rest.count() == 0 ? 0 : averageTimesCount(rest);
+
+        Assert.assertEquals((long) threads.length * valuesPerThread,
+                            counted[0]);
+        Assert.assertEquals(4.5 * threads.length * valuesPerThread,
+                            sum[0],
+                            1e-3);
+    }
+
+    private static double averageTimesCount(
+                                        final RunningStatistics statistics) {
+        try {
+            return statistics.averageArithmetic() * statistics.count();
+        } catch (final NotEnoughDataException exception) {
+            throw new AssertionError(exception);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.DoubleConsumer;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.CsvReader;
+import statistics.DoubleArrayBuilder;
+import statistics.NotEnoughDataException;
+import statistics.RunningStatistics;
+
+public class CsvReaderTest {
+    @Test
+    public void testColumnsWithHeader() throws IOException,
+                                               NotEnoughDataException {
+        final Path path = write("id;price;name;quantity\r\n" +
+                                "1; 2.5 ;\"a\";\"10\"\r\n" +
+                                "\r\n" +
+                                "2;-0.125;b;1e3\r\n" +
+                                "3;+7;c;-4E-2");
+
+        try {
+            final double[][] columns =
+                    CsvReader.readColumns(path, (byte) ';', 1, 3, 1);
+
+            Assert.assertArrayEquals(new double[] {10, 1000, -0.04},
+                                     columns[0],
+                                     0);
+            Assert.assertArrayEquals(new double[] {2.5, -0.125, 7},
+                                     columns[1],
+                                     0);
+
+            final RunningStatistics statistics = new RunningStatistics();
+
+            CsvReader.read(path,
+                           (byte) ';',
+                           1,
+                           new int[] {0},
+                           new DoubleConsumer[] {statistics});
+
+            Assert.assertEquals(3, statistics.count());
+            Assert.assertEquals(3, statistics.max(), 0);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testParsingIsExact() throws IOException {
+        final Random random = new Random(15);
+        final double[] expected = new double[100_000];
+        final StringBuilder text = new StringBuilder();
+
+        for (int index = 0; index < expected.length; ++index) {
+            final String field;
+
+            switch (index % 5) {
+                case 0:
+                    field = Double.toString(random.nextDouble() * 1e6);
+                    break;
+                case 1:
+                    field = String.format(Locale.ROOT,
+                                          "%.3f",
+                                          random.nextGaussian() * 100);
+                    break;
+                case 2:
+                    field = String.format(Locale.ROOT,
+                                          "%.17e",
+                                          Math.exp(random.nextGaussian() * 50));
+                    break;
+                case 3:
+                    field = Long.toString(random.nextLong());
+                    break;
+                default:
+                    field = "0.000" + (random.nextInt(1_000_000) + 1);
+            }
+
+            expected[index] = Double.parseDouble(field);
+            text.append(field).append('\n');
+        }
+
+        text.append("NaN\n-Infinity\n-0.0\n");
+
+        final Path path = write(text.toString());
+
+        try {
+            final double[] values = CsvReader.readColumn(path, 0);
+
+            Assert.assertEquals(expected.length + 3, values.length);
+
+            for (int index = 0; index < expected.length; ++index) {
+                Assert.assertEquals(Double.doubleToLongBits(expected[index]),
+                                    Double.doubleToLongBits(values[index]));
+            }
+
+            Assert.assertTrue(Double.isNaN(values[expected.length]));
+            Assert.assertEquals(Double.NEGATIVE_INFINITY,
+                                values[expected.length + 1],
+                                0);
+            Assert.assertEquals(Double.doubleToLongBits(-0.0),
+                                Double.doubleToLongBits(
+                                        values[expected.length + 2]));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testLineLongerThanBuffer() throws IOException {
+        final Path path = write("1," + " ".repeat(3 << 20) + "2\n3,4\n");
+
+        try {
+            final double[][] columns =
+                    CsvReader.readColumns(path, (byte) ',', 0, 0, 1);
+
+            Assert.assertArrayEquals(new double[] {1, 3}, columns[0], 0);
+            Assert.assertArrayEquals(new double[] {2, 4}, columns[1], 0);
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testMalformedField() throws IOException {
+        final Path path = write("1,2\n3,x\n");
+
+        try {
+            CsvReader.readColumn(path, 1);
+
+            Assert.fail();
+        } catch (final NumberFormatException exception) {
+            Assert.assertTrue(exception.getMessage(),
+                              exception.getMessage().startsWith(
+                                      "Line 2, column 1"));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testMissingColumn() throws IOException {
+        final Path path = write("1,2\n3\n");
+
+        try {
+            CsvReader.readColumn(path, 1);
+
+            Assert.fail();
+        } catch (final NumberFormatException exception) {
+            Assert.assertEquals("Line 2 has only 1 columns.",
+                                exception.getMessage());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testDoubleArrayBuilder() {
+        final DoubleArrayBuilder builder = new DoubleArrayBuilder(0);
+
+        for (int value = 0; value < 1_000; ++value) {
+            builder.accept(value);
+        }
+
+        Assert.assertEquals(1_000, builder.size());
+        Assert.assertEquals(999, builder.get(999), 0);
+        Assert.assertEquals(1_000, builder.toArray().length);
+
+        builder.clear();
+
+        Assert.assertEquals(0, builder.toArray().length);
+    }
+
+    private static Path write(final String text) throws IOException {
+        final Path path = Files.createTempFile("values", ".csv");
+
+        Files.write(path, text.getBytes(StandardCharsets.US_ASCII));
+
+        return path;
+    }
+}
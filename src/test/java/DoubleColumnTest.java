@@ -0,0 +1,151 @@
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.DoubleColumn;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+import statistics.Summary;
+
+public class DoubleColumnTest {
+    @Test
+    public void testStatisticsMatchArrays() throws NotEnoughDataException {
+        final Random random = new Random(16);
+        final double[] data = new double[100_001];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextInt(5_000) / 8.0;
+        }
+
+        final DoubleColumn column = new DoubleColumn(1 << 10);
+
+        for (final double value: data) {
+            column.accept(value);
+        }
+
+        Assert.assertEquals(data.length, column.size());
+        Assert.assertEquals(data[12_345], column.get(12_345), 0);
+        Assert.assertFalse(column.isSorted());
+        Assert.assertEquals(Statistics.min(data), column.min(), 0);
+        Assert.assertEquals(Statistics.max(data), column.max(), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(data),
+                            column.averageArithmetic(),
+                            1e-9);
+        Assert.assertEquals(Statistics.variance(data),
+                            column.variance(),
+                            1e-6);
+        Assert.assertArrayEquals(Statistics.mode(data), column.mode(), 0);
+        Assert.assertEquals(Statistics.frequencies(data),
+                            column.frequencies());
+
+        Assert.assertEquals(Statistics.median(data), column.median(), 0);
+        Assert.assertEquals(Statistics.firstQuartile(data),
+                            column.firstQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.thirdQuartile(data),
+                            column.thirdQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.iqr(data), column.iqr(), 0);
+        Assert.assertArrayEquals(Statistics.quantiles(data, 0, 0.01, 0.37, 1),
+                                 column.quantiles(0, 0.01, 0.37, 1),
+                                 0);
+
+        final Summary expected = Statistics.summary(data);
+        final Summary actual = column.summary();
+
+        Assert.assertTrue(column.isSorted());
+        Assert.assertEquals(expected.median(), actual.median(), 0);
+        Assert.assertEquals(expected.modeQuantity(), actual.modeQuantity());
+        Assert.assertArrayEquals(expected.modes(), actual.modes(), 0);
+        Assert.assertEquals(expected.variance(), actual.variance(), 1e-6);
+        Assert.assertArrayEquals(Statistics.mode(data), column.mode(), 0);
+    }
+
+    @Test
+    public void testSortAcrossChunks() {
+        final Random random = new Random(16);
+        final double[] data = new double[200_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = index % 1_000 == 0
+                          ? Double.NaN
+                          : random.nextGaussian();
+        }
+
+        data[7] = -0.0;
+        data[8] = 0.0;
+
+        final DoubleColumn column = new DoubleColumn(1 << 12);
+
+        column.accept(data);
+
+        final DoubleColumn copy = column.copy();
+
+        column.sort();
+
+        Arrays.sort(data);
+
+        for (int index = 0; index < data.length; ++index) {
+            Assert.assertEquals(Double.doubleToLongBits(data[index]),
+                                Double.doubleToLongBits(column.get(index)));
+        }
+
+        Assert.assertEquals(data.length, copy.size());
+        Assert.assertFalse(copy.isSorted());
+    }
+
+    @Test
+    public void testQuantilesWithNaN() throws NotEnoughDataException {
+        final double[] data = new double[20_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = index % 10 == 0 ? Double.NaN : data.length - index;
+        }
+
+        final DoubleColumn column = DoubleColumn.of(data);
+
+        Assert.assertEquals(Statistics.median(data), column.median(), 0);
+        Assert.assertEquals(Statistics.quantile(data, 0.5),
+                            column.quantile(0.5),
+                            0);
+        Assert.assertTrue(Double.isNaN(column.quantile(1)));
+    }
+
+    @Test
+    public void testExtremesSkipNaNAtBlockBoundary()
+                                            throws NotEnoughDataException {
+        final double[] data = new double[70_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = 100 + index % 7;
+        }
+
+        data[65_536] = Double.NaN;
+        data[65_537] = -5;
+        data[65_538] = 1e9;
+
+        final DoubleColumn column = DoubleColumn.of(data);
+
+        Assert.assertEquals(-5, column.min(), 0);
+        Assert.assertEquals(1e9, column.max(), 0);
+        Assert.assertEquals(Statistics.min(data), column.min(), 0);
+        Assert.assertEquals(Statistics.max(data), column.max(), 0);
+
+        data[0] = Double.NaN;
+
+        final DoubleColumn columnStartingWithNaN = DoubleColumn.of(data);
+
+        Assert.assertTrue(Double.isNaN(columnStartingWithNaN.min()));
+        Assert.assertTrue(Double.isNaN(columnStartingWithNaN.max()));
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testEmptyColumn() throws NotEnoughDataException {
+        new DoubleColumn().median();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidChunkLength() {
+        new DoubleColumn(1_000);
+    }
+}
@@ -0,0 +1,140 @@
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.DoubleArrayBuilder;
+import statistics.DynamicDataset;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+import statistics.Summary;
+
+public class DynamicDatasetTest {
+    @Test
+    public void testRandomChanges() throws NotEnoughDataException {
+        final Random random = new Random(18);
+        final double[] data = new double[2_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextInt(300);
+        }
+
+        final DynamicDataset dataset = DynamicDataset.of(data);
+
+        for (int change = 0; change < 20_000; ++change) {
+            final int index = random.nextInt(data.length);
+            final double value = random.nextInt(300) + 1e6;
+
+            Assert.assertTrue(dataset.replace(data[index], value));
+
+            data[index] = value;
+
+            if (change % 1_000 == 0) {
+                assertSameStatistics(data, dataset);
+            }
+        }
+
+        assertSameStatistics(data, dataset);
+
+        Assert.assertFalse(dataset.remove(-1));
+        Assert.assertFalse(dataset.replace(-1, 5));
+        Assert.assertEquals(data.length, dataset.count());
+    }
+
+    @Test
+    public void testAddAndRemove() throws NotEnoughDataException {
+        final DynamicDataset dataset = new DynamicDataset();
+
+        for (final double value: new double[] {5, 1, 3, 3, 9, 1}) {
+            dataset.add(value);
+        }
+
+        Assert.assertArrayEquals(new double[] {1, 3, 2},
+                                 dataset.mode(),
+                                 0);
+        Assert.assertEquals(2, dataset.rank(3));
+        Assert.assertEquals(2, dataset.count(1));
+
+        dataset.remove(1);
+
+        Assert.assertArrayEquals(new double[] {3, 2}, dataset.mode(), 0);
+        Assert.assertEquals(1, dataset.min(), 0);
+        Assert.assertEquals(9, dataset.max(), 0);
+        Assert.assertEquals(3, dataset.median(), 0);
+        Assert.assertEquals(4.2, dataset.averageArithmetic(), 1e-12);
+
+        final DoubleArrayBuilder values = new DoubleArrayBuilder();
+
+        for (long rank = 0; rank < dataset.count(); ++rank) {
+            values.accept(dataset.valueOfRank(rank));
+        }
+
+        Assert.assertArrayEquals(new double[] {1, 3, 3, 5, 9},
+                                 values.toArray(),
+                                 0);
+
+        dataset.clear();
+
+        Assert.assertEquals(0, dataset.modeQuantity());
+    }
+
+    @Test
+    public void testRemovalOfNonFiniteValues() throws NotEnoughDataException {
+        final DynamicDataset dataset =
+                DynamicDataset.of(new double[] {1, 2, 3, 4});
+
+        dataset.add(Double.POSITIVE_INFINITY);
+
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            dataset.averageArithmetic(),
+                            0);
+        Assert.assertTrue(Double.isNaN(dataset.variance()));
+
+        dataset.remove(Double.POSITIVE_INFINITY);
+        dataset.add(Double.NaN);
+        dataset.add(Double.NEGATIVE_INFINITY);
+
+        Assert.assertTrue(Double.isNaN(dataset.averageArithmetic()));
+
+        dataset.remove(Double.NaN);
+        dataset.remove(Double.NEGATIVE_INFINITY);
+        dataset.add(5);
+        dataset.add(6);
+
+        Assert.assertEquals(3.5, dataset.averageArithmetic(), 1e-12);
+        Assert.assertEquals(3.5, dataset.variance(), 1e-12);
+        Assert.assertEquals(3.5, dataset.summary().averageArithmetic(), 1e-12);
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testEmptyDataset() throws NotEnoughDataException {
+        new DynamicDataset().median();
+    }
+
+    private static void assertSameStatistics(final double[] data,
+                                             final DynamicDataset dataset)
+                                            throws NotEnoughDataException {
+        final Summary expected = Statistics.summary(data);
+        final Summary actual = dataset.summary();
+
+        Assert.assertEquals(expected.count(), actual.count());
+        Assert.assertEquals(expected.min(), actual.min(), 0);
+        Assert.assertEquals(expected.max(), actual.max(), 0);
+        Assert.assertEquals(expected.averageArithmetic(),
+                            actual.averageArithmetic(),
+                            1e-6);
+        Assert.assertEquals(expected.variance(),
+                            actual.variance(),
+                            expected.variance() * 1e-9);
+        Assert.assertArrayEquals(expected.modes(), actual.modes(), 0);
+        Assert.assertEquals(expected.modeQuantity(), actual.modeQuantity());
+        Assert.assertEquals(expected.firstQuartile(),
+                            actual.firstQuartile(),
+                            0);
+        Assert.assertEquals(expected.median(), actual.median(), 0);
+        Assert.assertEquals(expected.thirdQuartile(),
+                            actual.thirdQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.quantile(data, 0.9),
+                            dataset.quantile(0.9),
+                            1e-9);
+    }
+}
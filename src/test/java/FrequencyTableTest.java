@@ -0,0 +1,61 @@
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.FrequencyTable;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+
+public class FrequencyTableTest {
+    @Test
+    public void testFrequencyTable() throws NotEnoughDataException {
+        final double[] data = {4, 1, 1, 2, 4, 1, 4};
+
+        final FrequencyTable table = Statistics.frequencyTable(data);
+
+        Assert.assertEquals(3, table.size());
+        Assert.assertEquals(7, table.total());
+        Assert.assertArrayEquals(new double[] {4, 1, 2}, table.values(), 0);
+        Assert.assertArrayEquals(new long[] {3, 3, 1}, table.counts());
+        Assert.assertEquals(3.0 / 7, table.frequency(0), 0);
+        Assert.assertArrayEquals(new double[] {1, 4}, table.modes(), 0);
+        Assert.assertEquals(3, table.modeQuantity());
+    }
+
+    @Test
+    public void testAgainstHashMap() throws NotEnoughDataException {
+        final Random random = new Random(3);
+        final double[] data = new double[100_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextInt(30_000) / 4.0;
+        }
+
+        data[0] = Double.NaN;
+        data[1] = Double.NaN;
+        data[2] = -0.0;
+        data[3] = 0.0;
+
+        final Map<Double, Long> expected = new HashMap<>();
+
+        for (final double value: data) {
+            expected.merge(value, 1L, Long::sum);
+        }
+
+        final FrequencyTable table = Statistics.frequencyTable(data);
+
+        Assert.assertEquals(expected.size(), table.size());
+
+        for (int index = 0; index < table.size(); ++index) {
+            Assert.assertEquals((long) expected.get(table.value(index)),
+                                table.count(index));
+        }
+
+        final Map<Double, Double> frequencies = Statistics.frequencies(data);
+
+        Assert.assertEquals(2.0 / data.length,
+                            frequencies.get(Double.NaN),
+                            0);
+    }
+}
@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.ExecutionMode;
+import statistics.GroupedStatistics;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+
+public class GroupedStatisticsTest {
+    @Test
+    public void testGroupBy() throws NotEnoughDataException {
+        final int[] keys = {7, 3, 7, 7, 3, 5};
+        final double[] values = {1, 10, 3, 2, 20, 4};
+
+        final GroupedStatistics groups = Statistics.groupBy(keys, values);
+
+        Assert.assertEquals(3, groups.size());
+        Assert.assertEquals(7, groups.key(0));
+        Assert.assertEquals(3, groups.key(1));
+        Assert.assertEquals(5, groups.key(2));
+        Assert.assertEquals(1, groups.indexOf(3));
+        Assert.assertEquals(-1, groups.indexOf(4));
+        Assert.assertEquals(3, groups.count(0));
+        Assert.assertEquals(2, groups.averageArithmetic(0), 0);
+        Assert.assertEquals(1, groups.variance(0), 1e-12);
+        Assert.assertEquals(1, groups.min(0), 0);
+        Assert.assertEquals(3, groups.max(0), 0);
+        Assert.assertEquals(50, groups.variance(1), 1e-12);
+        Assert.assertFalse(groups.hasOrderStatistics());
+        Assert.assertFalse(groups.summary(0).hasOrderStatistics());
+    }
+
+    @Test
+    public void testAgainstSplitArrays() throws NotEnoughDataException {
+        final Random random = new Random(12);
+        final int length = 400_003;
+        final long[] keys = new long[length];
+        final double[] values = new double[length];
+
+        for (int index = 0; index < length; ++index) {
+            keys[index] = random.nextInt(1000) * 1_000_000_007L;
+            values[index] = random.nextInt(100) + random.nextDouble();
+        }
+
+        final Map<Long, List<Double>> split = new LinkedHashMap<>();
+
+        for (int index = 0; index < length; ++index) {
+            split.computeIfAbsent(keys[index], key -> new ArrayList<>())
+                 .add(values[index]);
+        }
+
+        for (final ExecutionMode mode: ExecutionMode.values()) {
+            final GroupedStatistics groups =
+                    Statistics.groupBy(keys, values, mode, true);
+
+            Assert.assertEquals(split.size(), groups.size());
+
+            int group = 0;
+
+            for (final Map.Entry<Long, List<Double>> entry:
+                                                        split.entrySet()) {
+                final double[] data = entry.getValue()
+                                           .stream()
+                                           .mapToDouble(Double::doubleValue)
+                                           .toArray();
+
+                Assert.assertEquals((long) entry.getKey(), groups.key(group));
+                Assert.assertEquals(data.length, groups.count(group));
+                Assert.assertEquals(Statistics.min(data),
+                                    groups.min(group),
+                                    0);
+                Assert.assertEquals(Statistics.max(data),
+                                    groups.max(group),
+                                    0);
+                Assert.assertEquals(Statistics.averageArithmetic(data),
+                                    groups.averageArithmetic(group),
+                                    1e-9);
+                Assert.assertEquals(Statistics.variance(data),
+                                    groups.variance(group),
+                                    1e-9);
+                Assert.assertEquals(Statistics.median(data),
+                                    groups.median(group),
+                                    0);
+                Assert.assertEquals(Statistics.firstQuartile(data),
+                                    groups.firstQuartile(group),
+                                    0);
+                Assert.assertEquals(Statistics.thirdQuartile(data),
+                                    groups.thirdQuartile(group),
+                                    0);
+                Assert.assertEquals(Statistics.quantile(data, 0.9),
+                                    groups.quantile(group, 0.9),
+                                    0);
+
+                ++group;
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOrderStatisticsNotRequested() {
+        Statistics.groupBy(new int[] {1}, new double[] {1}).median(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnsOfDifferentLengths() {
+        Statistics.groupBy(new int[] {1, 2}, new double[] {1});
+    }
+}
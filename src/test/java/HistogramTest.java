@@ -0,0 +1,119 @@
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.Histogram;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+
+public class HistogramTest {
+    @Test
+    public void testLinearHistogram() throws NotEnoughDataException {
+        final double[] data = {0.5, 1.5, 1.7, 2.2, 9.9, 10, -1, Double.NaN};
+
+        final Histogram histogram =
+                Statistics.histogram(data, Histogram.linear(0, 10, 10));
+
+        Assert.assertEquals(10, histogram.numberOfBins());
+        Assert.assertEquals(1, histogram.lowerBound(1), 0);
+        Assert.assertEquals(2, histogram.upperBound(1), 0);
+        Assert.assertEquals(1, histogram.count(0));
+        Assert.assertEquals(2, histogram.count(1));
+        Assert.assertEquals(1, histogram.count(9));
+        Assert.assertEquals(1, histogram.underflowCount());
+        Assert.assertEquals(1, histogram.overflowCount());
+        Assert.assertEquals(1, histogram.nanCount());
+        Assert.assertEquals(7, histogram.total());
+        Assert.assertEquals(2.0 / 7, histogram.frequency(1), 0);
+        Assert.assertArrayEquals(new int[] {1}, histogram.modalBins());
+        Assert.assertEquals(2, histogram.modeQuantity());
+
+        final Map<Double, Double> frequencies = histogram.frequencies();
+
+        Assert.assertEquals(4, frequencies.size());
+        Assert.assertEquals(2.0 / 7, frequencies.get(1.0), 0);
+        Assert.assertEquals(0, histogram.quantile(0), 0);
+        Assert.assertEquals(10, histogram.quantile(1), 0);
+    }
+
+    @Test
+    public void testQuantilesOfEveryLayout() throws NotEnoughDataException {
+        final Random random = new Random(13);
+        final double[] data = new double[200_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = Math.exp(random.nextGaussian()) * 100;
+        }
+
+        final Histogram[] histograms = {
+                Histogram.linear(0, 10_000, 100_000),
+                Histogram.logarithmic(1, 100_000, 10_000),
+                Histogram.hdr(1, 100_000, 3)
+        };
+
+        for (final Histogram histogram: histograms) {
+            Statistics.histogram(data, histogram);
+
+            for (final double probability: new double[] {0.1, 0.5, 0.99}) {
+                final double expected = Statistics.quantile(data, probability);
+
+                Assert.assertEquals(histogram.toString(),
+                                    expected,
+                                    histogram.quantile(probability),
+                                    expected * 2e-3);
+            }
+        }
+    }
+
+    @Test
+    public void testHdrPrecision() {
+        final Histogram histogram = Histogram.hdr(1e-3, 1e6, 2);
+
+        for (int bin = 0; bin < histogram.numberOfBins(); ++bin) {
+            final double lower = histogram.lowerBound(bin);
+            final double upper = histogram.upperBound(bin);
+
+            Assert.assertTrue(upper > lower);
+            Assert.assertTrue((upper - lower) / lower <= 0.01);
+        }
+
+        histogram.accept(12.345);
+
+        final int bin = histogram.modalBins()[0];
+
+        Assert.assertTrue(histogram.lowerBound(bin) <= 12.345);
+        Assert.assertTrue(histogram.upperBound(bin) > 12.345);
+    }
+
+    @Test
+    public void testConcurrentRecordingAndMerge() throws InterruptedException {
+        final Histogram histogram = Histogram.linear(0, 100, 100);
+        final Thread[] threads = new Thread[4];
+
+        for (int index = 0; index < threads.length; ++index) {
+            threads[index] = new Thread(() -> {
+                for (int value = 0; value < 100_000; ++value) {
+                    histogram.accept(value % 100);
+                }
+            });
+            threads[index].start();
+        }
+
+        for (final Thread thread: threads) {
+            thread.join();
+        }
+
+        Assert.assertEquals(400_000, histogram.total());
+        Assert.assertEquals(4_000, histogram.count(42));
+
+        final Histogram merged = histogram.emptyCopy().merge(histogram);
+
+        Assert.assertEquals(4_000, merged.count(42));
+        Assert.assertEquals(100, merged.modalBins().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeOfDifferentBins() {
+        Histogram.linear(0, 1, 10).merge(Histogram.linear(0, 1, 20));
+    }
+}
@@ -0,0 +1,168 @@
+import java.lang.management.ManagementFactory;
+import java.nio.DoubleBuffer;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import statistics.ExecutionMode;
+import statistics.Instrumentation;
+import statistics.NotEnoughDataException;
+import statistics.Operation;
+import statistics.OperationMetrics;
+import statistics.Statistics;
+
+public class InstrumentationTest {
+    @Before
+    public void setUp() {
+        Instrumentation.reset();
+    }
+
+    @After
+    public void tearDown() throws JMException {
+        Instrumentation.disable();
+        Instrumentation.unregisterMBeans();
+        Instrumentation.reset();
+    }
+
+    @Test
+    public void testCallsAreRecordedOnlyWhileEnabled()
+                                            throws NotEnoughDataException {
+        final double[] data = {5, 1, 4, 2, 3};
+
+        Statistics.median(data);
+
+        Instrumentation.enable();
+
+        Assert.assertEquals(3, Statistics.median(data), 0);
+        Assert.assertEquals(3, Statistics.median(new double[] {3}), 0);
+
+        try {
+            Statistics.median(new double[0]);
+            Assert.fail();
+        } catch (final NotEnoughDataException exception) {
+            // expected
+        }
+
+        Assert.assertEquals(2, Statistics.quantile(data, 0.25), 0);
+
+        Instrumentation.disable();
+
+        Statistics.median(data);
+
+        final OperationMetrics median =
+                Instrumentation.snapshot(Operation.MEDIAN);
+
+        Assert.assertEquals(3, median.calls());
+        Assert.assertEquals(1, median.notEnoughDataExceptions());
+        Assert.assertEquals(0, median.failures());
+        Assert.assertEquals(6, median.totalInputSize());
+        Assert.assertEquals(3, median.latencies().total());
+        Assert.assertTrue(median.totalLatencyNanos() > 0);
+        Assert.assertTrue(median.latencyQuantileNanos(0.5) > 0);
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot()
+                                           .get(Operation.QUANTILE)
+                                           .calls());
+        Assert.assertEquals(0,
+                            Instrumentation.snapshot(Operation.SUMMARY)
+                                           .calls());
+    }
+
+    @Test
+    public void testOverloadsAndDerivedStatisticsAreRecorded()
+                                            throws NotEnoughDataException {
+        final double[] data = {5, 1, 4, 2, 3};
+
+        Instrumentation.enable();
+
+        Statistics.iqr(data);
+        Statistics.threeOverTwoIqr(data);
+        Statistics.median(new int[] {3, 1, 2});
+        Statistics.median(new long[] {3, 1});
+        Statistics.min(data, ExecutionMode.PARALLEL);
+        Statistics.variance(DoubleBuffer.wrap(data, 1, 3));
+        Statistics.standardDeviation(data);
+        Statistics.covariance(data, data);
+        Statistics.summarizeSeries(data, new int[] {0, 2, 5});
+        Statistics.overallStatistics(data);
+
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(Operation.IQR).calls());
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(
+                                    Operation.THREE_OVER_TWO_IQR)
+                                           .calls());
+
+        final OperationMetrics median =
+                Instrumentation.snapshot(Operation.MEDIAN);
+
+        Assert.assertEquals(2, median.calls());
+        Assert.assertEquals(5, median.totalInputSize());
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(Operation.MIN).calls());
+        Assert.assertEquals(3,
+                            Instrumentation.snapshot(Operation.VARIANCE)
+                                           .totalInputSize());
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(
+                                    Operation.STANDARD_DEVIATION)
+                                           .calls());
+        Assert.assertEquals(0,
+                            Instrumentation.snapshot(Operation.MOMENTS)
+                                           .calls());
+        Assert.assertEquals(5,
+                            Instrumentation.snapshot(Operation.COVARIANCE)
+                                           .totalInputSize());
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(
+                                    Operation.SUMMARIZE_SERIES)
+                                           .calls());
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(
+                                    Operation.OVERALL_STATISTICS)
+                                           .calls());
+        Assert.assertEquals(0,
+                            Instrumentation.snapshot(Operation.SUMMARY)
+                                           .calls());
+    }
+
+    @Test
+    public void testFailuresAreCounted() throws NotEnoughDataException {
+        Instrumentation.enable();
+
+        try {
+            Statistics.quantile(new double[] {1, 2}, 2);
+            Assert.fail();
+        } catch (final IllegalArgumentException exception) {
+            // expected
+        }
+
+        Assert.assertEquals(1,
+                            Instrumentation.snapshot(Operation.QUANTILE)
+                                           .failures());
+    }
+
+    @Test
+    public void testMBeans() throws JMException, NotEnoughDataException {
+        Instrumentation.registerMBeans();
+        Instrumentation.registerMBeans();
+        Instrumentation.enable();
+
+        Statistics.summary(new double[] {1, 2, 3, 4});
+
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name =
+                new ObjectName("statistics:type=Operation,name=SUMMARY");
+
+        Assert.assertEquals(1L, server.getAttribute(name, "Calls"));
+        Assert.assertEquals(4.0,
+                            server.getAttribute(name, "AverageInputSize"));
+
+        server.invoke(name, "reset", null, null);
+
+        Assert.assertEquals(0L, server.getAttribute(name, "Calls"));
+    }
+}
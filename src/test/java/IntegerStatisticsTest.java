@@ -0,0 +1,123 @@
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.FrequencyTable;
+import statistics.NotEnoughDataException;
+import statistics.SortedView;
+import statistics.Statistics;
+
+public class IntegerStatisticsTest {
+    @Test
+    public void testCountedDoublesMatchSortedOnes()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(25);
+
+        for (final int length: new int[] {2, 3, 10, 1_001, 100_000}) {
+            final double[] data = new double[length];
+
+            for (int index = 0; index < length; ++index) {
+                data[index] = random.nextInt(length) - length / 3;
+            }
+
+            final SortedView view = Statistics.sortedView(data);
+
+            Assert.assertEquals(view.summary(), Statistics.summary(data));
+            Assert.assertEquals(view.median(), Statistics.median(data), 0);
+            Assert.assertEquals(view.firstQuartile(),
+                                Statistics.firstQuartile(data),
+                                0);
+            Assert.assertEquals(view.thirdQuartile(),
+                                Statistics.thirdQuartile(data),
+                                0);
+            Assert.assertEquals(view.iqr(), Statistics.iqr(data), 0);
+
+            final double[] modes = Statistics.mode(data);
+
+            Assert.assertEquals(view.modeQuantity(),
+                                modes[modes.length - 1],
+                                0);
+            Assert.assertEquals(view.modes().length, modes.length - 1);
+        }
+    }
+
+    @Test
+    public void testIntAndLongOverloads() throws NotEnoughDataException {
+        final Random random = new Random(26);
+
+        for (final int bound: new int[] {100, Integer.MAX_VALUE}) {
+            final int[] ints = new int[10_001];
+            final long[] longs = new long[ints.length];
+            final double[] doubles = new double[ints.length];
+
+            for (int index = 0; index < ints.length; ++index) {
+                ints[index] = random.nextInt(bound) - bound / 2;
+                longs[index] = ints[index];
+                doubles[index] = ints[index];
+            }
+
+            final SortedView view = Statistics.sortedView(doubles);
+
+            Assert.assertEquals(view.median(), Statistics.median(ints), 0);
+            Assert.assertEquals(view.median(), Statistics.median(longs), 0);
+            Assert.assertEquals(view.firstQuartile(),
+                                Statistics.firstQuartile(ints),
+                                0);
+            Assert.assertEquals(view.thirdQuartile(),
+                                Statistics.thirdQuartile(longs),
+                                0);
+            Assert.assertArrayEquals(Statistics.mode(doubles),
+                                     Statistics.mode(longs),
+                                     0);
+            Assert.assertEquals(Statistics.frequencies(doubles),
+                                Statistics.frequencyTable(ints).toMap());
+            Assert.assertArrayEquals(view.summary().modes(),
+                                     Statistics.summary(ints).modes(),
+                                     0);
+            Assert.assertEquals(view.summary().thirdQuartile(),
+                                Statistics.summary(ints).thirdQuartile(),
+                                0);
+            Assert.assertEquals(view.summary().variance(),
+                                Statistics.summary(longs).variance(),
+                                1e-6 * view.summary().variance());
+            Assert.assertEquals(Statistics.averageArithmetic(doubles),
+                                Statistics.summary(ints).averageArithmetic(),
+                                1e-6);
+        }
+
+        final long[] large = {Long.MAX_VALUE, Long.MIN_VALUE, 7, 0};
+
+        Assert.assertEquals(3.5, Statistics.median(large), 0);
+
+        large[3] = 7;
+
+        Assert.assertArrayEquals(new double[] {7, 2},
+                                 Statistics.mode(large),
+                                 0);
+    }
+
+    @Test
+    public void testFrequencyTableKeepsOrderAndNegativeZero()
+                                            throws NotEnoughDataException {
+        final double[] data = {3, 1, 0.0, 3, -0.0, 1, 3};
+        final FrequencyTable table = Statistics.frequencyTable(data);
+
+        Assert.assertArrayEquals(new double[] {3, 1, 0.0, -0.0},
+                                 table.values(),
+                                 0);
+        Assert.assertArrayEquals(new long[] {3, 2, 1, 1}, table.counts());
+
+        final FrequencyTable ints =
+                Statistics.frequencyTable(new int[] {5, -2, 5, 9, -2, 5});
+
+        Assert.assertArrayEquals(new double[] {5, -2, 9}, ints.values(), 0);
+        Assert.assertArrayEquals(new long[] {3, 2, 1}, ints.counts());
+        Assert.assertArrayEquals(new double[] {5, 2},
+                                 Statistics.mode(new int[] {5, -2, 5, 9}),
+                                 0);
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testQuartileOfOneValue() throws NotEnoughDataException {
+        Statistics.firstQuartile(new long[1]);
+    }
+}
@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.MappedDoubleFile;
+import statistics.NotEnoughDataException;
+import statistics.RunningStatistics;
+import statistics.Statistics;
+import statistics.Summary;
+
+public class MappedDoubleFileTest {
+    @Test
+    public void testWindows() throws IOException, NotEnoughDataException {
+        final Random random = new Random(8);
+        final double[] data = new double[100_003];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextGaussian() * 10 + 100;
+        }
+
+        final ByteBuffer bytes = ByteBuffer.allocate(data.length * 8)
+                                           .order(ByteOrder.LITTLE_ENDIAN);
+
+        bytes.asDoubleBuffer().put(data);
+
+        final Path path = Files.createTempFile("doubles", ".bin");
+
+        try {
+            Files.write(path, bytes.array());
+
+            try (MappedDoubleFile file =
+                         MappedDoubleFile.open(path,
+                                               ByteOrder.LITTLE_ENDIAN,
+                                               4099)) {
+                final RunningStatistics statistics = file.runningStatistics();
+
+                Assert.assertEquals(data.length, file.count());
+                Assert.assertEquals(data.length, statistics.count());
+                Assert.assertEquals(Statistics.min(data),
+                                    statistics.min(),
+                                    0);
+                Assert.assertEquals(Statistics.max(data),
+                                    statistics.max(),
+                                    0);
+                Assert.assertEquals(Statistics.averageArithmetic(data),
+                                    statistics.averageArithmetic(),
+                                    1e-9);
+                Assert.assertEquals(Statistics.variance(data),
+                                    statistics.variance(),
+                                    1e-9);
+                Assert.assertEquals(Statistics.median(data),
+                                    file.sketch(200).median(),
+                                    1);
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testDoubleBuffer() throws NotEnoughDataException {
+        final double[] data = {0, 3.71, 3.76, 3.7, 3.69, 3.64, 0};
+        final double[] values = {3.71, 3.76, 3.7, 3.69, 3.64};
+
+        final DoubleBuffer buffer = ByteBuffer.allocateDirect(data.length * 8)
+                                              .asDoubleBuffer()
+                                              .put(data);
+
+        buffer.position(1).limit(6);
+
+        Assert.assertEquals(3.64, Statistics.min(buffer), 0);
+        Assert.assertEquals(3.76, Statistics.max(buffer), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(values),
+                            Statistics.averageArithmetic(buffer),
+                            0);
+        Assert.assertEquals(Statistics.variance(values),
+                            Statistics.variance(buffer),
+                            1e-15);
+
+        final Summary summary = Statistics.momentSummary(buffer);
+
+        Assert.assertEquals(5, summary.count());
+        Assert.assertEquals(Statistics.variance(values),
+                            summary.variance(),
+                            1e-15);
+        Assert.assertEquals(1, buffer.position());
+    }
+
+    @Test
+    public void testDoubleBufferIsAddedPairwise()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(11);
+        final double[] data = new double[200_002];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = 1e9 + random.nextDouble();
+        }
+
+        final double[] values = Arrays.copyOfRange(data, 1, data.length - 1);
+        final DoubleBuffer heap = DoubleBuffer.wrap(data, 1, values.length);
+
+        Assert.assertEquals(Statistics.averageArithmetic(values),
+                            Statistics.averageArithmetic(heap),
+                            0);
+        Assert.assertEquals(Statistics.variance(values),
+                            Statistics.variance(heap),
+                            0);
+
+        final DoubleBuffer direct =
+                ByteBuffer.allocateDirect(data.length * 8)
+                          .asDoubleBuffer()
+                          .put(data);
+
+        direct.position(1).limit(data.length - 1);
+
+        final Summary expected = Statistics.momentSummary(values);
+        final Summary actual = Statistics.momentSummary(direct);
+
+        Assert.assertEquals(expected.averageArithmetic(),
+                            actual.averageArithmetic(),
+                            1e-6);
+        Assert.assertEquals(expected.variance(), actual.variance(), 1e-9);
+        Assert.assertEquals(1, direct.position());
+    }
+
+    @Test(expected = IOException.class)
+    public void testTruncatedFile() throws IOException {
+        final Path path = Files.createTempFile("doubles", ".bin");
+
+        try {
+            Files.write(path, new byte[12]);
+
+            MappedDoubleFile.open(path).close();
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.CoMoments;
+import statistics.ExecutionMode;
+import statistics.Moments;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+
+public class MomentsTest {
+    @Test
+    public void testMomentsOfKnownData() throws NotEnoughDataException {
+        final double[] data = {2, 8, 0, 4, 1, 9, 9, 0};
+        final Moments moments = Statistics.moments(data);
+
+        Assert.assertEquals(8, moments.count());
+        Assert.assertEquals(4.125, moments.averageArithmetic(), 1e-12);
+        Assert.assertEquals(Statistics.variance(data),
+                            moments.variance(),
+                            1e-12);
+        Assert.assertEquals(Math.sqrt(Statistics.variance(data)),
+                            Statistics.standardDeviation(data),
+                            1e-12);
+        Assert.assertEquals(skewness(data), Statistics.skewness(data), 1e-12);
+        Assert.assertEquals(kurtosis(data), Statistics.kurtosis(data), 1e-12);
+        Assert.assertEquals(0, Statistics.skewness(new double[] {1, 2, 3}), 0);
+    }
+
+    @Test
+    public void testStreamedChunkedAndParallelMomentsAgree()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(23);
+        final double[] data = new double[300_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = 1e6 + random.nextGaussian() * random.nextDouble();
+        }
+
+        final Moments streamed = new Moments();
+
+        for (final double value: data) {
+            streamed.accept(value);
+        }
+
+        final Moments combined = new Moments();
+        final Moments part = new Moments();
+
+        for (int from = 0; from < data.length; from += 7_000) {
+            part.reset();
+            part.accept(data, from, Math.min(7_000, data.length - from));
+            combined.combine(part);
+        }
+
+        final Moments parallel =
+                Statistics.moments(data, ExecutionMode.PARALLEL);
+
+        for (final Moments moments: new Moments[] {streamed,
+                                                   combined,
+                                                   parallel}) {
+            Assert.assertEquals(data.length, moments.count());
+            Assert.assertEquals(Statistics.averageArithmetic(data),
+                                moments.averageArithmetic(),
+                                1e-7);
+            Assert.assertEquals(Statistics.variance(data),
+                                moments.variance(),
+                                1e-9);
+            Assert.assertEquals(skewness(data), moments.skewness(), 1e-6);
+            Assert.assertEquals(kurtosis(data), moments.kurtosis(), 1e-6);
+        }
+    }
+
+    @Test
+    public void testCovarianceAndCorrelation()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(32);
+        final double[] x = new double[200_000];
+        final double[] y = new double[x.length];
+        final double[] z = new double[x.length];
+
+        for (int index = 0; index < x.length; ++index) {
+            x[index] = random.nextDouble();
+            y[index] = 2 * x[index] + 1;
+            z[index] = x[index] + random.nextGaussian();
+        }
+
+        Assert.assertEquals(1, Statistics.correlation(x, y), 1e-12);
+        Assert.assertEquals(2 * Statistics.variance(x),
+                            Statistics.covariance(x, y),
+                            1e-12);
+        Assert.assertEquals(covariance(x, z),
+                            Statistics.covariance(x, z),
+                            1e-12);
+
+        final CoMoments parallel =
+                Statistics.coMoments(x, z, ExecutionMode.PARALLEL);
+        final CoMoments streamed = new CoMoments();
+
+        for (int index = 0; index < x.length; ++index) {
+            streamed.accept(x[index], z[index]);
+        }
+
+        for (final CoMoments coMoments: new CoMoments[] {parallel,
+                                                         streamed}) {
+            Assert.assertEquals(x.length, coMoments.count());
+            Assert.assertEquals(Statistics.variance(z),
+                                coMoments.varianceY(),
+                                1e-9);
+            Assert.assertEquals(Statistics.correlation(x, z),
+                                coMoments.correlation(),
+                                1e-9);
+        }
+
+        Assert.assertTrue(Double.isNaN(
+                Statistics.correlation(new double[] {1, 1, 1},
+                                       new double[] {1, 2, 3})));
+    }
+
+    @Test
+    public void testMomentsOfEqualValues() throws NotEnoughDataException {
+        for (final double value: new double[] {0.1, 0.7, 1e300, -3}) {
+            for (final int length: new int[] {3, 4, 7, 5_000}) {
+                final double[] data = new double[length];
+
+                Arrays.fill(data, value);
+
+                Assert.assertEquals(0, Statistics.moments(data).variance(), 0);
+                Assert.assertTrue(Double.isNaN(Statistics.skewness(data)));
+
+                if (length >= 4) {
+                    Assert.assertTrue(Double.isNaN(Statistics.kurtosis(data)));
+                }
+            }
+        }
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testKurtosisOfThreeValues() throws NotEnoughDataException {
+        Statistics.kurtosis(new double[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCovarianceOfDifferentLengths()
+                                            throws NotEnoughDataException {
+        Statistics.covariance(new double[2], new double[3]);
+    }
+
+    private static double average(final double[] data) {
+        double sum = 0;
+
+        for (final double value: data) {
+            sum += value;
+        }
+
+        return sum / data.length;
+    }
+
+    private static double centralMoment(final double[] data,
+                                        final int power) {
+        final double average = average(data);
+
+        double sum = 0;
+
+        for (final double value: data) {
+            sum += Math.pow(value - average, power);
+        }
+
+        return sum / data.length;
+    }
+
+    private static double skewness(final double[] data) {
+        final double n = data.length;
+
+        return centralMoment(data, 3)
+               / Math.pow(centralMoment(data, 2), 1.5)
+               * Math.sqrt(n * (n - 1)) / (n - 2);
+    }
+
+    private static double kurtosis(final double[] data) {
+        final double n = data.length;
+        final double g2 = centralMoment(data, 4)
+                          / Math.pow(centralMoment(data, 2), 2) - 3;
+
+        return ((n + 1) * g2 + 6) * (n - 1) / ((n - 2) * (n - 3));
+    }
+
+    private static double covariance(final double[] x, final double[] y) {
+        final double averageX = average(x);
+        final double averageY = average(y);
+
+        double sum = 0;
+
+        for (int index = 0; index < x.length; ++index) {
+            sum += (x[index] - averageX) * (y[index] - averageY);
+        }
+
+        return sum / (x.length - 1);
+    }
+}
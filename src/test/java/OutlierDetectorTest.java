@@ -0,0 +1,132 @@
+import java.util.BitSet;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.OutlierDetector;
+import statistics.OutlierFences;
+import statistics.OutlierRule;
+import statistics.Statistics;
+import statistics.StreamingOutlierDetector;
+
+public class OutlierDetectorTest {
+    @Test
+    public void testTukeyFencesMatchQuartiles()
+                                            throws NotEnoughDataException {
+        final double[] data = randomData(10_001, 24);
+        final double[] copy = data.clone();
+        final OutlierFences fences =
+                new OutlierDetector(OutlierRule.TUKEY, 1.5).fences(data);
+        final double threeOverTwoIqr = Statistics.threeOverTwoIqr(data);
+
+        Assert.assertArrayEquals(copy, data, 0);
+        Assert.assertEquals(Statistics.firstQuartile(data) - threeOverTwoIqr,
+                            fences.lower(),
+                            1e-12);
+        Assert.assertEquals(Statistics.thirdQuartile(data) + threeOverTwoIqr,
+                            fences.upper(),
+                            1e-12);
+
+        final BitSet outliers = Statistics.outliers(data);
+
+        for (int index = 0; index < data.length; ++index) {
+            Assert.assertEquals(data[index] < fences.lower()
+                                || data[index] > fences.upper(),
+                                outliers.get(index));
+        }
+
+        Assert.assertTrue(outliers.get(0));
+        Assert.assertTrue(outliers.get(data.length - 1));
+    }
+
+    @Test
+    public void testBitsetAndIndexesAgree() throws NotEnoughDataException {
+        final double[] data = randomData(1_000, 25);
+
+        data[500] = Double.NaN;
+
+        final long[] words = new long[OutlierFences.wordsFor(2_000)];
+        final int[] indexes = new int[data.length];
+
+        for (final OutlierRule rule: OutlierRule.values()) {
+            final OutlierFences fences =
+                    new OutlierDetector(rule, 3).fences(data);
+            final int numberOfOutliers = fences.classify(data, words);
+            final BitSet bits = BitSet.valueOf(words);
+
+            Assert.assertFalse(bits.get(500));
+            Assert.assertEquals(numberOfOutliers,
+                                fences.outlierIndexes(data, indexes));
+            Assert.assertEquals(numberOfOutliers, bits.cardinality());
+            Assert.assertTrue(numberOfOutliers > 0);
+
+            for (int index = 0; index < numberOfOutliers; ++index) {
+                Assert.assertTrue(bits.get(indexes[index]));
+                Assert.assertTrue(fences.isOutlier(data[indexes[index]]));
+            }
+        }
+    }
+
+    @Test
+    public void testMedianAbsoluteDeviationFences()
+                                            throws NotEnoughDataException {
+        final double[] data = {1, 2, 3, 4, 100};
+        final OutlierFences fences =
+                new OutlierDetector(OutlierRule.MEDIAN_ABSOLUTE_DEVIATION, 2)
+                        .fences(data);
+        final double margin = 2 * 1.482602218505602;
+
+        Assert.assertEquals(3 - margin, fences.lower(), 1e-12);
+        Assert.assertEquals(3 + margin, fences.upper(), 1e-12);
+    }
+
+    @Test
+    public void testStreamingFencesApproximateExactOnes()
+                                            throws NotEnoughDataException {
+        final double[] data = randomData(100_000, 26);
+
+        for (final OutlierRule rule: OutlierRule.values()) {
+            final OutlierFences exact =
+                    new OutlierDetector(rule, 3).fences(data);
+            final StreamingOutlierDetector streaming =
+                    new StreamingOutlierDetector(rule, 3);
+
+            streaming.accept(data);
+            streaming.accept(Double.NaN);
+
+            final OutlierFences approximate = streaming.fences();
+
+            Assert.assertEquals(data.length, streaming.count());
+            Assert.assertSame(approximate, streaming.fences());
+            Assert.assertEquals(exact.lower(), approximate.lower(), 0.2);
+            Assert.assertEquals(exact.upper(), approximate.upper(), 0.2);
+            Assert.assertTrue(streaming.isOutlier(1_000));
+            Assert.assertFalse(streaming.isOutlier(0));
+        }
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testFencesOfNaN() throws NotEnoughDataException {
+        new OutlierDetector(OutlierRule.TUKEY, 1.5)
+                .fences(new double[] {1, Double.NaN});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreshold() {
+        new OutlierDetector(OutlierRule.Z_SCORE, 0);
+    }
+
+    private static double[] randomData(final int length, final long seed) {
+        final Random random = new Random(seed);
+        final double[] data = new double[length];
+
+        for (int index = 0; index < length; ++index) {
+            data[index] = random.nextGaussian();
+        }
+
+        data[0] = -50;
+        data[length - 1] = 50;
+
+        return data;
+    }
+}
@@ -0,0 +1,165 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.FrequencyTable;
+import statistics.NotEnoughDataException;
+import statistics.PartialStatistics;
+import statistics.RunningStatistics;
+import statistics.Statistics;
+import statistics.Summary;
+
+public class PartialStatisticsTest {
+    @Test
+    public void testMergedShardsMatchWholeData()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(22);
+        final double[] data = new double[50_000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextInt(1_000);
+        }
+
+        final ByteBuffer shards = ByteBuffer.allocate(1 << 22);
+
+        for (int from = 0; from < data.length; from += 1_000) {
+            PartialStatistics.of(Arrays.copyOfRange(data, from, from + 1_000),
+                                 true)
+                             .writeTo(shards);
+        }
+
+        shards.flip();
+
+        final PartialStatistics merged =
+                new PartialStatistics(200, true);
+
+        while (shards.hasRemaining()) {
+            merged.mergeFrom(shards);
+        }
+
+        final Summary expected = Statistics.summary(data);
+        final Summary actual = merged.summary();
+
+        Assert.assertEquals(expected.count(), actual.count());
+        Assert.assertEquals(expected.min(), actual.min(), 0);
+        Assert.assertEquals(expected.max(), actual.max(), 0);
+        Assert.assertEquals(expected.averageArithmetic(),
+                            actual.averageArithmetic(),
+                            1e-9);
+        Assert.assertEquals(expected.variance(),
+                            actual.variance(),
+                            1e-6);
+        Assert.assertArrayEquals(expected.modes(), actual.modes(), 0);
+        Assert.assertEquals(expected.modeQuantity(), actual.modeQuantity());
+        Assert.assertEquals(expected.median(), actual.median(), 20);
+        Assert.assertEquals(Statistics.frequencies(data),
+                            merged.frequencyTable().toMap());
+
+        final PartialStatistics restored =
+                PartialStatistics.fromBytes(merged.toBytes());
+
+        Assert.assertEquals(merged.serializedSize(),
+                            restored.toBytes().length);
+        Assert.assertEquals(actual.toString(),
+                            restored.summary().toString());
+    }
+
+    @Test
+    public void testRunningStatisticsAndFrequencyTableRoundTrip()
+                                            throws NotEnoughDataException {
+        final double[] data = {3, 1, 3, Double.NaN, -0.0, 0.0, 7};
+        final RunningStatistics moments = new RunningStatistics();
+
+        moments.accept(new double[] {5, 1, 9});
+
+        final RunningStatistics restoredMoments =
+                RunningStatistics.fromBytes(moments.toBytes());
+
+        Assert.assertEquals(moments.toString(), restoredMoments.toString());
+        Assert.assertEquals(0,
+                            RunningStatistics.fromBytes(
+                                    new RunningStatistics().toBytes())
+                                             .count());
+
+        final FrequencyTable table = Statistics.frequencyTable(data);
+        final FrequencyTable restoredTable =
+                FrequencyTable.fromBytes(table.toBytes());
+
+        Assert.assertArrayEquals(table.values(), restoredTable.values(), 0);
+        Assert.assertArrayEquals(table.counts(), restoredTable.counts());
+        Assert.assertEquals(table.total(), restoredTable.total());
+    }
+
+    @Test
+    public void testInvalidBytes() {
+        final byte[] bytes = PartialStatistics.of(new double[] {1, 2}, false)
+                                              .toBytes();
+
+        try {
+            PartialStatistics.fromBytes(Arrays.copyOf(bytes, 20));
+            Assert.fail();
+        } catch (final IllegalArgumentException exception) {
+            // expected
+        }
+
+        bytes[0] = 9;
+
+        try {
+            PartialStatistics.fromBytes(bytes);
+            Assert.fail();
+        } catch (final IllegalArgumentException exception) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testCorruptedSketch() throws NotEnoughDataException {
+        final PartialStatistics state =
+                PartialStatistics.of(new double[] {1, 2, 3}, false);
+        final int sketchOffset =
+                2 + state.runningStatistics().serializedSize();
+
+        final byte[] hugeK = state.toBytes();
+
+        ByteBuffer.wrap(hugeK)
+                  .order(ByteOrder.LITTLE_ENDIAN)
+                  .putInt(sketchOffset + 1, Integer.MAX_VALUE);
+
+        final byte[] wrongCount = state.toBytes();
+
+        ByteBuffer.wrap(wrongCount)
+                  .order(ByteOrder.LITTLE_ENDIAN)
+                  .putLong(sketchOffset + 5, 2);
+
+        final PartialStatistics merged =
+                PartialStatistics.of(new double[] {4, 5}, false);
+
+        for (final byte[] bytes: new byte[][] {hugeK, wrongCount}) {
+            try {
+                PartialStatistics.fromBytes(bytes);
+                Assert.fail();
+            } catch (final IllegalArgumentException exception) {
+                // expected
+            }
+
+            try {
+                merged.mergeFrom(ByteBuffer.wrap(bytes));
+                Assert.fail();
+            } catch (final IllegalArgumentException exception) {
+                // expected
+            }
+        }
+
+        Assert.assertEquals(2, merged.count());
+        Assert.assertEquals(2, merged.quantileSketch().count());
+        Assert.assertEquals(4.5, merged.summary().averageArithmetic(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStatesWithAndWithoutFrequencies() {
+        PartialStatistics.of(new double[] {1, 2}, true)
+                         .merge(PartialStatistics.of(new double[] {3}, false));
+    }
+}
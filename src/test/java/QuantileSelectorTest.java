@@ -0,0 +1,100 @@
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.QuantileSelector;
+import statistics.Statistics;
+
+public class QuantileSelectorTest {
+    @Test
+    public void testQuantile() throws NotEnoughDataException {
+        final double[] data = {69, 12, 3, 169, 7, 17, 8, 21, 5, 18};
+        final double[] copy = data.clone();
+
+        final QuantileSelector selector = new QuantileSelector();
+
+        Assert.assertEquals(3, selector.quantile(data, 0), 0);
+        Assert.assertEquals(169, selector.quantile(data, 1), 0);
+        Assert.assertEquals(14.5, selector.quantile(data, 0.5), 0);
+        Assert.assertEquals(7.25, selector.quantile(data, 0.25), 1e-12);
+        Assert.assertEquals(5, selector.quantile(new double[] {5}, 0.3), 0);
+
+        Assert.assertArrayEquals(copy, data, 0);
+    }
+
+    @Test
+    public void testQuantiles() throws NotEnoughDataException {
+        final double[] data = {69, 12, 3, 169, 7, 17, 8, 21, 5, 18};
+
+        Assert.assertArrayEquals(new double[] {169, 3, 14.5, 7.25},
+                                 Statistics.quantiles(data, 1, 0, 0.5, 0.25),
+                                 1e-12);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testQuantileWithInvalidProbability()
+                                            throws NotEnoughDataException {
+        Statistics.quantile(new double[] {1, 2}, 1.5);
+    }
+
+    @Test
+    public void testAgainstSorting() throws NotEnoughDataException {
+        final Random random = new Random(19);
+        final QuantileSelector selector = new QuantileSelector();
+
+        for (int length = 2; length < 300; length += 7) {
+            final double[] data = new double[length];
+
+            for (int index = 0; index < length; ++index) {
+                data[index] = (index % 3 == 0) ? random.nextInt(5)
+                                               : random.nextGaussian();
+            }
+
+            final double[] sorted = data.clone();
+
+            Arrays.sort(sorted);
+
+            final int half = length / 2;
+            final double median = (length & 1) == 1
+                                  ? sorted[half]
+                                  : (sorted[half - 1] + sorted[half]) / 2;
+
+            Assert.assertEquals(median, selector.median(data), 0);
+            Assert.assertEquals(sorted[0], selector.quantile(data, 0), 0);
+            Assert.assertEquals(sorted[length - 1],
+                                selector.quantile(data, 1),
+                                0);
+            final double[] quantiles = selector.quantiles(data, 0.9, 0.1);
+
+            Assert.assertEquals(quantile(sorted, 0.9), quantiles[0], 0);
+            Assert.assertEquals(quantile(sorted, 0.1), quantiles[1], 0);
+            Assert.assertEquals(selector.thirdQuartile(data)
+                                - selector.firstQuartile(data),
+                                selector.iqr(data),
+                                0);
+        }
+    }
+
+    private static double quantile(final double[] sorted,
+                                   final double probability) {
+        final double position = (sorted.length - 1) * probability;
+        final int lowerRank = (int) position;
+        final double fraction = position - lowerRank;
+
+        if (fraction == 0) {
+            return sorted[lowerRank];
+        }
+
+        return sorted[lowerRank]
+               + fraction * (sorted[lowerRank + 1] - sorted[lowerRank]);
+    }
+
+    @Test
+    public void testNaN() throws NotEnoughDataException {
+        final double[] data = {Double.NaN, 1, 2};
+
+        Assert.assertEquals(1.5, Statistics.quantile(data, 0.25), 0);
+        Assert.assertTrue(Double.isNaN(Statistics.quantile(data, 1)));
+    }
+}
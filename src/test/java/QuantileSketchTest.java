@@ -0,0 +1,146 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.QuantileSketch;
+
+public class QuantileSketchTest {
+    @Test
+    public void testSmallDataIsExact() throws NotEnoughDataException {
+        final QuantileSketch sketch = new QuantileSketch();
+
+        sketch.accept(new double[] {5, 1, 4, 2, 3, Double.NaN});
+
+        Assert.assertEquals(5, sketch.count());
+        Assert.assertEquals(1, sketch.quantile(0), 0);
+        Assert.assertEquals(3, sketch.median(), 0);
+        Assert.assertEquals(2, sketch.firstQuartile(), 0);
+        Assert.assertEquals(4, sketch.thirdQuartile(), 0);
+        Assert.assertEquals(5, sketch.quantile(1), 0);
+        Assert.assertEquals(0.6, sketch.cdf(3.5), 0);
+        Assert.assertEquals(0, sketch.cdf(0), 0);
+    }
+
+    @Test
+    public void testAccuracyOfMergedSketches() throws NotEnoughDataException {
+        final Random random = new Random(42);
+        final double[] data = new double[500_000];
+        final QuantileSketch[] parts = new QuantileSketch[4];
+
+        for (int part = 0; part < parts.length; ++part) {
+            parts[part] = new QuantileSketch(200);
+        }
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = Math.exp(random.nextGaussian());
+
+            parts[index % parts.length].accept(data[index]);
+        }
+
+        final QuantileSketch sketch = parts[0];
+
+        for (int part = 1; part < parts.length; ++part) {
+            sketch.merge(parts[part]);
+        }
+
+        Arrays.sort(data);
+
+        Assert.assertEquals(data.length, sketch.count());
+        Assert.assertTrue(sketch.retained() < 3 * 200);
+
+        for (double probability = 0.05; probability < 1; probability += 0.05) {
+            final double quantile = sketch.quantile(probability);
+            final int rank = Arrays.binarySearch(data, quantile);
+
+            Assert.assertEquals(probability,
+                                (double) rank / data.length,
+                                0.02);
+            Assert.assertEquals(probability, sketch.cdf(quantile), 0.02);
+        }
+    }
+
+    @Test
+    public void testSerialisation() throws NotEnoughDataException {
+        final QuantileSketch sketch = new QuantileSketch(64);
+
+        for (int value = 0; value < 10_000; ++value) {
+            sketch.accept(value);
+        }
+
+        final byte[] bytes = sketch.toBytes();
+        final QuantileSketch restored = QuantileSketch.fromBytes(bytes);
+
+        Assert.assertEquals(sketch.serializedSize(), bytes.length);
+        Assert.assertEquals(sketch.count(), restored.count());
+        Assert.assertEquals(sketch.median(), restored.median(), 0);
+        Assert.assertEquals(sketch.min(), restored.min(), 0);
+        Assert.assertEquals(sketch.max(), restored.max(), 0);
+
+        sketch.accept(3);
+        restored.accept(3);
+
+        Assert.assertArrayEquals(sketch.toBytes(), restored.toBytes());
+    }
+
+    @Test
+    public void testMergeWithItself() throws NotEnoughDataException {
+        final QuantileSketch sketch = new QuantileSketch(64);
+
+        for (int value = 0; value < 10_000; ++value) {
+            sketch.accept(value);
+        }
+
+        final double median = sketch.median();
+
+        sketch.merge(sketch);
+
+        Assert.assertEquals(20_000, sketch.count());
+        Assert.assertEquals(median, sketch.median(), 500);
+        Assert.assertEquals(sketch.count(),
+                            QuantileSketch.fromBytes(sketch.toBytes())
+                                          .count());
+    }
+
+    @Test
+    public void testCorruptedBytes() {
+        final QuantileSketch sketch = new QuantileSketch(64);
+
+        sketch.accept(new double[] {1, 2, 3});
+
+        final byte[] hugeK = sketch.toBytes();
+
+        ByteBuffer.wrap(hugeK)
+                  .order(ByteOrder.LITTLE_ENDIAN)
+                  .putInt(1, Integer.MAX_VALUE);
+
+        final byte[] wrongCount = sketch.toBytes();
+
+        ByteBuffer.wrap(wrongCount)
+                  .order(ByteOrder.LITTLE_ENDIAN)
+                  .putLong(5, 1L << 40);
+
+        for (final byte[] bytes: new byte[][] {hugeK, wrongCount}) {
+            try {
+                QuantileSketch.fromBytes(bytes);
+
+                Assert.fail();
+            } catch (final IllegalArgumentException exception) {
+                Assert.assertEquals("Corrupted sketch!",
+                                    exception.getMessage());
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeOfDifferentSketches() {
+        new QuantileSketch(100).merge(new QuantileSketch(200));
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testEmpty() throws NotEnoughDataException {
+        new QuantileSketch().median();
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.RunningStatistics;
+import statistics.Statistics;
+
+public class RunningStatisticsTest {
+    @Test
+    public void testAgainstStatistics() throws NotEnoughDataException {
+        final double[] data = {5.5, 6.5, 8, 9, 10, 9.4, 8.6,
+                               9.5, 7.5, 7.6, 10.4, 10.5, 8.5};
+
+        final RunningStatistics statistics = new RunningStatistics();
+
+        for (final double value: data) {
+            statistics.accept(value);
+        }
+
+        Assert.assertEquals(data.length, statistics.count());
+        Assert.assertEquals(Statistics.min(data), statistics.min(), 0);
+        Assert.assertEquals(Statistics.max(data), statistics.max(), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(data),
+                            statistics.averageArithmetic(),
+                            1e-12);
+        Assert.assertEquals(Statistics.variance(data),
+                            statistics.variance(),
+                            1e-12);
+    }
+
+    @Test
+    public void testRangeAndCombine() throws NotEnoughDataException {
+        final Random random = new Random(69);
+        final double[] data = new double[1000];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = 1e6 + random.nextGaussian();
+        }
+
+        final RunningStatistics whole = new RunningStatistics();
+        final RunningStatistics left = new RunningStatistics();
+        final RunningStatistics right = new RunningStatistics();
+
+        whole.accept(data);
+        left.accept(data, 0, 300);
+        right.accept(data, 300, 700);
+
+        left.combine(right).combine(new RunningStatistics());
+
+        Assert.assertEquals(whole.count(), left.count());
+        Assert.assertEquals(whole.min(), left.min(), 0);
+        Assert.assertEquals(whole.max(), left.max(), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(data),
+                            left.averageArithmetic(),
+                            1e-9);
+        Assert.assertEquals(Statistics.variance(data),
+                            left.variance(),
+                            1e-9);
+        Assert.assertEquals(whole.variance(),
+                            new RunningStatistics().combine(whole).variance(),
+                            0);
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testVarianceOfOneValue() throws NotEnoughDataException {
+        final RunningStatistics statistics = new RunningStatistics();
+
+        statistics.accept(19);
+
+        statistics.variance();
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testEmpty() throws NotEnoughDataException {
+        new RunningStatistics().min();
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.ExecutionMode;
+import statistics.NotEnoughDataException;
+import statistics.SeriesSummaries;
+import statistics.Statistics;
+import statistics.Summary;
+
+public class SeriesSummariesTest {
+    @Test
+    public void testSeriesMatchSummaries() throws NotEnoughDataException {
+        final Random random = new Random(21);
+        final int numberOfSeries = 3_000;
+        final int[] offsets = new int[numberOfSeries + 1];
+
+        for (int series = 0; series < numberOfSeries; ++series) {
+            offsets[series + 1] = offsets[series] + 2 + random.nextInt(200);
+        }
+
+        final double[] values = new double[offsets[numberOfSeries]];
+
+        for (int index = 0; index < values.length; ++index) {
+            values[index] = random.nextInt(50) + random.nextGaussian();
+        }
+
+        final SeriesSummaries sequential =
+                Statistics.summarizeSeries(values, offsets);
+        final SeriesSummaries parallel =
+                Statistics.summarizeSeries(values,
+                                           offsets,
+                                           ExecutionMode.PARALLEL);
+
+        for (int series = 0; series < numberOfSeries; ++series) {
+            final double[] data = Arrays.copyOfRange(values,
+                                                     offsets[series],
+                                                     offsets[series + 1]);
+            final Summary expected = Statistics.summary(data);
+            final Summary actual = parallel.summary(series);
+
+            Assert.assertEquals(expected.count(), actual.count());
+            Assert.assertEquals(expected.min(), actual.min(), 0);
+            Assert.assertEquals(expected.max(), actual.max(), 0);
+            Assert.assertEquals(expected.averageArithmetic(),
+                                actual.averageArithmetic(),
+                                1e-12);
+            Assert.assertEquals(expected.variance(),
+                                actual.variance(),
+                                1e-9);
+            Assert.assertEquals(expected.firstQuartile(),
+                                actual.firstQuartile(),
+                                0);
+            Assert.assertEquals(expected.median(), actual.median(), 0);
+            Assert.assertEquals(expected.thirdQuartile(),
+                                actual.thirdQuartile(),
+                                0);
+        }
+
+        Assert.assertArrayEquals(sequential.medians(),
+                                 parallel.medians(),
+                                 0);
+        Assert.assertArrayEquals(sequential.variances(),
+                                 parallel.variances(),
+                                 0);
+    }
+
+    @Test
+    public void testShortSeries() {
+        final SeriesSummaries summaries =
+                Statistics.summarizeSeries(new double[] {9, 4, 7},
+                                           new int[] {0, 0, 1, 3});
+
+        Assert.assertEquals(3, summaries.numberOfSeries());
+        Assert.assertArrayEquals(new int[] {0, 1, 2}, summaries.counts());
+        Assert.assertTrue(Double.isNaN(summaries.median(0)));
+        Assert.assertEquals(9, summaries.median(1), 0);
+        Assert.assertTrue(Double.isNaN(summaries.variance(1)));
+        Assert.assertTrue(Double.isNaN(summaries.firstQuartile(1)));
+        Assert.assertEquals(5.5, summaries.median(2), 0);
+        Assert.assertEquals(4.5, summaries.variance(2), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreasingOffsets() {
+        Statistics.summarizeSeries(new double[] {1, 2, 3},
+                                   new int[] {0, 2, 1});
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testSummaryOfShortSeries() throws NotEnoughDataException {
+        Statistics.summarizeSeries(new double[] {1}, new int[] {0, 1})
+                  .summary(0);
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.SortedView;
+import statistics.Statistics;
+import statistics.Summary;
+
+public class SortedViewTest {
+    @Test
+    public void testSortedView() throws NotEnoughDataException {
+        final double[] data = {7, 1, 5, 3, 3, 9, 3, 1};
+        final double[] copy = data.clone();
+
+        final SortedView view = Statistics.sortedView(data);
+
+        Assert.assertArrayEquals(copy, data, 0);
+        Assert.assertArrayEquals(new double[] {1, 1, 3, 3, 3, 5, 7, 9},
+                                 view.toArray(),
+                                 0);
+        Assert.assertEquals(8, view.size());
+        Assert.assertEquals(1, view.min(), 0);
+        Assert.assertEquals(9, view.max(), 0);
+        Assert.assertEquals(Statistics.median(data), view.median(), 0);
+        Assert.assertEquals(Statistics.firstQuartile(data),
+                            view.firstQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.thirdQuartile(data),
+                            view.thirdQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.quantile(data, 0.3),
+                            view.quantile(0.3),
+                            0);
+        Assert.assertEquals(2, view.rank(3));
+        Assert.assertEquals(5, view.rank(4));
+        Assert.assertEquals(5.0 / 8, view.cdf(3), 0);
+        Assert.assertEquals(0, view.cdf(0), 0);
+        Assert.assertArrayEquals(new double[] {3}, view.modes(), 0);
+        Assert.assertEquals(3, view.modeQuantity());
+        Assert.assertEquals(Statistics.summary(data), view.summary());
+    }
+
+    @Test
+    public void testSortedInputMatchesUnsortedInput()
+                                            throws NotEnoughDataException {
+        final Random random = new Random(10);
+        final double[] data = new double[10_001];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextInt(500) / 2.0;
+        }
+
+        data[0] = Double.NaN;
+        data[1] = -0.0;
+        data[2] = 0.0;
+        data[3] = 0.0;
+
+        final double[] sorted = data.clone();
+
+        Arrays.sort(sorted);
+
+        Assert.assertEquals(Statistics.median(data),
+                            Statistics.median(sorted),
+                            0);
+        Assert.assertEquals(Statistics.firstQuartile(data),
+                            Statistics.firstQuartile(sorted),
+                            0);
+        Assert.assertEquals(Statistics.thirdQuartile(data),
+                            Statistics.thirdQuartile(sorted),
+                            0);
+        Assert.assertEquals(Statistics.iqr(data), Statistics.iqr(sorted), 0);
+        Assert.assertArrayEquals(Statistics.quantiles(data, 0, 0.1, 0.99, 1),
+                                 Statistics.quantiles(sorted, 0, 0.1, 0.99, 1),
+                                 0);
+        Assert.assertArrayEquals(Statistics.mode(data),
+                                 Statistics.mode(sorted),
+                                 0);
+
+        final double[] modesAndTheirQuantity = Statistics.mode(data);
+        final int numberOfModes = modesAndTheirQuantity.length - 1;
+        final Summary summary = Statistics.summary(sorted);
+
+        Assert.assertArrayEquals(Arrays.copyOf(modesAndTheirQuantity,
+                                               numberOfModes),
+                                 summary.modes(),
+                                 0);
+        Assert.assertEquals(modesAndTheirQuantity[numberOfModes],
+                            summary.modeQuantity(),
+                            0);
+    }
+
+    @Test(expected = NotEnoughDataException.class)
+    public void testQuartileOfSingleValue() throws NotEnoughDataException {
+        Statistics.sortedView(new double[] {1}).firstQuartile();
+    }
+}
@@ -1,8 +1,12 @@
 import java.util.Map;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
+import statistics.ExecutionMode;
 import statistics.NotEnoughDataException;
 import statistics.Statistics;
+import statistics.Summation;
+import statistics.Summary;
 
 import static org.junit.Assert.assertEquals;
 
@@ -88,6 +92,12 @@ public class StatisticsTest {
                                9.5, 7.5, 7.6, 10.4, 10.5, 8.5};
 
         Assert.assertEquals(8.6, Statistics.median(data), 0);
+
+        Assert.assertEquals(5.5, data[0], 0);
+
+        Assert.assertEquals(2.5,
+                            Statistics.median(new double[] {4, 1, 3, 2}),
+                            0);
     }
 
     @Test
@@ -159,7 +169,205 @@ public class StatisticsTest {
     public void testOverallStatistics() throws NotEnoughDataException {
         final double[] data = {3, 7, 8, 12, 3, 7, 12, 12, 12, 18};
 
-        System.out.println(Statistics.overallStatistics(data));
+        final String expected = "Minimum: 3.0\n" +
+                                "Maximum: 18.0\n" +
+                                "Average arithmetic: 9.4\n" +
+                                "Mode(s): 12.0; quantity: 4\n" +
+                                "First quartile: 7.0\n" +
+                                "Median: 10.0\n" +
+                                "Third quartile: 12.0\n" +
+                                "IQR: 5.0\n" +
+                                "3/2 IQR: 7.5";
+
+        Assert.assertEquals(expected, Statistics.overallStatistics(data));
+    }
+
+    @Test
+    public void testSummary() throws NotEnoughDataException {
+        final double[] data = {5.5, 6.5, 8, 9, 10, 9.4, 8.6,
+                               9.5, 7.5, 7.6, 10.4, 10.5, 8.5, 8.5};
+        final double[] copy = data.clone();
+
+        final Summary summary = Statistics.summary(data);
+
+        Assert.assertArrayEquals(copy, data, 0);
+
+        Assert.assertEquals(14, summary.count());
+        Assert.assertEquals(Statistics.min(copy.clone()), summary.min(), 0);
+        Assert.assertEquals(Statistics.max(copy.clone()), summary.max(), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(copy.clone()),
+                            summary.averageArithmetic(),
+                            0);
+        Assert.assertEquals(Statistics.variance(copy.clone()),
+                            summary.variance(),
+                            1e-12);
+        Assert.assertArrayEquals(new double[] {8.5}, summary.modes(), 0);
+        Assert.assertEquals(2, summary.modeQuantity());
+        Assert.assertEquals(Statistics.firstQuartile(copy.clone()),
+                            summary.firstQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.median(copy.clone()),
+                            summary.median(),
+                            0);
+        Assert.assertEquals(Statistics.thirdQuartile(copy.clone()),
+                            summary.thirdQuartile(),
+                            0);
+        Assert.assertEquals(Statistics.iqr(copy.clone()), summary.iqr(), 0);
+        Assert.assertTrue(summary.hasOrderStatistics());
+    }
+
+    @Test
+    public void testMomentSummary() throws NotEnoughDataException {
+        final double[] data = {3.71, 3.76, 3.7, 3.69, 3.64};
+
+        final Summary summary = Statistics.momentSummary(data);
+
+        Assert.assertEquals(3.64, summary.min(), 0);
+        Assert.assertEquals(3.76, summary.max(), 0);
+        Assert.assertEquals(3.7, summary.averageArithmetic(), 1e-12);
+        Assert.assertEquals(0.00185, summary.variance(), 0.00001);
+        Assert.assertFalse(summary.hasOrderStatistics());
+        Assert.assertTrue(Double.isNaN(summary.median()));
+    }
+
+    @Test
+    public void testParallelExecution() throws NotEnoughDataException {
+        final Random random = new Random(17);
+        final double[] data = new double[300_001];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = random.nextInt(1000) + random.nextDouble();
+        }
+
+        final ExecutionMode mode = ExecutionMode.PARALLEL;
+
+        Assert.assertEquals(Statistics.min(data),
+                            Statistics.min(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.max(data),
+                            Statistics.max(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.averageArithmetic(data),
+                            Statistics.averageArithmetic(data, mode),
+                            1e-9);
+        Assert.assertEquals(Statistics.variance(data),
+                            Statistics.variance(data, mode),
+                            1e-6);
+        Assert.assertEquals(Statistics.variance(data, mode),
+                            Statistics.variance(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.median(data),
+                            Statistics.median(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.firstQuartile(data),
+                            Statistics.firstQuartile(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.thirdQuartile(data),
+                            Statistics.thirdQuartile(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.iqr(data),
+                            Statistics.iqr(data, mode),
+                            0);
+
+        final Summary summary = Statistics.summary(data);
+        final Summary parallelSummary = Statistics.summary(data, mode);
+
+        Assert.assertEquals(summary.median(), parallelSummary.median(), 0);
+        Assert.assertArrayEquals(summary.modes(), parallelSummary.modes(), 0);
+        Assert.assertEquals(summary.variance(),
+                            parallelSummary.variance(),
+                            1e-6);
+        Assert.assertEquals(parallelSummary, Statistics.summary(data, mode));
+        Assert.assertEquals(summary,
+                            Statistics.summary(data, ExecutionMode.AUTOMATIC));
+    }
+
+    @Test
+    public void testParallelExtremesSkipNaNAtLeafBoundary()
+                                            throws NotEnoughDataException {
+        final double[] data = new double[131_074];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = 1 + index % 1000;
+        }
+
+        data[data.length / 2] = Double.NaN;
+        data[data.length / 2 + 1] = -5;
+        data[data.length - 1] = 1e9;
+
+        final ExecutionMode mode = ExecutionMode.PARALLEL;
+
+        Assert.assertEquals(-5, Statistics.min(data), 0);
+        Assert.assertEquals(Statistics.min(data),
+                            Statistics.min(data, mode),
+                            0);
+        Assert.assertEquals(Statistics.max(data),
+                            Statistics.max(data, mode),
+                            0);
+
+        data[0] = Double.NaN;
+
+        Assert.assertTrue(Double.isNaN(Statistics.min(data, mode)));
+        Assert.assertTrue(Double.isNaN(Statistics.max(data, mode)));
+        Assert.assertTrue(Double.isNaN(Statistics.min(data)));
+    }
+
+    @Test
+    public void testMinAndMaxOfShortArrays() throws NotEnoughDataException {
+        for (int length = 1; length <= 11; ++length) {
+            final double[] data = new double[length];
+
+            for (int index = 0; index < length; ++index) {
+                data[index] = (index * 7 + 3) % 11;
+            }
+
+            final double[] sorted = Statistics.sortInAscendingOrder(
+                                                            data.clone());
+
+            Assert.assertEquals(sorted[0], Statistics.min(data), 0);
+            Assert.assertEquals(sorted[length - 1], Statistics.max(data), 0);
+        }
+    }
+
+    @Test
+    public void testSummation() throws NotEnoughDataException {
+        final double[] data = new double[1_000_003];
+
+        for (int index = 0; index < data.length; ++index) {
+            data[index] = index % 2 == 0 ? 0.1 : 1e8 + 0.1;
+        }
+
+        final double expected = (1e8 * (data.length / 2) + 0.1 * data.length)
+                                / data.length;
+
+        final double naiveError = Math.abs(
+                Statistics.averageArithmetic(data, Summation.NAIVE)
+                - expected);
+
+        for (final Summation summation: Summation.values()) {
+            final double error = Math.abs(
+                    Statistics.averageArithmetic(data, summation) - expected);
+
+            Assert.assertTrue(summation.toString(), error <= naiveError);
+        }
+
+        Assert.assertEquals(expected,
+                            Statistics.averageArithmetic(
+                                    data,
+                                    Summation.COMPENSATED),
+                            Math.ulp(expected));
+        final double variance =
+                Statistics.variance(data, Summation.COMPENSATED);
+
+        Assert.assertEquals(variance,
+                            Statistics.variance(data),
+                            variance * 1e-12);
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            Statistics.averageArithmetic(
+                                    new double[] {1, Double.MAX_VALUE,
+                                                  Double.MAX_VALUE},
+                                    Summation.COMPENSATED),
+                            0);
     }
 
     @Test
@@ -174,6 +382,16 @@ public class StatisticsTest {
         for (int index = 0; index < modesAndTheirQuantity.length - 1; ++index) {
             System.out.println(modesAndTheirQuantity[index] + " : " + quantity);
         }
+
+        Assert.assertArrayEquals(new double[] {3, 1}, modesAndTheirQuantity, 0);
+
+        final double[] data2 = {3, 7, 8, 12, 3, 7, 12, 12, 7, 18};
+        final double[] copy = data2.clone();
+
+        Assert.assertArrayEquals(new double[] {7, 12, 3},
+                                 Statistics.mode(data2),
+                                 0);
+        Assert.assertArrayEquals(copy, data2, 0);
     }
 
     @Test
@@ -189,5 +407,11 @@ public class StatisticsTest {
 
             System.out.println(value + ": " + frequency);
         }
+
+        Assert.assertEquals(4, valuesAndTheirFrequencies.size());
+        Assert.assertEquals(0.3, valuesAndTheirFrequencies.get(1.0), 0);
+        Assert.assertEquals(0.2, valuesAndTheirFrequencies.get(2.0), 0);
+        Assert.assertEquals(0.4, valuesAndTheirFrequencies.get(3.0), 0);
+        Assert.assertEquals(0.1, valuesAndTheirFrequencies.get(4.0), 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+import statistics.Summary;
+import statistics.SummaryProcessor;
+
+public class SummaryProcessorTest {
+    @Test
+    public void testCountWindowsWithSlowSubscriber()
+                        throws InterruptedException, NotEnoughDataException {
+        final Random random = new Random(17);
+        final double[][] batches = new double[10][1_000];
+
+        for (final double[] batch: batches) {
+            for (int index = 0; index < batch.length; ++index) {
+                batch[index] = random.nextGaussian();
+            }
+        }
+
+        final SummaryProcessor processor =
+                SummaryProcessor.ofCount(2_500,
+                                         200,
+                                         ForkJoinPool.commonPool(),
+                                         1);
+        final CollectingSubscriber subscriber = new CollectingSubscriber(5);
+
+        processor.subscribe(subscriber);
+
+        try (SubmissionPublisher<double[]> source =
+                     new SubmissionPublisher<>()) {
+            source.subscribe(processor);
+
+            for (final double[] batch: batches) {
+                source.submit(batch);
+            }
+        }
+
+        Assert.assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(4, subscriber.summaries.size());
+
+        final double[] firstWindow = new double[2_500];
+
+        System.arraycopy(batches[0], 0, firstWindow, 0, 1_000);
+        System.arraycopy(batches[1], 0, firstWindow, 1_000, 1_000);
+        System.arraycopy(batches[2], 0, firstWindow, 2_000, 500);
+
+        final Summary summary = subscriber.summaries.get(0);
+
+        Assert.assertEquals(2_500, summary.count());
+        Assert.assertEquals(Statistics.min(firstWindow), summary.min(), 0);
+        Assert.assertEquals(Statistics.averageArithmetic(firstWindow),
+                            summary.averageArithmetic(),
+                            1e-12);
+        Assert.assertEquals(Statistics.variance(firstWindow),
+                            summary.variance(),
+                            1e-12);
+        Assert.assertTrue(summary.hasQuartiles());
+        Assert.assertFalse(summary.hasOrderStatistics());
+        Assert.assertEquals(Statistics.median(firstWindow),
+                            summary.median(),
+                            0.1);
+        Assert.assertEquals(2_500, subscriber.summaries.get(3).count());
+    }
+
+    @Test
+    public void testTimeWindows() throws InterruptedException {
+        final SummaryProcessor processor =
+                SummaryProcessor.ofDuration(Duration.ofMillis(20));
+        final CollectingSubscriber subscriber = new CollectingSubscriber(0);
+
+        processor.subscribe(subscriber);
+
+        try (SubmissionPublisher<double[]> source =
+                     new SubmissionPublisher<>()) {
+            source.subscribe(processor);
+            source.submit(new double[] {1, 2, 3});
+
+            Thread.sleep(50);
+
+            source.submit(new double[] {10, 20});
+        }
+
+        Assert.assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(2, subscriber.summaries.size());
+        Assert.assertEquals(3, subscriber.summaries.get(0).count());
+        Assert.assertEquals(15,
+                            subscriber.summaries.get(1).averageArithmetic(),
+                            0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() {
+        SummaryProcessor.ofCount(1);
+    }
+
+    private static final class CollectingSubscriber
+                                        implements Flow.Subscriber<Summary> {
+        private final List<Summary> summaries = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private final long delay;
+
+        private Flow.Subscription subscription;
+
+        private CollectingSubscriber(final long delay) {
+            this.delay = delay;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(final Summary summary) {
+            try {
+                Thread.sleep(delay);
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            summaries.add(summary);
+
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import statistics.NotEnoughDataException;
+import statistics.Statistics;
+import statistics.Summary;
+import statistics.TumblingWindowStatistics;
+import statistics.WindowedStatistics;
+
+public class WindowedStatisticsTest {
+    @Test
+    public void testCountWindow() throws NotEnoughDataException {
+        final Random random = new Random(5);
+        final double[] stream = new double[2000];
+        final int size = 37;
+
+        final WindowedStatistics window = WindowedStatistics.ofCount(size);
+
+        for (int index = 0; index < stream.length; ++index) {
+            stream[index] = random.nextInt(50) + random.nextGaussian();
+
+            window.accept(stream[index]);
+
+            final double[] expected =
+                    Arrays.copyOfRange(stream,
+                                       Math.max(0, index - size + 1),
+                                       index + 1);
+
+            Assert.assertEquals(expected.length, window.count());
+            Assert.assertEquals(Statistics.min(expected), window.min(), 0);
+            Assert.assertEquals(Statistics.max(expected), window.max(), 0);
+            Assert.assertEquals(Statistics.averageArithmetic(expected),
+                                window.averageArithmetic(),
+                                1e-9);
+            Assert.assertEquals(Statistics.median(expected),
+                                window.median(),
+                                0);
+
+            if (expected.length > 1) {
+                Assert.assertEquals(Statistics.variance(expected),
+                                    window.variance(),
+                                    1e-9);
+                Assert.assertEquals(Statistics.firstQuartile(expected),
+                                    window.firstQuartile(),
+                                    0);
+                Assert.assertEquals(Statistics.thirdQuartile(expected),
+                                    window.thirdQuartile(),
+                                    0);
+            }
+        }
+    }
+
+    @Test
+    public void testInfiniteValueLeavesCountWindow()
+                                            throws NotEnoughDataException {
+        final WindowedStatistics window = WindowedStatistics.ofCount(3);
+
+        window.accept(1);
+        window.accept(Double.POSITIVE_INFINITY);
+        window.accept(2);
+
+        Assert.assertEquals(Double.POSITIVE_INFINITY,
+                            window.averageArithmetic(),
+                            0);
+        Assert.assertTrue(Double.isNaN(window.variance()));
+
+        for (int value = 0; value < 10; ++value) {
+            window.accept(value);
+
+            if (value > 0) {
+                Assert.assertEquals(Math.max(1, value - 1),
+                                    window.averageArithmetic(),
+                                    1e-12);
+            }
+        }
+
+        Assert.assertEquals(8, window.averageArithmetic(), 1e-12);
+        Assert.assertEquals(1, window.variance(), 1e-12);
+    }
+
+    @Test
+    public void testNaNDoesNotHideExtremes() throws NotEnoughDataException {
+        final WindowedStatistics window = WindowedStatistics.ofCount(3);
+
+        window.accept(1);
+        window.accept(Double.NaN);
+        window.accept(0.5);
+
+        Assert.assertEquals(0.5, window.min(), 0);
+        Assert.assertEquals(1, window.max(), 0);
+
+        window.accept(5);
+
+        Assert.assertEquals(0.5, window.min(), 0);
+        Assert.assertEquals(5, window.max(), 0);
+
+        window.accept(2);
+        window.accept(3);
+
+        Assert.assertEquals(2, window.min(), 0);
+        Assert.assertEquals(5, window.max(), 0);
+
+        window.accept(1);
+
+        Assert.assertEquals(1, window.min(), 0);
+        Assert.assertEquals(3, window.max(), 0);
+
+        window.accept(Double.NaN);
+        window.accept(Double.NaN);
+        window.accept(Double.NaN);
+
+        Assert.assertTrue(Double.isNaN(window.min()));
+        Assert.assertTrue(Double.isNaN(window.max()));
+
+        window.accept(4);
+
+        Assert.assertEquals(4, window.min(), 0);
+        Assert.assertEquals(4, window.max(), 0);
+    }
+
+    @Test
+    public void testTimeWindow() throws NotEnoughDataException {
+        final WindowedStatistics window =
+                WindowedStatistics.ofDuration(Duration.ofNanos(100));
+
+        for (int timestamp = 0; timestamp < 1000; timestamp += 10) {
+            window.accept(timestamp, timestamp);
+        }
+
+        Assert.assertEquals(10, window.count());
+        Assert.assertEquals(900, window.min(), 0);
+        Assert.assertEquals(990, window.max(), 0);
+        Assert.assertEquals(945, window.median(), 0);
+
+        window.advanceTo(1085);
+
+        Assert.assertEquals(1, window.count());
+        Assert.assertEquals(990, window.averageArithmetic(), 0);
+
+        window.advanceTo(2000);
+
+        Assert.assertEquals(0, window.count());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreasingTimestamp() {
+        final WindowedStatistics window =
+                WindowedStatistics.ofDuration(Duration.ofSeconds(1));
+
+        window.accept(1, 10);
+        window.accept(1, 9);
+    }
+
+    @Test
+    public void testTumblingWindows() throws NotEnoughDataException {
+        final List<Summary> summaries = new ArrayList<>();
+
+        final TumblingWindowStatistics windows =
+                TumblingWindowStatistics.ofCount(4, summaries::add);
+
+        final double[] stream = {3, 7, 8, 12, 3, 7, 12, 12, 1, 2};
+
+        for (final double value: stream) {
+            windows.accept(value);
+        }
+
+        windows.flush();
+
+        Assert.assertEquals(3, summaries.size());
+        Assert.assertEquals(
+                Statistics.summary(Arrays.copyOfRange(stream, 0, 4)),
+                summaries.get(0));
+        Assert.assertEquals(
+                Statistics.summary(Arrays.copyOfRange(stream, 4, 8)),
+                summaries.get(1));
+        Assert.assertEquals(
+                Statistics.summary(Arrays.copyOfRange(stream, 8, 10)),
+                summaries.get(2));
+    }
+
+    @Test
+    public void testTumblingTimeWindows() {
+        final List<Summary> summaries = new ArrayList<>();
+
+        final TumblingWindowStatistics windows =
+                TumblingWindowStatistics.ofDuration(Duration.ofNanos(10),
+                                                    summaries::add);
+
+        windows.accept(1, 100);
+        windows.accept(2, 105);
+        windows.accept(3, 109);
+        windows.accept(4, 131);
+        windows.accept(5, 139);
+        windows.accept(6, 141);
+
+        Assert.assertEquals(2, summaries.size());
+        Assert.assertEquals(3, summaries.get(0).count());
+        Assert.assertEquals(4.5, summaries.get(1).median(), 0);
+        Assert.assertEquals(1, windows.count());
+    }
+}